@@ -0,0 +1,137 @@
+package com.griswold.inventoryManagementSystem.bench;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Outsourced;
+import com.griswold.inventoryManagementSystem.items.Part;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/** Reports the heap retained per part when parts are held as objects, as the inventory holds them, and when
+ * their fields are held in parallel primitive arrays with one code per company, the layout a struct-of-arrays
+ * store would use. The inventory has no such store yet: it holds, indexes and hands out Part objects, so the
+ * arrays are built here only to measure what one would save.
+ * <p>
+ * Usage: {@code FootprintBenchmark [output.csv]}. The sizes and the number of distinct companies can be changed
+ * with the {@code bench.sizes} and {@code bench.suppliers} system properties. Half of the parts are outsourced,
+ * and each of them gets its own company string, as parts read from a file would. Both modes hold the same name
+ * strings, so the names are created before measuring and are left out of the figures. The figures are measured
+ * from the used heap after garbage collection; run with {@code -XX:+UseSerialGC} for exact numbers.*/
+public class FootprintBenchmark {
+
+  private static Object retained;
+
+  /** @param args the optional output file.*/
+  public static void main(String[] args) throws IOException {
+    String[] sizes = System.getProperty("bench.sizes", "100000,1000000").split(",");
+    int suppliers = Integer.getInteger("bench.suppliers", 300);
+    PrintStream out = args.length > 0 ? new PrintStream(new FileOutputStream(args[0]), true, "UTF-8")
+        : System.out;
+    out.println("mode,size,suppliers,bytes,bytesPerPart");
+    for (String value : sizes) {
+      int size = Integer.parseInt(value.trim());
+      String[] names = createNames(size);
+      long base = usedHeap();
+      retained = createParts(names, suppliers);
+      report(out, "objects", size, suppliers, usedHeap() - base);
+      retained = null;
+
+      base = usedHeap();
+      retained = new PartColumns(createParts(names, suppliers));
+      report(out, "columns", size, suppliers, usedHeap() - base);
+      retained = null;
+    }
+    if (out != System.out) {
+      out.close();
+    }
+  }
+
+  private static String[] createNames(int size) {
+    Random random = new Random(size);
+    String[] names = new String[size];
+    for (int i = 0; i < size; i++) {
+      names[i] = "Part " + Integer.toString(random.nextInt(Integer.MAX_VALUE), 36);
+    }
+    return names;
+  }
+
+  private static List<Part> createParts(String[] names, int suppliers) {
+    Random random = new Random(names.length);
+    List<Part> parts = new ArrayList<>(names.length);
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i];
+      double price = random.nextInt(10000) / 100.0;
+      parts.add(i % 2 == 0 ? new InHouse(i + 1, name, price, 10, 0, 100, i)
+          : new Outsourced(i + 1, name, price, 10, 0, 100, "Company " + random.nextInt(suppliers)));
+    }
+    return parts;
+  }
+
+  private static void report(PrintStream out, String mode, int size, int suppliers, long bytes) {
+    out.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f", mode, size, suppliers, bytes,
+        (double) bytes / size));
+    out.flush();
+  }
+
+  /** The fields of parts in parallel arrays, as a struct-of-arrays store would hold them.*/
+  private static final class PartColumns {
+    private final boolean[] outsourced;
+    private final int[] ids;
+    private final double[] prices;
+    private final int[] stock;
+    private final int[] min;
+    private final int[] max;
+    private final int[] extras;
+    private final String[] names;
+    private final Map<String, Integer> companyCodes = new HashMap<>();
+
+    private PartColumns(List<Part> parts) {
+      int size = parts.size();
+      outsourced = new boolean[size];
+      ids = new int[size];
+      prices = new double[size];
+      stock = new int[size];
+      min = new int[size];
+      max = new int[size];
+      extras = new int[size];
+      names = new String[size];
+      for (int i = 0; i < size; i++) {
+        Part part = parts.get(i);
+        ids[i] = part.getId();
+        prices[i] = part.getPrice();
+        stock[i] = part.getStock();
+        min[i] = part.getMin();
+        max[i] = part.getMax();
+        names[i] = part.getName();
+        if (part instanceof Outsourced) {
+          outsourced[i] = true;
+          extras[i] = companyCodes.computeIfAbsent(((Outsourced) part).getCompanyName(),
+              name -> companyCodes.size());
+        } else {
+          extras[i] = ((InHouse) part).getMachineId();
+        }
+      }
+    }
+  }
+
+  /** @return the heap in use once garbage collection stops freeing anything.*/
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    long used = Long.MAX_VALUE;
+    for (int i = 0; i < 10; i++) {
+      System.gc();
+      long now = runtime.totalMemory() - runtime.freeMemory();
+      if (now >= used) {
+        return now;
+      }
+      used = now;
+    }
+    return used;
+  }
+}
@@ -0,0 +1,137 @@
+package com.griswold.inventoryManagementSystem.bench;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.Part;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compares looking up, deleting and updating a part by ID through the inventory's ID index with doing the same
+ * by walking an ObservableList of every part, the way the inventory did before it kept the index.
+ * <p>
+ * Every operation targets a part that exists, picked at random, so a scan walks half the list on average. A
+ * deleted part is added back at the end of the list, so the list keeps its size.
+ * <p>
+ * Run with {@code mvn -Pjmh verify -Djmh.args=IdIndexBenchmark}.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IdIndexBenchmark {
+
+  private static final int INPUTS = 4096;
+
+  /** The number of parts in the inventory.*/
+  @Param({"10000", "100000", "1000000"})
+  public int size;
+
+  private ObservableList<Part> list;
+  private int[] ids;
+  private Part[] copies;
+  private int next;
+
+  /** Fills the inventory and the list with the same parts and chooses the IDs operated on.*/
+  @Setup
+  public void setUp() {
+    Random random = new Random(size);
+    List<Part> parts = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      parts.add(new InHouse(i + 1, "Part " + i, random.nextInt(10000) / 100.0, 10, 0, 100, i));
+    }
+    Inventory.addParts(parts);
+    list = FXCollections.observableArrayList(parts);
+    ids = new int[INPUTS];
+    copies = new Part[INPUTS];
+    for (int i = 0; i < INPUTS; i++) {
+      ids[i] = 1 + random.nextInt(size);
+      copies[i] = new InHouse(ids[i], "Copy " + i, 1, 10, 0, 100, i);
+    }
+  }
+
+  /** Empties the inventory for the next size.*/
+  @TearDown
+  public void tearDown() {
+    int[] partIds = new int[list.size()];
+    for (int i = 0; i < partIds.length; i++) {
+      partIds[i] = list.get(i).getId();
+    }
+    Inventory.deleteParts(partIds);
+  }
+
+  /** @return the part with the next ID.*/
+  @Benchmark
+  public Part lookupById() {
+    return Inventory.lookupPart(ids[nextInput()]);
+  }
+
+  /** @return the part with the next ID, found by walking the list.*/
+  @Benchmark
+  public Part lookupByIdScan() {
+    int index = indexOf(ids[nextInput()]);
+    return index < 0 ? null : list.get(index);
+  }
+
+  /** Deletes the part with the next ID and adds it back.
+   * @return the part deleted.*/
+  @Benchmark
+  public Part deleteById() {
+    Part part = Inventory.lookupPart(ids[nextInput()]);
+    Inventory.deletePart(part);
+    Inventory.addPart(part);
+    return part;
+  }
+
+  /** Deletes the part with the next ID from the list, found by walking it, and adds it back.
+   * @return the part deleted.*/
+  @Benchmark
+  public Part deleteByIdScan() {
+    Part part = list.remove(indexOf(ids[nextInput()]));
+    list.add(part);
+    return part;
+  }
+
+  /** @return the part the next copy was saved as, replacing the part with its ID.*/
+  @Benchmark
+  public Part updateById() {
+    return Inventory.savePart(copies[nextInput()]);
+  }
+
+  /** Replaces the part with the next copy's ID in the list, found by walking it.
+   * @return the part replaced.*/
+  @Benchmark
+  public Part updateByIdScan() {
+    Part copy = copies[nextInput()];
+    return list.set(indexOf(copy.getId()), copy);
+  }
+
+  private int indexOf(int id) {
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i).getId() == id) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private int nextInput() {
+    return next++ & (INPUTS - 1);
+  }
+}
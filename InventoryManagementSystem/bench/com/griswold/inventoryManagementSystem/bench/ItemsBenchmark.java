@@ -0,0 +1,199 @@
+package com.griswold.inventoryManagementSystem.bench;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.Outsourced;
+import com.griswold.inventoryManagementSystem.items.Part;
+import com.griswold.inventoryManagementSystem.items.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks the operations of the items package at several catalog sizes and hit ratios.
+ * <p>
+ * The methods ending in Scan are baselines that do the same work by walking every part, the way the inventory
+ * did before it was indexed, so a regression in an index shows up as the gap to its baseline closing.
+ * <p>
+ * Run with {@code mvn -Pjmh verify}, which writes target/jmh-results.json. The sizes, hit ratios and timing can
+ * be changed with the usual JMH options through {@code -Djmh.args}, such as {@code -p size=10000 -f 2}.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ItemsBenchmark {
+
+  private static final int INPUTS = 4096;
+  private static final int ASSOCIATED_PARTS = 50;
+
+  /** The number of parts in the inventory.*/
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int size;
+
+  /** The fraction of operations that target a part that exists.*/
+  @Param({"1.0", "0.5", "0.0"})
+  public double hitRatio;
+
+  private Part[] parts;
+  private int[] ids;
+  private String[] names;
+  private Part[] targets;
+  private Product product;
+  private int next;
+
+  /** Fills the inventory and chooses the inputs of the operations.*/
+  @Setup
+  public void setUp() {
+    fill();
+    prepareInputs();
+    product = new Product(-1, "Benchmark product", 0, 0, 0, 0);
+    for (int j = 0; j < ASSOCIATED_PARTS; j++) {
+      product.addAssociatedPart(parts[j % size]);
+    }
+  }
+
+  /** Empties the inventory for the next parameter combination.*/
+  @TearDown
+  public void tearDown() {
+    int[] partIds = new int[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      partIds[i] = parts[i].getId();
+    }
+    Inventory.deleteParts(partIds);
+  }
+
+  /** @return the part with the next ID, or null.*/
+  @Benchmark
+  public Part lookupPartById() {
+    return Inventory.lookupPart(ids[nextInput()]);
+  }
+
+  /** @return the part with the next ID, found by walking every part.*/
+  @Benchmark
+  public Part lookupPartByIdScan() {
+    int id = ids[nextInput()];
+    for (Part part : parts) {
+      if (part.getId() == id) {
+        return part;
+      }
+    }
+    return null;
+  }
+
+  /** @return the parts whose name contains the next name.*/
+  @Benchmark
+  public List<Part> lookupPartByName() {
+    return Inventory.lookupPart(names[nextInput()]);
+  }
+
+  /** @return the parts whose name contains the next name, found by walking every part.*/
+  @Benchmark
+  public List<Part> lookupPartByNameScan() {
+    String query = names[nextInput()].toLowerCase();
+    List<Part> found = new ArrayList<>();
+    for (Part part : parts) {
+      if (part.getName().toLowerCase().contains(query)) {
+        found.add(part);
+      }
+    }
+    return found;
+  }
+
+  /** Deletes the next part and adds it back if it existed.
+   * @return whether the part existed.*/
+  @Benchmark
+  public boolean deletePart() {
+    Part part = targets[nextInput()];
+    if (Inventory.deletePart(part)) {
+      Inventory.addPart(part);
+      return true;
+    }
+    return false;
+  }
+
+  /** Replaces the next part with itself at its position in the list.
+   * @return the position of the part, or -1.*/
+  @Benchmark
+  public int updatePart() {
+    Part part = targets[nextInput()];
+    int index = Inventory.indexOfPart(part.getId());
+    if (index >= 0) {
+      Inventory.updatePart(index, part);
+    }
+    return index;
+  }
+
+  /** @return the part the next part was saved as, or null if it does not exist.*/
+  @Benchmark
+  public Part savePart() {
+    Part part = targets[nextInput()];
+    return Inventory.lookupPart(part.getId()) == null ? null : Inventory.savePart(part);
+  }
+
+  /** Removes the next part from a product and adds it back if it was associated.
+   * @return whether the part was associated.*/
+  @Benchmark
+  public boolean addDeleteAssociatedPart() {
+    Part part = targets[nextInput()];
+    if (product.deleteAssociatedPart(part)) {
+      product.addAssociatedPart(part);
+      return true;
+    }
+    return false;
+  }
+
+  private int nextInput() {
+    return next++ & (INPUTS - 1);
+  }
+
+  /** Fills the inventory with the specified number of parts.*/
+  private void fill() {
+    Random random = new Random(size);
+    parts = new Part[size];
+    for (int i = 0; i < size; i++) {
+      String name = "Part " + Integer.toString(random.nextInt(Integer.MAX_VALUE), 36);
+      parts[i] = i % 2 == 0 ? new InHouse(i + 1, name, random.nextInt(10000) / 100.0, 10, 0, 100, i)
+          : new Outsourced(i + 1, name, random.nextInt(10000) / 100.0, 10, 0, 100, "Company " + i % 97);
+    }
+    List<Part> list = new ArrayList<>(size);
+    for (Part part : parts) {
+      list.add(part);
+    }
+    Inventory.addParts(list);
+  }
+
+  /** Chooses the inputs of the operations so that the given fraction of them targets an existing part.*/
+  private void prepareInputs() {
+    Random random = new Random(size * 31L + (long) (hitRatio * 100));
+    ids = new int[INPUTS];
+    names = new String[INPUTS];
+    targets = new Part[INPUTS];
+    for (int i = 0; i < INPUTS; i++) {
+      if (random.nextDouble() < hitRatio) {
+        Part part = parts[random.nextInt(size)];
+        ids[i] = part.getId();
+        names[i] = part.getName().substring(5);
+        targets[i] = part;
+      } else {
+        int id = size + 1 + random.nextInt(size);
+        ids[i] = id;
+        names[i] = "missing " + id;
+        targets[i] = new InHouse(id, "Missing", 0, 0, 0, 0, 0);
+      }
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package com.griswold.inventoryManagementSystem.bench;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.Outsourced;
+import com.griswold.inventoryManagementSystem.items.Part;
+import com.griswold.inventoryManagementSystem.metrics.LatencyHistogram;
+import com.griswold.inventoryManagementSystem.metrics.Metrics;
+import com.griswold.inventoryManagementSystem.server.InventoryServer;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Measures how many part lookups by ID the {@link InventoryServer} answers per second over loopback.
+ * <p>
+ * Usage: {@code ServerLoadTest [output.csv]}. The server is started in this JVM on a free port with a catalog of
+ * {@code bench.parts} parts. Each of {@code bench.clients} client threads keeps one connection alive and sends
+ * {@code GET /parts/{id}} for random IDs, one request at a time, for {@code bench.warmup} seconds and then for
+ * {@code bench.seconds} measured seconds. {@code bench.threads} is passed to the server; 0 leaves the choice of
+ * threads to it. The clients share the machine with the server, so on few processors the figures are a lower
+ * bound.*/
+public class ServerLoadTest {
+
+  /** @param args the optional output file.*/
+  public static void main(String[] args) throws Exception {
+    int parts = Integer.getInteger("bench.parts", 100000);
+    String[] clientCounts = System.getProperty("bench.clients", "1,4,16").split(",");
+    int warmupSeconds = Integer.getInteger("bench.warmup", 3);
+    int seconds = Integer.getInteger("bench.seconds", 10);
+    int threads = Integer.getInteger("bench.threads", 0);
+    PrintStream out = args.length > 0 ? new PrintStream(new FileOutputStream(args[0]), true, "UTF-8")
+        : System.out;
+    Inventory.addParts(createParts(parts));
+    try (InventoryServer server = InventoryServer.start(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), threads, parts)) {
+      out.println("clients,parts,requests,seconds,requestsPerSecond,p50Micros,p99Micros,maxMicros");
+      for (String value : clientCounts) {
+        int clients = Integer.parseInt(value.trim());
+        run(server, clients, parts, warmupSeconds, null);
+        LatencyHistogram latency = Metrics.histogram("bench.server.clients" + clients);
+        long requests = run(server, clients, parts, seconds, latency);
+        out.println(String.format(Locale.ROOT, "%d,%d,%d,%d,%.0f,%.1f,%.1f,%.1f", clients, parts, requests,
+            seconds, (double) requests / seconds, latency.getPercentileNanos(50) / 1000.0,
+            latency.getPercentileNanos(99) / 1000.0, latency.getMaxNanos() / 1000.0));
+        out.flush();
+      }
+    }
+    if (out != System.out) {
+      out.close();
+    }
+  }
+
+  private static List<Part> createParts(int size) {
+    Random random = new Random(size);
+    List<Part> parts = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      String name = "Part " + Integer.toString(random.nextInt(Integer.MAX_VALUE), 36);
+      double price = random.nextInt(10000) / 100.0;
+      parts.add(i % 2 == 0 ? new InHouse(i, name, price, 10, 0, 100, i)
+          : new Outsourced(i, name, price, 10, 0, 100, "Company " + random.nextInt(300)));
+    }
+    return parts;
+  }
+
+  /** @param latency records each request's round trip, or null while warming up.
+   * @return the number of requests answered.*/
+  private static long run(InventoryServer server, int clients, int parts, int seconds, LatencyHistogram latency)
+      throws InterruptedException {
+    long end = System.nanoTime() + seconds * 1_000_000_000L;
+    LongAdder requests = new LongAdder();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < clients; i++) {
+      Random random = new Random(i);
+      Thread thread = new Thread(() -> {
+        try (Socket socket = new Socket(server.getAddress().getAddress(), server.getAddress().getPort())) {
+          socket.setTcpNoDelay(true);
+          OutputStream out = socket.getOutputStream();
+          InputStream in = new BufferedInputStream(socket.getInputStream());
+          while (System.nanoTime() < end) {
+            long start = System.nanoTime();
+            out.write(("GET /parts/" + (1 + random.nextInt(parts)) + " HTTP/1.1\r\nHost: localhost\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            readResponse(in);
+            if (latency != null) {
+              latency.record(System.nanoTime() - start);
+            }
+            requests.increment();
+          }
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+      }, "client-" + i);
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    return requests.sum();
+  }
+
+  /** Reads one response, checking that it is a 200 and skipping its body.*/
+  private static void readResponse(InputStream in) throws IOException {
+    StringBuilder line = new StringBuilder();
+    String status = null;
+    int contentLength = 0;
+    while (true) {
+      int c = in.read();
+      if (c < 0) {
+        throw new EOFException("Connection closed by the server");
+      } else if (c == '\r') {
+        continue;
+      } else if (c != '\n') {
+        line.append((char) c);
+        continue;
+      }
+      String header = line.toString();
+      if (header.isEmpty()) {
+        break;
+      } else if (status == null) {
+        status = header;
+      } else if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+        contentLength = Integer.parseInt(header.substring(15).trim());
+      }
+      line.setLength(0);
+    }
+    if (!status.contains(" 200 ")) {
+      throw new IOException("Unexpected response: " + status);
+    }
+    for (long skipped = 0; skipped < contentLength; skipped += in.skip(contentLength - skipped)) {
+      // Skip the body.
+    }
+  }
+}
@@ -0,0 +1,210 @@
+package com.griswold.inventoryManagementSystem.bench;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.Part;
+import com.griswold.inventoryManagementSystem.items.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures how many changes per second the inventory takes from 1 to 32 writer threads.
+ * <p>
+ * Each invocation hands a fixed number of changes to a pool of writer threads, each working on its own IDs, and
+ * waits for them all to finish. A change is a save of an existing item, a stock change through a held item's
+ * setter, or an add followed later by a delete. In the parts workload every thread changes parts; in the mixed
+ * workload every other thread changes products instead, as an importer and a scanner feeding the inventory at
+ * once would. Readers are left out, since they share the read lock and do not hold up one another.
+ * <p>
+ * The figures only mean something relative to the number of cores of the machine they were taken on: with fewer
+ * cores than threads, extra threads can at best keep the throughput level.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriterThroughputBenchmark {
+
+  private static final int CHANGES = 1 << 15;
+  private static final int ITEMS_PER_THREAD = 4096;
+  private static final int PRELOADED_PARTS = 100_000;
+
+  /** The number of writer threads.*/
+  @Param({"1", "2", "4", "8", "16", "32"})
+  public int threads;
+
+  /** Which items the threads change: parts, or parts and products on alternate threads.*/
+  @Param({"parts", "mixed"})
+  public String workload;
+
+  private ExecutorService pool;
+  private List<Writer> writers;
+  private List<Part> preloaded;
+
+  /** Fills the inventory and starts the writer threads.*/
+  @Setup
+  public void setUp() {
+    preloaded = new ArrayList<>(PRELOADED_PARTS);
+    for (int i = 0; i < PRELOADED_PARTS; i++) {
+      preloaded.add(new InHouse(i + 1, "Preloaded part " + i, i % 1000, 10, 0, 100, i));
+    }
+    Inventory.addParts(preloaded);
+    pool = Executors.newFixedThreadPool(threads);
+    writers = new ArrayList<>(threads);
+    for (int t = 0; t < threads; t++) {
+      int firstId = PRELOADED_PARTS + 1 + t * ITEMS_PER_THREAD * 2;
+      writers.add(workload.equals("mixed") && t % 2 == 1 ? new ProductWriter(firstId, CHANGES / threads)
+          : new PartWriter(firstId, CHANGES / threads));
+    }
+  }
+
+  /** Stops the writer threads and empties the inventory.*/
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+    for (Writer writer : writers) {
+      writer.clear();
+    }
+    int[] ids = new int[preloaded.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = preloaded.get(i).getId();
+    }
+    Inventory.deleteParts(ids);
+  }
+
+  /** Has every writer make its share of the changes and waits for all of them.
+   * @return a value derived from the writers' results.*/
+  @Benchmark
+  @OperationsPerInvocation(CHANGES)
+  public long write() throws Exception {
+    long total = 0;
+    for (Future<Long> result : pool.invokeAll(writers)) {
+      total += result.get();
+    }
+    return total;
+  }
+
+  /** Makes a share of the changes on its own range of IDs.*/
+  private abstract static class Writer implements Callable<Long> {
+    final int firstId;
+    final int changes;
+    final Random random;
+    int step;
+
+    Writer(int firstId, int changes) {
+      this.firstId = firstId;
+      this.changes = changes;
+      random = new Random(firstId);
+    }
+
+    @Override
+    public Long call() {
+      long total = 0;
+      for (int i = 0; i < changes; i++) {
+        int slot = random.nextInt(ITEMS_PER_THREAD);
+        total += change(firstId + slot, step++ % 4);
+      }
+      return total;
+    }
+
+    /** @param id the ID of the item to change.
+     * @param kind which change to make.*/
+    abstract long change(int id, int kind);
+
+    /** Deletes every item the writer added.*/
+    abstract void clear();
+  }
+
+  private static final class PartWriter extends Writer {
+    PartWriter(int firstId, int changes) {
+      super(firstId, changes);
+    }
+
+    @Override
+    long change(int id, int kind) {
+      Part held = Inventory.lookupPart(id);
+      if (held == null) {
+        Inventory.addPart(new InHouse(id, "Written part " + id, 1, 10, 0, 100, id));
+        return 1;
+      }
+      switch (kind) {
+        case 0:
+          held.setStock(random.nextInt(100));
+          return 2;
+        case 1:
+          Inventory.deletePart(held);
+          return 3;
+        default:
+          Inventory.savePart(new InHouse(id, held.getName(), random.nextInt(10000) / 100.0, 10, 0, 100, id));
+          return 4;
+      }
+    }
+
+    @Override
+    void clear() {
+      int[] ids = new int[ITEMS_PER_THREAD];
+      for (int i = 0; i < ids.length; i++) {
+        ids[i] = firstId + i;
+      }
+      Inventory.deleteParts(ids);
+    }
+  }
+
+  private static final class ProductWriter extends Writer {
+    ProductWriter(int firstId, int changes) {
+      super(firstId, changes);
+    }
+
+    @Override
+    long change(int id, int kind) {
+      Product held = Inventory.lookupProduct(id);
+      if (held == null) {
+        Product product = new Product(id, "Written product " + id, 1, 10, 0, 100);
+        product.addAssociatedPartId(1 + id % PRELOADED_PARTS);
+        Inventory.addProduct(product);
+        return 1;
+      }
+      switch (kind) {
+        case 0:
+          held.setStock(random.nextInt(100));
+          return 2;
+        case 1:
+          Inventory.deleteProduct(held);
+          return 3;
+        default:
+          Product product = new Product(id, held.getName(), random.nextInt(10000) / 100.0, 10, 0, 100);
+          product.addAssociatedPartId(1 + id % PRELOADED_PARTS);
+          Inventory.saveProduct(product);
+          return 4;
+      }
+    }
+
+    @Override
+    void clear() {
+      int[] ids = new int[ITEMS_PER_THREAD];
+      for (int i = 0; i < ids.length; i++) {
+        ids[i] = firstId + i;
+      }
+      Inventory.deleteProducts(ids);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.griswold.inventoryManagementSystem.menus;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Part;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.util.Callback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the time it takes to produce the text of table cells while scrolling, with the reflective
+ * PropertyValueFactory the tables used to use and with the typed accessors of {@link Columns}.
+ * <p>
+ * Scrolling is simulated by rendering the four part columns for a window of rows that moves down a large part
+ * list, and the time is reported per cell. The work a TableCell does besides producing its text is the same
+ * either way and needs a running toolkit, so it is left out. Run with {@code -Djmh.args="CellRenderBenchmark
+ * -prof gc"} to see the bytes allocated per cell as well.*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CellRenderBenchmark {
+
+  private static final int ROWS = 100_000;
+  private static final int WINDOW = 40;
+  private static final int CELLS = WINDOW * 4;
+
+  /** How cell values are produced: PropertyValueFactory or Columns.*/
+  @Param({"PropertyValueFactory", "Columns"})
+  public String approach;
+
+  private Part[] parts;
+  private Renderer renderer;
+  private int frame;
+
+  /** Creates the parts and the renderer for the approach.*/
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+    parts = new Part[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      parts[i] = new InHouse(i + 1, "Part " + i, random.nextInt(100000) / 100.0, random.nextInt(1000), 0, 1000, i);
+    }
+    renderer = approach.equals("Columns") ? new TypedRenderer() : new ReflectiveRenderer();
+  }
+
+  /** Renders a window of rows, moving the window down by one row each time.
+   * @return the total length of the cell texts.*/
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public long scroll() {
+    int top = frame++ % (parts.length - WINDOW);
+    long total = 0;
+    for (int row = top; row < top + WINDOW; row++) {
+      total += renderer.render(parts[row]);
+    }
+    return total;
+  }
+
+  /** Produces the text of every cell of a single row.*/
+  private interface Renderer {
+    long render(Part part);
+  }
+
+  private static final class ReflectiveRenderer implements Renderer {
+    private final Callback<CellDataFeatures<Part, Object>, ObservableValue<Object>> id =
+        new PropertyValueFactory<>("id");
+    private final Callback<CellDataFeatures<Part, Object>, ObservableValue<Object>> name =
+        new PropertyValueFactory<>("name");
+    private final Callback<CellDataFeatures<Part, Object>, ObservableValue<Object>> stock =
+        new PropertyValueFactory<>("stock");
+    private final Callback<CellDataFeatures<Part, Object>, ObservableValue<Object>> price =
+        new PropertyValueFactory<>("price");
+
+    @Override
+    public long render(Part part) {
+      return text(id, part) + text(name, part) + text(stock, part) + text(price, part);
+    }
+
+    private long text(Callback<CellDataFeatures<Part, Object>, ObservableValue<Object>> factory, Part part) {
+      return factory.call(new CellDataFeatures<>(null, null, part)).getValue().toString().length();
+    }
+  }
+
+  private static final class TypedRenderer implements Renderer {
+    private final Callback<CellDataFeatures<Part, Part>, ObservableValue<Part>> rowValue =
+        Columns.rowValueFactory();
+    private final Function<Part, String> id = Columns.intText(Part::getId);
+    private final Function<Part, String> name = Part::getName;
+    private final Function<Part, String> stock = Columns.intText(Part::getStock);
+    private final Function<Part, String> price = Columns.doubleText(Part::getPrice);
+
+    @Override
+    public long render(Part part) {
+      return text(id, part) + text(name, part) + text(stock, part) + text(price, part);
+    }
+
+    private long text(Function<Part, String> text, Part part) {
+      return text.apply(rowValue.call(new CellDataFeatures<>(null, null, part)).getValue()).length();
+    }
+  }
+}
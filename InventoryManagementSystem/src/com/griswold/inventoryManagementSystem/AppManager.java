@@ -1,9 +1,28 @@
 package com.griswold.inventoryManagementSystem;
 
+import com.griswold.inventoryManagementSystem.events.FxmlLoadEvent;
 import com.griswold.inventoryManagementSystem.menus.MenuController;
+import com.griswold.inventoryManagementSystem.menus.ObservableInventory;
+import com.griswold.inventoryManagementSystem.metrics.JmxExporter;
+import com.griswold.inventoryManagementSystem.metrics.Metrics;
+import com.griswold.inventoryManagementSystem.server.InventoryServer;
+import com.griswold.inventoryManagementSystem.storage.InventoryCsv;
+import com.griswold.inventoryManagementSystem.storage.InventoryStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -12,7 +31,18 @@ import javafx.stage.Stage;
 
 
 
-/** The application's entry point and Main controller.*/
+/** The application's entry point and Main controller.
+ * <p>
+ * Only the main window is built before the primary stage is shown. The other windows are built the first time
+ * they are asked for, and once the first frame is on screen their layouts are loaded on a background thread so
+ * that they are usually ready before then; set the inventory.prewarm system property to false to skip that.
+ * The time each phase of startup takes is logged, and with the inventory.exitAfterStartup system property set
+ * the application exits as soon as startup is over, for timing runs and for building a class-data-sharing
+ * archive. The inventory is recovered from disk on the launcher thread before the stage is built, so that a large
+ * inventory never holds up the JavaFX Application Thread. With the inventory.metrics.jmx system property set,
+ * the inventory's metrics are published over JMX once the first frame is on screen. Started with --import and a
+ * CSV file, it adds the file's parts and products to the inventory before showing the main window. Started with
+ * --server, it serves the inventory over HTTP instead of showing any window.*/
 public class AppManager extends Application {
 
     /** Used to tag menu windows as belonging to a specific type.*/
@@ -23,21 +53,51 @@ public class AppManager extends Application {
         DELETE
     }
 
-    private static int idCounter;
+    private static final Logger LOGGER = Logger.getLogger(AppManager.class.getName());
+    private static final AtomicInteger idCounter = new AtomicInteger();
+    private static final StartupTimer startupTimer = new StartupTimer();
     private static Stage primaryStage;
+    private static InventoryStore inventoryStore;
 
-    private static final ArrayList<Window> windows = new ArrayList<>();
+    private static final Map<MenuType, WindowSpec> windowSpecs = new EnumMap<>(MenuType.class);
+    private static final Map<MenuType, Window> windows = new EnumMap<>(MenuType.class);
     private static final int PRIMARY_MIN_WIDTH = 600;
     private static final int PRIMARY_MIN_HEIGHT = 360;
     private static final int PRODUCT_MIN_WIDTH = 520;
     private static final int PRODUCT_MIN_HEIGHT = 600;
+    private static final String DATA_DIRECTORY_PROPERTY = "inventory.dataDir";
+    private static final String PREWARM_PROPERTY = "inventory.prewarm";
+    private static final String EXIT_AFTER_STARTUP_PROPERTY = "inventory.exitAfterStartup";
+    private static final String METRICS_JMX_PROPERTY = "inventory.metrics.jmx";
 
     /** Required by the JVM to launch the application.
-     * @param args Command line arguments.*/
-    public static void main(String[] args) {
+     * @param args Command line arguments. With --import file.csv the file is imported with {@link InventoryCsv}.
+     * With --server the inventory is served over HTTP instead, without a window; see
+     * {@link InventoryServer#main(String[])} for the other arguments.*/
+    public static void main(String[] args) throws IOException {
+        if (Arrays.asList(args).contains("--server")) {
+            InventoryServer.main(args);
+            return;
+        }
         launch(args);
     }
 
+    /** Loads the inventory from disk, and imports the file given with --import, before any window is built.
+     NOTE: This method is called on the JavaFX launcher thread, so the Application Thread is free while a large
+     inventory is recovered.*/
+    @Override
+    public void init() throws Exception {
+        startupTimer.mark("toolkit");
+        inventoryStore = InventoryStore.open(getDataDirectory());
+        idCounter.accumulateAndGet(inventoryStore.getHighestId(), Math::max);
+        List<String> arguments = getParameters().getRaw();
+        int importOption = arguments.indexOf("--import");
+        if (importOption >= 0 && importOption + 1 < arguments.size()) {
+            importCsv(Paths.get(arguments.get(importOption + 1)));
+        }
+        startupTimer.mark("inventory");
+    }
+
     /** The main entry point for all JavaFX applications. The start method is called after the
      * init method has returned, and after the system is ready for the application to begin running.
      NOTE: This method is called on the JavaFX Application Thread.
@@ -46,61 +106,163 @@ public class AppManager extends Application {
     @Override
     public void start(Stage stage) throws Exception{
         primaryStage = stage;
+        ObservableInventory.start();
         setWindows();
-        primaryStage.setScene(Objects.requireNonNull(getWindow(MenuType.MAIN)).getScene());
+        Scene mainScene = Objects.requireNonNull(getWindow(MenuType.MAIN)).getScene();
+        startupTimer.mark("layout");
+        mainScene.addPostLayoutPulseListener(new Runnable() {
+            private boolean done;
+
+            @Override
+            public void run() {
+                if (!done) {
+                    done = true;
+                    Platform.runLater(() -> mainScene.removePostLayoutPulseListener(this));
+                    firstFrame();
+                }
+            }
+        });
+        primaryStage.setScene(mainScene);
         primaryStage.setMinHeight(PRIMARY_MIN_HEIGHT);
         primaryStage.setMinWidth(PRIMARY_MIN_WIDTH);
         primaryStage.show();
     }
 
-    /** Creates all menu windows that will be available during the application's lifecycle
-     * and adds them to the static windows arrayList.*/
-    private void setWindows() throws Exception{
-        windows.add(new Window(MenuType.MAIN, "MainMenu"));
-        windows.add(new Window(MenuType.PART, "PartMenu", true, false));
-        windows.add(new Window(MenuType.PRODUCT, "ProductMenu", true, true,
+    /** This method is called when the application should stop. Flushes the inventory to disk.
+     NOTE: This method is called on the JavaFX Application Thread.*/
+    @Override
+    public void stop() throws Exception {
+        if (inventoryStore != null) {
+            inventoryStore.close();
+        }
+    }
+
+    /** The directory the inventory is saved to. Can be overridden with the inventory.dataDir system property.
+     * @return the data directory.*/
+    private static Path getDataDirectory() {
+        String configured = System.getProperty(DATA_DIRECTORY_PROPERTY);
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".inventoryManagementSystem");
+    }
+
+    /** Registers every menu window that will be available during the application's lifecycle. The windows
+     * themselves are built when they are first asked for.*/
+    private void setWindows() {
+        windowSpecs.put(MenuType.MAIN, new WindowSpec(MenuType.MAIN, "MainMenu", false, true, 0, 0));
+        windowSpecs.put(MenuType.PART, new WindowSpec(MenuType.PART, "PartMenu", true, false, 0, 0));
+        windowSpecs.put(MenuType.PRODUCT, new WindowSpec(MenuType.PRODUCT, "ProductMenu", true, true,
             PRODUCT_MIN_HEIGHT, PRODUCT_MIN_WIDTH));
-        windows.add(new Window(MenuType.DELETE, "DeleteMenu", true, false));
+        windowSpecs.put(MenuType.DELETE, new WindowSpec(MenuType.DELETE, "DeleteMenu", true, false, 0, 0));
+    }
+
+    /** Marks the first frame and starts loading the windows that have not been built yet.*/
+    private static void firstFrame() {
+        startupTimer.mark("first-frame");
+        startupTimer.log();
+        if (Boolean.getBoolean(METRICS_JMX_PROPERTY)) {
+            try {
+                Metrics.addExporter(new JmxExporter());
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Could not publish metrics over JMX", e);
+            }
+        }
+        if (!Boolean.parseBoolean(System.getProperty(PREWARM_PROPERTY, "true"))) {
+            exitIfRequested();
+            return;
+        }
+        List<WindowSpec> pending = new ArrayList<>();
+        for (WindowSpec spec : windowSpecs.values()) {
+            if (!windows.containsKey(spec.menuType)) {
+                pending.add(spec);
+            }
+        }
+        Thread prewarm = new Thread(() -> {
+            for (WindowSpec spec : pending) {
+                try {
+                    FXMLLoader loader = Window.loadLayout(spec.name);
+                    Platform.runLater(() -> windows.computeIfAbsent(spec.menuType, type -> spec.build(loader)));
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Could not prewarm " + spec.name, e);
+                }
+            }
+            Platform.runLater(() -> {
+                startupTimer.mark("prewarm");
+                startupTimer.log();
+                exitIfRequested();
+            });
+        }, "window-prewarm");
+        prewarm.setDaemon(true);
+        prewarm.start();
+    }
+
+    private static void exitIfRequested() {
+        if (Boolean.getBoolean(EXIT_AFTER_STARTUP_PROPERTY)) {
+            Platform.exit();
+        }
+    }
+
+    /** @return the times of the phases of startup.*/
+    public static StartupTimer getStartupTimer() {
+        return startupTimer;
     }
 
-    /** Retrieves the first element of the windows arrayList with the matching MenuType.
+    /** Retrieves the window with the matching MenuType, building it if this is the first time it is asked for.
+     * Must be called on the JavaFX Application Thread.
      * Returns null if no matching window is found.
      * @param menuType the type of Menu to retrieve.
-     * @return the first matching window.*/
+     * @return the matching window.*/
     public static Window getWindow(MenuType menuType) {
-        for(Window window : windows) {
-            if (window.getMenuType() == menuType) {
-                return window;
+        Window window = windows.get(menuType);
+        if (window == null) {
+            WindowSpec spec = windowSpecs.get(menuType);
+            if (spec == null) {
+                return null;
             }
+            try {
+                window = spec.build(Window.loadLayout(spec.name));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not load " + spec.name, e);
+            }
+            windows.put(menuType, window);
         }
-        return null;
+        return window;
     }
 
-    /** Gets the first window of the specified MenuType and displays it on the screen.
+    /** Gets the window of the specified MenuType and displays it on the screen.
      * @param menuType the type of menu to display.*/
     public static void showWindow(MenuType menuType) {
-        for(Window window : windows) {
-            if (window.getMenuType() == menuType) {
-                if (window.stage == null) {
-                    primaryStage.setScene(window.getScene());
-                    return;
-                } else {
-                    window.getMenuController().open();
-                    window.stage.show();
-                }
-            }
+        Window window = getWindow(menuType);
+        if (window == null) {
+            return;
+        }
+        if (window.stage == null) {
+            primaryStage.setScene(window.getScene());
+        } else {
+            window.getMenuController().open();
+            window.stage.show();
         }
     }
 
-    /** Gets the first window of the specified MenuType and closes it. If no corresponding
+    /** Gets the window of the specified MenuType and closes it. If no corresponding
      * open window is found this method does nothing.
      * @param menuType the type of menu to display.*/
     public static void closeWindow(MenuType menuType) {
-        for(Window window : windows) {
-            if (window.getMenuType() == menuType) {
-                window.stage.close();
-                return;
-            }
+        Window window = windows.get(menuType);
+        if (window != null && window.stage != null) {
+            window.stage.close();
+        }
+    }
+
+    /** Imports a CSV file, logs what was imported and rejected, and numbers new items past the imported IDs.*/
+    private static void importCsv(Path file) throws IOException {
+        InventoryCsv.ImportResult result = InventoryCsv.importFrom(file);
+        idCounter.accumulateAndGet(result.getHighestId(), Math::max);
+        LOGGER.info("Imported " + result.getParts() + " parts and " + result.getProducts() + " products from "
+            + file + ", rejected " + result.getRejected() + " rows");
+        for (String error : result.getErrors()) {
+            LOGGER.warning(error);
         }
     }
 
@@ -110,13 +272,40 @@ public class AppManager extends Application {
     }
 
 
-    /** Used to generate unique part and product Ids.
+    /** Used to generate unique part and product Ids. Safe to call from any thread.
      * @return the next available ID.*/
     public static int nextId() {
-        return ++idCounter;
+        return idCounter.incrementAndGet();
     }
 
 
+    /** Describes how to build a menu window.*/
+    private static final class WindowSpec {
+        private final MenuType menuType;
+        private final String name;
+        private final boolean isSeparate;
+        private final boolean isResizable;
+        private final int minHeight;
+        private final int minWidth;
+
+        private WindowSpec(MenuType menuType, String name, boolean isSeparate, boolean isResizable, int minHeight,
+            int minWidth) {
+            this.menuType = menuType;
+            this.name = name;
+            this.isSeparate = isSeparate;
+            this.isResizable = isResizable;
+            this.minHeight = minHeight;
+            this.minWidth = minWidth;
+        }
+
+        /** Must be called on the JavaFX Application Thread.
+         * @param loader a loader that has already loaded the window's layout.
+         * @return the window.*/
+        private Window build(FXMLLoader loader) {
+            return new Window(menuType, name, isSeparate, isResizable, minHeight, minWidth, loader);
+        }
+    }
+
     /** A container for all of a menu's elements.*/
     public static class Window {
         private String name;
@@ -150,10 +339,14 @@ public class AppManager extends Application {
          * @param  minWidth minimum allowable width of window.*/
         public Window(MenuType menuType, String name, boolean isSeparate, boolean isResizable, int minHeight,
             int minWidth) throws Exception{
+            this(menuType, name, isSeparate, isResizable, minHeight, minWidth, loadLayout(name));
+        }
+
+        private Window(MenuType menuType, String name, boolean isSeparate, boolean isResizable, int minHeight,
+            int minWidth, FXMLLoader loader) {
             this.name = name;
             this.menuType = menuType;
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("menus/layouts/" + name + ".fxml"));
-            Parent root = loader.load();
+            Parent root = loader.getRoot();
             menuController = loader.getController();
             scene = new Scene(root);
             if (isSeparate) {
@@ -170,6 +363,18 @@ public class AppManager extends Application {
             menuController.start();
         }
 
+        /** Loads a window's layout and creates its controller. Safe to call from any thread, as the nodes it
+         * creates are not yet part of a scene.
+         * @param name the name of the window.
+         * @return the loader holding the layout and controller.*/
+        private static FXMLLoader loadLayout(String name) throws IOException {
+            FxmlLoadEvent event = new FxmlLoadEvent(name);
+            FXMLLoader loader = new FXMLLoader(Window.class.getResource("menus/layouts/" + name + ".fxml"));
+            loader.load();
+            event.commit();
+            return loader;
+        }
+
         /** @param name the name to set.*/
         public void setName(String name) {
             this.name = name;
@@ -0,0 +1,66 @@
+package com.griswold.inventoryManagementSystem;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/** Records when each phase of startup finishes, in milliseconds since the JVM started, and logs the phases once
+ * startup is over.
+ * <p>
+ * The clock is passed in so that the timings can be checked without starting a JVM or the JavaFX toolkit.*/
+public final class StartupTimer {
+
+    private static final Logger LOGGER = Logger.getLogger(StartupTimer.class.getName());
+
+    private final LongSupplier uptimeMillis;
+    private final Map<String, Long> marks = new LinkedHashMap<>();
+
+    /** Constructs a StartupTimer that measures from the start of this JVM.*/
+    public StartupTimer() {
+        this(ManagementFactory.getRuntimeMXBean()::getUptime);
+    }
+
+    /** @param uptimeMillis gives the milliseconds since the JVM started.*/
+    public StartupTimer(LongSupplier uptimeMillis) {
+        this.uptimeMillis = uptimeMillis;
+    }
+
+    /** Records that a phase has just finished. Marking a phase again moves it to the current time.
+     * @param phase the name of the phase.*/
+    public synchronized void mark(String phase) {
+        marks.remove(phase);
+        marks.put(phase, uptimeMillis.getAsLong());
+    }
+
+    /** @param phase the name of a phase.
+     * @return the milliseconds from JVM start to the end of the phase. Returns -1 if the phase was not marked.*/
+    public synchronized long getMillis(String phase) {
+        Long millis = marks.get(phase);
+        return millis == null ? -1 : millis;
+    }
+
+    /** @return the milliseconds from JVM start to the end of each phase, in the order the phases finished.*/
+    public synchronized Map<String, Long> getMarks() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(marks));
+    }
+
+    /** @return the phases as a single line, each with its end time and its own duration.*/
+    public synchronized String summary() {
+        StringBuilder summary = new StringBuilder("Startup:");
+        long previous = 0;
+        for (Map.Entry<String, Long> mark : marks.entrySet()) {
+            summary.append(' ').append(mark.getKey()).append(' ').append(mark.getValue()).append(" ms (+")
+                .append(mark.getValue() - previous).append(')');
+            previous = mark.getValue();
+        }
+        return summary.toString();
+    }
+
+    /** Logs the summary at INFO level.*/
+    public void log() {
+        LOGGER.info(summary());
+    }
+}
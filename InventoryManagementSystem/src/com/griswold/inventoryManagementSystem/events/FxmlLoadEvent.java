@@ -0,0 +1,27 @@
+package com.griswold.inventoryManagementSystem.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Recorded for the loading of a window's FXML layout, whether it is loaded on demand on the JavaFX Application
+ * Thread or ahead of time on the prewarm thread.
+ * <p>
+ * The event is begun when it is constructed.*/
+@Name("com.griswold.inventoryManagementSystem.FxmlLoad")
+@Label("FXML Load")
+@Category({"Inventory", "UI"})
+@Description("The loading of a window's FXML layout and controller")
+public final class FxmlLoadEvent extends Event {
+
+  @Label("Window")
+  public final String window;
+
+  /** @param window the name of the window.*/
+  public FxmlLoadEvent(String window) {
+    this.window = window;
+    begin();
+  }
+}
@@ -0,0 +1,38 @@
+package com.griswold.inventoryManagementSystem.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Recorded for every change made to the inventory, from the moment the change asks for the write lock until
+ * the lock is released, so the duration includes waiting for other changes and notifying the listeners.
+ * <p>
+ * The event is begun when it is constructed. Set {@link #itemCount} once the items have changed, then commit.*/
+@Name("com.griswold.inventoryManagementSystem.InventoryChange")
+@Label("Inventory Change")
+@Category({"Inventory", "Model"})
+@Description("A change to the parts or products held by the inventory")
+public final class InventoryChangeEvent extends Event {
+
+  @Label("Operation")
+  @Description("The Inventory method that made the change")
+  public final String operation;
+
+  @Label("Item ID")
+  @Description("The ID of the part or product changed, or -1 when several were")
+  public final int itemId;
+
+  @Label("Items Changed")
+  @Description("The number of parts or products actually changed")
+  public int itemCount;
+
+  /** @param operation the Inventory method that makes the change.
+   * @param itemId the ID of the part or product to change, or -1 when several are changed.*/
+  public InventoryChangeEvent(String operation, int itemId) {
+    this.operation = operation;
+    this.itemId = itemId;
+    begin();
+  }
+}
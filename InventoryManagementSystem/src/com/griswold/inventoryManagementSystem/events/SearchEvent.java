@@ -0,0 +1,45 @@
+package com.griswold.inventoryManagementSystem.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Recorded for a search from a search field, from the moment it starts until its last matches are shown in the
+ * table. A search by name runs on a background thread, so the event is committed on the JavaFX Application
+ * Thread once the last batch has been added to the table.
+ * <p>
+ * The event is begun when it is constructed. Set the other fields once the search is over, then commit.*/
+@Name("com.griswold.inventoryManagementSystem.Search")
+@Label("Search")
+@Category({"Inventory", "UI"})
+@Description("A search from a search field, until its results are shown")
+public final class SearchEvent extends Event {
+
+  @Label("Source")
+  @Description("The menu and table searched")
+  public final String source;
+
+  @Label("Query")
+  public final String query;
+
+  @Label("By ID")
+  @Description("Whether the query was answered by an ID lookup")
+  public boolean byId;
+
+  @Label("Result Count")
+  public int resultCount;
+
+  @Label("Completed")
+  @Description("False if the search was cancelled or superseded before it finished")
+  public boolean completed;
+
+  /** @param source the menu and table searched.
+   * @param query the text searched for.*/
+  public SearchEvent(String source, String query) {
+    this.source = source;
+    this.query = query;
+    begin();
+  }
+}
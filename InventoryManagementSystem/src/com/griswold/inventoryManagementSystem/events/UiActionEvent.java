@@ -0,0 +1,42 @@
+package com.griswold.inventoryManagementSystem.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Recorded for a button or menu action handled on the JavaFX Application Thread, from the start of its handler
+ * to the end. Inventory changes and layout loads made by the handler are recorded as events of their own on the
+ * same thread within this one; the time left over is spent in the handler and the controls it updates.
+ * <p>
+ * The event is begun when it is constructed. Set {@link #itemId} and {@link #itemCount} as they become known,
+ * then commit.*/
+@Name("com.griswold.inventoryManagementSystem.UiAction")
+@Label("UI Action")
+@Category({"Inventory", "UI"})
+@Description("A user action handled by a menu")
+public final class UiActionEvent extends Event {
+
+  @Label("Menu")
+  public final String menu;
+
+  @Label("Action")
+  public final String action;
+
+  @Label("Item ID")
+  @Description("The ID of the part or product acted on, or -1 if there is none")
+  public int itemId = -1;
+
+  @Label("Item Count")
+  @Description("The number of items the action saved, showed or opened")
+  public int itemCount;
+
+  /** @param menu the name of the menu.
+   * @param action the name of the action.*/
+  public UiActionEvent(String menu, String action) {
+    this.menu = menu;
+    this.action = action;
+    begin();
+  }
+}
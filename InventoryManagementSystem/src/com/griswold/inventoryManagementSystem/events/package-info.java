@@ -0,0 +1,4 @@
+/** Contains the Java Flight Recorder events that time user actions, searches, layout loading and inventory changes,
+ * so that a recording shows where the time of an action goes. Has no dependency on JavaFX.*/
+
+package com.griswold.inventoryManagementSystem.events;
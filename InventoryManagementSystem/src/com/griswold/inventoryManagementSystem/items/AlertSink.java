@@ -0,0 +1,11 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import java.util.List;
+
+/** Receives the alerts raised by {@link ReorderAlerts}. Batches are delivered one at a time, in order, on the
+ * alerting thread, never while the inventory is locked.*/
+public interface AlertSink {
+
+  /** @param alerts the alerts raised since the last batch, in the order the changes were made.*/
+  void accept(List<StockAlert> alerts);
+}
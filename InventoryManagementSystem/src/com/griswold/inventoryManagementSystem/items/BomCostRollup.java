@@ -0,0 +1,354 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/** Maintains the bill of materials cost of every product, the summed price of its associated parts, and flags
+ * the products priced below it.
+ * <p>
+ * The rollup follows the {@link Inventory} as a listener. A part's price change is applied as a difference to
+ * the products that use the part, so its cost grows with the number of those products rather than with the
+ * size of the inventory. A product's cost is recomputed from scratch when the product is added or updated.
+ * Parts that are not in the inventory count for nothing, just as they are left out of
+ * {@link Product#getAllAssociatedParts()}. Prices and associations changed through the setters of held parts and
+ * products reach the rollup as updates too, so its costs follow every change made to the inventory.*/
+public class BomCostRollup implements InventoryListener {
+
+  /** Half a cent. Products are only flagged once their price is below the cost by more than the rounding
+   * error that builds up from applying many price differences.*/
+  private static final double TOLERANCE = 0.005;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Lock readLock = lock.readLock();
+  private final Lock writeLock = lock.writeLock();
+  private final IntMap<PartCost> parts = new IntMap<>();
+  private final IntMap<ProductCost> products = new IntMap<>();
+  private final IntSet underpriced = new IntSet();
+
+  private BomCostRollup() {
+
+  }
+
+  /** Creates a rollup of the current inventory and keeps it up to date with every later change.
+   * @return the attached rollup.*/
+  public static BomCostRollup attach() {
+    BomCostRollup rollup = new BomCostRollup();
+    Inventory.addListenerWithContents(rollup);
+    return rollup;
+  }
+
+  /** Stops following the inventory. The rollup keeps the costs it had.*/
+  public void detach() {
+    Inventory.removeListener(this);
+  }
+
+  /** @param productId the ID of the product.
+   * @return the summed price of the product's associated parts. Returns NaN if the product is not in the
+   * inventory.*/
+  public double getBomCost(int productId) {
+    readLock.lock();
+    try {
+      ProductCost product = products.get(productId);
+      return product == null ? Double.NaN : product.cost;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /** @param productId the ID of the product.
+   * @return true if the product's price is below its bill of materials cost.*/
+  public boolean isUnderpriced(int productId) {
+    readLock.lock();
+    try {
+      return underpriced.contains(productId);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /** @return the IDs of every product priced below its bill of materials cost, in ascending order.*/
+  public int[] getUnderpricedProductIds() {
+    int[] productIds;
+    readLock.lock();
+    try {
+      productIds = underpriced.toArray();
+    } finally {
+      readLock.unlock();
+    }
+    Arrays.sort(productIds);
+    return productIds;
+  }
+
+  /** @return every product priced below its bill of materials cost, in ascending order of ID.*/
+  public List<Product> getUnderpricedProducts() {
+    List<Product> found = new ArrayList<>();
+    for (int productId : getUnderpricedProductIds()) {
+      Product product = Inventory.lookupProduct(productId);
+      if (product != null) {
+        found.add(product);
+      }
+    }
+    return found;
+  }
+
+  @Override
+  public void partAdded(Part part) {
+    writeLock.lock();
+    try {
+      addPart(part);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void partUpdated(Part oldPart, Part newPart) {
+    writeLock.lock();
+    try {
+      updatePart(oldPart, newPart);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void partDeleted(Part part) {
+    writeLock.lock();
+    try {
+      deletePart(part.getId());
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void partsAdded(List<Part> added) {
+    writeLock.lock();
+    try {
+      for (Part part : added) {
+        addPart(part);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void partsUpdated(List<Part> oldParts, List<Part> newParts) {
+    writeLock.lock();
+    try {
+      for (int i = 0; i < oldParts.size(); i++) {
+        updatePart(oldParts.get(i), newParts.get(i));
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void partsDeleted(List<Part> deleted) {
+    writeLock.lock();
+    try {
+      for (Part part : deleted) {
+        deletePart(part.getId());
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void productAdded(Product product) {
+    writeLock.lock();
+    try {
+      addProduct(product);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void productUpdated(Product oldProduct, Product newProduct) {
+    writeLock.lock();
+    try {
+      deleteProduct(oldProduct.getId());
+      addProduct(newProduct);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void productDeleted(Product product) {
+    writeLock.lock();
+    try {
+      deleteProduct(product.getId());
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void productsAdded(List<Product> added) {
+    writeLock.lock();
+    try {
+      for (Product product : added) {
+        addProduct(product);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void productsUpdated(List<Product> oldProducts, List<Product> newProducts) {
+    writeLock.lock();
+    try {
+      for (int i = 0; i < oldProducts.size(); i++) {
+        deleteProduct(oldProducts.get(i).getId());
+        addProduct(newProducts.get(i));
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void productsDeleted(List<Product> deleted) {
+    writeLock.lock();
+    try {
+      for (Product product : deleted) {
+        deleteProduct(product.getId());
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void addPart(Part part) {
+    PartCost entry = parts.get(part.getId());
+    if (entry == null) {
+      entry = new PartCost();
+      parts.put(part.getId(), entry);
+    }
+    double previous = entry.inInventory ? entry.price : 0;
+    entry.inInventory = true;
+    entry.price = part.getPrice();
+    applyDifference(part.getId(), entry, entry.price - previous);
+  }
+
+  private void updatePart(Part oldPart, Part newPart) {
+    if (oldPart.getId() != newPart.getId()) {
+      deletePart(oldPart.getId());
+    }
+    addPart(newPart);
+  }
+
+  private void deletePart(int partId) {
+    PartCost entry = parts.get(partId);
+    if (entry == null || !entry.inInventory) {
+      return;
+    }
+    applyDifference(partId, entry, -entry.price);
+    entry.inInventory = false;
+    entry.price = 0;
+    if (entry.users.size() == 0) {
+      parts.remove(partId);
+    }
+  }
+
+  /** Adds the difference in a part's price to the cost of every product using it, once for each time the
+   * product lists the part.*/
+  private void applyDifference(int partId, PartCost entry, double difference) {
+    if (difference == 0) {
+      return;
+    }
+    entry.users.forEach((product, productId) -> {
+      product.cost += difference * product.quantityOf(partId);
+      flag(product);
+    });
+  }
+
+  private void addProduct(Product product) {
+    int[] partIds = product.getAssociatedPartIds();
+    Arrays.sort(partIds);
+    int distinct = 0;
+    int[] quantities = new int[partIds.length];
+    for (int i = 0; i < partIds.length; i++) {
+      if (distinct > 0 && partIds[distinct - 1] == partIds[i]) {
+        quantities[distinct - 1]++;
+      } else {
+        partIds[distinct] = partIds[i];
+        quantities[distinct++] = 1;
+      }
+    }
+    ProductCost entry = new ProductCost(product.getId(), product.getPrice(), Arrays.copyOf(partIds, distinct),
+        Arrays.copyOf(quantities, distinct));
+    for (int i = 0; i < distinct; i++) {
+      PartCost part = parts.get(entry.partIds[i]);
+      if (part == null) {
+        part = new PartCost();
+        parts.put(entry.partIds[i], part);
+      }
+      part.users.put(entry.id, entry);
+      entry.cost += part.price * entry.quantities[i];
+    }
+    products.put(entry.id, entry);
+    flag(entry);
+  }
+
+  private void deleteProduct(int productId) {
+    ProductCost entry = products.remove(productId);
+    if (entry == null) {
+      return;
+    }
+    for (int partId : entry.partIds) {
+      PartCost part = parts.get(partId);
+      part.users.remove(productId);
+      if (!part.inInventory && part.users.size() == 0) {
+        parts.remove(partId);
+      }
+    }
+    underpriced.remove(productId);
+  }
+
+  private void flag(ProductCost product) {
+    if (product.price < product.cost - TOLERANCE) {
+      underpriced.add(product.id);
+    } else {
+      underpriced.remove(product.id);
+    }
+  }
+
+  /** The last known price of a part and the products that use it. A part that is used but not in the
+   * inventory has a price of zero.*/
+  private static final class PartCost {
+    private final IntMap<ProductCost> users = new IntMap<>();
+    private double price;
+    private boolean inInventory;
+  }
+
+  /** The price and running bill of materials cost of a product, with its distinct part IDs in ascending order
+   * and the number of times it lists each.*/
+  private static final class ProductCost {
+    private final int id;
+    private final double price;
+    private final int[] partIds;
+    private final int[] quantities;
+    private double cost;
+
+    private ProductCost(int id, double price, int[] partIds, int[] quantities) {
+      this.id = id;
+      this.price = price;
+      this.partIds = partIds;
+      this.quantities = quantities;
+    }
+
+    private int quantityOf(int partId) {
+      return quantities[Arrays.binarySearch(partIds, partId)];
+    }
+  }
+}
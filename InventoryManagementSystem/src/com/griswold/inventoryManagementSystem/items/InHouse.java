@@ -25,6 +25,17 @@ public class InHouse extends Part{
 
   /** @param machineId the machineId to set.*/
   public void setMachineId(int machineId) {
-    this.machineId = machineId;
+    change(() -> this.machineId = machineId);
+  }
+
+  @Override
+  Part copy() {
+    return new InHouse(getId(), getName(), getPrice(), getStock(), getMin(), getMax(), machineId);
+  }
+
+  @Override
+  void assign(Part other) {
+    super.assign(other);
+    this.machineId = ((InHouse) other).getMachineId();
   }
 }
@@ -0,0 +1,126 @@
+package com.griswold.inventoryManagementSystem.items;
+
+/** An open-addressing hash map from primitive ints to non-negative ints, the primitive counterpart of
+ * {@link IntMap}. Used to find the position of an item by ID without boxing either side.*/
+final class IntIntMap {
+
+  private static final int MIN_CAPACITY = 16;
+
+  private int[] keys;
+  /** The value plus one, so that 0 marks an empty slot.*/
+  private int[] values;
+  private int size;
+  private int mask;
+
+  /** Constructs a new empty IntIntMap.*/
+  IntIntMap() {
+    this(MIN_CAPACITY);
+  }
+
+  /** @param expectedSize the number of mappings to make room for up front.*/
+  IntIntMap(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity * 3 / 4 < expectedSize) {
+      capacity <<= 1;
+    }
+    keys = new int[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  /** @param key the key to look up.
+   * @return the value mapped to the key. Returns -1 if the key is not present.*/
+  int get(int key) {
+    int slot = hash(key) & mask;
+    while (values[slot] != 0) {
+      if (keys[slot] == key) {
+        return values[slot] - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /** Maps the key to the value, replacing any previous mapping.
+   * @param key the key.
+   * @param value the value. Must not be negative.
+   * @return the previous value. Returns -1 if the key was not present.*/
+  int put(int key, int value) {
+    int slot = hash(key) & mask;
+    while (values[slot] != 0) {
+      if (keys[slot] == key) {
+        int previous = values[slot] - 1;
+        values[slot] = value + 1;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value + 1;
+    if (++size > (keys.length >> 1) + (keys.length >> 2)) {
+      resize(keys.length << 1);
+    }
+    return -1;
+  }
+
+  /** Removes the mapping for the key.
+   * @param key the key to remove.
+   * @return the removed value. Returns -1 if the key was not present.*/
+  int remove(int key) {
+    int slot = hash(key) & mask;
+    while (values[slot] != 0) {
+      if (keys[slot] == key) {
+        int previous = values[slot] - 1;
+        deleteSlot(slot);
+        size--;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /** @return the number of mappings.*/
+  int size() {
+    return size;
+  }
+
+  /** Shifts following entries of the probe chain back so that lookups never hit a false gap.*/
+  private void deleteSlot(int slot) {
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (values[next] != 0) {
+      int home = hash(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    values[gap] = 0;
+  }
+
+  private void resize(int capacity) {
+    int[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new int[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != 0) {
+        int slot = hash(oldKeys[i]) & mask;
+        while (values[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private static int hash(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
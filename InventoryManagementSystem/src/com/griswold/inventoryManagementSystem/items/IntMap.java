@@ -0,0 +1,146 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/** An open-addressing hash map keyed by primitive ints. Used to index parts and products by ID
+ * without boxing every key.
+ * @param <V> the type of value held in the map.*/
+final class IntMap<V> {
+
+  private static final int MIN_CAPACITY = 16;
+
+  private int[] keys;
+  private Object[] values;
+  private int size;
+  private int mask;
+
+  /** Constructs a new empty IntMap.*/
+  IntMap() {
+    keys = new int[MIN_CAPACITY];
+    values = new Object[MIN_CAPACITY];
+    mask = MIN_CAPACITY - 1;
+  }
+
+  /** @param key the key to look up.
+   * @return the value mapped to the key. Returns null if the key is not present.*/
+  @SuppressWarnings("unchecked")
+  V get(int key) {
+    int slot = hash(key) & mask;
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        return (V) values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  /** @param key the key to look up.
+   * @return true if the key is present.*/
+  boolean containsKey(int key) {
+    return get(key) != null;
+  }
+
+  /** Maps the key to the value, replacing any previous mapping.
+   * @param key the key.
+   * @param value the value. Must not be null.
+   * @return the previous value. Returns null if the key was not present.*/
+  @SuppressWarnings("unchecked")
+  V put(int key, V value) {
+    int slot = hash(key) & mask;
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size > (keys.length >> 1) + (keys.length >> 2)) {
+      resize(keys.length << 1);
+    }
+    return null;
+  }
+
+  /** Removes the mapping for the key.
+   * @param key the key to remove.
+   * @return the removed value. Returns null if the key was not present.*/
+  @SuppressWarnings("unchecked")
+  V remove(int key) {
+    int slot = hash(key) & mask;
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        V previous = (V) values[slot];
+        deleteSlot(slot);
+        size--;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  /** Removes all mappings.*/
+  void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  /** @return the number of mappings.*/
+  int size() {
+    return size;
+  }
+
+  /** Calls the action for every mapping, in no particular order. The map must not be changed meanwhile.
+   * @param action receives each value and its key.*/
+  @SuppressWarnings("unchecked")
+  void forEach(ObjIntConsumer<? super V> action) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (values[slot] != null) {
+        action.accept((V) values[slot], keys[slot]);
+      }
+    }
+  }
+
+  /** Shifts following entries of the probe chain back so that lookups never hit a false gap.*/
+  private void deleteSlot(int slot) {
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (values[next] != null) {
+      int home = hash(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    values[gap] = null;
+  }
+
+  private void resize(int capacity) {
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new int[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = hash(oldKeys[i]) & mask;
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private static int hash(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
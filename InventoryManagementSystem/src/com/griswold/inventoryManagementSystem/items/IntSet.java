@@ -0,0 +1,133 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import java.util.Arrays;
+
+/** An open-addressing hash set of primitive ints. Used for ID posting lists in the inventory indexes.*/
+final class IntSet {
+
+  private static final int MIN_CAPACITY = 8;
+
+  private int[] keys;
+  private boolean[] used;
+  private int size;
+  private int mask;
+
+  /** Constructs a new empty IntSet.*/
+  IntSet() {
+    keys = new int[MIN_CAPACITY];
+    used = new boolean[MIN_CAPACITY];
+    mask = MIN_CAPACITY - 1;
+  }
+
+  /** @param key the value to check.
+   * @return true if the value is in the set.*/
+  boolean contains(int key) {
+    int slot = hash(key) & mask;
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  /** @param key the value to add.
+   * @return true if the value was not already in the set.*/
+  boolean add(int key) {
+    int slot = hash(key) & mask;
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    used[slot] = true;
+    if (++size > (keys.length >> 1) + (keys.length >> 2)) {
+      resize(keys.length << 1);
+    }
+    return true;
+  }
+
+  /** @param key the value to remove.
+   * @return true if the value was in the set.*/
+  boolean remove(int key) {
+    int slot = hash(key) & mask;
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        deleteSlot(slot);
+        size--;
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  /** Removes all values.*/
+  void clear() {
+    Arrays.fill(used, false);
+    size = 0;
+  }
+
+  /** @return the number of values in the set.*/
+  int size() {
+    return size;
+  }
+
+  /** @return true if the set holds no values.*/
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** @return a new array holding every value in the set, in no particular order.*/
+  int[] toArray() {
+    int[] result = new int[size];
+    int count = 0;
+    for (int i = 0; i < keys.length; i++) {
+      if (used[i]) {
+        result[count++] = keys[i];
+      }
+    }
+    return result;
+  }
+
+  /** Shifts following entries of the probe chain back so that lookups never hit a false gap.*/
+  private void deleteSlot(int slot) {
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (used[next]) {
+      int home = hash(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    used[gap] = false;
+  }
+
+  private void resize(int capacity) {
+    int[] oldKeys = keys;
+    boolean[] oldUsed = used;
+    keys = new int[capacity];
+    used = new boolean[capacity];
+    mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldUsed[i]) {
+        int slot = hash(oldKeys[i]) & mask;
+        while (used[slot]) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        used[slot] = true;
+      }
+    }
+  }
+
+  private static int hash(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -1,122 +1,1414 @@
 package com.griswold.inventoryManagementSystem.items;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import com.griswold.inventoryManagementSystem.events.InventoryChangeEvent;
+import com.griswold.inventoryManagementSystem.metrics.Counter;
+import com.griswold.inventoryManagementSystem.metrics.LatencyHistogram;
+import com.griswold.inventoryManagementSystem.metrics.Metrics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
-/** Application-wide database that holds all instantiated Parts and Products.*/
+/** Application-wide database that holds all instantiated Parts and Products.
+ * <p>
+ * Parts and products are kept in {@link ItemList}s, which remove items without shifting the rest of the list
+ * and find an item's position from its ID in O(log n), so deletes and updates by ID never scan.
+ * Parts and products are additionally indexed by ID so that lookups by ID do not scan the lists, and
+ * by name trigrams so that name searches only examine likely matches. The IDs found by recent name searches are
+ * kept in a {@link SearchCache}, from which only the searches a changed name could match are dropped. Products
+ * are also indexed by the IDs of their associated parts, so that the products using a part can be found without
+ * scanning every product. Price, stock and the margins of stock over min and max are kept in sorted indexes that
+ * answer range questions in O(log n + k) for k matches, and ID and name in sorted indexes too, so that a table
+ * can read a page of items in any {@link SortKey} order without sorting the rest. Outsourced parts are indexed by
+ * the code of their company name, so the parts from one supplier are found without scanning the others.
+ * <p>
+ * Items are indexed when they are added or updated. The inventory marks the items it holds, and every setter of a
+ * held item, and the methods that change the associated parts of a held product, make the change through here:
+ * the write lock is taken first, then the old values are copied, the new value assigned, the item reindexed and
+ * the change passed on to the listeners like any other update. Items that are not held, such as copies being
+ * edited, change without taking a lock. The ID of a held item cannot be changed, since it is
+ * the item's key; save a copy with the new ID instead.
+ * <p>
+ * The inventory may be read and changed from any thread. Parts and products each have a read-write lock, so a
+ * change to parts never waits for a change to products. Every change to a list takes that list's write lock,
+ * so the changes to it are applied, indexed and reported to the registered {@link InventoryListener}s in one
+ * order. Lookups share the read lock and run concurrently. Anything that needs both lists takes the part lock
+ * before the product lock, so the setters of a held part refuse to run on a thread that holds the product lock,
+ * such as a listener told of a product change, unless it also holds the part write lock.
+ * <p>
+ * Each public change and the common lookups are timed into a {@link LatencyHistogram} named after the
+ * operation, such as inventory.lookupPart.byId, and the parts and products added, updated and deleted are
+ * counted; see {@link Metrics}. Operations are timed on a sample of calls, since reading the clock can cost more
+ * than a lookup. Every change is also recorded as an {@link InventoryChangeEvent} for Java Flight Recorder.
+ * <p>
+ * The inventory has no dependency on JavaFX, so it can be used by batch jobs and benchmarks without starting
+ * the toolkit. The UI binds to it through
+ * {@link com.griswold.inventoryManagementSystem.menus.ObservableInventory}.*/
 public class Inventory {
-  private static final ObservableList<Part> allParts = FXCollections.observableArrayList();
-  private static final ObservableList<Product> allProducts = FXCollections.observableArrayList();
+  private static final int SEARCH_BATCH = 1024;
+  private static final int SCAN_CHUNK = 8192;
+  /** The most name searches of each kind to cache. Set with the inventory.searchCache.size system property.*/
+  private static final int SEARCH_CACHE_SIZE = Integer.getInteger("inventory.searchCache.size", 256);
+  /** The most matching IDs cached across the searches of each kind, 4 MB of them.*/
+  private static final int SEARCH_CACHE_IDS = 1 << 20;
+  /** Batches changing more names than this empty the search cache rather than invalidating it name by name.*/
+  private static final int BULK_INVALIDATION = 64;
+  /** Lookups can take only tens of nanoseconds, so one in this many is timed.*/
+  private static final int READ_SAMPLE_INTERVAL = 1024;
+  /** One in this many changes is timed. Changes are counted exactly by the item counters.*/
+  private static final int WRITE_SAMPLE_INTERVAL = 16;
+  private static final ReentrantReadWriteLock partLock = new ReentrantReadWriteLock();
+  private static final Lock partReadLock = partLock.readLock();
+  private static final Lock partWriteLock = partLock.writeLock();
+  private static final ReentrantReadWriteLock productLock = new ReentrantReadWriteLock();
+  private static final Lock productReadLock = productLock.readLock();
+  private static final Lock productWriteLock = productLock.writeLock();
+  private static final ItemList<Part> allParts = new ItemList<>(Part::getId);
+  private static final ItemList<Product> allProducts = new ItemList<>(Product::getId);
+  private static final IntMap<Part> partsById = new IntMap<>();
+  private static final IntMap<Product> productsById = new IntMap<>();
+  private static final SearchCache partSearches =
+      new SearchCache("inventory.partSearchCache", SEARCH_CACHE_SIZE, SEARCH_CACHE_IDS);
+  private static final SearchCache productSearches =
+      new SearchCache("inventory.productSearchCache", SEARCH_CACHE_SIZE, SEARCH_CACHE_IDS);
+  private static final NameIndex<Part> partNames = new NameIndex<>(partSearches);
+  private static final NameIndex<Product> productNames = new NameIndex<>(productSearches);
+  private static final RangeIndex<Part> partRanges = new RangeIndex<>(Part::getName, Part::getPrice,
+      Part::getStock, Part::getMin, Part::getMax);
+  private static final RangeIndex<Product> productRanges = new RangeIndex<>(Product::getName, Product::getPrice,
+      Product::getStock, Product::getMin, Product::getMax);
+  private static final IntMap<IntSet> productsByPart = new IntMap<>();
+  private static final IntMap<int[]> indexedPartIds = new IntMap<>();
+  private static final IntMap<IntSet> partsBySupplier = new IntMap<>();
+  private static final List<InventoryListener> listeners = new CopyOnWriteArrayList<>();
+  private static final LatencyHistogram addPartLatency =
+      Metrics.histogram("inventory.addPart", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram addProductLatency =
+      Metrics.histogram("inventory.addProduct", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram addPartsLatency =
+      Metrics.histogram("inventory.addParts", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram addProductsLatency =
+      Metrics.histogram("inventory.addProducts", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram lookupPartByIdLatency =
+      Metrics.histogram("inventory.lookupPart.byId", READ_SAMPLE_INTERVAL);
+  private static final LatencyHistogram lookupProductByIdLatency =
+      Metrics.histogram("inventory.lookupProduct.byId", READ_SAMPLE_INTERVAL);
+  private static final LatencyHistogram lookupProductsUsingPartLatency =
+      Metrics.histogram("inventory.lookupProductsUsingPart", READ_SAMPLE_INTERVAL);
+  private static final LatencyHistogram lookupPartByNameLatency =
+      Metrics.histogram("inventory.lookupPart.byName", READ_SAMPLE_INTERVAL);
+  private static final LatencyHistogram lookupProductByNameLatency =
+      Metrics.histogram("inventory.lookupProduct.byName", READ_SAMPLE_INTERVAL);
+  private static final LatencyHistogram lookupPartsBySupplierLatency =
+      Metrics.histogram("inventory.lookupPartsBySupplier", READ_SAMPLE_INTERVAL);
+  private static final LatencyHistogram updatePartLatency =
+      Metrics.histogram("inventory.updatePart", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram updateProductLatency =
+      Metrics.histogram("inventory.updateProduct", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram savePartLatency =
+      Metrics.histogram("inventory.savePart", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram saveProductLatency =
+      Metrics.histogram("inventory.saveProduct", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram updatePartsLatency =
+      Metrics.histogram("inventory.updateParts", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram updateProductsLatency =
+      Metrics.histogram("inventory.updateProducts", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram deletePartLatency =
+      Metrics.histogram("inventory.deletePart", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram deleteProductLatency =
+      Metrics.histogram("inventory.deleteProduct", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram deletePartsLatency =
+      Metrics.histogram("inventory.deleteParts", WRITE_SAMPLE_INTERVAL);
+  private static final LatencyHistogram deleteProductsLatency =
+      Metrics.histogram("inventory.deleteProducts", WRITE_SAMPLE_INTERVAL);
+  private static final Counter partsAdded = Metrics.counter("inventory.parts.added");
+  private static final Counter partsUpdated = Metrics.counter("inventory.parts.updated");
+  private static final Counter partsDeleted = Metrics.counter("inventory.parts.deleted");
+  private static final Counter productsAdded = Metrics.counter("inventory.products.added");
+  private static final Counter productsUpdated = Metrics.counter("inventory.products.updated");
+  private static final Counter productsDeleted = Metrics.counter("inventory.products.deleted");
 
-  /** @param part the Part to add.*/
+  static {
+    Metrics.gauge("inventory.parts", Inventory::getPartCount);
+    Metrics.gauge("inventory.products", Inventory::getProductCount);
+    Metrics.gauge("inventory.supplierNames", SupplierDictionary::size);
+  }
+
+  /** @param listener the listener to notify of every change to the inventory.*/
+  public static void addListener(InventoryListener listener) {
+    listeners.add(listener);
+  }
+
+  /** Registers a listener and reports the current contents of the inventory to it as bulk additions, in the
+   * same step. The listener sees every item exactly once, no matter what other threads are doing.
+   * @param listener the listener to notify of the current contents and of every later change.*/
+  public static void addListenerWithContents(InventoryListener listener) {
+    partWriteLock.lock();
+    productWriteLock.lock();
+    try {
+      listener.partsAdded(allParts.copy());
+      listener.productsAdded(allProducts.copy());
+      listeners.add(listener);
+    } finally {
+      productWriteLock.unlock();
+      partWriteLock.unlock();
+    }
+  }
+
+  /** Copies both lists in a single step and hands the copies to an action that runs before any further change
+   * can be made to either list. A listener can use it to capture the inventory at a known point in the stream of
+   * changes it is told of: every change reported before the action ran is in the copies, and none reported after.
+   * The action must not change the inventory.
+   * @param action receives the parts and the products, in order.*/
+  public static void capture(BiConsumer<List<Part>, List<Product>> action) {
+    partReadLock.lock();
+    productReadLock.lock();
+    try {
+      action.accept(allParts.copy(), allProducts.copy());
+    } finally {
+      productReadLock.unlock();
+      partReadLock.unlock();
+    }
+  }
+
+  /** @param listener the listener to stop notifying.*/
+  public static void removeListener(InventoryListener listener) {
+    listeners.remove(listener);
+  }
+
+  /** @param part the Part to add.
+   * @throws IllegalArgumentException if the inventory already holds a part with the same ID.*/
   public static void addPart(Part part) {
-    allParts.add(part);
+    long start = addPartLatency.startTimer();
+    InventoryChangeEvent event = new InventoryChangeEvent("addPart", part.getId());
+    partWriteLock.lock();
+    try {
+      checkUnused("Part", part.getId(), partsById);
+      insertPart(part);
+      event.itemCount = 1;
+    } finally {
+      partWriteLock.unlock();
+      addPartLatency.recordSince(start);
+      event.commit();
+    }
   }
 
-  /** @param product the Product to add.*/
+  /** @param product the Product to add.
+   * @throws IllegalArgumentException if the inventory already holds a product with the same ID.*/
   public static void addProduct(Product product) {
+    long start = addProductLatency.startTimer();
+    InventoryChangeEvent event = new InventoryChangeEvent("addProduct", product.getId());
+    productWriteLock.lock();
+    try {
+      checkUnused("Product", product.getId(), productsById);
+      insertProduct(product);
+      event.itemCount = 1;
+    } finally {
+      productWriteLock.unlock();
+      addProductLatency.recordSince(start);
+      event.commit();
+    }
+  }
+
+  /** Appends a part, indexes it and reports the addition. Must be called with the part write lock held, once its
+   * ID is known to be unused.*/
+  private static void insertPart(Part part) {
+    allParts.add(part);
+    partsById.put(part.getId(), part);
+    part.setHeld(true);
+    partNames.add(part.getId(), part.getName(), part);
+    partRanges.add(part.getId(), part);
+    indexSupplier(part);
+    partsAdded.increment();
+    for (InventoryListener listener : listeners) {
+      listener.partAdded(part);
+    }
+  }
+
+  /** Appends a product, indexes it and reports the addition. Must be called with the product write lock held,
+   * once its ID is known to be unused.*/
+  private static void insertProduct(Product product) {
     allProducts.add(product);
+    productsById.put(product.getId(), product);
+    product.setHeld(true);
+    productNames.add(product.getId(), product.getName(), product);
+    productRanges.add(product.getId(), product);
+    indexAssociations(product);
+    productsAdded.increment();
+    for (InventoryListener listener : listeners) {
+      listener.productAdded(product);
+    }
+  }
+
+  /** Two items with one ID would leave one of them out of reach of every lookup and delete, so an ID that is
+   * taken is refused before anything is changed.
+   * @throws IllegalArgumentException if the ID is taken.*/
+  private static void checkUnused(String kind, int id, IntMap<?> byId) {
+    if (byId.get(id) != null) {
+      throw new IllegalArgumentException(kind + " " + id + " is already in the inventory");
+    }
+  }
+
+  /** Refuses a batch in which an item has the ID of a held item or of an earlier item in the batch.
+   * @throws IllegalArgumentException if an ID is taken.*/
+  private static <T> void checkUnused(String kind, List<T> items, ToIntFunction<T> idOf, IntMap<?> byId) {
+    IntSet ids = new IntSet();
+    for (T item : items) {
+      int id = idOf.applyAsInt(item);
+      checkUnused(kind, id, byId);
+      if (!ids.add(id)) {
+        throw new IllegalArgumentException(kind + " " + id + " appears twice in the batch");
+      }
+    }
+  }
+
+  /** Adds several parts at once. The UI sees a single change no matter how many parts are added.
+   * @param parts the Parts to add, in order.
+   * @throws IllegalArgumentException if a part has the ID of a held part or of another part in the batch. No part
+   * is added.*/
+  public static void addParts(Collection<? extends Part> parts) {
+    long start = addPartsLatency.startTimer();
+    List<Part> added = new ArrayList<>(parts);
+    InventoryChangeEvent event = new InventoryChangeEvent("addParts", -1);
+    partWriteLock.lock();
+    try {
+      checkUnused("Part", added, Part::getId, partsById);
+      clearSearchesForBatch(partSearches, added.size());
+      allParts.addAll(added);
+      for (Part part : added) {
+        partsById.put(part.getId(), part);
+        part.setHeld(true);
+        partNames.add(part.getId(), part.getName(), part);
+        partRanges.add(part.getId(), part);
+        indexSupplier(part);
+      }
+      partsAdded.add(added.size());
+      event.itemCount = added.size();
+      for (InventoryListener listener : listeners) {
+        listener.partsAdded(added);
+      }
+    } finally {
+      partWriteLock.unlock();
+      addPartsLatency.recordSince(start);
+      event.commit();
+    }
+  }
+
+  /** Adds several products at once. The UI sees a single change no matter how many products are added.
+   * @param products the Products to add, in order.
+   * @throws IllegalArgumentException if a product has the ID of a held product or of another product in the
+   * batch. No product is added.*/
+  public static void addProducts(Collection<? extends Product> products) {
+    long start = addProductsLatency.startTimer();
+    List<Product> added = new ArrayList<>(products);
+    InventoryChangeEvent event = new InventoryChangeEvent("addProducts", -1);
+    productWriteLock.lock();
+    try {
+      checkUnused("Product", added, Product::getId, productsById);
+      clearSearchesForBatch(productSearches, added.size());
+      allProducts.addAll(added);
+      for (Product product : added) {
+        productsById.put(product.getId(), product);
+        product.setHeld(true);
+        productNames.add(product.getId(), product.getName(), product);
+        productRanges.add(product.getId(), product);
+        indexAssociations(product);
+      }
+      productsAdded.add(added.size());
+      event.itemCount = added.size();
+      for (InventoryListener listener : listeners) {
+        listener.productsAdded(added);
+      }
+    } finally {
+      productWriteLock.unlock();
+      addProductsLatency.recordSince(start);
+      event.commit();
+    }
   }
 
   /** Lookup part by ID.
    * @param partId the ID of the part to lookup.
    * @return the Part associated with the provided partID. Returns null if no part is found.*/
   public static Part lookupPart(int partId) {
-    for (Part part : allParts) {
-      if (part.getId() == partId) {
-        return part;
-      }
+    long start = lookupPartByIdLatency.startTimer();
+    partReadLock.lock();
+    try {
+      return partsById.get(partId);
+    } finally {
+      partReadLock.unlock();
+      lookupPartByIdLatency.recordSince(start);
     }
-    return null;
   }
 
   /** Lookup product by ID.
    * @param productId the ID of the part to lookup.
    * @return the Product associated with the provided productID. Returns null if no product is found.*/
   public static Product lookupProduct(int productId) {
-    for (Product product : allProducts) {
-      if (product.getId() == productId) {
-        return product;
+    long start = lookupProductByIdLatency.startTimer();
+    productReadLock.lock();
+    try {
+      return productsById.get(productId);
+    } finally {
+      productReadLock.unlock();
+      lookupProductByIdLatency.recordSince(start);
+    }
+  }
+
+  /** Finds every product whose associated parts include the specified part.
+   * @param partId the ID of the part.
+   * @return the products using the part, in no particular order. Returns an empty list if no product uses it.*/
+  public static List<Product> lookupProductsUsingPart(int partId) {
+    long start = lookupProductsUsingPartLatency.startTimer();
+    productReadLock.lock();
+    try {
+      IntSet productIds = productsByPart.get(partId);
+      if (productIds == null) {
+        return new ArrayList<>();
       }
+      List<Product> products = new ArrayList<>(productIds.size());
+      for (int productId : productIds.toArray()) {
+        products.add(productsById.get(productId));
+      }
+      return products;
+    } finally {
+      productReadLock.unlock();
+      lookupProductsUsingPartLatency.recordSince(start);
     }
-    return null;
   }
 
   /** Find all parts that contain the provided string.
    * @param partName search string.
-   * @return an ObservableList of type Part that contains all parts in the database matching the
-   * search criteria. Returns an empty list if no parts are found.*/
-  public static ObservableList<Part> lookupPart(String partName) {
-    ObservableList<Part> returnList = FXCollections.observableArrayList();
-    for(Part part : allParts) {
-      if (part.getName().toLowerCase().contains(partName.toLowerCase())) {
-        returnList.add(part);
-      }
+   * @return a list of all parts in the database matching the search criteria, in inventory order.
+   * Returns an empty list if no parts are found.*/
+  public static List<Part> lookupPart(String partName) {
+    long start = lookupPartByNameLatency.startTimer();
+    partReadLock.lock();
+    try {
+      return search(partName.toLowerCase(), partNames, partSearches, allParts, partsById, Part::getId);
+    } finally {
+      partReadLock.unlock();
+      lookupPartByNameLatency.recordSince(start);
     }
-    return returnList;
   }
 
   /** Find all products that contain the provided string.
    * @param productName search string.
-   * @return an ObservableList of type Product that contains all products in the database matching the
-   * search criteria. Returns an empty list if no products are found.*/
-  public static ObservableList<Product> lookupProduct(String productName) {
-    ObservableList<Product> returnList = FXCollections.observableArrayList();
-    for(Product product : allProducts) {
-      if (product.getName().toLowerCase().contains(productName.toLowerCase())) {
-        returnList.add(product);
+   * @return a list of all products in the database matching the search criteria, in inventory order.
+   * Returns an empty list if no products are found.*/
+  public static List<Product> lookupProduct(String productName) {
+    long start = lookupProductByNameLatency.startTimer();
+    productReadLock.lock();
+    try {
+      return search(productName.toLowerCase(), productNames, productSearches, allProducts, productsById,
+          Product::getId);
+    } finally {
+      productReadLock.unlock();
+      lookupProductByNameLatency.recordSince(start);
+    }
+  }
+
+  /** Find all parts that contain the provided string, handing them over in batches as they are found.
+   * <p>
+   * The read lock is only held while a batch is collected, so a long search does not hold up changes. Parts
+   * that are moved by changes made during the search may be missed or reported twice.
+   * @param partName search string.
+   * @param batches receives each batch of matches, in inventory order. Returns false to stop the search.*/
+  public static void lookupPart(String partName, Predicate<List<Part>> batches) {
+    search(partName.toLowerCase(), partNames, partSearches, allParts, partsById, Part::getId, partReadLock, batches);
+  }
+
+  /** Find all products that contain the provided string, handing them over in batches as they are found.
+   * <p>
+   * The read lock is only held while a batch is collected, so a long search does not hold up changes. Products
+   * that are moved by changes made during the search may be missed or reported twice.
+   * @param productName search string.
+   * @param batches receives each batch of matches, in inventory order. Returns false to stop the search.*/
+  public static void lookupProduct(String productName, Predicate<List<Product>> batches) {
+    search(productName.toLowerCase(), productNames, productSearches, allProducts, productsById, Product::getId,
+        productReadLock, batches);
+  }
+
+  /** Answers a search from the cache, or else from the name index or a scan of the list, and caches the matches.
+   * Must be called with the read lock of the list held.*/
+  private static <T> List<T> search(String query, NameIndex<T> names, SearchCache cache, ItemList<T> all,
+      IntMap<T> byId, ToIntFunction<T> id) {
+    int[] cached = cache.get(query);
+    if (cached != null) {
+      return itemsOf(cached, byId);
+    }
+    List<T> matches = names.search(query);
+    if (matches == null) {
+      matches = new ArrayList<>();
+      for (T item : all) {
+        if (names.foldedName(id.applyAsInt(item)).contains(query)) {
+          matches.add(item);
+        }
       }
     }
-    return returnList;
+    cache.put(query, idsOf(matches, id), cache.version());
+    return matches;
+  }
+
+  /** Answers a search from the cache or the name index, or scans the list a chunk at a time when the query is too
+   * short for the index. A scan that runs to the end is cached unless a name changed while it ran. The list's read
+   * lock is taken for each step.*/
+  private static <T> void search(String query, NameIndex<T> names, SearchCache cache, ItemList<T> all,
+      IntMap<T> byId, ToIntFunction<T> id, Lock readLock, Predicate<List<T>> batches) {
+    List<T> matches;
+    long version;
+    readLock.lock();
+    try {
+      int[] cached = cache.get(query);
+      if (cached != null) {
+        matches = itemsOf(cached, byId);
+      } else {
+        matches = names.search(query);
+        if (matches != null) {
+          cache.put(query, idsOf(matches, id), cache.version());
+        }
+      }
+      version = cache.version();
+    } finally {
+      readLock.unlock();
+    }
+    if (matches != null) {
+      for (int from = 0; from < matches.size(); from += SEARCH_BATCH) {
+        if (!batches.test(matches.subList(from, Math.min(from + SEARCH_BATCH, matches.size())))) {
+          return;
+        }
+      }
+      return;
+    }
+    List<T> found = new ArrayList<>();
+    for (int from = 0; ; from += SCAN_CHUNK) {
+      List<T> batch = new ArrayList<>();
+      readLock.lock();
+      try {
+        if (from >= all.size()) {
+          cache.put(query, idsOf(found, id), version);
+          return;
+        }
+        for (T item : all.copy(from, from + SCAN_CHUNK)) {
+          if (names.foldedName(id.applyAsInt(item)).contains(query)) {
+            batch.add(item);
+          }
+        }
+      } finally {
+        readLock.unlock();
+      }
+      found.addAll(batch);
+      if (!batch.isEmpty() && !batches.test(batch)) {
+        return;
+      }
+    }
+  }
+
+  /** Each name invalidated costs a pass over the cached searches, so a large batch of additions or deletions
+   * empties the cache instead. Batches of updates keep it, since most of them leave the names as they are.*/
+  private static void clearSearchesForBatch(SearchCache cache, int size) {
+    if (size > BULK_INVALIDATION) {
+      cache.clear();
+    }
+  }
+
+  private static <T> int[] idsOf(List<T> items, ToIntFunction<T> id) {
+    int[] ids = new int[items.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = id.applyAsInt(items.get(i));
+    }
+    return ids;
+  }
+
+  private static <T> List<T> itemsOf(int[] ids, IntMap<T> byId) {
+    List<T> items = new ArrayList<>(ids.length);
+    for (int itemId : ids) {
+      items.add(byId.get(itemId));
+    }
+    return items;
+  }
+
+  /** @param minPrice the lowest price, inclusive.
+   * @param maxPrice the highest price, inclusive.
+   * @return every part priced in the range, by ascending price.*/
+  public static List<Part> lookupPartsByPrice(double minPrice, double maxPrice) {
+    partReadLock.lock();
+    try {
+      return partRanges.byPrice(minPrice, maxPrice);
+    } finally {
+      partReadLock.unlock();
+    }
+  }
+
+  /** @param minStock the lowest stock, inclusive.
+   * @param maxStock the highest stock, inclusive.
+   * @return every part with stock in the range, by ascending stock.*/
+  public static List<Part> lookupPartsByStock(int minStock, int maxStock) {
+    partReadLock.lock();
+    try {
+      return partRanges.byStock(minStock, maxStock);
+    } finally {
+      partReadLock.unlock();
+    }
+  }
+
+  /** @param from the lowest stock minus min, inclusive.
+   * @param to the highest stock minus min, inclusive.
+   * @return every part whose stock exceeds its min by an amount in the range, by ascending margin.*/
+  public static List<Part> lookupPartsByReorderMargin(int from, int to) {
+    partReadLock.lock();
+    try {
+      return partRanges.byReorderMargin(from, to);
+    } finally {
+      partReadLock.unlock();
+    }
+  }
+
+  /** @return every part with less stock than its min, lowest margin first.*/
+  public static List<Part> lookupPartsBelowMin() {
+    return lookupPartsByReorderMargin(Integer.MIN_VALUE, -1);
+  }
+
+  /** @return every part with more stock than its max, by ascending excess.*/
+  public static List<Part> lookupPartsAboveMax() {
+    partReadLock.lock();
+    try {
+      return partRanges.byOverstockMargin(1, Integer.MAX_VALUE);
+    } finally {
+      partReadLock.unlock();
+    }
+  }
+
+  /** @param minPrice the lowest price, inclusive.
+   * @param maxPrice the highest price, inclusive.
+   * @return every product priced in the range, by ascending price.*/
+  public static List<Product> lookupProductsByPrice(double minPrice, double maxPrice) {
+    productReadLock.lock();
+    try {
+      return productRanges.byPrice(minPrice, maxPrice);
+    } finally {
+      productReadLock.unlock();
+    }
+  }
+
+  /** @param minStock the lowest stock, inclusive.
+   * @param maxStock the highest stock, inclusive.
+   * @return every product with stock in the range, by ascending stock.*/
+  public static List<Product> lookupProductsByStock(int minStock, int maxStock) {
+    productReadLock.lock();
+    try {
+      return productRanges.byStock(minStock, maxStock);
+    } finally {
+      productReadLock.unlock();
+    }
+  }
+
+  /** @param from the lowest stock minus min, inclusive.
+   * @param to the highest stock minus min, inclusive.
+   * @return every product whose stock exceeds its min by an amount in the range, by ascending margin.*/
+  public static List<Product> lookupProductsByReorderMargin(int from, int to) {
+    productReadLock.lock();
+    try {
+      return productRanges.byReorderMargin(from, to);
+    } finally {
+      productReadLock.unlock();
+    }
+  }
+
+  /** @return every product with less stock than its min, lowest margin first.*/
+  public static List<Product> lookupProductsBelowMin() {
+    return lookupProductsByReorderMargin(Integer.MIN_VALUE, -1);
+  }
+
+  /** @return every product with more stock than its max, by ascending excess.*/
+  public static List<Product> lookupProductsAboveMax() {
+    productReadLock.lock();
+    try {
+      return productRanges.byOverstockMargin(1, Integer.MAX_VALUE);
+    } finally {
+      productReadLock.unlock();
+    }
+  }
+
+  /** Finds the outsourced parts from a company through the supplier index, without scanning other parts.
+   * @param companyName the name of the company.
+   * @return the parts from that company, sorted by ID.*/
+  public static List<Outsourced> lookupPartsBySupplier(String companyName) {
+    long start = lookupPartsBySupplierLatency.startTimer();
+    List<Outsourced> parts = new ArrayList<>();
+    int companyCode = SupplierDictionary.find(companyName);
+    partReadLock.lock();
+    try {
+      IntSet partIds = companyCode < 0 ? null : partsBySupplier.get(companyCode);
+      if (partIds != null) {
+        int[] ids = partIds.toArray();
+        Arrays.sort(ids);
+        for (int id : ids) {
+          parts.add((Outsourced) partsById.get(id));
+        }
+      }
+    } finally {
+      partReadLock.unlock();
+      lookupPartsBySupplierLatency.recordSince(start);
+    }
+    return parts;
+  }
+
+  /** Totals price times stock over the parts from a company. Only that company's parts are visited, so the
+   * total always reflects their current prices.
+   * @param companyName the name of the company.
+   * @return the value of the stock held from that company. Returns 0 if the company supplies no parts.*/
+  public static double getSupplierStockValue(String companyName) {
+    int companyCode = SupplierDictionary.find(companyName);
+    partReadLock.lock();
+    try {
+      IntSet partIds = companyCode < 0 ? null : partsBySupplier.get(companyCode);
+      if (partIds == null) {
+        return 0;
+      }
+      double value = 0;
+      for (int id : partIds.toArray()) {
+        Part part = partsById.get(id);
+        value += part.getPrice() * part.getStock();
+      }
+      return value;
+    } finally {
+      partReadLock.unlock();
+    }
   }
 
   /** Replaces the part at the specified index with the part provided.
    * @param index index of part to be replaced.
-   * @param newPart new part to be inserted.*/
+   * @param newPart new part to be inserted.
+   * @throws IllegalArgumentException if the new part has the ID of another held part.*/
   public static void updatePart(int index, Part newPart) {
-    allParts.set(index, newPart);
+    long start = updatePartLatency.startTimer();
+    InventoryChangeEvent event = new InventoryChangeEvent("updatePart", newPart.getId());
+    partWriteLock.lock();
+    try {
+      if (allParts.get(index).getId() != newPart.getId()) {
+        checkUnused("Part", newPart.getId(), partsById);
+      }
+      replacePart(allParts.set(index, newPart), newPart);
+      event.itemCount = 1;
+    } finally {
+      partWriteLock.unlock();
+      updatePartLatency.recordSince(start);
+      event.commit();
+    }
   }
 
   /** Replaces the product at the specified index with the product provided.
    * @param index index of part to be replaced.
-   * @param newProduct new product to be inserted.*/
+   * @param newProduct new product to be inserted.
+   * @throws IllegalArgumentException if the new product has the ID of another held product.*/
   public static void updateProduct(int index, Product newProduct) {
-    allProducts.set(index, newProduct);
+    long start = updateProductLatency.startTimer();
+    InventoryChangeEvent event = new InventoryChangeEvent("updateProduct", newProduct.getId());
+    productWriteLock.lock();
+    try {
+      if (allProducts.get(index).getId() != newProduct.getId()) {
+        checkUnused("Product", newProduct.getId(), productsById);
+      }
+      replaceProduct(allProducts.set(index, newProduct), newProduct);
+      event.itemCount = 1;
+    } finally {
+      productWriteLock.unlock();
+      updateProductLatency.recordSince(start);
+      event.commit();
+    }
   }
 
-  /** Remove a part from the part list.
+  /** Saves a part by its ID, without looking up its position. If the inventory holds a part with the same ID
+   * and class, the values of the part are copied onto the held part in place and listeners are told of an update
+   * of that part alone, from a copy of the values it had to the held part. A held part of another class is
+   * replaced by the part, and if no part has the ID the part is added.
+   * @param part the part to save.
+   * @return the part held by the inventory afterwards.*/
+  public static Part savePart(Part part) {
+    long start = savePartLatency.startTimer();
+    InventoryChangeEvent event = new InventoryChangeEvent("savePart", part.getId());
+    partWriteLock.lock();
+    try {
+      Part held = partsById.get(part.getId());
+      if (held == null) {
+        insertPart(part);
+        event.itemCount = 1;
+        return part;
+      }
+      if (held.getClass() != part.getClass()) {
+        replacePart(allParts.replace(held.getId(), part), part);
+        event.itemCount = 1;
+        return part;
+      }
+      Part oldPart = held.copy();
+      unindexSupplier(held);
+      held.assign(part);
+      partNames.replace(held.getId(), held.getId(), held.getName(), held);
+      partRanges.add(held.getId(), held);
+      indexSupplier(held);
+      partsUpdated.increment();
+      event.itemCount = 1;
+      for (InventoryListener listener : listeners) {
+        listener.partUpdated(oldPart, held);
+      }
+      return held;
+    } finally {
+      partWriteLock.unlock();
+      savePartLatency.recordSince(start);
+      event.commit();
+    }
+  }
+
+  /** Saves a product by its ID, without looking up its position. If the inventory holds a product with the same
+   * ID and class, the values and associated parts of the product are copied onto the held product in place and
+   * listeners are told of an update of that product alone, from a copy of the values it had to the held product.
+   * A held product of another class is replaced by the product, and if no product has the ID the product is
+   * added.
+   * @param product the product to save.
+   * @return the product held by the inventory afterwards.*/
+  public static Product saveProduct(Product product) {
+    long start = saveProductLatency.startTimer();
+    InventoryChangeEvent event = new InventoryChangeEvent("saveProduct", product.getId());
+    productWriteLock.lock();
+    try {
+      Product held = productsById.get(product.getId());
+      if (held == null) {
+        insertProduct(product);
+        event.itemCount = 1;
+        return product;
+      }
+      if (held.getClass() != product.getClass()) {
+        replaceProduct(allProducts.replace(held.getId(), product), product);
+        event.itemCount = 1;
+        return product;
+      }
+      Product oldProduct = held.copy();
+      unindexAssociations(held.getId());
+      held.assign(product);
+      productNames.replace(held.getId(), held.getId(), held.getName(), held);
+      productRanges.add(held.getId(), held);
+      indexAssociations(held);
+      productsUpdated.increment();
+      event.itemCount = 1;
+      for (InventoryListener listener : listeners) {
+        listener.productUpdated(oldProduct, held);
+      }
+      return held;
+    } finally {
+      productWriteLock.unlock();
+      saveProductLatency.recordSince(start);
+      event.commit();
+    }
+  }
+
+  /** Indexes a part that has taken the place of another in the list and reports the change. Must be called with
+   * the part write lock held.*/
+  private static void replacePart(Part oldPart, Part newPart) {
+    partsById.remove(oldPart.getId());
+    partsById.put(newPart.getId(), newPart);
+    oldPart.setHeld(false);
+    newPart.setHeld(true);
+    partNames.replace(oldPart.getId(), newPart.getId(), newPart.getName(), newPart);
+    partRanges.remove(oldPart.getId());
+    partRanges.add(newPart.getId(), newPart);
+    unindexSupplier(oldPart);
+    indexSupplier(newPart);
+    partsUpdated.increment();
+    for (InventoryListener listener : listeners) {
+      listener.partUpdated(oldPart, newPart);
+    }
+  }
+
+  /** Indexes a product that has taken the place of another in the list and reports the change. Must be called
+   * with the product write lock held.*/
+  private static void replaceProduct(Product oldProduct, Product newProduct) {
+    productsById.remove(oldProduct.getId());
+    productsById.put(newProduct.getId(), newProduct);
+    oldProduct.setHeld(false);
+    newProduct.setHeld(true);
+    productNames.replace(oldProduct.getId(), newProduct.getId(), newProduct.getName(), newProduct);
+    productRanges.remove(oldProduct.getId());
+    productRanges.add(newProduct.getId(), newProduct);
+    unindexAssociations(oldProduct.getId());
+    indexAssociations(newProduct);
+    productsUpdated.increment();
+    for (InventoryListener listener : listeners) {
+      listener.productUpdated(oldProduct, newProduct);
+    }
+  }
+
+  /** Replaces several parts at once, each one matched to the existing part with the same ID. Parts whose ID
+   * is not in the inventory are ignored. The UI sees a single change no matter how many parts are replaced.
+   * @param newParts the replacement Parts.
+   * @return the number of parts that were replaced.*/
+  public static int updateParts(Collection<? extends Part> newParts) {
+    long start = updatePartsLatency.startTimer();
+    IntMap<Part> replacements = new IntMap<>();
+    for (Part part : newParts) {
+      replacements.put(part.getId(), part);
+    }
+    InventoryChangeEvent event = new InventoryChangeEvent("updateParts", -1);
+    partWriteLock.lock();
+    try {
+      List<Part> oldParts = new ArrayList<>();
+      List<Part> updatedParts = new ArrayList<>();
+      for (Part newPart : newParts) {
+        Part oldPart = replacements.get(newPart.getId()) == newPart ? allParts.replace(newPart.getId(), newPart)
+            : null;
+        if (oldPart != null) {
+          partsById.put(newPart.getId(), newPart);
+          oldPart.setHeld(false);
+          newPart.setHeld(true);
+          partNames.replace(oldPart.getId(), newPart.getId(), newPart.getName(), newPart);
+          partRanges.add(newPart.getId(), newPart);
+          unindexSupplier(oldPart);
+          indexSupplier(newPart);
+          oldParts.add(oldPart);
+          updatedParts.add(newPart);
+        }
+      }
+      if (!updatedParts.isEmpty()) {
+        partsUpdated.add(updatedParts.size());
+        event.itemCount = updatedParts.size();
+        for (InventoryListener listener : listeners) {
+          listener.partsUpdated(oldParts, updatedParts);
+        }
+      }
+      return updatedParts.size();
+    } finally {
+      partWriteLock.unlock();
+      updatePartsLatency.recordSince(start);
+      event.commit();
+    }
+  }
+
+  /** Replaces several products at once, each one matched to the existing product with the same ID. Products
+   * whose ID is not in the inventory are ignored. The UI sees a single change no matter how many products are
+   * replaced.
+   * @param newProducts the replacement Products.
+   * @return the number of products that were replaced.*/
+  public static int updateProducts(Collection<? extends Product> newProducts) {
+    long start = updateProductsLatency.startTimer();
+    IntMap<Product> replacements = new IntMap<>();
+    for (Product product : newProducts) {
+      replacements.put(product.getId(), product);
+    }
+    InventoryChangeEvent event = new InventoryChangeEvent("updateProducts", -1);
+    productWriteLock.lock();
+    try {
+      List<Product> oldProducts = new ArrayList<>();
+      List<Product> updatedProducts = new ArrayList<>();
+      for (Product newProduct : newProducts) {
+        Product oldProduct = replacements.get(newProduct.getId()) == newProduct
+            ? allProducts.replace(newProduct.getId(), newProduct) : null;
+        if (oldProduct != null) {
+          productsById.put(newProduct.getId(), newProduct);
+          oldProduct.setHeld(false);
+          newProduct.setHeld(true);
+          productNames.replace(oldProduct.getId(), newProduct.getId(), newProduct.getName(), newProduct);
+          productRanges.add(newProduct.getId(), newProduct);
+          unindexAssociations(oldProduct.getId());
+          indexAssociations(newProduct);
+          oldProducts.add(oldProduct);
+          updatedProducts.add(newProduct);
+        }
+      }
+      if (!updatedProducts.isEmpty()) {
+        productsUpdated.add(updatedProducts.size());
+        event.itemCount = updatedProducts.size();
+        for (InventoryListener listener : listeners) {
+          listener.productsUpdated(oldProducts, updatedProducts);
+        }
+      }
+      return updatedProducts.size();
+    } finally {
+      productWriteLock.unlock();
+      updateProductsLatency.recordSince(start);
+      event.commit();
+    }
+  }
+
+  /** Remove a part from the part list. The part is also removed from the associated parts of every product that
+   * uses it, and those products are reported as updated.
    * @param selectedPart the part to be removed.
    * @return true if part was successfully removed. Returns false if part does not exist in list.*/
   public static boolean deletePart(Part selectedPart) {
-    for (Part part : allParts) {
-      if (part.getId() == selectedPart.getId()) {
-        allParts.remove(part);
-        return true;
+    long start = deletePartLatency.startTimer();
+    InventoryChangeEvent event = new InventoryChangeEvent("deletePart", selectedPart.getId());
+    partWriteLock.lock();
+    productWriteLock.lock();
+    try {
+      Part part = partsById.remove(selectedPart.getId());
+      if (part == null) {
+        return false;
+      }
+      int index = allParts.indexOf(part.getId());
+      allParts.remove(part.getId());
+      part.setHeld(false);
+      partNames.remove(part.getId());
+      partRanges.remove(part.getId());
+      unindexSupplier(part);
+      partsDeleted.increment();
+      event.itemCount = 1;
+      for (InventoryListener listener : listeners) {
+        listener.partDeleted(part, index);
       }
+      List<Product> oldProducts = new ArrayList<>();
+      List<Product> changed = new ArrayList<>();
+      dropFromProducts(part.getId(), oldProducts, changed, new IntSet());
+      for (int i = 0; i < changed.size(); i++) {
+        for (InventoryListener listener : listeners) {
+          listener.productUpdated(oldProducts.get(i), changed.get(i));
+        }
+      }
+      return true;
+    } finally {
+      productWriteLock.unlock();
+      partWriteLock.unlock();
+      deletePartLatency.recordSince(start);
+      event.commit();
     }
-    return false;
   }
 
   /** Remove a product from the product list.
    * @param selectedProduct the part to be removed.
    * @return true if product was successfully removed. Returns false if product does not exist in list.*/
   public static boolean deleteProduct(Product selectedProduct) {
-    for (Product product : allProducts) {
-      if (product.getId() == selectedProduct.getId()) {
-        allProducts.remove(product);
-        return true;
+    long start = deleteProductLatency.startTimer();
+    InventoryChangeEvent event = new InventoryChangeEvent("deleteProduct", selectedProduct.getId());
+    productWriteLock.lock();
+    try {
+      Product product = productsById.remove(selectedProduct.getId());
+      if (product == null) {
+        return false;
+      }
+      int index = allProducts.indexOf(product.getId());
+      allProducts.remove(product.getId());
+      product.setHeld(false);
+      productNames.remove(product.getId());
+      productRanges.remove(product.getId());
+      unindexAssociations(product.getId());
+      productsDeleted.increment();
+      event.itemCount = 1;
+      for (InventoryListener listener : listeners) {
+        listener.productDeleted(product, index);
+      }
+      return true;
+    } finally {
+      productWriteLock.unlock();
+      deleteProductLatency.recordSince(start);
+      event.commit();
+    }
+  }
+
+  /** Removes several parts at once. The UI sees a single change no matter how many parts are removed. The parts
+   * are also removed from the associated parts of the products that use them, and those products are reported as
+   * updated in a single change.
+   * @param partIds the IDs of the parts to remove. IDs that are not in the inventory are ignored.
+   * @return the number of parts that were removed.*/
+  public static int deleteParts(int... partIds) {
+    long start = deletePartsLatency.startTimer();
+    InventoryChangeEvent event = new InventoryChangeEvent("deleteParts", -1);
+    partWriteLock.lock();
+    productWriteLock.lock();
+    try {
+      clearSearchesForBatch(partSearches, partIds.length);
+      List<Part> removed = new ArrayList<>();
+      int[] indexes = new int[partIds.length];
+      for (int partId : partIds) {
+        Part part = partsById.remove(partId);
+        if (part != null) {
+          indexes[removed.size()] = allParts.indexOf(partId);
+          allParts.remove(partId);
+          part.setHeld(false);
+          partNames.remove(partId);
+          partRanges.remove(partId);
+          unindexSupplier(part);
+          removed.add(part);
+        }
+      }
+      if (removed.isEmpty()) {
+        return 0;
+      }
+      partsDeleted.add(removed.size());
+      event.itemCount = removed.size();
+      for (InventoryListener listener : listeners) {
+        listener.partsDeleted(removed, Arrays.copyOf(indexes, removed.size()));
+      }
+      List<Product> oldProducts = new ArrayList<>();
+      List<Product> changed = new ArrayList<>();
+      IntSet changedIds = new IntSet();
+      for (Part part : removed) {
+        dropFromProducts(part.getId(), oldProducts, changed, changedIds);
+      }
+      if (!changed.isEmpty()) {
+        for (InventoryListener listener : listeners) {
+          listener.productsUpdated(oldProducts, changed);
+        }
+      }
+      return removed.size();
+    } finally {
+      productWriteLock.unlock();
+      partWriteLock.unlock();
+      deletePartsLatency.recordSince(start);
+      event.commit();
+    }
+  }
+
+  /** Removes several products at once. The UI sees a single change no matter how many products are removed.
+   * @param productIds the IDs of the products to remove. IDs that are not in the inventory are ignored.
+   * @return the number of products that were removed.*/
+  public static int deleteProducts(int... productIds) {
+    long start = deleteProductsLatency.startTimer();
+    InventoryChangeEvent event = new InventoryChangeEvent("deleteProducts", -1);
+    productWriteLock.lock();
+    try {
+      clearSearchesForBatch(productSearches, productIds.length);
+      List<Product> removed = new ArrayList<>();
+      int[] indexes = new int[productIds.length];
+      for (int productId : productIds) {
+        Product product = productsById.remove(productId);
+        if (product != null) {
+          indexes[removed.size()] = allProducts.indexOf(productId);
+          allProducts.remove(productId);
+          product.setHeld(false);
+          productNames.remove(productId);
+          productRanges.remove(productId);
+          unindexAssociations(productId);
+          removed.add(product);
+        }
+      }
+      if (removed.isEmpty()) {
+        return 0;
+      }
+      productsDeleted.add(removed.size());
+      event.itemCount = removed.size();
+      for (InventoryListener listener : listeners) {
+        listener.productsDeleted(removed, Arrays.copyOf(indexes, removed.size()));
+      }
+      return removed.size();
+    } finally {
+      productWriteLock.unlock();
+      deleteProductsLatency.recordSince(start);
+      event.commit();
+    }
+  }
+
+  /** Records the product under each of its associated part IDs. The IDs are kept so the product can be
+   * unindexed later even if its associations have changed since. Must be called with the product write lock
+   * held.*/
+  private static void indexAssociations(Product product) {
+    int[] partIds = product.getAssociatedPartIds();
+    if (partIds.length == 0) {
+      return;
+    }
+    indexedPartIds.put(product.getId(), partIds);
+    for (int partId : partIds) {
+      IntSet productIds = productsByPart.get(partId);
+      if (productIds == null) {
+        productIds = new IntSet();
+        productsByPart.put(partId, productIds);
+      }
+      productIds.add(product.getId());
+    }
+  }
+
+  /** Removes a deleted part from the products that use it and from the association index, so that those products
+   * no longer count it among their parts. Must be called with both write locks held.
+   * @param partId the ID of the deleted part.
+   * @param oldProducts receives a copy of each product changed, made before its first change.
+   * @param changed receives each product changed, once however many deleted parts it used.
+   * @param changedIds the IDs of the products in changed.*/
+  private static void dropFromProducts(int partId, List<Product> oldProducts, List<Product> changed,
+      IntSet changedIds) {
+    IntSet productIds = productsByPart.remove(partId);
+    if (productIds == null) {
+      return;
+    }
+    for (int productId : productIds.toArray()) {
+      Product product = productsById.get(productId);
+      if (!changedIds.contains(productId)) {
+        oldProducts.add(product.copy());
+      }
+      product.deleteAllAssociatedPartId(partId);
+      int[] indexed = indexedPartIds.get(productId);
+      int kept = 0;
+      for (int indexedId : indexed) {
+        if (indexedId != partId) {
+          indexed[kept++] = indexedId;
+        }
       }
+      if (kept == 0) {
+        indexedPartIds.remove(productId);
+      } else {
+        indexedPartIds.put(productId, Arrays.copyOf(indexed, kept));
+      }
+      if (changedIds.add(productId)) {
+        changed.add(product);
+        productsUpdated.increment();
+      }
+    }
+  }
+
+  /** Removes a product from the association index. Must be called with the product write lock held.*/
+  private static void unindexAssociations(int productId) {
+    int[] partIds = indexedPartIds.remove(productId);
+    if (partIds == null) {
+      return;
+    }
+    for (int partId : partIds) {
+      IntSet productIds = productsByPart.get(partId);
+      if (productIds != null) {
+        productIds.remove(productId);
+        if (productIds.isEmpty()) {
+          productsByPart.remove(partId);
+        }
+      }
+    }
+  }
+
+  /** Records an outsourced part under the code of its company. Must be called with the part write lock held.*/
+  private static void indexSupplier(Part part) {
+    if (part instanceof Outsourced) {
+      addToSupplier(((Outsourced) part).getCompanyCode(), part.getId());
+    }
+  }
+
+  /** Removes an outsourced part from the supplier index. Must be called with the part write lock held.*/
+  private static void unindexSupplier(Part part) {
+    if (part instanceof Outsourced) {
+      removeFromSupplier(((Outsourced) part).getCompanyCode(), part.getId());
+    }
+  }
+
+  private static void addToSupplier(int companyCode, int partId) {
+    IntSet partIds = partsBySupplier.get(companyCode);
+    if (partIds == null) {
+      partIds = new IntSet();
+      partsBySupplier.put(companyCode, partIds);
     }
-    return false;
+    partIds.add(partId);
   }
 
-  /** @return the entire part list.*/
-  public static ObservableList<Part> getAllParts() {
-    return allParts;
+  private static void removeFromSupplier(int companyCode, int partId) {
+    IntSet partIds = partsBySupplier.get(companyCode);
+    if (partIds != null && partIds.remove(partId) && partIds.isEmpty()) {
+      partsBySupplier.remove(companyCode);
+    }
   }
 
-  /** @return the entire product list.*/
-  public static ObservableList<Product> getAllProducts() {
-    return allProducts;
+  /** Applies a change made through the setters of a held part. The write lock is taken before the part is
+   * touched, so a reader holding the read lock never sees a value that is not yet indexed, and the values the part
+   * had are copied first so the listeners can be told what changed. A part that is no longer held by the time the
+   * lock is taken is changed without being reported.
+   * @param part the part to change.
+   * @param change assigns the new value.
+   * @param stock whether only the stock, min or max changes, which is reported as a stock change.
+   * @throws IllegalStateException if the calling thread holds the part read lock, which cannot be raised to the
+   * write lock, or the product lock, which is taken after the part lock everywhere else. The part is left as it
+   * was.*/
+  static void changePart(Part part, Runnable change, boolean stock) {
+    if (!partLock.isWriteLockedByCurrentThread() && (partLock.getReadHoldCount() > 0
+        || productLock.getReadHoldCount() > 0 || productLock.isWriteLockedByCurrentThread())) {
+      throw new IllegalStateException("Part " + part.getId() + " cannot be changed while the inventory is locked "
+          + "by this thread for reading or for products");
+    }
+    InventoryChangeEvent event = new InventoryChangeEvent(stock ? "partStockChanged" : "partChanged",
+        part.getId());
+    partWriteLock.lock();
+    try {
+      if (partsById.get(part.getId()) != part) {
+        change.run();
+        return;
+      }
+      Part oldPart = part.copy();
+      unindexSupplier(part);
+      change.run();
+      indexSupplier(part);
+      if (!stock) {
+        partNames.replace(part.getId(), part.getId(), part.getName(), part);
+      }
+      partRanges.add(part.getId(), part);
+      event.itemCount = 1;
+      if (stock) {
+        for (InventoryListener listener : listeners) {
+          listener.partStockChanged(oldPart, part);
+        }
+      } else {
+        partsUpdated.increment();
+        for (InventoryListener listener : listeners) {
+          listener.partUpdated(oldPart, part);
+        }
+      }
+    } finally {
+      partWriteLock.unlock();
+      event.commit();
+    }
+  }
+
+  /** Applies a change made through the setters or the associated part methods of a held product, in the same way
+   * as {@link #changePart(Part, Runnable, boolean)}.
+   * @param product the product to change.
+   * @param change makes the change.
+   * @param stock whether only the stock, min or max changes, which is reported as a stock change.
+   * @throws IllegalStateException if the calling thread holds the product read lock, which cannot be raised to
+   * the write lock. The product is left as it was.*/
+  static void changeProduct(Product product, Runnable change, boolean stock) {
+    if (!productLock.isWriteLockedByCurrentThread() && productLock.getReadHoldCount() > 0) {
+      throw new IllegalStateException("Product " + product.getId() + " cannot be changed while the inventory is "
+          + "locked by this thread for reading");
+    }
+    InventoryChangeEvent event = new InventoryChangeEvent(stock ? "productStockChanged" : "productChanged",
+        product.getId());
+    productWriteLock.lock();
+    try {
+      if (productsById.get(product.getId()) != product) {
+        change.run();
+        return;
+      }
+      Product oldProduct = product.copy();
+      change.run();
+      productRanges.add(product.getId(), product);
+      event.itemCount = 1;
+      if (stock) {
+        for (InventoryListener listener : listeners) {
+          listener.productStockChanged(oldProduct, product);
+        }
+        return;
+      }
+      productNames.replace(product.getId(), product.getId(), product.getName(), product);
+      unindexAssociations(product.getId());
+      indexAssociations(product);
+      productsUpdated.increment();
+      for (InventoryListener listener : listeners) {
+        listener.productUpdated(oldProduct, product);
+      }
+    } finally {
+      productWriteLock.unlock();
+      event.commit();
+    }
+  }
+
+  /** @param partId the ID of a part.
+   * @return the position of the part in the part list. Returns -1 if no part has the ID.*/
+  public static int indexOfPart(int partId) {
+    partReadLock.lock();
+    try {
+      return allParts.indexOf(partId);
+    } finally {
+      partReadLock.unlock();
+    }
+  }
+
+  /** @param productId the ID of a product.
+   * @return the position of the product in the product list. Returns -1 if no product has the ID.*/
+  public static int indexOfProduct(int productId) {
+    productReadLock.lock();
+    try {
+      return allProducts.indexOf(productId);
+    } finally {
+      productReadLock.unlock();
+    }
+  }
+
+  /** @return the number of parts.*/
+  public static int getPartCount() {
+    partReadLock.lock();
+    try {
+      return allParts.size();
+    } finally {
+      partReadLock.unlock();
+    }
+  }
+
+  /** @return the number of products.*/
+  public static int getProductCount() {
+    productReadLock.lock();
+    try {
+      return allProducts.size();
+    } finally {
+      productReadLock.unlock();
+    }
+  }
+
+  /** @param fromIndex the index of the first part to return.
+   * @param toIndex one past the index of the last part to return.
+   * @return a copy of the parts in the range. Parts past the end of the list are left out.*/
+  public static List<Part> getParts(int fromIndex, int toIndex) {
+    partReadLock.lock();
+    try {
+      return allParts.copy(fromIndex, toIndex);
+    } finally {
+      partReadLock.unlock();
+    }
+  }
+
+  /** @param fromIndex the index of the first product to return.
+   * @param toIndex one past the index of the last product to return.
+   * @return a copy of the products in the range. Products past the end of the list are left out.*/
+  public static List<Product> getProducts(int fromIndex, int toIndex) {
+    productReadLock.lock();
+    try {
+      return allProducts.copy(fromIndex, toIndex);
+    } finally {
+      productReadLock.unlock();
+    }
+  }
+
+  /** Reads a page of parts in a sorted order, from the index kept for it, without sorting or copying the rest.
+   * @param key the value to sort by. Parts with the same value are ordered by ID.
+   * @param descending true for the highest value first.
+   * @param fromIndex the position in the order of the first part to return.
+   * @param toIndex one past the position of the last part to return.
+   * @return a copy of the parts in the range. Parts past the end of the order are left out.*/
+  public static List<Part> getParts(SortKey key, boolean descending, int fromIndex, int toIndex) {
+    partReadLock.lock();
+    try {
+      return partRanges.sorted(key, descending, fromIndex, toIndex);
+    } finally {
+      partReadLock.unlock();
+    }
+  }
+
+  /** Reads a page of products in a sorted order, from the index kept for it, without sorting or copying the
+   * rest.
+   * @param key the value to sort by. Products with the same value are ordered by ID.
+   * @param descending true for the highest value first.
+   * @param fromIndex the position in the order of the first product to return.
+   * @param toIndex one past the position of the last product to return.
+   * @return a copy of the products in the range. Products past the end of the order are left out.*/
+  public static List<Product> getProducts(SortKey key, boolean descending, int fromIndex, int toIndex) {
+    productReadLock.lock();
+    try {
+      return productRanges.sorted(key, descending, fromIndex, toIndex);
+    } finally {
+      productReadLock.unlock();
+    }
+  }
+
+  /** @return a copy of the entire part list as it is at this moment.*/
+  public static List<Part> getAllParts() {
+    partReadLock.lock();
+    try {
+      return allParts.copy();
+    } finally {
+      partReadLock.unlock();
+    }
+  }
+
+  /** @return a copy of the entire product list as it is at this moment.*/
+  public static List<Product> getAllProducts() {
+    productReadLock.lock();
+    try {
+      return allProducts.copy();
+    } finally {
+      productReadLock.unlock();
+    }
   }
 }
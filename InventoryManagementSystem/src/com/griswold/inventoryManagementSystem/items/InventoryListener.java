@@ -0,0 +1,141 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import java.util.List;
+
+/** Receives notifications of every change made to the {@link Inventory}. Listeners are called on the
+ * thread that performed the change, after the change has been applied, while the write lock of the list that
+ * changed is still held. Changes to parts and changes to products can be reported at the same time on different
+ * threads, so a listener that follows both must guard its own state. Changes made through the Inventory's bulk
+ * methods are reported through the plural methods, which by default report each item individually. Changes made
+ * through the stock, min and max setters of a part or product held by the inventory are reported as stock
+ * changes. A listener must not change a held part while it is told of a product change, since the part lock
+ * cannot be taken after the product lock. Deletions are reported through the methods that also give the
+ * positions the items had, which by default call the plain ones.*/
+public interface InventoryListener {
+
+  /** @param part the Part that was added.*/
+  default void partAdded(Part part) {
+
+  }
+
+  /** @param oldPart the Part that was replaced. If the part was changed in place, by
+   * {@link Inventory#savePart(Part)} or through its setters, a copy of the values it had, which is not held by the
+   * inventory.
+   * @param newPart the Part that replaced it, or the changed part.*/
+  default void partUpdated(Part oldPart, Part newPart) {
+
+  }
+
+  /** @param part the Part that was deleted.*/
+  default void partDeleted(Part part) {
+
+  }
+
+  /** Reports a deleted part with the position it had, for listeners that follow the part list by position. By
+   * default calls {@link #partDeleted(Part)}.
+   * @param part the Part that was deleted.
+   * @param index the position the part had in the part list.*/
+  default void partDeleted(Part part, int index) {
+    partDeleted(part);
+  }
+
+  /** @param oldPart a copy of the values the part had, which is not held by the inventory.
+   * @param newPart a Part held by the inventory whose stock, min or max was changed through its setters.*/
+  default void partStockChanged(Part oldPart, Part newPart) {
+
+  }
+
+  /** @param parts the Parts that were added, in order.*/
+  default void partsAdded(List<Part> parts) {
+    for (Part part : parts) {
+      partAdded(part);
+    }
+  }
+
+  /** @param oldParts the Parts that were replaced.
+   * @param newParts the Parts that replaced them, in the same order.*/
+  default void partsUpdated(List<Part> oldParts, List<Part> newParts) {
+    for (int i = 0; i < oldParts.size(); i++) {
+      partUpdated(oldParts.get(i), newParts.get(i));
+    }
+  }
+
+  /** @param parts the Parts that were deleted.*/
+  default void partsDeleted(List<Part> parts) {
+    for (Part part : parts) {
+      partDeleted(part);
+    }
+  }
+
+  /** Reports deleted parts with the positions they had, for listeners that follow the part list by position. By
+   * default calls {@link #partsDeleted(List)}.
+   * @param parts the Parts that were deleted.
+   * @param indexes the position each part had when it was removed, after the parts before it were removed, so
+   * removing the parts one after another at these positions turns the old list into the new one.*/
+  default void partsDeleted(List<Part> parts, int[] indexes) {
+    partsDeleted(parts);
+  }
+
+  /** @param product the Product that was added.*/
+  default void productAdded(Product product) {
+
+  }
+
+  /** @param oldProduct the Product that was replaced. If the product was changed in place, by
+   * {@link Inventory#saveProduct(Product)}, through its methods or by the deletion of one of its parts, a copy of
+   * the values and associated parts it had, which is not held by the inventory.
+   * @param newProduct the Product that replaced it, or the changed product.*/
+  default void productUpdated(Product oldProduct, Product newProduct) {
+
+  }
+
+  /** @param product the Product that was deleted.*/
+  default void productDeleted(Product product) {
+
+  }
+
+  /** Reports a deleted product with the position it had, for listeners that follow the product list by position.
+   * By default calls {@link #productDeleted(Product)}.
+   * @param product the Product that was deleted.
+   * @param index the position the product had in the product list.*/
+  default void productDeleted(Product product, int index) {
+    productDeleted(product);
+  }
+
+  /** @param oldProduct a copy of the values the product had, which is not held by the inventory.
+   * @param newProduct a Product held by the inventory whose stock, min or max was changed through its setters.*/
+  default void productStockChanged(Product oldProduct, Product newProduct) {
+
+  }
+
+  /** @param products the Products that were added, in order.*/
+  default void productsAdded(List<Product> products) {
+    for (Product product : products) {
+      productAdded(product);
+    }
+  }
+
+  /** @param oldProducts the Products that were replaced.
+   * @param newProducts the Products that replaced them, in the same order.*/
+  default void productsUpdated(List<Product> oldProducts, List<Product> newProducts) {
+    for (int i = 0; i < oldProducts.size(); i++) {
+      productUpdated(oldProducts.get(i), newProducts.get(i));
+    }
+  }
+
+  /** @param products the Products that were deleted.*/
+  default void productsDeleted(List<Product> products) {
+    for (Product product : products) {
+      productDeleted(product);
+    }
+  }
+
+  /** Reports deleted products with the positions they had, for listeners that follow the product list by
+   * position. By default calls {@link #productsDeleted(List)}.
+   * @param products the Products that were deleted.
+   * @param indexes the position each product had when it was removed, after the products before it were removed,
+   * so removing the products one after another at these positions turns the old list into the new one.*/
+  default void productsDeleted(List<Product> products, int[] indexes) {
+    productsDeleted(products);
+  }
+}
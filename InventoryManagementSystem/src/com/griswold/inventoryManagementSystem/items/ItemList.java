@@ -0,0 +1,272 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/** The items of one kind held by the {@link Inventory}, in the order they were added.
+ * <p>
+ * Removing an item leaves an empty slot behind instead of shifting every later item down. Once half of the slots
+ * are empty they are compacted in a single pass, so a removal costs O(1) amortized on top of the O(log n) upkeep
+ * of a Fenwick tree that counts the occupied slots. The tree turns a position in the list into a slot and back
+ * in O(log n), so positional reads work without compacting first. Items are found by ID through a map from ID
+ * to slot, so no two items may share an ID. Items must not be null.
+ * <p>
+ * Not thread safe; the inventory guards it with its lock.
+ * @param <T> the type of item.*/
+final class ItemList<T> implements Iterable<T> {
+
+  private static final int MIN_CAPACITY = 16;
+  private static final int MIN_COMPACTION = 64;
+
+  private final ToIntFunction<? super T> idOf;
+  private final IntIntMap slotsById = new IntIntMap();
+  private Object[] items = new Object[MIN_CAPACITY];
+  private int[] ids = new int[MIN_CAPACITY];
+  private int[] tree = new int[MIN_CAPACITY + 1];
+  private int end;
+  private int size;
+
+  /** @param idOf gives the ID of an item.*/
+  ItemList(ToIntFunction<? super T> idOf) {
+    this.idOf = idOf;
+  }
+
+  /** @return the number of items.*/
+  int size() {
+    return size;
+  }
+
+  /** @param index the position of an item.
+   * @return the item at that position.*/
+  @SuppressWarnings("unchecked")
+  T get(int index) {
+    checkIndex(index);
+    return (T) items[slotOf(index)];
+  }
+
+  /** @param id the ID of an item.
+   * @return the position of the item. Returns -1 if no item has that ID.*/
+  int indexOf(int id) {
+    int slot = slotsById.get(id);
+    return slot < 0 ? -1 : countBefore(slot);
+  }
+
+  /** @param item the item to append.
+   * @throws IllegalArgumentException if an item with the same ID is in the list.*/
+  void add(T item) {
+    checkUnused(idOf.applyAsInt(item), -1);
+    if (end == items.length) {
+      resize(items.length * 2);
+    }
+    int slot = end++;
+    items[slot] = item;
+    ids[slot] = idOf.applyAsInt(item);
+    slotsById.put(ids[slot], slot);
+    increment(slot, 1);
+    size++;
+  }
+
+  /** @param added the items to append, in order. An item whose ID is taken is refused along with every item
+   * after it.*/
+  void addAll(Collection<? extends T> added) {
+    if (end + added.size() > items.length) {
+      resize(Math.max(items.length * 2, Integer.highestOneBit(end + added.size()) << 1));
+    }
+    for (T item : added) {
+      add(item);
+    }
+  }
+
+  /** @param index the position of the item to replace.
+   * @param item the replacement.
+   * @return the item that was replaced.
+   * @throws IllegalArgumentException if the replacement has the ID of another item in the list.*/
+  T set(int index, T item) {
+    checkIndex(index);
+    return replaceSlot(slotOf(index), item);
+  }
+
+  /** Puts an item in the place of the item with the given ID.
+   * @param id the ID of the item to replace.
+   * @param item the replacement. It may have a different ID, as long as no other item has it.
+   * @return the item that was replaced. Returns null if no item has that ID.
+   * @throws IllegalArgumentException if the replacement has the ID of another item in the list.*/
+  T replace(int id, T item) {
+    int slot = slotsById.get(id);
+    return slot < 0 ? null : replaceSlot(slot, item);
+  }
+
+  /** @param id the ID of the item to remove.
+   * @return the removed item. Returns null if no item has that ID.*/
+  @SuppressWarnings("unchecked")
+  T remove(int id) {
+    int slot = slotsById.remove(id);
+    if (slot < 0) {
+      return null;
+    }
+    T removed = (T) items[slot];
+    items[slot] = null;
+    increment(slot, -1);
+    size--;
+    int empty = end - size;
+    if (empty >= MIN_COMPACTION && empty * 2 >= end) {
+      compact();
+    }
+    return removed;
+  }
+
+  /** @param fromIndex the position of the first item to copy.
+   * @param toIndex the position after the last item to copy. Clamped to the size of the list.
+   * @return a copy of the items in the range.*/
+  @SuppressWarnings("unchecked")
+  List<T> copy(int fromIndex, int toIndex) {
+    int count = Math.min(toIndex, size) - fromIndex;
+    if (count <= 0) {
+      return new ArrayList<>();
+    }
+    List<T> copy = new ArrayList<>(count);
+    for (int slot = slotOf(fromIndex); copy.size() < count; slot++) {
+      if (items[slot] != null) {
+        copy.add((T) items[slot]);
+      }
+    }
+    return copy;
+  }
+
+  /** @return a copy of every item.*/
+  List<T> copy() {
+    return copy(0, size);
+  }
+
+  /** Iterates the items in order. The list must not be changed meanwhile.*/
+  @Override
+  public Iterator<T> iterator() {
+    return new Iterator<T>() {
+      private int slot = nextSlot(0);
+
+      @Override
+      public boolean hasNext() {
+        return slot < end;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public T next() {
+        if (slot >= end) {
+          throw new NoSuchElementException();
+        }
+        T item = (T) items[slot];
+        slot = nextSlot(slot + 1);
+        return item;
+      }
+    };
+  }
+
+  private int nextSlot(int slot) {
+    while (slot < end && items[slot] == null) {
+      slot++;
+    }
+    return slot;
+  }
+
+  /** @param slot the slot the ID may already occupy, or -1.*/
+  private void checkUnused(int id, int slot) {
+    int taken = slotsById.get(id);
+    if (taken >= 0 && taken != slot) {
+      throw new IllegalArgumentException("ID " + id + " is already in the list");
+    }
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private T replaceSlot(int slot, T item) {
+    T replaced = (T) items[slot];
+    int id = idOf.applyAsInt(item);
+    checkUnused(id, slot);
+    if (id != ids[slot]) {
+      slotsById.remove(ids[slot]);
+      slotsById.put(id, slot);
+      ids[slot] = id;
+    }
+    items[slot] = item;
+    return replaced;
+  }
+
+  /** Moves every item down over the empty slots in one pass.*/
+  private void compact() {
+    int to = 0;
+    for (int from = 0; from < end; from++) {
+      if (items[from] != null) {
+        if (to != from) {
+          items[to] = items[from];
+          ids[to] = ids[from];
+          slotsById.put(ids[to], to);
+        }
+        to++;
+      }
+    }
+    Arrays.fill(items, to, end, null);
+    end = to;
+    rebuildTree();
+  }
+
+  private void resize(int capacity) {
+    items = Arrays.copyOf(items, capacity);
+    ids = Arrays.copyOf(ids, capacity);
+    tree = new int[capacity + 1];
+    rebuildTree();
+  }
+
+  /** Builds the Fenwick tree from the occupied slots in linear time.*/
+  private void rebuildTree() {
+    Arrays.fill(tree, 0);
+    for (int i = 1; i < tree.length; i++) {
+      if (i <= end && items[i - 1] != null) {
+        tree[i]++;
+      }
+      int parent = i + (i & -i);
+      if (parent < tree.length) {
+        tree[parent] += tree[i];
+      }
+    }
+  }
+
+  private void increment(int slot, int delta) {
+    for (int i = slot + 1; i < tree.length; i += i & -i) {
+      tree[i] += delta;
+    }
+  }
+
+  /** @return the number of items in the slots before the slot.*/
+  private int countBefore(int slot) {
+    int count = 0;
+    for (int i = slot; i > 0; i -= i & -i) {
+      count += tree[i];
+    }
+    return count;
+  }
+
+  /** @return the slot of the item at the position.*/
+  private int slotOf(int index) {
+    int slot = 0;
+    int remaining = index;
+    for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+      int next = slot + step;
+      if (next < tree.length && tree[next] <= remaining) {
+        slot = next;
+        remaining -= tree[next];
+      }
+    }
+    return slot;
+  }
+}
@@ -0,0 +1,63 @@
+package com.griswold.inventoryManagementSystem.items;
+
+/** The rules a part or product must satisfy before it is added to the {@link Inventory}, shared by the menus
+ * and the importer so that both accept exactly the same items. Each check returns null when the values are
+ * valid, or a message describing the first rule broken.*/
+public class ItemValidator {
+  /** The longest text the inventory's store can save, in bytes of modified UTF-8.*/
+  public static final int MAX_TEXT_BYTES = 65_535;
+
+  /** @param name the name to check.
+   * @return null if the name is valid, otherwise the reason it is not.*/
+  public static String checkName(String name) {
+    if (name == null || name.trim().isEmpty()) {
+      return "Name field is required.";
+    } else if (!fits(name)) {
+      return "Name is too long.";
+    }
+    return null;
+  }
+
+  /** @param companyName the company name of an outsourced part.
+   * @return null if the company name is valid, otherwise the reason it is not.*/
+  public static String checkCompanyName(String companyName) {
+    if (companyName == null || companyName.trim().isEmpty()) {
+      return "Company Name field is required.";
+    } else if (!fits(companyName)) {
+      return "Company Name is too long.";
+    }
+    return null;
+  }
+
+  /** @param price the price to check.
+   * @param stock the stock to check.
+   * @param min the minimum stock.
+   * @param max the maximum stock.
+   * @return null if the values are valid, otherwise the reason they are not.*/
+  public static String checkLevels(double price, int stock, int min, int max) {
+    if (min > max) {
+      return "Min cannot be greater than Max.";
+    } else if (stock < min || stock > max) {
+      return "Inv must be between Min and Max.";
+    } else if (min < 0) {
+      return "Min cannot be negative.";
+    } else if (price < 0) {
+      return "Price cannot be negative.";
+    }
+    return null;
+  }
+
+  /** @return true if the text takes no more than {@link #MAX_TEXT_BYTES} in modified UTF-8, as the store writes
+   * it.*/
+  private static boolean fits(String text) {
+    if (text.length() > MAX_TEXT_BYTES) {
+      return false;
+    }
+    int bytes = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      bytes += c >= 1 && c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+    }
+    return bytes <= MAX_TEXT_BYTES;
+  }
+}
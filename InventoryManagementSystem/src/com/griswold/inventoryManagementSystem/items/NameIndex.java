@@ -0,0 +1,155 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** A case-folded trigram inverted index over item names. Answers "name contains" queries by
+ * intersecting the posting lists of the query's trigrams and verifying the surviving candidates.
+ * <p>
+ * Every item is stamped with a sequence number when it is added so that results can be returned in the
+ * same order as the inventory list. Replacing an item keeps the sequence number of the item it replaces.
+ * <p>
+ * Every name that is indexed or unindexed is reported to a {@link SearchCache}, so that cached searches the
+ * name could match are dropped.
+ * @param <T> the type of item being indexed.*/
+final class NameIndex<T> {
+
+  private static final int GRAM_LENGTH = 3;
+
+  private final Map<Long, IntSet> postings = new HashMap<>();
+  private final IntMap<Entry<T>> entries = new IntMap<>();
+  private final SearchCache cache;
+  private long nextSequence;
+
+  /** @param cache told of every name added to or removed from the index.*/
+  NameIndex(SearchCache cache) {
+    this.cache = cache;
+  }
+
+  /** Indexes an item that was appended to the inventory list.
+   * @param id the ID of the item.
+   * @param name the name of the item.
+   * @param item the item.*/
+  void add(int id, String name, T item) {
+    put(id, name, item, nextSequence++);
+  }
+
+  /** Replaces an indexed item while keeping its position in the result order.
+   * @param oldId the ID of the item being replaced.
+   * @param newId the ID of the replacement item.
+   * @param name the name of the replacement item.
+   * @param item the replacement item.*/
+  void replace(int oldId, int newId, String name, T item) {
+    Entry<T> held = entries.get(oldId);
+    if (held != null && oldId == newId && held.foldedName.equals(name.toLowerCase())) {
+      // Same ID and name: the posting lists and the cached searches still hold.
+      entries.put(newId, new Entry<>(item, held.foldedName, held.sequence));
+      return;
+    }
+    Entry<T> old = removeEntry(oldId);
+    put(newId, name, item, old == null ? nextSequence++ : old.sequence);
+  }
+
+  /** @param id the ID of the item to remove from the index.*/
+  void remove(int id) {
+    removeEntry(id);
+  }
+
+  /** @param id the ID of an indexed item.
+   * @return the lower-case name the item was indexed under. Returns null if the item is not indexed.*/
+  String foldedName(int id) {
+    Entry<T> entry = entries.get(id);
+    return entry == null ? null : entry.foldedName;
+  }
+
+  /** Finds all items whose lower-case name contains the lower-case query.
+   * @param foldedQuery the search string, already converted to lower case.
+   * @return the matching items in inventory order. Returns null if the query is too short to be
+   * answered from the index and the caller must scan instead.*/
+  List<T> search(String foldedQuery) {
+    if (foldedQuery.length() < GRAM_LENGTH) {
+      return null;
+    }
+    List<IntSet> lists = new ArrayList<>();
+    for (int i = 0; i + GRAM_LENGTH <= foldedQuery.length(); i++) {
+      IntSet list = postings.get(gram(foldedQuery, i));
+      if (list == null) {
+        return new ArrayList<>();
+      }
+      lists.add(list);
+    }
+    lists.sort(Comparator.comparingInt(IntSet::size));
+
+    List<Entry<T>> matches = new ArrayList<>();
+    IntSet smallest = lists.get(0);
+    for (int id : smallest.toArray()) {
+      if (inAll(lists, id)) {
+        Entry<T> entry = entries.get(id);
+        if (entry.foldedName.contains(foldedQuery)) {
+          matches.add(entry);
+        }
+      }
+    }
+    matches.sort(Comparator.comparingLong(entry -> entry.sequence));
+    List<T> result = new ArrayList<>(matches.size());
+    for (Entry<T> entry : matches) {
+      result.add(entry.item);
+    }
+    return result;
+  }
+
+  private void put(int id, String name, T item, long sequence) {
+    removeEntry(id);
+    String folded = name.toLowerCase();
+    cache.invalidate(folded);
+    entries.put(id, new Entry<>(item, folded, sequence));
+    for (int i = 0; i + GRAM_LENGTH <= folded.length(); i++) {
+      postings.computeIfAbsent(gram(folded, i), key -> new IntSet()).add(id);
+    }
+  }
+
+  private Entry<T> removeEntry(int id) {
+    Entry<T> entry = entries.remove(id);
+    if (entry != null) {
+      String folded = entry.foldedName;
+      cache.invalidate(folded);
+      for (int i = 0; i + GRAM_LENGTH <= folded.length(); i++) {
+        Long key = gram(folded, i);
+        IntSet list = postings.get(key);
+        if (list != null && list.remove(id) && list.isEmpty()) {
+          postings.remove(key);
+        }
+      }
+    }
+    return entry;
+  }
+
+  private static boolean inAll(List<IntSet> lists, int id) {
+    for (int i = 1; i < lists.size(); i++) {
+      if (!lists.get(i).contains(id)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long gram(String text, int start) {
+    return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+  }
+
+  /** An indexed item together with its folded name and list position.*/
+  private static final class Entry<T> {
+    private final T item;
+    private final String foldedName;
+    private final long sequence;
+
+    private Entry(T item, String foldedName, long sequence) {
+      this.item = item;
+      this.foldedName = foldedName;
+      this.sequence = sequence;
+    }
+  }
+}
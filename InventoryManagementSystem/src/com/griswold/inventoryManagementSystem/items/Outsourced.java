@@ -1,9 +1,10 @@
 package com.griswold.inventoryManagementSystem.items;
 
-/** A part that is sourced from another company.*/
+/** A part that is sourced from another company. The company name is held as a code into a dictionary shared by
+ * every outsourced part, so each distinct name is stored once.*/
 public class Outsourced extends Part{
 
-  private String companyName;
+  private int companyCode;
 
   /** Constructs a new Outsourced Part instance and sets all of its member variables.
    * @param id the ID of the part.
@@ -15,17 +16,40 @@ public class Outsourced extends Part{
    * @param companyName the name of part supplier.*/
   public Outsourced(int id, String name, double price, int stock, int min, int max, String companyName) {
     super(id, name, price, stock, min, max);
-    this.companyName = companyName;
+    this.companyCode = SupplierDictionary.encode(companyName);
   }
 
   /** @return the company name.*/
   public String getCompanyName() {
-    return companyName;
+    return SupplierDictionary.decode(companyCode);
   }
 
-  /** @param companyName the company name to be set.*/
+  /** Sets the company name. If the Inventory holds this part, the part is moved to its new supplier in the
+   * Inventory's index and the change is reported. Setting the name it already has changes nothing.
+   * @param companyName the company name to be set.*/
   public void setCompanyName(String companyName) {
-    this.companyName = companyName;
+    int code = SupplierDictionary.encode(companyName);
+    if (code != companyCode) {
+      change(() -> companyCode = code);
+    }
+  }
+
+  /** @return the code of the company name, the same for every part from that company.*/
+  int getCompanyCode() {
+    return companyCode;
+  }
+
+  @Override
+  Part copy() {
+    Outsourced copy = new Outsourced(getId(), getName(), getPrice(), getStock(), getMin(), getMax(), null);
+    copy.companyCode = companyCode;
+    return copy;
+  }
+
+  @Override
+  void assign(Part other) {
+    super.assign(other);
+    this.companyCode = ((Outsourced) other).getCompanyCode();
   }
 
 }
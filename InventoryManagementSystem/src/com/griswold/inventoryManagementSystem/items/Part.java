@@ -1,110 +1,179 @@
-package com.griswold.inventoryManagementSystem.items;
-/**
- * Supplied class Part.java
- */
-
-/**
- *
- * @author Place Your Name Here
- */
-public abstract class Part {
-    private int id;
-    private String name;
-    private double price;
-    private int stock;
-    private int min;
-    private int max;
-    public Part(int id, String name, double price, int stock, int min, int max) {
-        this.id = id;
-        this.name = name;
-        this.price = price;
-        this.stock = stock;
-        this.min = min;
-        this.max = max;
-    }
-
-    /**
-     * @return the id
-     */
-    public int getId() {
-        return id;
-    }
-
-    /**
-     * @param id the id to set
-     */
-    public void setId(int id) {
-        this.id = id;
-    }
-
-    /**
-     * @return the name
-     */
-    public String getName() {
-        return name;
-    }
-
-    /**
-     * @param name the name to set
-     */
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    /**
-     * @return the price
-     */
-    public double getPrice() {
-        return price;
-    }
-
-    /**
-     * @param price the price to set
-     */
-    public void setPrice(double price) {
-        this.price = price;
-    }
-
-    /**
-     * @return the stock
-     */
-    public int getStock() {
-        return stock;
-    }
-
-    /**
-     * @param stock the stock to set
-     */
-    public void setStock(int stock) {
-        this.stock = stock;
-    }
-
-    /**
-     * @return the min
-     */
-    public int getMin() {
-        return min;
-    }
-
-    /**
-     * @param min the min to set
-     */
-    public void setMin(int min) {
-        this.min = min;
-    }
-
-    /**
-     * @return the max
-     */
-    public int getMax() {
-        return max;
-    }
-
-    /**
-     * @param max the max to set
-     */
-    public void setMax(int max) {
-        this.max = max;
-    }
-
+package com.griswold.inventoryManagementSystem.items;
+/**
+ * Supplied class Part.java
+ */
+
+/**
+ *
+ * @author Place Your Name Here
+ */
+public abstract class Part {
+    private int id;
+    private String name;
+    private double price;
+    private int stock;
+    private int min;
+    private int max;
+    private volatile boolean held;
+    public Part(int id, String name, double price, int stock, int min, int max) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stock = stock;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @return the id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @param id the id to set
+     * @throws IllegalStateException if the Inventory holds this part. Save a copy with the new id instead.
+     */
+    public void setId(int id) {
+        if (held) {
+            throw new IllegalStateException("Part " + this.id + " is held by the Inventory");
+        }
+        this.id = id;
+    }
+
+    /**
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name the name to set
+     */
+    public void setName(String name) {
+        change(() -> this.name = name);
+    }
+
+    /**
+     * @return the price
+     */
+    public double getPrice() {
+        return price;
+    }
+
+    /**
+     * @param price the price to set
+     */
+    public void setPrice(double price) {
+        change(() -> this.price = price);
+    }
+
+    /**
+     * @return the stock
+     */
+    public int getStock() {
+        return stock;
+    }
+
+    /**
+     * @param stock the stock to set
+     */
+    public void setStock(int stock) {
+        changeStock(() -> this.stock = stock);
+    }
+
+    /**
+     * @return the min
+     */
+    public int getMin() {
+        return min;
+    }
+
+    /**
+     * @param min the min to set
+     */
+    public void setMin(int min) {
+        changeStock(() -> this.min = min);
+    }
+
+    /**
+     * @return the max
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * @param max the max to set
+     */
+    public void setMax(int max) {
+        changeStock(() -> this.max = max);
+    }
+
+    /**
+     * Makes a change to the name, price or kind-specific value of this part. If the Inventory holds the part,
+     * the change is made under its lock and reported as an update.
+     * @param change assigns the new value
+     * @throws IllegalStateException if the Inventory holds the part and the calling thread holds a lock that
+     * forbids changing it
+     */
+    void change(Runnable change) {
+        if (held) {
+            Inventory.changePart(this, change, false);
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Makes a change to the stock, min or max of this part. If the Inventory holds the part, the change is made
+     * under its lock and reported as a stock change.
+     * @param change assigns the new value
+     * @throws IllegalStateException if the Inventory holds the part and the calling thread holds a lock that
+     * forbids changing it
+     */
+    void changeStock(Runnable change) {
+        if (held) {
+            Inventory.changePart(this, change, true);
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * @return whether the Inventory holds this part, in which case its setters report their changes to it
+     */
+    boolean isHeld() {
+        return held;
+    }
+
+    /**
+     * Called by the Inventory when this part is added to it or removed from it.
+     * @param held whether the Inventory holds this part
+     */
+    void setHeld(boolean held) {
+        this.held = held;
+    }
+
+    /**
+     * @return a part of the same class with the same values, not held by the Inventory
+     */
+    abstract Part copy();
+
+    /**
+     * Copies the values of another part of the same class onto this one without reporting the change.
+     * Used by the Inventory to save a part in place.
+     * @param other the part to copy from
+     */
+    void assign(Part other) {
+        this.id = other.getId();
+        this.name = other.getName();
+        this.price = other.getPrice();
+        this.stock = other.getStock();
+        this.min = other.getMin();
+        this.max = other.getMax();
+    }
+
 }
\ No newline at end of file
@@ -1,18 +1,34 @@
 package com.griswold.inventoryManagementSystem.items;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-
-/** An entity that may contain multiple parts.*/
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/** An entity that may contain multiple parts.
+ * <p>
+ * Associated parts are stored as part IDs and resolved through the {@link Inventory} when they are read,
+ * so a product always sees the current price and stock of its parts. The Inventory's index of which
+ * products use which parts is refreshed when the product is added to or updated in the Inventory, or when the
+ * associated parts of a product it holds are changed here, and a part deleted from the Inventory is removed from
+ * every product held there that uses it.
+ * <p>
+ * The setters of a product held by the Inventory make the change through it, under its write lock, so that the
+ * product is reindexed and the change passed on to the listeners with the values it had before. The setters of
+ * any other product, such as a copy being edited, take no lock.*/
 public class Product {
 
-  private final ObservableList<Part> associatedParts = FXCollections.observableArrayList();
+  private static final int[] NO_PARTS = new int[0];
+
+  private int[] associatedPartIds = NO_PARTS;
+  private int associatedPartCount;
   private int id;
   private String name;
   private double price;
   private int stock;
   private int min;
   private int max;
+  private volatile boolean held;
 
   /** Constructs a new product instance and sets all of its member variables.
    * @param id the ID of the product.
@@ -33,33 +49,82 @@ public class Product {
   /** Adds a part to the associated part list.
    * @param part the part to add.*/
   public void addAssociatedPart(Part part) {
-    Part newPart = null;
-    if (part instanceof InHouse) {
-      newPart = new InHouse(part.getId(), part.getName(), part.getPrice(), part.getStock(),
-          part.getMin(), part.getMax(), ((InHouse) part).getMachineId());
-    } else if (part instanceof Outsourced) {
-      newPart = new Outsourced(part.getId(), part.getName(), part.getPrice(), part.getStock(), 
-          part.getMin(), part.getMax(), ((Outsourced) part).getCompanyName());
-    }
-    associatedParts.add(newPart);
+    addAssociatedPartId(part.getId());
+  }
+
+  /** Adds a part to the associated part list by ID.
+   * @param partId the ID of the part to add.*/
+  public void addAssociatedPartId(int partId) {
+    change(() -> {
+      if (associatedPartCount == associatedPartIds.length) {
+        associatedPartIds = Arrays.copyOf(associatedPartIds, Math.max(4, associatedPartCount * 2));
+      }
+      associatedPartIds[associatedPartCount++] = partId;
+    });
   }
 
   /** Finds the first instance of the specified part in the part list and removes it.
    * @param selectedAssociatedPart the part to delete.
    * @return true if the deletion was successful. Returns false if the part does not exist in the list.*/
   public boolean deleteAssociatedPart(Part selectedAssociatedPart) {
-    for (int i = 0; i < associatedParts.size(); i++) {
-      if (associatedParts.get(i).getId() == selectedAssociatedPart.getId()) {
-        associatedParts.remove(i);
-        return true;
+    return deleteAssociatedPartId(selectedAssociatedPart.getId());
+  }
+
+  /** Finds the first instance of the specified part ID in the part list and removes it.
+   * @param partId the ID of the part to delete.
+   * @return true if the deletion was successful. Returns false if the part does not exist in the list.*/
+  public boolean deleteAssociatedPartId(int partId) {
+    if (indexOfAssociatedPartId(partId) < 0) {
+      return false;
+    }
+    change(() -> {
+      int i = indexOfAssociatedPartId(partId);
+      if (i >= 0) {
+        System.arraycopy(associatedPartIds, i + 1, associatedPartIds, i, associatedPartCount - i - 1);
+        associatedPartCount--;
+      }
+    });
+    return true;
+  }
+
+  private int indexOfAssociatedPartId(int partId) {
+    for (int i = 0; i < associatedPartCount; i++) {
+      if (associatedPartIds[i] == partId) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Removes every instance of the specified part ID from the part list. Called by the Inventory when the part is
+   * deleted.
+   * @param partId the ID of the deleted part.*/
+  void deleteAllAssociatedPartId(int partId) {
+    int kept = 0;
+    for (int i = 0; i < associatedPartCount; i++) {
+      if (associatedPartIds[i] != partId) {
+        associatedPartIds[kept++] = associatedPartIds[i];
+      }
+    }
+    associatedPartCount = kept;
+  }
+
+  /** Resolves the associated parts through the Inventory. Parts that are no longer in the Inventory are left out.
+   * @return an unmodifiable list of the associated parts.*/
+  public List<Part> getAllAssociatedParts() {
+    List<Part> parts = new ArrayList<>(associatedPartCount);
+    for (int i = 0; i < associatedPartCount; i++) {
+      Part part = Inventory.lookupPart(associatedPartIds[i]);
+      if (part != null) {
+        parts.add(part);
       }
     }
-    return false;
+    return Collections.unmodifiableList(parts);
   }
 
-  /** @return the associated parts list.*/
-  public ObservableList<Part> getAllAssociatedParts() {
-    return associatedParts;
+  /** @return a copy of the IDs of the associated parts, in the order they were added.*/
+  public int[] getAssociatedPartIds() {
+    return Arrays.copyOf(associatedPartIds, associatedPartCount);
   }
 
   /** @return the id.*/
@@ -67,8 +132,12 @@ public class Product {
     return id;
   }
 
-  /** @param id the id to set.*/
+  /** @param id the id to set.
+   * @throws IllegalStateException if the Inventory holds this product. Save a copy with the new id instead.*/
   public void setId(int id) {
+    if (held) {
+      throw new IllegalStateException("Product " + this.id + " is held by the Inventory");
+    }
     this.id = id;
   }
 
@@ -79,7 +148,7 @@ public class Product {
 
   /** @param name the name to set.*/
   public void setName(String name) {
-    this.name = name;
+    change(() -> this.name = name);
   }
 
   /** @return the price.*/
@@ -89,7 +158,7 @@ public class Product {
 
   /** @param price the price to set.*/
   public void setPrice(double price) {
-    this.price = price;
+    change(() -> this.price = price);
   }
 
   /** @return the stock.*/
@@ -99,7 +168,7 @@ public class Product {
 
   /** @param stock the stock to set.*/
   public void setStock(int stock) {
-    this.stock = stock;
+    changeStock(() -> this.stock = stock);
   }
 
   /** @return the min.*/
@@ -109,7 +178,7 @@ public class Product {
 
   /** @param min the min to set.*/
   public void setMin(int min) {
-    this.min = min;
+    changeStock(() -> this.min = min);
   }
 
   /** @return the max.*/
@@ -119,7 +188,61 @@ public class Product {
 
   /** @param max the max to set.*/
   public void setMax(int max) {
-    this.max = max;
+    changeStock(() -> this.max = max);
+  }
+
+  /** Makes a change to the name, price or associated parts of this product. If the Inventory holds the product,
+   * the change is made under its lock and reported as an update.
+   * @param change makes the change.*/
+  private void change(Runnable change) {
+    if (held) {
+      Inventory.changeProduct(this, change, false);
+    } else {
+      change.run();
+    }
+  }
+
+  /** Makes a change to the stock, min or max of this product. If the Inventory holds the product, the change is
+   * made under its lock and reported as a stock change.
+   * @param change assigns the new value.*/
+  private void changeStock(Runnable change) {
+    if (held) {
+      Inventory.changeProduct(this, change, true);
+    } else {
+      change.run();
+    }
+  }
+
+  /** @return whether the Inventory holds this product, in which case its setters report their changes to it.*/
+  boolean isHeld() {
+    return held;
+  }
+
+  /** Called by the Inventory when this product is added to it or removed from it.
+   * @param held whether the Inventory holds this product.*/
+  void setHeld(boolean held) {
+    this.held = held;
+  }
+
+  /** @return a product with the same values and associated parts, not held by the Inventory.*/
+  Product copy() {
+    Product copy = new Product(id, name, price, stock, min, max);
+    copy.assign(this);
+    return copy;
+  }
+
+  /** Copies the values and associated parts of another product onto this one without reporting the change.
+   * Used by the Inventory to save a product in place.
+   * @param other the product to copy from.*/
+  void assign(Product other) {
+    id = other.getId();
+    name = other.getName();
+    price = other.getPrice();
+    stock = other.getStock();
+    min = other.getMin();
+    max = other.getMax();
+    associatedPartIds = other.getAssociatedPartIds();
+    associatedPartCount = associatedPartIds.length;
   }
 
 }
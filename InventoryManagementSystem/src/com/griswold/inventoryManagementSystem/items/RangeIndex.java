@@ -0,0 +1,189 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/** Sorted indexes over the price, the stock, the reorder margin (stock minus min) and the overstock margin
+ * (stock minus max) of parts or products, for answering range questions without a scan, and over the ID and the
+ * name, for reading the items a page at a time in the order of any {@link SortKey}.
+ * <p>
+ * Each item has one entry holding the values it was indexed with, kept in six trees ordered by one of the
+ * values and then by ID. A range query walks the matching stretch of a tree, costing O(log n + k) for k
+ * matches. A page is found by walking the tree from whichever end is nearer, costing O(min(i, n - i) + k) for
+ * k items at position i. The values are read when an item is added, so an item must be removed and added again
+ * when they change.
+ * @param <T> the type of item indexed.*/
+final class RangeIndex<T> {
+
+  private final Function<T, String> name;
+  private final ToDoubleFunction<T> price;
+  private final ToIntFunction<T> stock;
+  private final ToIntFunction<T> min;
+  private final ToIntFunction<T> max;
+  private final IntMap<Entry<T>> entries = new IntMap<>();
+  private final NavigableSet<Entry<T>> byId = new TreeSet<>(Comparator.comparingInt(e -> e.id));
+  private final NavigableSet<Entry<T>> byName = new TreeSet<>(Comparator.<Entry<T>, String>comparing(e -> e.name)
+      .thenComparingInt(e -> e.id));
+  private final NavigableSet<Entry<T>> byPrice = new TreeSet<>(Comparator.<Entry<T>>comparingDouble(e -> e.price)
+      .thenComparingInt(e -> e.id));
+  private final NavigableSet<Entry<T>> byStock = new TreeSet<>(Comparator.<Entry<T>>comparingInt(e -> e.stock)
+      .thenComparingInt(e -> e.id));
+  private final NavigableSet<Entry<T>> byReorderMargin = new TreeSet<>(Comparator
+      .<Entry<T>>comparingInt(e -> e.reorderMargin).thenComparingInt(e -> e.id));
+  private final NavigableSet<Entry<T>> byOverstockMargin = new TreeSet<>(Comparator
+      .<Entry<T>>comparingInt(e -> e.overstockMargin).thenComparingInt(e -> e.id));
+
+  /** @param name reads an item's name.
+   * @param price reads an item's price.
+   * @param stock reads an item's stock.
+   * @param min reads an item's minimum stock.
+   * @param max reads an item's maximum stock.*/
+  RangeIndex(Function<T, String> name, ToDoubleFunction<T> price, ToIntFunction<T> stock, ToIntFunction<T> min,
+      ToIntFunction<T> max) {
+    this.name = name;
+    this.price = price;
+    this.stock = stock;
+    this.min = min;
+    this.max = max;
+  }
+
+  /** Indexes an item, replacing any item indexed under the same ID.
+   * @param id the ID of the item.
+   * @param item the item.*/
+  void add(int id, T item) {
+    remove(id);
+    int itemStock = stock.applyAsInt(item);
+    Entry<T> entry = new Entry<>(id, item, name.apply(item), price.applyAsDouble(item), itemStock,
+        itemStock - min.applyAsInt(item), itemStock - max.applyAsInt(item));
+    entries.put(id, entry);
+    byId.add(entry);
+    byName.add(entry);
+    byPrice.add(entry);
+    byStock.add(entry);
+    byReorderMargin.add(entry);
+    byOverstockMargin.add(entry);
+  }
+
+  /** @param id the ID of the item to stop indexing.*/
+  void remove(int id) {
+    Entry<T> entry = entries.remove(id);
+    if (entry != null) {
+      byId.remove(entry);
+      byName.remove(entry);
+      byPrice.remove(entry);
+      byStock.remove(entry);
+      byReorderMargin.remove(entry);
+      byOverstockMargin.remove(entry);
+    }
+  }
+
+  /** @param from the lowest price, inclusive.
+   * @param to the highest price, inclusive.
+   * @return the items in the range, by ascending price.*/
+  List<T> byPrice(double from, double to) {
+    if (!(from <= to)) {
+      return new ArrayList<>();
+    }
+    return items(byPrice.subSet(Entry.probe(Integer.MIN_VALUE, from, 0), true,
+        Entry.probe(Integer.MAX_VALUE, to, 0), true));
+  }
+
+  /** @param from the lowest stock, inclusive.
+   * @param to the highest stock, inclusive.
+   * @return the items in the range, by ascending stock.*/
+  List<T> byStock(int from, int to) {
+    return byInt(byStock, from, to);
+  }
+
+  /** @param from the lowest stock minus min, inclusive.
+   * @param to the highest stock minus min, inclusive.
+   * @return the items in the range, by ascending margin.*/
+  List<T> byReorderMargin(int from, int to) {
+    return byInt(byReorderMargin, from, to);
+  }
+
+  /** @param from the lowest stock minus max, inclusive.
+   * @param to the highest stock minus max, inclusive.
+   * @return the items in the range, by ascending margin.*/
+  List<T> byOverstockMargin(int from, int to) {
+    return byInt(byOverstockMargin, from, to);
+  }
+
+  /** @param key the order to read the items in.
+   * @param descending true to read them from the highest value down, ties going from the highest ID down.
+   * @param fromIndex the position of the first item to return.
+   * @param toIndex one past the position of the last item to return.
+   * @return the items in the range of positions. Positions past the last item are left out.*/
+  List<T> sorted(SortKey key, boolean descending, int fromIndex, int toIndex) {
+    NavigableSet<Entry<T>> tree = key == SortKey.ID ? byId : key == SortKey.NAME ? byName
+        : key == SortKey.STOCK ? byStock : byPrice;
+    int size = tree.size();
+    toIndex = Math.min(toIndex, size);
+    if (fromIndex < 0 || fromIndex >= toIndex) {
+      return new ArrayList<>();
+    }
+    boolean fromEnd = size - toIndex < fromIndex;
+    Iterator<Entry<T>> entries = descending != fromEnd ? tree.descendingIterator() : tree.iterator();
+    for (int skip = fromEnd ? size - toIndex : fromIndex; skip > 0; skip--) {
+      entries.next();
+    }
+    List<T> items = new ArrayList<>(toIndex - fromIndex);
+    for (int i = fromIndex; i < toIndex; i++) {
+      items.add(entries.next().item);
+    }
+    if (fromEnd) {
+      Collections.reverse(items);
+    }
+    return items;
+  }
+
+  private List<T> byInt(NavigableSet<Entry<T>> tree, int from, int to) {
+    if (from > to) {
+      return new ArrayList<>();
+    }
+    return items(tree.subSet(Entry.probe(Integer.MIN_VALUE, 0, from), true,
+        Entry.probe(Integer.MAX_VALUE, 0, to), true));
+  }
+
+  private List<T> items(NavigableSet<Entry<T>> range) {
+    List<T> items = new ArrayList<>(range.size());
+    for (Entry<T> entry : range) {
+      items.add(entry.item);
+    }
+    return items;
+  }
+
+  /** The values an item was indexed with.*/
+  private static final class Entry<T> {
+    private final int id;
+    private final T item;
+    private final String name;
+    private final double price;
+    private final int stock;
+    private final int reorderMargin;
+    private final int overstockMargin;
+
+    private Entry(int id, T item, String name, double price, int stock, int reorderMargin, int overstockMargin) {
+      this.id = id;
+      this.item = item;
+      this.name = name;
+      this.price = price;
+      this.stock = stock;
+      this.reorderMargin = reorderMargin;
+      this.overstockMargin = overstockMargin;
+    }
+
+    /** @return an entry without an item that bounds a range query in any of the trees.*/
+    private static <T> Entry<T> probe(int id, double price, int value) {
+      return new Entry<>(id, null, null, price, value, value, value);
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import com.griswold.inventoryManagementSystem.items.StockAlert.Level;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** Raises a {@link StockAlert} whenever the stock of a part or product moves below its min, above its max, or
+ * back between them, and hands the alerts to an {@link AlertSink} in batches.
+ * <p>
+ * The alerts follow the {@link Inventory} as a listener, so they see every add, update and delete as well as
+ * stock, min and max changes made through the setters of held items. Each change only looks at the item that
+ * changed and compares its level with the one last seen for its ID; nothing is ever rescanned. Alerts are
+ * collected while the inventory is locked and delivered by a background thread, either every flush interval
+ * or as soon as a full batch has built up.*/
+public class ReorderAlerts implements InventoryListener, AutoCloseable {
+
+  private static final int MAX_BATCH = 4096;
+
+  private final AlertSink sink;
+  private final IntMap<Level> partLevels = new IntMap<>();
+  private final IntMap<Level> productLevels = new IntMap<>();
+  private final Object pendingLock = new Object();
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "reorder-alerts");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private List<StockAlert> pending = new ArrayList<>();
+
+  private ReorderAlerts(AlertSink sink) {
+    this.sink = sink;
+  }
+
+  /** Starts alerting on the inventory. Every item that is already out of range is reported in the first
+   * batch.
+   * @param sink receives the alerts.
+   * @param flushIntervalMillis the longest time an alert waits before it is delivered.
+   * @return the attached alerts.*/
+  public static ReorderAlerts attach(AlertSink sink, long flushIntervalMillis) {
+    ReorderAlerts alerts = new ReorderAlerts(sink);
+    Inventory.addListenerWithContents(alerts);
+    alerts.flusher.scheduleWithFixedDelay(alerts::flush, flushIntervalMillis, flushIntervalMillis,
+        TimeUnit.MILLISECONDS);
+    return alerts;
+  }
+
+  /** Stops alerting, delivers the alerts still pending and waits for the sink to finish with them.*/
+  @Override
+  public void close() {
+    Inventory.removeListener(this);
+    flusher.execute(this::flush);
+    flusher.shutdown();
+    try {
+      flusher.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void partAdded(Part part) {
+    evaluate(part);
+  }
+
+  @Override
+  public void partUpdated(Part oldPart, Part newPart) {
+    if (oldPart.getId() != newPart.getId()) {
+      partLevels.remove(oldPart.getId());
+    }
+    evaluate(newPart);
+  }
+
+  @Override
+  public void partStockChanged(Part oldPart, Part newPart) {
+    evaluate(newPart);
+  }
+
+  @Override
+  public void partDeleted(Part part) {
+    partLevels.remove(part.getId());
+  }
+
+  @Override
+  public void productAdded(Product product) {
+    evaluate(product);
+  }
+
+  @Override
+  public void productUpdated(Product oldProduct, Product newProduct) {
+    if (oldProduct.getId() != newProduct.getId()) {
+      productLevels.remove(oldProduct.getId());
+    }
+    evaluate(newProduct);
+  }
+
+  @Override
+  public void productStockChanged(Product oldProduct, Product newProduct) {
+    evaluate(newProduct);
+  }
+
+  @Override
+  public void productDeleted(Product product) {
+    productLevels.remove(product.getId());
+  }
+
+  private void evaluate(Part part) {
+    Level level = Level.of(part.getStock(), part.getMin(), part.getMax());
+    Level previous = partLevels.put(part.getId(), level);
+    if (level != previous && (previous != null || level != Level.IN_RANGE)) {
+      raise(new StockAlert(false, part.getId(), part.getName(), part.getStock(), part.getMin(), part.getMax(),
+          previous, level));
+    }
+  }
+
+  private void evaluate(Product product) {
+    Level level = Level.of(product.getStock(), product.getMin(), product.getMax());
+    Level previous = productLevels.put(product.getId(), level);
+    if (level != previous && (previous != null || level != Level.IN_RANGE)) {
+      raise(new StockAlert(true, product.getId(), product.getName(), product.getStock(), product.getMin(),
+          product.getMax(), previous, level));
+    }
+  }
+
+  private void raise(StockAlert alert) {
+    boolean full;
+    synchronized (pendingLock) {
+      pending.add(alert);
+      full = pending.size() >= MAX_BATCH;
+    }
+    if (full && flushRequested.compareAndSet(false, true)) {
+      try {
+        flusher.execute(this::flush);
+      } catch (RejectedExecutionException e) {
+        // Closed while this change was being reported; the alert is dropped with the rest of the pipeline.
+      }
+    }
+  }
+
+  /** Hands every pending alert to the sink, in batches of at most MAX_BATCH.*/
+  private void flush() {
+    flushRequested.set(false);
+    List<StockAlert> alerts;
+    synchronized (pendingLock) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      alerts = pending;
+      pending = new ArrayList<>();
+    }
+    for (int from = 0; from < alerts.size(); from += MAX_BATCH) {
+      try {
+        sink.accept(alerts.subList(from, Math.min(from + MAX_BATCH, alerts.size())));
+      } catch (RuntimeException e) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import com.griswold.inventoryManagementSystem.metrics.Counter;
+import com.griswold.inventoryManagementSystem.metrics.Metrics;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** A bounded cache of name searches, mapping a lower-case query to the IDs of its matches in inventory order.
+ * <p>
+ * The least recently used searches are evicted once the cache holds more than a set number of searches or of
+ * IDs in all, and a search with more matches than a quarter of the IDs allowed is not kept at all. Changes to
+ * the names keep the cache exact without emptying it: a name that is added, changed or removed only affects
+ * the searches whose query it contains, so only those are dropped.
+ * <p>
+ * Hits, misses, evictions and invalidations are counted in {@link Metrics} under the name given to the cache,
+ * such as inventory.partSearchCache.hits, with a gauge for the number of searches held. All methods may be
+ * called from any thread.*/
+final class SearchCache {
+
+  private final int maxSearches;
+  private final int maxIds;
+  private final Map<String, int[]> searches = new LinkedHashMap<>(16, 0.75f, true);
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+  private final Counter invalidations;
+  private long heldIds;
+  private long version;
+
+  /** @param name the prefix of the cache's metrics.
+   * @param maxSearches the most searches to hold. 0 turns the cache off.
+   * @param maxIds the most matching IDs to hold across all searches.*/
+  SearchCache(String name, int maxSearches, int maxIds) {
+    this.maxSearches = maxSearches;
+    this.maxIds = maxIds;
+    hits = Metrics.counter(name + ".hits");
+    misses = Metrics.counter(name + ".misses");
+    evictions = Metrics.counter(name + ".evictions");
+    invalidations = Metrics.counter(name + ".invalidations");
+    Metrics.gauge(name + ".size", this::size);
+  }
+
+  /** @param foldedQuery the search string, already converted to lower case.
+   * @return the IDs of the matches in inventory order, which must not be modified. Returns null if the search
+   * is not cached.*/
+  synchronized int[] get(String foldedQuery) {
+    int[] ids = searches.get(foldedQuery);
+    (ids == null ? misses : hits).increment();
+    return ids;
+  }
+
+  /** @return a stamp to pass to {@link #put(String, int[], long)} for a search that runs while names may
+   * change.*/
+  synchronized long version() {
+    return version;
+  }
+
+  /** Caches the matches of a search, unless a name has changed since the search started.
+   * @param foldedQuery the search string, already converted to lower case.
+   * @param ids the IDs of the matches in inventory order. Kept as they are.
+   * @param version the {@link #version()} taken before the search started.*/
+  synchronized void put(String foldedQuery, int[] ids, long version) {
+    if (version != this.version || maxSearches == 0 || ids.length > maxIds / 4) {
+      return;
+    }
+    int[] old = searches.put(foldedQuery, ids);
+    heldIds += ids.length - (old == null ? 0 : old.length);
+    Iterator<int[]> eldest = searches.values().iterator();
+    while (searches.size() > maxSearches || heldIds > maxIds) {
+      heldIds -= eldest.next().length;
+      eldest.remove();
+      evictions.increment();
+    }
+  }
+
+  /** Drops the searches whose matches would change if an item with this name were added or removed. A rename is
+   * reported as the removal of the old name and the addition of the new.
+   * @param foldedName the item's name, already converted to lower case.*/
+  synchronized void invalidate(String foldedName) {
+    version++;
+    if (searches.isEmpty()) {
+      return;
+    }
+    for (Iterator<Map.Entry<String, int[]>> i = searches.entrySet().iterator(); i.hasNext(); ) {
+      Map.Entry<String, int[]> search = i.next();
+      if (foldedName.contains(search.getKey())) {
+        heldIds -= search.getValue().length;
+        i.remove();
+        invalidations.increment();
+      }
+    }
+  }
+
+  /** Drops every search. Cheaper than invalidating names one at a time when many change at once.*/
+  synchronized void clear() {
+    version++;
+    invalidations.add(searches.size());
+    searches.clear();
+    heldIds = 0;
+  }
+
+  /** @return the number of searches held.*/
+  synchronized int size() {
+    return searches.size();
+  }
+}
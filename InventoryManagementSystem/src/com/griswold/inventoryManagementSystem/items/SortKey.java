@@ -0,0 +1,10 @@
+package com.griswold.inventoryManagementSystem.items;
+
+/** A value the {@link Inventory} keeps its parts and products sorted by, so that a page of them can be read in
+ * that order without sorting them. Items with the same value are ordered by ID.*/
+public enum SortKey {
+  ID,
+  NAME,
+  STOCK,
+  PRICE
+}
@@ -0,0 +1,87 @@
+package com.griswold.inventoryManagementSystem.items;
+
+/** Reports that the stock of a part or product has moved below its min, above its max, or back between them.*/
+public final class StockAlert {
+
+  /** Where stock stands relative to min and max.*/
+  public enum Level {
+    BELOW_MIN,
+    IN_RANGE,
+    ABOVE_MAX;
+
+    /** @return the level of the stock.*/
+    static Level of(int stock, int min, int max) {
+      if (stock < min) {
+        return BELOW_MIN;
+      }
+      return stock > max ? ABOVE_MAX : IN_RANGE;
+    }
+  }
+
+  private final boolean product;
+  private final int id;
+  private final String name;
+  private final int stock;
+  private final int min;
+  private final int max;
+  private final Level previousLevel;
+  private final Level level;
+
+  StockAlert(boolean product, int id, String name, int stock, int min, int max, Level previousLevel,
+      Level level) {
+    this.product = product;
+    this.id = id;
+    this.name = name;
+    this.stock = stock;
+    this.min = min;
+    this.max = max;
+    this.previousLevel = previousLevel;
+    this.level = level;
+  }
+
+  /** @return true if the alert is about a product, false if it is about a part.*/
+  public boolean isProduct() {
+    return product;
+  }
+
+  /** @return the id.*/
+  public int getId() {
+    return id;
+  }
+
+  /** @return the name.*/
+  public String getName() {
+    return name;
+  }
+
+  /** @return the stock.*/
+  public int getStock() {
+    return stock;
+  }
+
+  /** @return the min.*/
+  public int getMin() {
+    return min;
+  }
+
+  /** @return the max.*/
+  public int getMax() {
+    return max;
+  }
+
+  /** @return the level before the change. Null if the item was not out of range before it was first seen.*/
+  public Level getPreviousLevel() {
+    return previousLevel;
+  }
+
+  /** @return the level after the change.*/
+  public Level getLevel() {
+    return level;
+  }
+
+  @Override
+  public String toString() {
+    return (product ? "Product " : "Part ") + id + " (" + name + "): " + previousLevel + " -> " + level
+        + ", stock " + stock + " [" + min + ", " + max + "]";
+  }
+}
@@ -0,0 +1,73 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Gives every distinct company name a small int code, so that each name is held once however many
+ * {@link Outsourced} parts come from that company. Codes are handed out in order from 0 and never reused, and
+ * null is always code -1.
+ * <p>
+ * The dictionary is shared by every part, held by the {@link Inventory} or not, and only grows: a name stays in it
+ * after the last part from that company is deleted. This is intended. Parts outside the Inventory, such as copies
+ * being edited, parts waiting to be written to the log and parts read back from it, hold codes that must go on
+ * decoding to the same name, so a code cannot be reclaimed without tracking every part that holds it. The cost is
+ * one entry per company name ever seen, which the number of suppliers keeps small. The size is exported as the
+ * inventory.supplierNames gauge, so that unexpected growth, such as from an import with a new name on every row,
+ * can be noticed.
+ * <p>
+ * Codes may be requested from any thread. Decoding takes no lock.*/
+final class SupplierDictionary {
+
+  private static final Map<String, Integer> codes = new HashMap<>();
+  private static volatile String[] names = new String[16];
+  private static int size;
+
+  private SupplierDictionary() {
+
+  }
+
+  /** @param name a company name, or null.
+   * @return the code of the name, adding it to the dictionary if it is new.*/
+  static int encode(String name) {
+    if (name == null) {
+      return -1;
+    }
+    synchronized (codes) {
+      Integer code = codes.get(name);
+      if (code == null) {
+        code = size;
+        String[] grown = size == names.length ? Arrays.copyOf(names, size * 2) : names;
+        grown[size++] = name;
+        names = grown;
+        codes.put(name, code);
+      }
+      return code;
+    }
+  }
+
+  /** @param name a company name.
+   * @return the code of the name. Returns -1 if the name has never been encoded.*/
+  static int find(String name) {
+    if (name == null) {
+      return -1;
+    }
+    synchronized (codes) {
+      Integer code = codes.get(name);
+      return code == null ? -1 : code;
+    }
+  }
+
+  /** @return the number of names in the dictionary.*/
+  static int size() {
+    synchronized (codes) {
+      return size;
+    }
+  }
+
+  /** @param code a code returned by {@link #encode(String)}.
+   * @return the company name with that code.*/
+  static String decode(int code) {
+    return code < 0 ? null : names[code];
+  }
+}
@@ -1,3 +1,3 @@
-/** Contains all resources pertaining to parts and products.*/
+/** Contains all resources pertaining to parts and products. Has no dependency on JavaFX.*/
 
 package com.griswold.inventoryManagementSystem.items;
\ No newline at end of file
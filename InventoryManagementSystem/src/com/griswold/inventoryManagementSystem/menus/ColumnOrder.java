@@ -0,0 +1,46 @@
+package com.griswold.inventoryManagementSystem.menus;
+
+import com.griswold.inventoryManagementSystem.items.SortKey;
+import java.util.Comparator;
+
+/** The order of a table column, which names the {@link SortKey} it sorts by so that a {@link PagedList} of the
+ * inventory can read its rows in that order from the inventory's index instead of sorting them. It compares rows
+ * like any other comparator, for lists that are sorted in memory.
+ * @param <S> the type of row.*/
+final class ColumnOrder<S> implements Comparator<S> {
+  private final SortKey key;
+  private final boolean descending;
+  private final Comparator<S> comparator;
+
+  /** @param key the value the column sorts by.
+   * @param comparator compares rows by the value, in ascending order.*/
+  ColumnOrder(SortKey key, Comparator<S> comparator) {
+    this(key, false, comparator);
+  }
+
+  private ColumnOrder(SortKey key, boolean descending, Comparator<S> comparator) {
+    this.key = key;
+    this.descending = descending;
+    this.comparator = comparator;
+  }
+
+  /** @return the value the column sorts by.*/
+  SortKey getKey() {
+    return key;
+  }
+
+  /** @return true if the highest value comes first.*/
+  boolean isDescending() {
+    return descending;
+  }
+
+  @Override
+  public int compare(S first, S second) {
+    return descending ? comparator.compare(second, first) : comparator.compare(first, second);
+  }
+
+  @Override
+  public ColumnOrder<S> reversed() {
+    return new ColumnOrder<>(key, !descending, comparator);
+  }
+}
@@ -0,0 +1,171 @@
+package com.griswold.inventoryManagementSystem.menus;
+
+import com.griswold.inventoryManagementSystem.items.SortKey;
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.scene.control.TableColumn.SortType;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+
+/** Sets up table columns that read their values through plain getters.
+ * <p>
+ * A column set up here takes the whole row as its cell value and renders the cell's text straight from the
+ * row with a typed getter, so drawing a cell involves no reflection, no boxing of numbers and no property
+ * wrapper. The only object made for the cell value is a small constant holding the row. Columns sort by the
+ * getter's value, through a {@link ColumnOrder} naming the inventory's index for it, and a table given
+ * {@link #sortPolicy(TableView)} sorts by them whatever list it shows.*/
+final class Columns {
+
+  private Columns() {
+
+  }
+
+  /** @param column the column to set up.
+   * @param getter reads the column's value from a row.
+   * @param key the inventory's order for the value.
+   * @param <S> the type of row.*/
+  static <S> void intColumn(TableColumn<S, S> column, ToIntFunction<S> getter, SortKey key) {
+    setUp(column, intText(getter), new ColumnOrder<>(key, Comparator.comparingInt(getter)));
+  }
+
+  /** @param column the column to set up.
+   * @param getter reads the column's value from a row.
+   * @param key the inventory's order for the value.
+   * @param <S> the type of row.*/
+  static <S> void doubleColumn(TableColumn<S, S> column, ToDoubleFunction<S> getter, SortKey key) {
+    setUp(column, doubleText(getter), new ColumnOrder<>(key, Comparator.comparingDouble(getter)));
+  }
+
+  /** @param column the column to set up.
+   * @param getter reads the column's value from a row.
+   * @param key the inventory's order for the value.
+   * @param <S> the type of row.*/
+  static <S> void textColumn(TableColumn<S, S> column, Function<S, String> getter, SortKey key) {
+    setUp(column, getter, new ColumnOrder<>(key, Comparator.comparing(getter)));
+  }
+
+  /** Lets the table sort by its column headers when its items cannot be sorted in place, which the default
+   * policy fails at without a word. A {@link PagedList} is given the {@link ColumnOrder} of the first column
+   * sorted by and reads its rows in that order from the inventory's index; rows that tie are ordered by ID, so
+   * the columns sorted by after the first are left out. A list of fewer than two rows needs no sorting, and any
+   * other list is sorted by the default policy, which leaves a SortedList bound to the table's comparator to sort
+   * itself. The table sorts again whenever it is given other items, so a list shown again is put in the table's
+   * current order.
+   * @param table the table to set up.
+   * @param <S> the type of row.*/
+  static <S> void sortPolicy(TableView<S> table) {
+    table.setSortPolicy(t -> {
+      ObservableList<S> items = t.getItems();
+      if (items instanceof PagedList) {
+        return ((PagedList<S>) items).setComparator(order(t));
+      }
+      return items == null || items.size() < 2 || TableView.DEFAULT_SORT_POLICY.call(t);
+    });
+    table.itemsProperty().addListener((observable, oldItems, newItems) -> table.sort());
+  }
+
+  /** @return the order of the first column the table is sorted by, or null if it is not sorted by a column set
+   * up here.*/
+  @SuppressWarnings("unchecked")
+  private static <S> ColumnOrder<S> order(TableView<S> table) {
+    if (table.getSortOrder().isEmpty()) {
+      return null;
+    }
+    TableColumn<S, ?> column = table.getSortOrder().get(0);
+    if (!(column.getComparator() instanceof ColumnOrder)) {
+      return null;
+    }
+    ColumnOrder<S> order = (ColumnOrder<S>) column.getComparator();
+    return column.getSortType() == SortType.DESCENDING ? order.reversed() : order;
+  }
+
+  /** @param <S> the type of row.
+   * @return a cell value factory whose value is the row itself.*/
+  static <S> Callback<CellDataFeatures<S, S>, ObservableValue<S>> rowValueFactory() {
+    return features -> new RowValue<>(features.getValue());
+  }
+
+  /** @param getter reads an int from a row.
+   * @param <S> the type of row.
+   * @return renders the int as the cell's text.*/
+  static <S> Function<S, String> intText(ToIntFunction<S> getter) {
+    return row -> Integer.toString(getter.applyAsInt(row));
+  }
+
+  /** @param getter reads a double from a row.
+   * @param <S> the type of row.
+   * @return renders the double as the cell's text.*/
+  static <S> Function<S, String> doubleText(ToDoubleFunction<S> getter) {
+    return row -> Double.toString(getter.applyAsDouble(row));
+  }
+
+  private static <S> void setUp(TableColumn<S, S> column, Function<S, String> text, Comparator<S> comparator) {
+    column.setCellValueFactory(rowValueFactory());
+    column.setCellFactory(c -> new AccessorCell<>(text));
+    column.setComparator(comparator);
+  }
+
+  /** A cell that renders its row with a fixed function.*/
+  private static final class AccessorCell<S> extends TableCell<S, S> {
+    private final Function<S, String> text;
+
+    private AccessorCell(Function<S, String> text) {
+      this.text = text;
+    }
+
+    @Override
+    protected void updateItem(S row, boolean empty) {
+      super.updateItem(row, empty);
+      setText(empty || row == null ? null : text.apply(row));
+    }
+
+    /** The row object may be the same while its values have changed, so the cell is always redrawn.*/
+    @Override
+    protected boolean isItemChanged(S oldRow, S newRow) {
+      return true;
+    }
+  }
+
+  /** An ObservableValue that never changes, so it keeps no listeners.*/
+  private static final class RowValue<S> implements ObservableValue<S> {
+    private final S row;
+
+    private RowValue(S row) {
+      this.row = row;
+    }
+
+    @Override
+    public S getValue() {
+      return row;
+    }
+
+    @Override
+    public void addListener(ChangeListener<? super S> listener) {
+
+    }
+
+    @Override
+    public void removeListener(ChangeListener<? super S> listener) {
+
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+
+    }
+  }
+}
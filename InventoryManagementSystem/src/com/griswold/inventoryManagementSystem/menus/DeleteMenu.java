@@ -69,12 +69,12 @@ public class DeleteMenu extends MenuController {
       partToRemove = null;
     } else if (productToDelete != null) {
       Inventory.deleteProduct(productToDelete);
-      mainMenu.getProductTableView().setItems(Inventory.getAllProducts());
+      mainMenu.getProductTableView().setItems(ObservableInventory.getAllProducts());
       mainMenu.getProductTableView().getSelectionModel().clearSelection();
       productToDelete = null;
     } else if (partToDelete != null) {
       Inventory.deletePart(partToDelete);
-      mainMenu.getPartTableView().setItems(Inventory.getAllParts());
+      mainMenu.getPartTableView().setItems(ObservableInventory.getAllParts());
       mainMenu.getPartTableView().getSelectionModel().clearSelection();
       partToDelete = null;
     }
@@ -1,20 +1,19 @@
 package com.griswold.inventoryManagementSystem.menus;
 import com.griswold.inventoryManagementSystem.AppManager;
 import com.griswold.inventoryManagementSystem.AppManager.MenuType;
+import com.griswold.inventoryManagementSystem.events.UiActionEvent;
 import com.griswold.inventoryManagementSystem.items.InHouse;
 import com.griswold.inventoryManagementSystem.items.Inventory;
 import com.griswold.inventoryManagementSystem.items.Outsourced;
 import com.griswold.inventoryManagementSystem.items.Part;
 import com.griswold.inventoryManagementSystem.items.Product;
+import com.griswold.inventoryManagementSystem.items.SortKey;
 import java.util.Objects;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
-import javafx.scene.control.cell.PropertyValueFactory;
 
 /** The application's main GUI.*/
 public class MainMenu extends MenuController{
@@ -29,30 +28,41 @@ public class MainMenu extends MenuController{
   @FXML
   private TableView<Part> partTableView;
   @FXML
-  private TableColumn<Part, Integer> partIdColumn;
+  private TableColumn<Part, Part> partIdColumn;
   @FXML
-  private TableColumn<Part, String> partNameColumn;
+  private TableColumn<Part, Part> partNameColumn;
   @FXML
-  private TableColumn<Part, Integer> partInvColumn;
+  private TableColumn<Part, Part> partInvColumn;
   @FXML
-  private TableColumn<Part, Double> partPriceColumn;
+  private TableColumn<Part, Part> partPriceColumn;
 
   // Product table
   @FXML
   private TableView<Product> productTableView;
   @FXML
-  private TableColumn<Product, Integer>  productIdColumn;
+  private TableColumn<Product, Product> productIdColumn;
   @FXML
-  private TableColumn<Product, String> productNameColumn;
+  private TableColumn<Product, Product> productNameColumn;
   @FXML
-  private TableColumn<Product, Integer> productInvColumn;
+  private TableColumn<Product, Product> productInvColumn;
   @FXML
-  private TableColumn<Product, Double> productPriceColumn;
+  private TableColumn<Product, Product> productPriceColumn;
+
+  private SearchService<Part> partSearch;
+  private SearchService<Product> productSearch;
 
   /** Initializes the menu. This is called once when the application starts.*/
   public void start() {
-    addFakeTableData();
+    if (Inventory.getPartCount() == 0 && Inventory.getProductCount() == 0) {
+      addFakeTableData();
+    }
     setupTables();
+    partSearch = new SearchService<>("MainMenu.parts", partTableView, mainErrorLabel,
+        ObservableInventory.getAllParts(), Inventory::lookupPart, Inventory::lookupPart);
+    partSearch.watch(partSearchField);
+    productSearch = new SearchService<>("MainMenu.products", productTableView, mainErrorLabel,
+        ObservableInventory.getAllProducts(), Inventory::lookupProduct, Inventory::lookupProduct);
+    productSearch.watch(productSearchField);
     clearErrorLabel();
   }
 
@@ -60,22 +70,24 @@ public class MainMenu extends MenuController{
   private void setupTables() {
 
     // Part Table
-    partIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
-    partNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
-    partInvColumn.setCellValueFactory(new PropertyValueFactory<>("stock"));
-    partPriceColumn.setCellValueFactory(new PropertyValueFactory<>("price"));
-    partTableView.setItems(Inventory.getAllParts());
+    Columns.intColumn(partIdColumn, Part::getId, SortKey.ID);
+    Columns.textColumn(partNameColumn, Part::getName, SortKey.NAME);
+    Columns.intColumn(partInvColumn, Part::getStock, SortKey.STOCK);
+    Columns.doubleColumn(partPriceColumn, Part::getPrice, SortKey.PRICE);
+    Columns.sortPolicy(partTableView);
+    partTableView.setItems(ObservableInventory.getAllParts());
 
     // Product Table
-    productIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
-    productNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
-    productInvColumn.setCellValueFactory(new PropertyValueFactory<>("stock"));
-    productPriceColumn.setCellValueFactory(new PropertyValueFactory<>("price"));
-    productTableView.setItems(Inventory.getAllProducts());
+    Columns.intColumn(productIdColumn, Product::getId, SortKey.ID);
+    Columns.textColumn(productNameColumn, Product::getName, SortKey.NAME);
+    Columns.intColumn(productInvColumn, Product::getStock, SortKey.STOCK);
+    Columns.doubleColumn(productPriceColumn, Product::getPrice, SortKey.PRICE);
+    Columns.sortPolicy(productTableView);
+    productTableView.setItems(ObservableInventory.getAllProducts());
 
   }
 
-  /** Initializes the part and product tables with dummy data.*/
+  /** Initializes the part and product tables with dummy data. Only used when no saved inventory exists.*/
   private void addFakeTableData() {
     // Fake Parts
     Inventory.addPart(new Outsourced(AppManager.nextId(), "FirstPart", 22.95, 1, 1, 10, "Griswold"));
@@ -88,145 +100,166 @@ public class MainMenu extends MenuController{
     Inventory.addProduct(new Product(AppManager.nextId(), "Other Product", 139.50, 3, 1, 20));
   }
 
-  /** Refreshes part and product tables with data from the Inventory.*/
+  /** Shows the whole Inventory again in any table that is showing search results. The tables follow the
+   * Inventory by themselves otherwise, so nothing is done when they already show it.*/
   private void updateTables() {
-    productTableView.setItems(Inventory.getAllProducts());
-    partTableView.setItems(Inventory.getAllParts());
+    partSearch.cancel();
+    productSearch.cancel();
+    if (productTableView.getItems() != ObservableInventory.getAllProducts()) {
+      productTableView.setItems(ObservableInventory.getAllProducts());
+    }
+    if (partTableView.getItems() != ObservableInventory.getAllParts()) {
+      partTableView.setItems(ObservableInventory.getAllParts());
+    }
   }
 
   /** Responds to add part button being clicked. Opens the add part menu.*/
   @FXML
   private void addPartButtonListener() {
-    updateTables();
-    clearErrorLabel();
-    PartMenu partMenu = (PartMenu) Objects.requireNonNull(AppManager.getWindow(MenuType.PART)).getMenuController();
-    partMenu.setMenuVariant(MenuVariant.ADD);
-    AppManager.showWindow(MenuType.PART);
-    partTableView.getSelectionModel().clearSelection();
+    UiActionEvent event = new UiActionEvent("MainMenu", "addPart");
+    try {
+      updateTables();
+      clearErrorLabel();
+      PartMenu partMenu = (PartMenu) Objects
+          .requireNonNull(AppManager.getWindow(MenuType.PART)).getMenuController();
+      partMenu.setMenuVariant(MenuVariant.ADD);
+      AppManager.showWindow(MenuType.PART);
+      partTableView.getSelectionModel().clearSelection();
+    } finally {
+      event.commit();
+    }
   }
 
   /** Responds to modify part button being clicked. Opens the modify part menu.*/
   @FXML
   private void modifyPartButtonListener() {
-    updateTables();
-    clearErrorLabel();
-    if (partTableView.getSelectionModel().isEmpty()) {
-      return;
+    UiActionEvent event = new UiActionEvent("MainMenu", "modifyPart");
+    try {
+      updateTables();
+      clearErrorLabel();
+      if (partTableView.getSelectionModel().isEmpty()) {
+        return;
+      }
+      PartMenu partMenu = (PartMenu) Objects
+          .requireNonNull(AppManager.getWindow(MenuType.PART)).getMenuController();
+      event.itemId = partTableView.getSelectionModel().getSelectedItem().getId();
+      event.itemCount = 1;
+      partMenu.setMenuVariant(MenuVariant.MODIFY);
+      AppManager.showWindow(MenuType.PART);
+    } finally {
+      event.commit();
     }
-    PartMenu partMenu = (PartMenu) Objects.requireNonNull(AppManager.getWindow(MenuType.PART)).getMenuController();
-    partMenu.setMenuVariant(MenuVariant.MODIFY);
-    AppManager.showWindow(MenuType.PART);
   }
 
   /** Responds to add product button being clicked. Opens the add product menu.*/
   @FXML
   private void addProductButtonListener() {
-    updateTables();
-    clearErrorLabel();
-    ProductMenu productMenu = (ProductMenu) Objects
-        .requireNonNull(AppManager.getWindow(MenuType.PRODUCT)).getMenuController();
-    productMenu.setMenuVariant(MenuVariant.ADD);
-    AppManager.showWindow(MenuType.PRODUCT);
-    productTableView.getSelectionModel().clearSelection();
+    UiActionEvent event = new UiActionEvent("MainMenu", "addProduct");
+    try {
+      updateTables();
+      clearErrorLabel();
+      ProductMenu productMenu = (ProductMenu) Objects
+          .requireNonNull(AppManager.getWindow(MenuType.PRODUCT)).getMenuController();
+      productMenu.setMenuVariant(MenuVariant.ADD);
+      AppManager.showWindow(MenuType.PRODUCT);
+      productTableView.getSelectionModel().clearSelection();
+    } finally {
+      event.commit();
+    }
   }
 
   /** Responds to modify product button being clicked. Opens the modify product menu.*/
   @FXML
   private void modifyProductButtonListener() {
-    updateTables();
-    clearErrorLabel();
-    if (productTableView.getSelectionModel().isEmpty()) {
-      return;
+    UiActionEvent event = new UiActionEvent("MainMenu", "modifyProduct");
+    try {
+      updateTables();
+      clearErrorLabel();
+      if (productTableView.getSelectionModel().isEmpty()) {
+        return;
+      }
+      ProductMenu productMenu = (ProductMenu) Objects
+          .requireNonNull(AppManager.getWindow(MenuType.PRODUCT)).getMenuController();
+      event.itemId = productTableView.getSelectionModel().getSelectedItem().getId();
+      event.itemCount = 1;
+      productMenu.setMenuVariant(MenuVariant.MODIFY);
+      AppManager.showWindow(MenuType.PRODUCT);
+    } finally {
+      event.commit();
     }
-    ProductMenu productMenu = (ProductMenu) Objects
-        .requireNonNull(AppManager.getWindow(MenuType.PRODUCT)).getMenuController();
-    productMenu.setMenuVariant(MenuVariant.MODIFY);
-    AppManager.showWindow(MenuType.PRODUCT);
   }
 
   /** Responds to action event on the part search field. Initiates part lookup in Inventory and displays
-   * the results in the part table view.*/
+   * the results in the part table view as they are found.*/
   @FXML
   private void partSearchFieldListener() {
-    clearErrorLabel();
+    UiActionEvent event = new UiActionEvent("MainMenu", "searchParts");
     try {
-      Part part = Inventory.lookupPart(Integer.parseInt(partSearchField.getText()));
-      if (part != null) {
-        partTableView.setItems(FXCollections.observableArrayList(part));
-        partTableView.getSelectionModel().select(part);
-        partSearchField.clear();
-        return;
-      }
-    } catch (Exception ignored) {
-
-    }
-    ObservableList<Part> parts = Inventory.lookupPart(partSearchField.getText());
-    partTableView.setItems(parts);
-    if (parts.size() > 0) {
-      partTableView.getSelectionModel().selectFirst();
-    } else {
-      mainErrorLabel.setText("Your search produced zero results.");
+      clearErrorLabel();
+      partSearch.submit(partSearchField);
+    } finally {
+      event.commit();
     }
-    partSearchField.clear();
   }
 
   /** Responds to action event on the product search field. Initiates product lookup in Inventory and displays
-   * the results in the product table view.*/
+   * the results in the product table view as they are found.*/
   @FXML
   private void productSearchFieldListener() {
-    clearErrorLabel();
+    UiActionEvent event = new UiActionEvent("MainMenu", "searchProducts");
     try {
-      Product product = Inventory.lookupProduct(Integer.parseInt(productSearchField.getText()));
-      if (product != null) {
-        productTableView.setItems(FXCollections.observableArrayList(product));
-        productTableView.getSelectionModel().select(product);
-        productSearchField.clear();
-        return;
-      }
-    } catch (Exception ignored) {
-
-    }
-    ObservableList<Product> products = Inventory.lookupProduct(productSearchField.getText());
-    productTableView.setItems(products);
-    if (products.size() > 0) {
-      productTableView.getSelectionModel().selectFirst();
-    } else {
-      mainErrorLabel.setText("Your search produced zero results.");
+      clearErrorLabel();
+      productSearch.submit(productSearchField);
+    } finally {
+      event.commit();
     }
-    productSearchField.clear();
   }
 
   /** Responds to delete part button being clicked. If a part is currently selected in the part table view
    * the delete menu is opened and passed the selected part.*/
   @FXML
   private void partDeleteButtonListener() {
-    updateTables();
-    clearErrorLabel();
-    if (partTableView.getSelectionModel().isEmpty()) {
-      return;
+    UiActionEvent event = new UiActionEvent("MainMenu", "deletePart");
+    try {
+      updateTables();
+      clearErrorLabel();
+      if (partTableView.getSelectionModel().isEmpty()) {
+        return;
+      }
+      DeleteMenu deleteMenu = ((DeleteMenu) Objects
+          .requireNonNull(AppManager.getWindow(MenuType.DELETE)).getMenuController());
+      event.itemId = partTableView.getSelectionModel().getSelectedItem().getId();
+      event.itemCount = 1;
+      deleteMenu.delete(partTableView.getSelectionModel().getSelectedItem());
+      AppManager.showWindow(MenuType.DELETE);
+    } finally {
+      event.commit();
     }
-    DeleteMenu deleteMenu = ((DeleteMenu) Objects
-        .requireNonNull(AppManager.getWindow(MenuType.DELETE)).getMenuController());
-    deleteMenu.delete(partTableView.getSelectionModel().getSelectedItem());
-    AppManager.showWindow(MenuType.DELETE);
   }
 
   /** Responds to delete product button being clicked. If a product is currently selected in the product table view
    * the delete menu is opened and passed the selected product.*/
   @FXML
   private void productDeleteButtonListener() {
-    updateTables();
-    clearErrorLabel();
-    if (productTableView.getSelectionModel().isEmpty() ) {
-      return;
-    } else if (productTableView.getSelectionModel().getSelectedItem().getAllAssociatedParts().size() > 0) {
-      mainErrorLabel.setText("ERROR: Cannot delete product containing associated parts.");
-      return;
+    UiActionEvent event = new UiActionEvent("MainMenu", "deleteProduct");
+    try {
+      updateTables();
+      clearErrorLabel();
+      if (productTableView.getSelectionModel().isEmpty() ) {
+        return;
+      } else if (!productTableView.getSelectionModel().getSelectedItem().getAllAssociatedParts().isEmpty()) {
+        mainErrorLabel.setText("ERROR: Cannot delete product containing associated parts.");
+        return;
+      }
+      DeleteMenu deleteMenu = ((DeleteMenu) Objects
+          .requireNonNull(AppManager.getWindow(MenuType.DELETE)).getMenuController());
+      event.itemId = productTableView.getSelectionModel().getSelectedItem().getId();
+      event.itemCount = 1;
+      deleteMenu.delete(productTableView.getSelectionModel().getSelectedItem());
+      AppManager.showWindow(MenuType.DELETE);
+    } finally {
+      event.commit();
     }
-    DeleteMenu deleteMenu = ((DeleteMenu) Objects
-        .requireNonNull(AppManager.getWindow(MenuType.DELETE)).getMenuController());
-    deleteMenu.delete(productTableView.getSelectionModel().getSelectedItem());
-    AppManager.showWindow(MenuType.DELETE);
   }
 
   /** Responds to exit part button being clicked. Tells the application manager to exit the application.*/
@@ -0,0 +1,195 @@
+package com.griswold.inventoryManagementSystem.menus;
+
+import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.InventoryListener;
+import com.griswold.inventoryManagementSystem.items.Part;
+import com.griswold.inventoryManagementSystem.items.Product;
+import java.util.Comparator;
+import java.util.List;
+import javafx.collections.ObservableList;
+
+/** Presents the {@link Inventory} as ObservableLists that the menus' tables can bind to.
+ * <p>
+ * The lists are unmodifiable and only change on the JavaFX Application Thread. They are paged views of the
+ * inventory rather than copies of it: rows are read from the inventory as the tables show them, so the memory
+ * held for the tables stays the same however large the inventory grows. Changes made to the inventory on other
+ * threads appear in them on the next pulse, each at the position it was made. A table sorts its list in place,
+ * so each table of parts is given a list of its own. A list sorted by a {@link ColumnOrder} pages through the
+ * inventory's index for that column rather than sorting any rows.*/
+public class ObservableInventory {
+  private static final int PAGE_SIZE = 256;
+  private static final int MAX_PAGES = 8;
+
+  private static final PagedList<Part> parts = partList();
+  private static final PagedList<Part> partChoices = partList();
+  private static final List<PagedList<Part>> partLists = List.of(parts, partChoices);
+  private static final PagedList<Product> products = new PagedList<>(new PagedList.PageSource<>() {
+    @Override
+    public int size() {
+      return Inventory.getProductCount();
+    }
+
+    @Override
+    public List<Product> get(int fromIndex, int toIndex) {
+      return Inventory.getProducts(fromIndex, toIndex);
+    }
+
+    @Override
+    public List<Product> get(Comparator<? super Product> order, int fromIndex, int toIndex) {
+      if (!(order instanceof ColumnOrder)) {
+        return null;
+      }
+      ColumnOrder<?> column = (ColumnOrder<?>) order;
+      return Inventory.getProducts(column.getKey(), column.isDescending(), fromIndex, toIndex);
+    }
+  }, PAGE_SIZE, MAX_PAGES);
+  private static boolean started;
+
+  /** Starts following changes to the Inventory, beginning with its current contents. Must be called on the JavaFX
+   * Application Thread.*/
+  public static void start() {
+    if (started) {
+      return;
+    }
+    started = true;
+    Inventory.addListenerWithContents(new Follower());
+  }
+
+  /** @return an unmodifiable, observable view of the entire part list.*/
+  public static ObservableList<Part> getAllParts() {
+    return parts;
+  }
+
+  /** @return a second view of the entire part list, for a table of parts to choose from that is sorted apart
+   * from the table of {@link #getAllParts()}.*/
+  public static ObservableList<Part> getPartChoices() {
+    return partChoices;
+  }
+
+  /** @return an unmodifiable, observable view of the entire product list.*/
+  public static ObservableList<Product> getAllProducts() {
+    return products;
+  }
+
+  private static PagedList<Part> partList() {
+    return new PagedList<>(new PagedList.PageSource<>() {
+      @Override
+      public int size() {
+        return Inventory.getPartCount();
+      }
+
+      @Override
+      public List<Part> get(int fromIndex, int toIndex) {
+        return Inventory.getParts(fromIndex, toIndex);
+      }
+
+      @Override
+      public List<Part> get(Comparator<? super Part> order, int fromIndex, int toIndex) {
+        if (!(order instanceof ColumnOrder)) {
+          return null;
+        }
+        ColumnOrder<?> column = (ColumnOrder<?>) order;
+        return Inventory.getParts(column.getKey(), column.isDescending(), fromIndex, toIndex);
+      }
+    }, PAGE_SIZE, MAX_PAGES);
+  }
+
+  /** Tells the paged lists of each change at the position it was made. Called under the write lock of the list
+   * that changed, so the positions read here are those of the change.*/
+  private static final class Follower implements InventoryListener {
+
+    @Override
+    public void partAdded(Part part) {
+      for (PagedList<Part> list : partLists) {
+        list.added(1);
+      }
+    }
+
+    @Override
+    public void partUpdated(Part oldPart, Part newPart) {
+      int index = Inventory.indexOfPart(newPart.getId());
+      for (PagedList<Part> list : partLists) {
+        list.replaced(index, oldPart, newPart);
+      }
+    }
+
+    @Override
+    public void partStockChanged(Part oldPart, Part newPart) {
+      int index = Inventory.indexOfPart(newPart.getId());
+      for (PagedList<Part> list : partLists) {
+        list.replaced(index, newPart, newPart);
+      }
+    }
+
+    @Override
+    public void partDeleted(Part part, int index) {
+      for (PagedList<Part> list : partLists) {
+        list.removed(index, part);
+      }
+    }
+
+    @Override
+    public void partsAdded(List<Part> added) {
+      for (PagedList<Part> list : partLists) {
+        list.added(added.size());
+      }
+    }
+
+    @Override
+    public void partsUpdated(List<Part> oldParts, List<Part> newParts) {
+      int[] indexes = new int[newParts.size()];
+      for (int i = 0; i < indexes.length; i++) {
+        indexes[i] = Inventory.indexOfPart(newParts.get(i).getId());
+      }
+      for (PagedList<Part> list : partLists) {
+        list.replaced(indexes, oldParts, newParts);
+      }
+    }
+
+    @Override
+    public void partsDeleted(List<Part> deleted, int[] indexes) {
+      for (PagedList<Part> list : partLists) {
+        list.removed(indexes, deleted);
+      }
+    }
+
+    @Override
+    public void productAdded(Product product) {
+      products.added(1);
+    }
+
+    @Override
+    public void productUpdated(Product oldProduct, Product newProduct) {
+      products.replaced(Inventory.indexOfProduct(newProduct.getId()), oldProduct, newProduct);
+    }
+
+    @Override
+    public void productStockChanged(Product oldProduct, Product newProduct) {
+      products.replaced(Inventory.indexOfProduct(newProduct.getId()), newProduct, newProduct);
+    }
+
+    @Override
+    public void productDeleted(Product product, int index) {
+      products.removed(index, product);
+    }
+
+    @Override
+    public void productsAdded(List<Product> added) {
+      products.added(added.size());
+    }
+
+    @Override
+    public void productsUpdated(List<Product> oldProducts, List<Product> newProducts) {
+      int[] indexes = new int[newProducts.size()];
+      for (int i = 0; i < indexes.length; i++) {
+        indexes[i] = Inventory.indexOfProduct(newProducts.get(i).getId());
+      }
+      products.replaced(indexes, oldProducts, newProducts);
+    }
+
+    @Override
+    public void productsDeleted(List<Product> deleted, int[] indexes) {
+      products.removed(indexes, deleted);
+    }
+  }
+}
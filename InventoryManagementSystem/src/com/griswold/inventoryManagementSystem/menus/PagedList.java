@@ -0,0 +1,526 @@
+package com.griswold.inventoryManagementSystem.menus;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableListBase;
+
+/** An unmodifiable ObservableList that reads its rows from a {@link PageSource} a page at a time, for tables too
+ * large to copy.
+ * <p>
+ * A TableView only asks for the rows it shows, so only those pages, and the page after the last row shown,
+ * are ever fetched. At most a fixed number of pages are kept, the least recently used being dropped first, so
+ * the memory held does not depend on the size of the source.
+ * <p>
+ * The list is only read and changed on the JavaFX Application Thread. Whoever changes the source tells the list
+ * what changed, row by row and in order, from any thread and at the moment of the change: rows added at the end,
+ * a row removed at a position, a row replaced or changed in place. The list keeps these changes and on the next
+ * pulse tells its listeners of their net effect in a single event, with every removal at its position among the
+ * rows they knew of and with the item removed, so a bulk change of any size costs the table one layout pass.
+ * Until then a row that is not cached is read from the source at the position the pending changes have moved it
+ * to, or, if its item has since been removed or replaced, taken from the change, so a row is never missing.
+ * <p>
+ * The list can be sorted with {@link #setComparator(Comparator)}, which a TableView's sort policy can call in
+ * place of {@code FXCollections.sort}, if the source can be read in that order. The list never sorts rows itself:
+ * it pages through the source in the comparator's order just as it does in source order, so it holds no more rows
+ * sorted than unsorted. Where a change lands in a sorted order is not known, so while a comparator is set the
+ * changes recorded are not replayed; instead listeners are told that every row was replaced, at most once per sort
+ * delay however often the source changes. Until then rows already cached are shown as they were, and other rows
+ * are read from the source at their position at the moment, which past the end of the source is null.
+ * @param <T> the type of item in the list.*/
+final class PagedList<T> extends ObservableListBase<T> {
+
+  /** Supplies the rows of a PagedList. May be called on any thread. Each call must see the source at a single
+   * moment, before or after any one change, and every change must be reported to the list before another call
+   * can see it.
+   * @param <T> the type of item supplied.*/
+  interface PageSource<T> {
+    /** @return the number of rows at this moment.*/
+    int size();
+
+    /** @param fromIndex the first row to return.
+     * @param toIndex one past the last row to return.
+     * @return the rows in the range that still exist, which may be fewer than asked for.*/
+    List<T> get(int fromIndex, int toIndex);
+
+    /** @param order the order to read the rows in.
+     * @param fromIndex the first row to return, in that order.
+     * @param toIndex one past the last row to return.
+     * @return the rows in the range that still exist, which may be fewer than asked for. Returns null if the
+     * source cannot be read in that order, which by default it cannot.*/
+    default List<T> get(Comparator<? super T> order, int fromIndex, int toIndex) {
+      return null;
+    }
+  }
+
+  /** How long after telling listeners that the rows were sorted again the list waits before doing so again.*/
+  private static final long SORT_DELAY_MILLIS = 250;
+  /** Runs the sorts that were put off, for every list.*/
+  private static final ScheduledExecutorService delayedSorts = Executors.newSingleThreadScheduledExecutor(
+      runnable -> {
+        Thread thread = new Thread(runnable, "paged-list-sorts");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  private static final int ADDED = 0;
+  private static final int REMOVED = 1;
+  private static final int REPLACED = 2;
+  private static final int UPDATED = 3;
+
+  private final PageSource<T> source;
+  private final int pageSize;
+  private final int prefetchMargin;
+  private final long sortDelayNanos;
+  private final Executor listThread;
+  private final Map<Integer, List<T>> pages;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final Object lock = new Object();
+  /** The changes made to the source that listeners have not been told of yet, oldest first. Guarded by lock.*/
+  private final Deque<Change<T>> pending = new ArrayDeque<>();
+  /** The number of changes ever made to the source. Guarded by lock.*/
+  private long version;
+  private boolean refreshing;
+  private Comparator<? super T> comparator;
+  private long lastSort;
+  private boolean sortDelayed;
+  private int size;
+
+  /** Creates an empty list that replays changes on the JavaFX Application Thread.
+   * @param source where the rows are read from.
+   * @param pageSize the number of rows fetched at once.
+   * @param maxPages the number of pages kept.*/
+  PagedList(PageSource<T> source, int pageSize, int maxPages) {
+    this(source, pageSize, maxPages, SORT_DELAY_MILLIS, task -> {
+      if (Platform.isFxApplicationThread()) {
+        task.run();
+      } else {
+        Platform.runLater(task);
+      }
+    });
+  }
+
+  /** Creates an empty list. Changes made to the source before the list is told of them as additions are not
+   * shown.
+   * @param source where the rows are read from.
+   * @param pageSize the number of rows fetched at once.
+   * @param maxPages the number of pages kept.
+   * @param sortDelayMillis the least time between telling listeners that the sorted rows changed.
+   * @param listThread runs a task on the thread the list is read on, at once if called on that thread.*/
+  PagedList(PageSource<T> source, int pageSize, int maxPages, long sortDelayMillis, Executor listThread) {
+    this.source = source;
+    this.pageSize = pageSize;
+    this.prefetchMargin = pageSize / 4;
+    this.sortDelayNanos = TimeUnit.MILLISECONDS.toNanos(sortDelayMillis);
+    this.listThread = listThread;
+    this.pages = new LinkedHashMap<>(maxPages * 2, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+        return size() > maxPages;
+      }
+    };
+  }
+
+  @Override
+  public T get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+    }
+    int offset = index % pageSize;
+    if (offset >= pageSize - prefetchMargin && index - offset + pageSize < size) {
+      page(index / pageSize + 1);
+    }
+    List<T> page = page(index / pageSize);
+    if (page != null) {
+      return page.get(offset);
+    }
+    if (comparator == null) {
+      return resolve(index);
+    }
+    List<T> row = source.get(comparator, index, index + 1);
+    return row.isEmpty() ? null : row.get(0);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /** Records that rows were added at the end of the source. May be called on any thread.
+   * @param count the number of rows added.*/
+  void added(int count) {
+    if (count > 0) {
+      record(Collections.singletonList(new Change<>(ADDED, count, null, null)));
+    }
+  }
+
+  /** Records that a row was removed from the source. May be called on any thread.
+   * @param index the position the row had, after every change recorded before it.
+   * @param item the item that was removed.*/
+  void removed(int index, T item) {
+    record(Collections.singletonList(new Change<>(REMOVED, index, item, null)));
+  }
+
+  /** Records that rows were removed from the source, one after another. May be called on any thread.
+   * @param indexes the position each row had, after the removals before it.
+   * @param items the items that were removed, in the same order.*/
+  void removed(int[] indexes, List<? extends T> items) {
+    List<Change<T>> changes = new ArrayList<>(indexes.length);
+    for (int i = 0; i < indexes.length; i++) {
+      changes.add(new Change<>(REMOVED, indexes[i], items.get(i), null));
+    }
+    record(changes);
+  }
+
+  /** Records that the item in a row was replaced, or changed in place if the items are the same. May be called
+   * on any thread.
+   * @param index the row that changed.
+   * @param oldItem the item that was in the row.
+   * @param newItem the item in the row now.*/
+  void replaced(int index, T oldItem, T newItem) {
+    replaced(new int[] {index}, Collections.singletonList(oldItem), Collections.singletonList(newItem));
+  }
+
+  /** Records that the items in several rows were replaced or changed in place. May be called on any thread.
+   * @param indexes the rows that changed. Rows at negative positions are left out.
+   * @param oldItems the items that were in the rows.
+   * @param newItems the items in the rows now, in the same order.*/
+  void replaced(int[] indexes, List<? extends T> oldItems, List<? extends T> newItems) {
+    List<Change<T>> changes = new ArrayList<>(indexes.length);
+    for (int i = 0; i < indexes.length; i++) {
+      if (indexes[i] >= 0) {
+        T newItem = newItems.get(i);
+        changes.add(oldItems.get(i) == newItem ? new Change<>(UPDATED, indexes[i], newItem, null)
+            : new Change<>(REPLACED, indexes[i], newItem, oldItems.get(i)));
+      }
+    }
+    record(changes);
+  }
+
+  /** Sorts the list, or puts it back in source order, if the source can be read in that order. Listeners are told
+   * that every row was replaced. Must be called on the JavaFX Application Thread.
+   * @param comparator the order of the rows, or null for the order of the source.
+   * @return false if the source cannot be read in that order, in which case the list is left as it was.*/
+  boolean setComparator(Comparator<? super T> comparator) {
+    if (comparator == this.comparator) {
+      return true;
+    }
+    if (comparator != null && source.get(comparator, 0, 0) == null) {
+      return false;
+    }
+    this.comparator = comparator;
+    replaceAll();
+    return true;
+  }
+
+  /** @return the comparator the list is sorted by, or null if it is in source order.*/
+  Comparator<? super T> getComparator() {
+    return comparator;
+  }
+
+  private void record(List<Change<T>> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    synchronized (lock) {
+      pending.addAll(changes);
+      version += changes.size();
+    }
+    if (scheduled.compareAndSet(false, true)) {
+      listThread.execute(this::refresh);
+    }
+  }
+
+  /** Tells listeners of the changes recorded since the last refresh. A refresh started by a listener of this list
+   * is left to the one under way, which goes round again for any changes recorded while it was telling.*/
+  private void refresh() {
+    if (refreshing) {
+      return;
+    }
+    refreshing = true;
+    try {
+      while (true) {
+        scheduled.set(false);
+        if (comparator != null ? !sortPending() : !replayPending()) {
+          return;
+        }
+      }
+    } finally {
+      refreshing = false;
+    }
+  }
+
+  /** Tells listeners of every pending change in a single event. The changes are netted into disjoint changes in
+   * ascending order by {@link PulseChanges}, so a pulse costs listeners one pass however many rows changed and
+   * however scattered they are. The changes told of leave the pending ones before listeners are told, so rows
+   * read by listeners are the rows they know of.
+   * @return false if no changes were pending.*/
+  private boolean replayPending() {
+    List<Change<T>> changes;
+    synchronized (lock) {
+      if (pending.isEmpty()) {
+        return false;
+      }
+      changes = new ArrayList<>(pending);
+      pending.clear();
+    }
+    PulseChanges<T> net = new PulseChanges<>(size);
+    for (Change<T> change : changes) {
+      switch (change.kind) {
+        case ADDED:
+          net.add(change.index);
+          break;
+        case REMOVED:
+          net.remove(change.index, change.item);
+          break;
+        case REPLACED:
+          net.replace(change.index, change.oldItem);
+          break;
+        default:
+          net.update(change.index);
+          break;
+      }
+    }
+    size = net.size();
+    beginChange();
+    int first = net.report(new PulseChanges.Receiver<>() {
+      @Override
+      public void changed(int from, List<T> removed, int added) {
+        if (removed.isEmpty()) {
+          nextAdd(from, from + added);
+        } else if (added == 0) {
+          nextRemove(from, removed);
+        } else {
+          nextReplace(from, from + added, removed);
+        }
+      }
+
+      @Override
+      public void updated(int index) {
+        nextUpdate(index);
+      }
+    });
+    if (first >= 0) {
+      dropPagesFrom(first / pageSize);
+    }
+    endChange();
+    return true;
+  }
+
+  /** Tells listeners that every row was replaced if changes are pending, unless they were told so less than the
+   * sort delay ago, in which case it is done once the delay is over.
+   * @return false if listeners were not told.*/
+  private boolean sortPending() {
+    synchronized (lock) {
+      if (pending.isEmpty()) {
+        return false;
+      }
+    }
+    long wait = lastSort + sortDelayNanos - System.nanoTime();
+    if (sortDelayNanos > 0 && wait > 0) {
+      if (!sortDelayed) {
+        sortDelayed = true;
+        delayedSorts.schedule(() -> listThread.execute(() -> {
+          sortDelayed = false;
+          refresh();
+        }), wait, TimeUnit.NANOSECONDS);
+      }
+      return false;
+    }
+    replaceAll();
+    return true;
+  }
+
+  /** Drops the pending changes and the cached pages, reads the size of the source, and tells listeners that every
+   * row was replaced. The rows listeners are told were removed are read from the pages cached before, and are null
+   * where no page was, so that telling them costs nothing however many rows there are.*/
+  private void replaceAll() {
+    int oldSize = size;
+    Map<Integer, List<T>> oldPages = new HashMap<>(pages);
+    pages.clear();
+    while (true) {
+      long start;
+      synchronized (lock) {
+        pending.clear();
+        start = version;
+      }
+      size = source.size();
+      if (unchangedSince(start)) {
+        break;
+      }
+    }
+    lastSort = System.nanoTime();
+    if (oldSize > 0 || size > 0) {
+      fireChange(new Replacement(oldSize, oldPages));
+    }
+  }
+
+  /** Reads a row alone while changes are pending, from the position the pending changes have moved it to. A row
+   * whose item has since been removed or replaced is taken from the change.*/
+  private T resolve(int index) {
+    while (true) {
+      List<Change<T>> changes;
+      long start;
+      synchronized (lock) {
+        changes = new ArrayList<>(pending);
+        start = version;
+      }
+      int position = index;
+      for (Change<T> change : changes) {
+        if (change.kind == REMOVED) {
+          if (change.index == position) {
+            return change.item;
+          }
+          if (change.index < position) {
+            position--;
+          }
+        } else if (change.kind == REPLACED && change.index == position) {
+          return change.oldItem;
+        }
+      }
+      List<T> row = source.get(position, position + 1);
+      if (unchangedSince(start)) {
+        if (row.isEmpty()) {
+          throw new IllegalStateException("Row " + index + " is missing from the source");
+        }
+        return row.get(0);
+      }
+    }
+  }
+
+  /** @return the cached page, fetching it if no changes are pending. Returns null if changes are pending and the
+   * page is not cached.*/
+  private List<T> page(int page) {
+    List<T> rows = pages.get(page);
+    if (rows != null) {
+      return rows;
+    }
+    long start = pendingVersion();
+    if (start < 0) {
+      return null;
+    }
+    int fromIndex = page * pageSize;
+    int toIndex = Math.min(fromIndex + pageSize, size);
+    rows = comparator == null ? source.get(fromIndex, toIndex) : source.get(comparator, fromIndex, toIndex);
+    if (!unchangedSince(start) || rows.size() != toIndex - fromIndex) {
+      return null;
+    }
+    pages.put(page, rows);
+    return rows;
+  }
+
+  private void dropPagesFrom(int page) {
+    pages.keySet().removeIf(cached -> cached >= page);
+  }
+
+  /** @return the version of the source if no changes are pending. Returns -1 otherwise.*/
+  private long pendingVersion() {
+    synchronized (lock) {
+      return pending.isEmpty() ? version : -1;
+    }
+  }
+
+  private boolean unchangedSince(long start) {
+    synchronized (lock) {
+      return version == start;
+    }
+  }
+
+  /** A change telling listeners that every row was replaced, with the rows removed read lazily from the pages
+   * that were cached.*/
+  private final class Replacement extends ListChangeListener.Change<T> {
+    private final int to;
+    private final List<T> removed;
+    private boolean onChange;
+    private boolean done;
+
+    Replacement(int oldSize, Map<Integer, List<T>> oldPages) {
+      super(PagedList.this);
+      to = size;
+      removed = new AbstractList<>() {
+        @Override
+        public T get(int index) {
+          List<T> page = oldPages.get(index / pageSize);
+          return page == null ? null : page.get(index % pageSize);
+        }
+
+        @Override
+        public int size() {
+          return oldSize;
+        }
+      };
+    }
+
+    @Override
+    public boolean next() {
+      onChange = !done;
+      done = true;
+      return onChange;
+    }
+
+    @Override
+    public void reset() {
+      onChange = false;
+      done = false;
+    }
+
+    @Override
+    public int getFrom() {
+      checkOnChange();
+      return 0;
+    }
+
+    @Override
+    public int getTo() {
+      checkOnChange();
+      return to;
+    }
+
+    @Override
+    public List<T> getRemoved() {
+      checkOnChange();
+      return removed;
+    }
+
+    @Override
+    protected int[] getPermutation() {
+      checkOnChange();
+      return new int[0];
+    }
+
+    private void checkOnChange() {
+      if (!onChange) {
+        throw new IllegalStateException("Invalid Change state: next() must be called before inspecting the Change.");
+      }
+    }
+  }
+
+  /** A change to the source. For additions the index is the number of rows added.*/
+  private static final class Change<T> {
+    final int kind;
+    final int index;
+    final T item;
+    final T oldItem;
+
+    Change(int kind, int index, T item, T oldItem) {
+      this.kind = kind;
+      this.index = index;
+      this.item = item;
+      this.oldItem = oldItem;
+    }
+  }
+}
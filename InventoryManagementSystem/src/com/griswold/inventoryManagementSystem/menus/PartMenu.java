@@ -2,8 +2,10 @@ package com.griswold.inventoryManagementSystem.menus;
 
 import com.griswold.inventoryManagementSystem.AppManager;
 import com.griswold.inventoryManagementSystem.AppManager.MenuType;
+import com.griswold.inventoryManagementSystem.events.UiActionEvent;
 import com.griswold.inventoryManagementSystem.items.InHouse;
 import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.ItemValidator;
 import com.griswold.inventoryManagementSystem.items.Outsourced;
 import com.griswold.inventoryManagementSystem.items.Part;
 import java.util.Objects;
@@ -57,27 +59,30 @@ public class PartMenu extends MenuController{
   /** Responds to the save button being clicked. Saves the part and closes the window.*/
   @FXML
   private void saveButtonListener() {
-    if (!verifyInput()) {
-      return;
-    }
+    UiActionEvent event = new UiActionEvent("PartMenu", "save");
+    try {
+      if (!verifyInput()) {
+        return;
+      }
 
-    MainMenu mainMenu = ((MainMenu) Objects.requireNonNull(AppManager.getWindow(MenuType.MAIN)).getMenuController());
-    Part part;
-    if (inHouseRadioButton.isSelected()) {
-      part = new InHouse(AppManager.nextId(), name, price, inv, min, max, machId);
-    } else {
-      part = new Outsourced(AppManager.nextId(), name, price, inv, min, max, companyName);
-    }
-    if (getMenuVariant() == MenuVariant.MODIFY) {
-      part.setId(selectedPart.getId());
-      Inventory.updatePart(Inventory.getAllParts().indexOf(selectedPart), part);
-    } else {
-      Inventory.addPart(part);
-      mainMenu.getPartTableView().setItems(Inventory.getAllParts());
+      MainMenu mainMenu = ((MainMenu) Objects.requireNonNull(AppManager.getWindow(MenuType.MAIN))
+          .getMenuController());
+      int id = getMenuVariant() == MenuVariant.MODIFY ? selectedPart.getId() : AppManager.nextId();
+      Part part;
+      if (inHouseRadioButton.isSelected()) {
+        part = new InHouse(id, name, price, inv, min, max, machId);
+      } else {
+        part = new Outsourced(id, name, price, inv, min, max, companyName);
+      }
+      part = Inventory.savePart(part);
+      event.itemId = part.getId();
+      event.itemCount = 1;
+      mainMenu.getPartTableView().setItems(ObservableInventory.getAllParts());
+      mainMenu.getPartTableView().getSelectionModel().select(part);
+      AppManager.closeWindow(MenuType.PART);
+    } finally {
+      event.commit();
     }
-    mainMenu.getPartTableView().setItems(Inventory.getAllParts());
-    mainMenu.getPartTableView().getSelectionModel().select(part);
-    AppManager.closeWindow(MenuType.PART);
   }
 
   /** Clears all the text fields in the menu.*/
@@ -137,8 +142,9 @@ public class PartMenu extends MenuController{
    * @return true if everything checks out. If not, an error is displayed and false is returned.*/
   private boolean verifyInput() {
     name = nameTextField.getText().trim();
-    if (name.isEmpty()) {
-      partErrorLabel.setText("ERROR: Name field is required.");
+    String error = ItemValidator.checkName(name);
+    if (error != null) {
+      partErrorLabel.setText("ERROR: " + error);
       return false;
     }
     try {
@@ -174,23 +180,16 @@ public class PartMenu extends MenuController{
       }
     } else {
       companyName = machineIdTextField.getText().trim();
-      if (companyName.isEmpty()) {
-        partErrorLabel.setText("ERROR: Company Name field is required.");
+      error = ItemValidator.checkCompanyName(companyName);
+      if (error != null) {
+        partErrorLabel.setText("ERROR: " + error);
         return false;
       }
     }
 
-    if (min > max) {
-      partErrorLabel.setText("ERROR: Min cannot be greater than Max.");
-      return false;
-    } else if (inv < min || inv > max) {
-      partErrorLabel.setText("ERROR: Inv must be between Min and Max.");
-      return false;
-    } else if (min < 0) {
-      partErrorLabel.setText("ERROR: Min cannot be negative.");
-      return false;
-    } else if (price < 0) {
-      partErrorLabel.setText("ERROR: Price cannot be negative.");
+    error = ItemValidator.checkLevels(price, inv, min, max);
+    if (error != null) {
+      partErrorLabel.setText("ERROR: " + error);
       return false;
     }
     return true;
@@ -2,19 +2,20 @@ package com.griswold.inventoryManagementSystem.menus;
 
 import com.griswold.inventoryManagementSystem.AppManager;
 import com.griswold.inventoryManagementSystem.AppManager.MenuType;
+import com.griswold.inventoryManagementSystem.events.UiActionEvent;
 import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.ItemValidator;
 import com.griswold.inventoryManagementSystem.items.Part;
 import com.griswold.inventoryManagementSystem.items.Product;
+import com.griswold.inventoryManagementSystem.items.SortKey;
 import java.util.Objects;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
-import javafx.scene.control.cell.PropertyValueFactory;
 
 /** Menu used to add or modify a product in the inventory.*/
 public class ProductMenu extends MenuController{
@@ -44,27 +45,28 @@ public class ProductMenu extends MenuController{
   @FXML
   private TableView<Part> topTableView;
   @FXML
-  private TableColumn<Part, Integer> topIdColumn;
+  private TableColumn<Part, Part> topIdColumn;
   @FXML
-  private TableColumn<Part, String> topNameColumn;
+  private TableColumn<Part, Part> topNameColumn;
   @FXML
-  private TableColumn<Part, Integer> topInvColumn;
+  private TableColumn<Part, Part> topInvColumn;
   @FXML
-  private TableColumn<Part, Double> topPriceColumn;
+  private TableColumn<Part, Part> topPriceColumn;
 
   // Product table
   @FXML
   private TableView<Part> bottomTableView;
   @FXML
-  private TableColumn<Part, Integer>  bottomIdColumn;
+  private TableColumn<Part, Part> bottomIdColumn;
   @FXML
-  private TableColumn<Part, String> bottomNameColumn;
+  private TableColumn<Part, Part> bottomNameColumn;
   @FXML
-  private TableColumn<Part, Integer> bottomInvColumn;
+  private TableColumn<Part, Part> bottomInvColumn;
   @FXML
-  private TableColumn<Part, Double> bottomPriceColumn;
+  private TableColumn<Part, Part> bottomPriceColumn;
 
 
+  private SearchService<Part> partSearch;
   private Product selectedProduct;
   private Product tempProduct;
   private String name;
@@ -76,20 +78,24 @@ public class ProductMenu extends MenuController{
   /** Initializes the menu. This is called once when the application starts.*/
   public void start() {
     setupTables();
+    partSearch = new SearchService<>("ProductMenu.parts", topTableView, productErrorLabel,
+        ObservableInventory.getPartChoices(), Inventory::lookupPart, Inventory::lookupPart);
+    partSearch.watch(searchTextField);
   }
 
   /** Required to make all table elements viewable.*/
   private void setupTables() {
-    topIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
-    topNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
-    topInvColumn.setCellValueFactory(new PropertyValueFactory<>("stock"));
-    topPriceColumn.setCellValueFactory(new PropertyValueFactory<>("price"));
-    topTableView.setItems(Inventory.getAllParts());
+    Columns.intColumn(topIdColumn, Part::getId, SortKey.ID);
+    Columns.textColumn(topNameColumn, Part::getName, SortKey.NAME);
+    Columns.intColumn(topInvColumn, Part::getStock, SortKey.STOCK);
+    Columns.doubleColumn(topPriceColumn, Part::getPrice, SortKey.PRICE);
+    Columns.sortPolicy(topTableView);
+    topTableView.setItems(ObservableInventory.getPartChoices());
 
-    bottomIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
-    bottomNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
-    bottomInvColumn.setCellValueFactory(new PropertyValueFactory<>("stock"));
-    bottomPriceColumn.setCellValueFactory(new PropertyValueFactory<>("price"));
+    Columns.intColumn(bottomIdColumn, Part::getId, SortKey.ID);
+    Columns.textColumn(bottomNameColumn, Part::getName, SortKey.NAME);
+    Columns.intColumn(bottomInvColumn, Part::getStock, SortKey.STOCK);
+    Columns.doubleColumn(bottomPriceColumn, Part::getPrice, SortKey.PRICE);
   }
 
   /** Identifies which version the menu should be displayed and populates the menu with information from the selected item.
@@ -100,33 +106,42 @@ public class ProductMenu extends MenuController{
    * performed once and only the intended product is affected.*/
   @Override
   public void open() {
-    productErrorLabel.setText("");
-    topTableView.setItems(Inventory.getAllParts());
-    tempProduct = new Product(0, "", 0, 0, 0, 0);
-    if (getMenuVariant() == MenuVariant.MODIFY) {
-      titleLabel.setText("Modify Product");
-      selectedProduct = ((MainMenu) Objects.requireNonNull(AppManager.getWindow(MenuType.MAIN)).
-          getMenuController()).getProductTableView().getSelectionModel().getSelectedItem();
-      tempProduct.setId(selectedProduct.getId());
-      tempProduct.setName(selectedProduct.getName());
-      tempProduct.setPrice(selectedProduct.getPrice());
-      tempProduct.setStock(selectedProduct.getStock());
-      tempProduct.setMin(selectedProduct.getMin());
-      tempProduct.setMax(selectedProduct.getMax());
-      tempProduct.getAllAssociatedParts().setAll(selectedProduct.getAllAssociatedParts());
-
-      idTextField.setText(Integer.toString(selectedProduct.getId()));
-      nameTextField.setText(selectedProduct.getName());
-      invTextField.setText(Integer.toString(selectedProduct.getStock()));
-      priceTextField.setText(Double.toString(selectedProduct.getPrice()));
-      maxTextField.setText(Integer.toString(selectedProduct.getMax()));
-      minTextField.setText(Integer.toString(selectedProduct.getMin()));
+    UiActionEvent event = new UiActionEvent("ProductMenu", "open");
+    try {
+      productErrorLabel.setText("");
+      partSearch.cancel();
+      topTableView.setItems(ObservableInventory.getPartChoices());
+      tempProduct = new Product(0, "", 0, 0, 0, 0);
+      if (getMenuVariant() == MenuVariant.MODIFY) {
+        titleLabel.setText("Modify Product");
+        selectedProduct = ((MainMenu) Objects.requireNonNull(AppManager.getWindow(MenuType.MAIN)).
+            getMenuController()).getProductTableView().getSelectionModel().getSelectedItem();
+        tempProduct.setId(selectedProduct.getId());
+        tempProduct.setName(selectedProduct.getName());
+        tempProduct.setPrice(selectedProduct.getPrice());
+        tempProduct.setStock(selectedProduct.getStock());
+        tempProduct.setMin(selectedProduct.getMin());
+        tempProduct.setMax(selectedProduct.getMax());
+        for (int partId : selectedProduct.getAssociatedPartIds()) {
+          tempProduct.addAssociatedPartId(partId);
+        }
 
-      bottomTableView.setItems(tempProduct.getAllAssociatedParts());
+        idTextField.setText(Integer.toString(selectedProduct.getId()));
+        nameTextField.setText(selectedProduct.getName());
+        invTextField.setText(Integer.toString(selectedProduct.getStock()));
+        priceTextField.setText(Double.toString(selectedProduct.getPrice()));
+        maxTextField.setText(Integer.toString(selectedProduct.getMax()));
+        minTextField.setText(Integer.toString(selectedProduct.getMin()));
 
-    } else if (getMenuVariant() == MenuVariant.ADD){
-      titleLabel.setText("Add Product");
-      clearFields();
+        bottomTableView.setItems(FXCollections.observableArrayList(tempProduct.getAllAssociatedParts()));
+        event.itemId = selectedProduct.getId();
+        event.itemCount = bottomTableView.getItems().size();
+      } else if (getMenuVariant() == MenuVariant.ADD){
+        titleLabel.setText("Add Product");
+        clearFields();
+      }
+    } finally {
+      event.commit();
     }
   }
 
@@ -140,27 +155,33 @@ public class ProductMenu extends MenuController{
   /** Responds to the save button being clicked. Saves the product and closes the window.*/
   @FXML
   private void saveButtonListener() {
-    if (!verifyInput()) {
-      return;
-    }
+    UiActionEvent event = new UiActionEvent("ProductMenu", "save");
+    try {
+      if (!verifyInput()) {
+        return;
+      }
 
-    MainMenu mainMenu = ((MainMenu) Objects.requireNonNull(AppManager.getWindow(MenuType.MAIN)).getMenuController());
-    tempProduct.setName(name);
-    tempProduct.setPrice(price);
-    tempProduct.setStock(inv);
-    tempProduct.setMin(min);
-    tempProduct.setMax(max);
+      MainMenu mainMenu = ((MainMenu) Objects.requireNonNull(AppManager.getWindow(MenuType.MAIN))
+          .getMenuController());
+      tempProduct.setName(name);
+      tempProduct.setPrice(price);
+      tempProduct.setStock(inv);
+      tempProduct.setMin(min);
+      tempProduct.setMax(max);
 
-    if (getMenuVariant() == MenuVariant.MODIFY) {
-      Inventory.updateProduct(Inventory.getAllProducts().indexOf(selectedProduct), tempProduct);
-    } else {
-      tempProduct.setId(AppManager.nextId());
-      Inventory.addProduct(tempProduct);
+      if (getMenuVariant() != MenuVariant.MODIFY) {
+        tempProduct.setId(AppManager.nextId());
+      }
+      Product savedProduct = Inventory.saveProduct(tempProduct);
+      event.itemId = savedProduct.getId();
+      event.itemCount = 1;
+      mainMenu.getProductTableView().setItems(ObservableInventory.getAllProducts());
+      mainMenu.getProductTableView().getSelectionModel().select(savedProduct);
+      selectedProduct = null;
+      AppManager.closeWindow(MenuType.PRODUCT);
+    } finally {
+      event.commit();
     }
-    mainMenu.getProductTableView().setItems(Inventory.getAllProducts());
-    mainMenu.getProductTableView().getSelectionModel().select(tempProduct);
-    selectedProduct = null;
-    AppManager.closeWindow(MenuType.PRODUCT);
   }
 
   /** Responds to the add button being clicked. Adds the selected part to the product.*/
@@ -170,7 +191,7 @@ public class ProductMenu extends MenuController{
       return;
     }
     tempProduct.addAssociatedPart(topTableView.getSelectionModel().getSelectedItem());
-    bottomTableView.setItems(tempProduct.getAllAssociatedParts());
+    bottomTableView.setItems(FXCollections.observableArrayList(tempProduct.getAllAssociatedParts()));
   }
 
   /** Responds to the remove button being clicked. If a part is currently selected in the part table view
@@ -189,7 +210,7 @@ public class ProductMenu extends MenuController{
   /** Removes the selected part from the product.*/
   public void removePart() {
     tempProduct.deleteAssociatedPart(bottomTableView.getSelectionModel().getSelectedItem());
-    bottomTableView.setItems(tempProduct.getAllAssociatedParts());
+    bottomTableView.setItems(FXCollections.observableArrayList(tempProduct.getAllAssociatedParts()));
   }
 
   /** Responds to the search text field being clicked. Calls resetTable().*/
@@ -200,34 +221,17 @@ public class ProductMenu extends MenuController{
 
   /** Resets the table and clears the selection.*/
   private void resetTable() {
-    topTableView.setItems(Inventory.getAllParts());
+    partSearch.cancel();
+    topTableView.setItems(ObservableInventory.getPartChoices());
     topTableView.getSelectionModel().clearSelection();
   }
 
   /** Responds to action event on the search field. Initiates part lookup in Inventory and displays
-   * the results in the available part table view.*/
+   * the results in the available part table view as they are found.*/
   @FXML
   private void searchTextFieldListener() {
     productErrorLabel.setText("");
-    try {
-      Part part = Inventory.lookupPart(Integer.parseInt(searchTextField.getText()));
-      if (part != null) {
-        topTableView.setItems(FXCollections.observableArrayList(part));
-        topTableView.getSelectionModel().select(part);
-        searchTextField.clear();
-        return;
-      }
-    } catch (Exception ignored) {
-
-    }
-    ObservableList<Part> parts = Inventory.lookupPart(searchTextField.getText());
-    topTableView.setItems(parts);
-    if (parts.size() > 0) {
-      topTableView.getSelectionModel().selectFirst();
-    } else {
-      productErrorLabel.setText("Your search produced zero results.");
-    }
-    searchTextField.clear();
+    partSearch.submit(searchTextField);
   }
 
   /** Clears all the text fields in the menu.*/
@@ -246,8 +250,9 @@ public class ProductMenu extends MenuController{
    * @return true if everything checks out. If not, an error is displayed and false is returned.*/
   private boolean verifyInput() {
     name = nameTextField.getText().trim();
-    if (name.isEmpty()) {
-      productErrorLabel.setText("ERROR: Name field is required.");
+    String error = ItemValidator.checkName(name);
+    if (error != null) {
+      productErrorLabel.setText("ERROR: " + error);
       return false;
     }
     try {
@@ -275,17 +280,9 @@ public class ProductMenu extends MenuController{
       return false;
     }
 
-    if (min > max) {
-      productErrorLabel.setText("ERROR: Min cannot be greater than Max.");
-      return false;
-    } else if (inv < min || inv > max) {
-      productErrorLabel.setText("ERROR: Inv must be between Min and Max.");
-      return false;
-    } else if (min < 0) {
-      productErrorLabel.setText("ERROR: Min cannot be negative.");
-      return false;
-    } else if (price < 0) {
-      productErrorLabel.setText("ERROR: Price cannot be negative.");
+    error = ItemValidator.checkLevels(price, inv, min, max);
+    if (error != null) {
+      productErrorLabel.setText("ERROR: " + error);
       return false;
     }
     return true;
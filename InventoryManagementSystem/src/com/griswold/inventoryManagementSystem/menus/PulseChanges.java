@@ -0,0 +1,236 @@
+package com.griswold.inventoryManagementSystem.menus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** The net effect of the changes a {@link PagedList} replays in one pulse, as a list of disjoint changes in
+ * ascending order that listeners can be told of in a single event.
+ * <p>
+ * The rows after the changes are kept as runs, each either a range of the rows listeners knew of before, in
+ * their old order, or rows that are new to them. A run is kept as a node of a treap ordered by position, so each
+ * change costs O(log k) in the number k of changes so far, and never depends on the number of rows. Rows added
+ * and then removed in the same pulse leave no trace, and a known row that was changed in place is reported as
+ * updated only if it is still there at the end.
+ * @param <T> the type of row.*/
+final class PulseChanges<T> {
+
+  /** Receives the net changes, in ascending order of position in the rows after the changes.
+   * @param <T> the type of row.*/
+  interface Receiver<T> {
+    /** Rows were removed at a position and others added in their place.
+     * @param from the position of the first row removed or added.
+     * @param removed the rows removed, in order.
+     * @param added the number of rows added.*/
+    void changed(int from, List<T> removed, int added);
+
+    /** @param index the position of a row that was changed in place.*/
+    void updated(int index);
+  }
+
+  private final int oldSize;
+  private final Map<Integer, T> removed = new HashMap<>();
+  private int[] updated = new int[8];
+  private int updatedCount;
+  private Run root;
+  private int seed = 0x2545F491;
+
+  /** @param oldSize the number of rows listeners knew of before the changes.*/
+  PulseChanges(int oldSize) {
+    this.oldSize = oldSize;
+    if (oldSize > 0) {
+      root = new Run(false, 0, oldSize, nextPriority());
+    }
+  }
+
+  /** @return the number of rows after the changes so far.*/
+  int size() {
+    return size(root);
+  }
+
+  /** @param count the number of rows added at the end.*/
+  void add(int count) {
+    root = merge(root, new Run(true, 0, count, nextPriority()));
+  }
+
+  /** @param index the position of the row removed.
+   * @param item the row removed.*/
+  void remove(int index, T item) {
+    Run[] outer = split(root, index);
+    Run[] inner = split(outer[1], 1);
+    if (!inner[0].fresh) {
+      removed.put(inner[0].start, item);
+    }
+    root = merge(outer[0], inner[1]);
+  }
+
+  /** @param index the position of the row replaced.
+   * @param oldItem the row that was there.*/
+  void replace(int index, T oldItem) {
+    Run[] outer = split(root, index);
+    Run[] inner = split(outer[1], 1);
+    Run row = inner[0];
+    if (!row.fresh) {
+      removed.put(row.start, oldItem);
+      row = new Run(true, 0, 1, row.priority);
+    }
+    root = merge(merge(outer[0], row), inner[1]);
+  }
+
+  /** @param index the position of the row changed in place.*/
+  void update(int index) {
+    Run run = root;
+    while (true) {
+      int leftSize = size(run.left);
+      if (index < leftSize) {
+        run = run.left;
+      } else if (index < leftSize + run.length) {
+        break;
+      } else {
+        index -= leftSize + run.length;
+        run = run.right;
+      }
+    }
+    if (!run.fresh) {
+      if (updatedCount == updated.length) {
+        updated = Arrays.copyOf(updated, updatedCount * 2);
+      }
+      updated[updatedCount++] = run.start + index - size(run.left);
+    }
+  }
+
+  /** Tells the receiver of the net changes.
+   * @param receiver told of each change in ascending order.
+   * @return the position of the first row removed or added. Returns -1 if none were.*/
+  int report(Receiver<T> receiver) {
+    int[] updates = Arrays.copyOf(updated, updatedCount);
+    Arrays.sort(updates);
+    List<Run> runs = new ArrayList<>();
+    collect(root, runs);
+    int first = -1;
+    int position = 0;
+    int nextOld = 0;
+    int nextUpdate = 0;
+    int added = 0;
+    for (Run run : runs) {
+      if (run.fresh) {
+        added += run.length;
+        position += run.length;
+        continue;
+      }
+      if (added > 0 || run.start > nextOld) {
+        first = first < 0 ? position - added : first;
+        receiver.changed(position - added, removedRows(nextOld, run.start), added);
+        added = 0;
+      }
+      while (nextUpdate < updates.length && updates[nextUpdate] < run.start + run.length) {
+        int update = updates[nextUpdate++];
+        if (update >= run.start && (nextUpdate == 1 || updates[nextUpdate - 2] != update)) {
+          receiver.updated(position + update - run.start);
+        }
+      }
+      position += run.length;
+      nextOld = run.start + run.length;
+    }
+    if (added > 0 || oldSize > nextOld) {
+      first = first < 0 ? position - added : first;
+      receiver.changed(position - added, removedRows(nextOld, oldSize), added);
+    }
+    return first;
+  }
+
+  private List<T> removedRows(int from, int to) {
+    List<T> rows = new ArrayList<>(to - from);
+    for (int old = from; old < to; old++) {
+      rows.add(removed.get(old));
+    }
+    return rows;
+  }
+
+  private static void collect(Run run, List<Run> runs) {
+    if (run != null) {
+      collect(run.left, runs);
+      runs.add(run);
+      collect(run.right, runs);
+    }
+  }
+
+  /** @return the first count rows and the rest, splitting the run the boundary falls in.*/
+  private Run[] split(Run run, int count) {
+    if (run == null) {
+      return new Run[2];
+    }
+    int leftSize = size(run.left);
+    if (count <= leftSize) {
+      Run[] parts = split(run.left, count);
+      run.left = parts[1];
+      run.update();
+      return new Run[] {parts[0], run};
+    }
+    if (count >= leftSize + run.length) {
+      Run[] parts = split(run.right, count - leftSize - run.length);
+      run.right = parts[0];
+      run.update();
+      return new Run[] {run, parts[1]};
+    }
+    int head = count - leftSize;
+    Run tail = merge(new Run(run.fresh, run.start + head, run.length - head, nextPriority()), run.right);
+    run.length = head;
+    run.right = null;
+    run.update();
+    return new Run[] {run, tail};
+  }
+
+  private static Run merge(Run left, Run right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      left.update();
+      return left;
+    }
+    right.left = merge(left, right.left);
+    right.update();
+    return right;
+  }
+
+  private static int size(Run run) {
+    return run == null ? 0 : run.size;
+  }
+
+  private int nextPriority() {
+    seed ^= seed << 13;
+    seed ^= seed >>> 17;
+    seed ^= seed << 5;
+    return seed;
+  }
+
+  /** A run of rows, either known rows starting at an old position or rows new to listeners.*/
+  private static final class Run {
+    final boolean fresh;
+    final int start;
+    final int priority;
+    int length;
+    int size;
+    Run left;
+    Run right;
+
+    Run(boolean fresh, int start, int length, int priority) {
+      this.fresh = fresh;
+      this.start = start;
+      this.length = length;
+      this.priority = priority;
+      size = length;
+    }
+
+    void update() {
+      size = PulseChanges.size(left) + length + PulseChanges.size(right);
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package com.griswold.inventoryManagementSystem.menus;
+
+import com.griswold.inventoryManagementSystem.events.SearchEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+
+/** Runs the searches of a table's search field off the JavaFX Application Thread.
+ * <p>
+ * A search by ID is answered at once. A search by name runs on a background thread shared by every search
+ * field, and its matches are added to the table batch by batch as they are found. Starting a new search
+ * cancels the one before it, and batches of a superseded search, or of one whose table has since been given
+ * other items, are dropped. The matches are shown in the table's sort order. Typing in the field starts a
+ * search once the typing pauses, and pressing enter starts it straight away. Each search is recorded as a
+ * {@link SearchEvent} lasting until its last matches are shown.
+ * <p>
+ * All methods must be called on the JavaFX Application Thread.
+ * @param <T> the type of item searched for.*/
+final class SearchService<T> {
+
+  /** Searches the inventory by name.
+   * @param <T> the type of item searched for.*/
+  interface NameQuery<T> {
+    /** @param name the search string.
+     * @param batches receives each batch of matches. Returns false to stop the search.*/
+    void run(String name, Predicate<List<T>> batches);
+  }
+
+  private static final Duration TYPING_PAUSE = Duration.millis(250);
+  private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "inventory-search");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final String source;
+  private final TableView<T> table;
+  private final Label errorLabel;
+  private final ObservableList<T> allItems;
+  private final IntFunction<T> byId;
+  private final NameQuery<T> byName;
+  private final PauseTransition typingPause = new PauseTransition(TYPING_PAUSE);
+  private boolean ignoreTextChanges;
+  private long generation;
+  private Future<?> running;
+
+  /** @param source names the menu and table searched in the recorded events.
+   * @param table the table that shows the results.
+   * @param errorLabel the label that reports a search without results.
+   * @param allItems what the table shows when the search field is empty.
+   * @param byId looks an item up by ID. Returns null if there is none.
+   * @param byName searches for items by name.*/
+  SearchService(String source, TableView<T> table, Label errorLabel, ObservableList<T> allItems,
+      IntFunction<T> byId, NameQuery<T> byName) {
+    this.source = source;
+    this.table = table;
+    this.errorLabel = errorLabel;
+    this.allItems = allItems;
+    this.byId = byId;
+    this.byName = byName;
+  }
+
+  /** Searches as the user types in the field.
+   * @param field the search field.*/
+  void watch(TextField field) {
+    field.textProperty().addListener((observable, oldText, newText) -> {
+      if (!ignoreTextChanges) {
+        typingPause.setOnFinished(event -> search(newText));
+        typingPause.playFromStart();
+      }
+    });
+  }
+
+  /** Searches for the field's text straight away, then clears the field without starting another search.
+   * @param field the search field.*/
+  void submit(TextField field) {
+    search(field.getText());
+    ignoreTextChanges = true;
+    field.clear();
+    ignoreTextChanges = false;
+  }
+
+  /** Searches for the text and shows the results in the table. An empty search shows every item.
+   * @param text the ID or part of the name to search for.*/
+  void search(String text) {
+    cancel();
+    SearchEvent event = new SearchEvent(source, text);
+    errorLabel.setText("");
+    if (text.trim().isEmpty()) {
+      table.setItems(allItems);
+      event.resultCount = allItems.size();
+      event.completed = true;
+      event.commit();
+      return;
+    }
+    try {
+      T item = byId.apply(Integer.parseInt(text.trim()));
+      if (item != null) {
+        table.setItems(FXCollections.singletonObservableList(item));
+        table.getSelectionModel().select(item);
+        event.byId = true;
+        event.resultCount = 1;
+        event.completed = true;
+        event.commit();
+        return;
+      }
+    } catch (NumberFormatException ignored) {
+
+    }
+    long searchGeneration = generation;
+    ObservableList<T> results = FXCollections.observableArrayList();
+    SortedList<T> shown = new SortedList<>(results);
+    shown.comparatorProperty().bind(table.comparatorProperty());
+    table.setItems(shown);
+    running = executor.submit(() -> {
+      byName.run(text, batch -> {
+        if (Thread.currentThread().isInterrupted()) {
+          return false;
+        }
+        List<T> copy = new ArrayList<>(batch);
+        Platform.runLater(() -> {
+          if (generation == searchGeneration && table.getItems() == shown) {
+            boolean first = results.isEmpty();
+            results.addAll(copy);
+            if (first) {
+              table.getSelectionModel().selectFirst();
+            }
+          }
+        });
+        return true;
+      });
+      boolean interrupted = Thread.currentThread().isInterrupted();
+      Platform.runLater(() -> {
+        boolean current = generation == searchGeneration && table.getItems() == shown;
+        if (current && results.isEmpty()) {
+          errorLabel.setText("Your search produced zero results.");
+        }
+        event.resultCount = results.size();
+        event.completed = current && !interrupted;
+        event.commit();
+      });
+    });
+  }
+
+  /** Stops any search that is waiting for the user to stop typing or still running.*/
+  void cancel() {
+    typingPause.stop();
+    generation++;
+    if (running != null) {
+      running.cancel(true);
+      running = null;
+    }
+  }
+}
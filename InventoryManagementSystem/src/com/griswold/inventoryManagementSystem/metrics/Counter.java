@@ -0,0 +1,29 @@
+package com.griswold.inventoryManagementSystem.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** A count that many threads can add to at once. Updates are spread over striped cells, so threads counting at
+ * the same time do not contend on a single value.*/
+public final class Counter {
+
+  private final LongAdder count = new LongAdder();
+
+  Counter() {
+
+  }
+
+  /** Adds one to the count.*/
+  public void increment() {
+    count.increment();
+  }
+
+  /** @param amount the amount to add to the count.*/
+  public void add(long amount) {
+    count.add(amount);
+  }
+
+  /** @return the count. Not an atomic snapshot if threads are counting meanwhile.*/
+  public long getCount() {
+    return count.sum();
+  }
+}
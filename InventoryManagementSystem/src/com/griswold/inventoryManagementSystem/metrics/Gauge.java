@@ -0,0 +1,10 @@
+package com.griswold.inventoryManagementSystem.metrics;
+
+/** A value that is read when the metrics are exported, such as the size of a list.*/
+@FunctionalInterface
+public interface Gauge {
+
+  /** Called on the exporting thread, so it must be safe to call from any thread.
+   * @return the current value.*/
+  long getValue();
+}
@@ -0,0 +1,153 @@
+package com.griswold.inventoryManagementSystem.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/** Publishes the metrics as a single MBean named {@value #OBJECT_NAME} on the platform MBean server, so that they
+ * can be read with JConsole or any JMX client.
+ * <p>
+ * Each counter and gauge is an attribute under its own name. Each histogram gives five attributes, its name
+ * followed by .count, .meanNanos, .p50Nanos, .p99Nanos and .maxNanos. The attributes are listed again every
+ * time a client asks, so metrics created after the exporter started are shown too. The dump operation returns
+ * the text of {@link TextExporter#dump()}.*/
+public final class JmxExporter implements MetricsExporter, DynamicMBean {
+
+  /** The name the MBean is registered under.*/
+  public static final String OBJECT_NAME = "com.griswold.inventoryManagementSystem:type=Metrics";
+
+  private final MBeanServer server;
+  private ObjectName name;
+
+  /** Constructs a JmxExporter for the platform MBean server.*/
+  public JmxExporter() {
+    this(ManagementFactory.getPlatformMBeanServer());
+  }
+
+  /** @param server the MBean server to register with.*/
+  public JmxExporter(MBeanServer server) {
+    this.server = server;
+  }
+
+  @Override
+  public synchronized void start() throws Exception {
+    name = new ObjectName(OBJECT_NAME);
+    server.registerMBean(this, name);
+  }
+
+  @Override
+  public synchronized void stop() {
+    try {
+      if (name != null && server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    } finally {
+      name = null;
+    }
+  }
+
+  @Override
+  public Object getAttribute(String attribute) throws AttributeNotFoundException {
+    Counter counter = Metrics.getCounters().get(attribute);
+    if (counter != null) {
+      return counter.getCount();
+    }
+    Gauge gauge = Metrics.getGauges().get(attribute);
+    if (gauge != null) {
+      return gauge.getValue();
+    }
+    int dot = attribute.lastIndexOf('.');
+    LatencyHistogram histogram = dot < 0 ? null : Metrics.getHistograms().get(attribute.substring(0, dot));
+    if (histogram != null) {
+      switch (attribute.substring(dot + 1)) {
+        case "count":
+          return histogram.getCount();
+        case "meanNanos":
+          return histogram.getMeanNanos();
+        case "p50Nanos":
+          return histogram.getPercentileNanos(50);
+        case "p99Nanos":
+          return histogram.getPercentileNanos(99);
+        case "maxNanos":
+          return histogram.getMaxNanos();
+        default:
+          break;
+      }
+    }
+    throw new AttributeNotFoundException(attribute);
+  }
+
+  @Override
+  public AttributeList getAttributes(String[] attributes) {
+    AttributeList list = new AttributeList();
+    for (String attribute : attributes) {
+      try {
+        list.add(new Attribute(attribute, getAttribute(attribute)));
+      } catch (AttributeNotFoundException e) {
+        // Left out of the list, as the DynamicMBean contract asks.
+      }
+    }
+    return list;
+  }
+
+  /** The metrics are read only.*/
+  @Override
+  public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+    throw new AttributeNotFoundException(attribute.getName() + " is read only");
+  }
+
+  /** The metrics are read only.*/
+  @Override
+  public AttributeList setAttributes(AttributeList attributes) {
+    return new AttributeList();
+  }
+
+  @Override
+  public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+    if ("dump".equals(actionName)) {
+      return TextExporter.dump();
+    }
+    throw new ReflectionException(new NoSuchMethodException(actionName));
+  }
+
+  @Override
+  public MBeanInfo getMBeanInfo() {
+    List<MBeanAttributeInfo> attributes = new ArrayList<>();
+    for (String counter : Metrics.getCounters().keySet()) {
+      attributes.add(attribute(counter, "long", "Counter"));
+    }
+    for (Map.Entry<String, LatencyHistogram> histogram : Metrics.getHistograms().entrySet()) {
+      String prefix = histogram.getKey();
+      attributes.add(attribute(prefix + ".count", "long", "Operations, estimated when sampled"));
+      attributes.add(attribute(prefix + ".meanNanos", "double", "Mean duration in nanoseconds"));
+      attributes.add(attribute(prefix + ".p50Nanos", "long", "Median duration in nanoseconds"));
+      attributes.add(attribute(prefix + ".p99Nanos", "long", "99th percentile duration in nanoseconds"));
+      attributes.add(attribute(prefix + ".maxNanos", "long", "Longest duration in nanoseconds"));
+    }
+    for (String gauge : Metrics.getGauges().keySet()) {
+      attributes.add(attribute(gauge, "long", "Gauge"));
+    }
+    MBeanOperationInfo dump = new MBeanOperationInfo("dump", "Every metric as text", new MBeanParameterInfo[0],
+        "java.lang.String", MBeanOperationInfo.INFO);
+    return new MBeanInfo(getClass().getName(), "Inventory metrics",
+        attributes.toArray(new MBeanAttributeInfo[0]), null, new MBeanOperationInfo[] {dump}, null);
+  }
+
+  private static MBeanAttributeInfo attribute(String name, String type, String description) {
+    return new MBeanAttributeInfo(name, type, description, true, false, false);
+  }
+}
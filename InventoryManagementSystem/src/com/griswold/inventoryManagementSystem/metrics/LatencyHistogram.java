@@ -0,0 +1,140 @@
+package com.griswold.inventoryManagementSystem.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counts how many operations took how long, in the manner of an HDR histogram: each power of two of
+ * nanoseconds is split into {@value #SUB_BUCKETS} equal buckets, so every recorded duration is kept to within
+ * 12.5% however long it is, in a fixed 4 KB of counts.
+ * <p>
+ * Recording never locks. Many threads may record at once while others read; a reader sees each recording
+ * either wholly or not at all per bucket, but the figures of a histogram being recorded into are not a single
+ * atomic snapshot.
+ * <p>
+ * Reading the clock twice can cost more than an operation that takes only tens of nanoseconds, so a histogram
+ * may time a sample of the operations instead: one in every sample interval, picked by a plain tick count. The
+ * tick is not atomic on purpose; an increment lost to a race only shifts which operation is timed, and costs
+ * far less than an atomic or {@link java.util.concurrent.ThreadLocalRandom} would. The count is then an
+ * estimate, the number of timed operations times the interval, while the mean, percentiles and maximum are
+ * those of the sample.*/
+public final class LatencyHistogram {
+
+  private static final int SUB_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+  private final int sampleMask;
+  private int ticks;
+
+  /** @param sampleInterval time one operation in this many. Must be a power of two.*/
+  LatencyHistogram(int sampleInterval) {
+    if (sampleInterval < 1 || Integer.bitCount(sampleInterval) != 1) {
+      throw new IllegalArgumentException("Sample interval must be a power of two: " + sampleInterval);
+    }
+    this.sampleMask = sampleInterval - 1;
+  }
+
+  /** @return the start time of an operation, to pass to {@link #recordSince(long)}. Returns 0 when metrics are
+   * turned off or the operation is not in the sample.*/
+  public long startTimer() {
+    if (!Metrics.ENABLED || (++ticks & sampleMask) != 0) {
+      return 0;
+    }
+    return System.nanoTime();
+  }
+
+  /** Records the time since a start taken from {@link #startTimer()}. Does nothing if the start is 0.
+   * @param startNanos the start of the operation.*/
+  public void recordSince(long startNanos) {
+    if (startNanos != 0) {
+      record(System.nanoTime() - startNanos);
+    }
+  }
+
+  /** @param nanos the duration of one operation. Negative durations are counted as 0.*/
+  public void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    counts.incrementAndGet(bucket(value));
+    totalNanos.add(value);
+    maxNanos.accumulate(value);
+  }
+
+  /** @return the number of operations, estimated from the sample when not every operation is timed.*/
+  public long getCount() {
+    return getRecordedCount() * (sampleMask + 1L);
+  }
+
+  /** @return the number of operations timed.*/
+  public long getRecordedCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /** @return one operation in this many is timed.*/
+  public int getSampleInterval() {
+    return sampleMask + 1;
+  }
+
+  /** @return the mean duration in nanoseconds. Returns 0 if nothing was recorded.*/
+  public double getMeanNanos() {
+    long count = getRecordedCount();
+    return count == 0 ? 0 : (double) totalNanos.sum() / count;
+  }
+
+  /** @return the longest duration recorded, in nanoseconds.*/
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  /** @param percentile the percentage of operations, from 0 to 100.
+   * @return the duration in nanoseconds that the given percentage of operations took no longer than, to within
+   * the width of a bucket. Returns 0 if nothing was recorded.*/
+  public long getPercentileNanos(double percentile) {
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(highestValue(i), getMaxNanos());
+      }
+    }
+    return getMaxNanos();
+  }
+
+  /** Values below SUB_BUCKETS get a bucket each; above that, the top SUB_BITS + 1 bits pick the bucket.*/
+  static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+  }
+
+  /** @return the highest value that falls in the bucket.*/
+  static long highestValue(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+    long sub = bucket % SUB_BUCKETS;
+    long width = 1L << (exponent - SUB_BITS);
+    return ((SUB_BUCKETS + sub) << (exponent - SUB_BITS)) + width - 1;
+  }
+}
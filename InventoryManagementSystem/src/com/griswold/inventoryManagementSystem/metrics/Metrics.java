@@ -0,0 +1,84 @@
+package com.griswold.inventoryManagementSystem.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** Application-wide registry of named counters, latency histograms and gauges.
+ * <p>
+ * Metrics are created on first use and live for the rest of the run; asking for a name again returns the same
+ * metric. Names are dotted, e.g. {@code inventory.lookupPart.byId}, and are listed in name order. Setting the
+ * inventory.metrics system property to false turns timing off: {@link LatencyHistogram#startTimer()} then
+ * returns 0 and {@link LatencyHistogram#recordSince(long)} does nothing, which the JIT removes entirely.*/
+public final class Metrics {
+
+  /** False when the inventory.metrics system property is false.*/
+  public static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("inventory.metrics"));
+
+  private static final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+  private static final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+  private static final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+  private static final List<MetricsExporter> exporters = new CopyOnWriteArrayList<>();
+
+  private Metrics() {
+
+  }
+
+  /** @param name the name of the counter.
+   * @return the counter with that name, created if it does not exist yet.*/
+  public static Counter counter(String name) {
+    return counters.computeIfAbsent(name, key -> new Counter());
+  }
+
+  /** @param name the name of the histogram.
+   * @return the histogram with that name, created if it does not exist yet, that times every operation.*/
+  public static LatencyHistogram histogram(String name) {
+    return histogram(name, 1);
+  }
+
+  /** @param name the name of the histogram.
+   * @param sampleInterval time one operation in this many. Must be a power of two. Ignored if the histogram
+   * already exists.
+   * @return the histogram with that name, created if it does not exist yet.*/
+  public static LatencyHistogram histogram(String name, int sampleInterval) {
+    return histograms.computeIfAbsent(name, key -> new LatencyHistogram(sampleInterval));
+  }
+
+  /** @param name the name of the gauge. Replaces any gauge with the same name.
+   * @param gauge reads the value of the gauge.*/
+  public static void gauge(String name, Gauge gauge) {
+    gauges.put(name, gauge);
+  }
+
+  /** @return every counter by name, in name order.*/
+  public static Map<String, Counter> getCounters() {
+    return Collections.unmodifiableMap(counters);
+  }
+
+  /** @return every histogram by name, in name order.*/
+  public static Map<String, LatencyHistogram> getHistograms() {
+    return Collections.unmodifiableMap(histograms);
+  }
+
+  /** @return every gauge by name, in name order.*/
+  public static Map<String, Gauge> getGauges() {
+    return Collections.unmodifiableMap(gauges);
+  }
+
+  /** Starts an exporter and keeps it until it is removed.
+   * @param exporter the exporter to start.*/
+  public static void addExporter(MetricsExporter exporter) throws Exception {
+    exporter.start();
+    exporters.add(exporter);
+  }
+
+  /** Stops an exporter.
+   * @param exporter the exporter to stop.*/
+  public static void removeExporter(MetricsExporter exporter) {
+    if (exporters.remove(exporter)) {
+      exporter.stop();
+    }
+  }
+}
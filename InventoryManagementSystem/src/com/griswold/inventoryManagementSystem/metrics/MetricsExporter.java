@@ -0,0 +1,12 @@
+package com.griswold.inventoryManagementSystem.metrics;
+
+/** Publishes the metrics registered in {@link Metrics} somewhere outside the application. Exporters read the
+ * metrics when they publish, so recording never waits on an exporter.*/
+public interface MetricsExporter {
+
+  /** Starts publishing. Called by {@link Metrics#addExporter(MetricsExporter)}.*/
+  void start() throws Exception;
+
+  /** Stops publishing. Called by {@link Metrics#removeExporter(MetricsExporter)}.*/
+  void stop();
+}
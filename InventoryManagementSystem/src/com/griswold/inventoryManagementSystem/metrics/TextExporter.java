@@ -0,0 +1,92 @@
+package com.griswold.inventoryManagementSystem.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/** Writes the metrics as plain text, one metric per line in name order:
+ * <pre>
+ * inventory.addPart histogram count=1920 mean=4120ns p50=3839ns p90=5119ns p99=10239ns max=20480ns sampled=1/16
+ * inventory.lookupPart.byId histogram count=5242880 mean=41ns p50=39ns p90=47ns p99=95ns max=1024ns sampled=1/1024
+ * inventory.parts gauge 3
+ * </pre>
+ * Can be used on demand through {@link #dump(Appendable)}, or added to {@link Metrics} to write a dump every
+ * period on a background thread.*/
+public final class TextExporter implements MetricsExporter {
+
+  private final Writer out;
+  private final long periodMillis;
+  private ScheduledExecutorService scheduler;
+
+  /** @param out where the dumps are written. Flushed after every dump, never closed.
+   * @param periodMillis the time between dumps.*/
+  public TextExporter(Writer out, long periodMillis) {
+    this.out = out;
+    this.periodMillis = periodMillis;
+  }
+
+  @Override
+  public synchronized void start() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "metrics-text");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleAtFixedRate(() -> {
+      try {
+        dump(out);
+        out.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (scheduler != null) {
+      scheduler.shutdown();
+      scheduler = null;
+    }
+  }
+
+  /** Writes every metric.
+   * @param out where to write the metrics.*/
+  public static void dump(Appendable out) throws IOException {
+    for (Map.Entry<String, Counter> counter : Metrics.getCounters().entrySet()) {
+      out.append(counter.getKey()).append(" counter ").append(Long.toString(counter.getValue().getCount()))
+          .append('\n');
+    }
+    for (Map.Entry<String, LatencyHistogram> entry : Metrics.getHistograms().entrySet()) {
+      LatencyHistogram histogram = entry.getValue();
+      out.append(String.format(Locale.ROOT,
+          "%s histogram count=%d mean=%.0fns p50=%dns p90=%dns p99=%dns max=%dns", entry.getKey(),
+          histogram.getCount(), histogram.getMeanNanos(), histogram.getPercentileNanos(50),
+          histogram.getPercentileNanos(90), histogram.getPercentileNanos(99), histogram.getMaxNanos()));
+      if (histogram.getSampleInterval() > 1) {
+        out.append(" sampled=1/").append(Integer.toString(histogram.getSampleInterval()));
+      }
+      out.append('\n');
+    }
+    for (Map.Entry<String, Gauge> gauge : Metrics.getGauges().entrySet()) {
+      out.append(gauge.getKey()).append(" gauge ").append(Long.toString(gauge.getValue().getValue()))
+          .append('\n');
+    }
+  }
+
+  /** @return every metric as text.*/
+  public static String dump() {
+    StringBuilder text = new StringBuilder();
+    try {
+      dump(text);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,4 @@
+/** Contains the counters, latency histograms and gauges that measure the inventory at run time, and the exporters
+ * that publish them. Has no dependency on JavaFX.*/
+
+package com.griswold.inventoryManagementSystem.metrics;
@@ -0,0 +1,540 @@
+package com.griswold.inventoryManagementSystem.server;
+
+import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.Part;
+import com.griswold.inventoryManagementSystem.items.Product;
+import com.griswold.inventoryManagementSystem.metrics.TextExporter;
+import com.griswold.inventoryManagementSystem.storage.InventoryCsv;
+import com.griswold.inventoryManagementSystem.storage.InventoryStore;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/** Serves the {@link Inventory} over HTTP with JSON bodies, for scanners and batch jobs that have no screen. Runs
+ * without JavaFX; start it with {@code --server}, either through the application's main class or this one.
+ * <pre>
+ * GET    /parts?name=text | ?supplier=company | ?from=0&amp;limit=100
+ * POST   /parts                         add a part; an ID is assigned if the body has none
+ * GET    /parts/{id}
+ * PUT    /parts/{id}                    save the part under the ID, adding it if no item has the ID
+ * DELETE /parts/{id}
+ * GET    /parts/{id}/products           the products that use the part
+ * GET    /products?name=text | ?from=0&amp;limit=100
+ * POST   /products
+ * GET    /products/{id}
+ * PUT    /products/{id}
+ * DELETE /products/{id}                 refused while the product has associated parts
+ * GET    /products/{id}/parts
+ * PUT    /products/{id}/parts/{partId}  associate a part with the product
+ * DELETE /products/{id}/parts/{partId}
+ * GET    /metrics                       the metrics as text
+ * </pre>
+ * The formats of parts and products are described by {@link ItemJson}. Errors are answered with the matching
+ * status and a body of the form {@code {"error":"..."}}. Parts and products share one space of IDs, so adding or
+ * saving an item under an ID that an item of the other kind has is answered with 409.
+ * <p>
+ * Connections are kept alive between requests, and each request is handled on its own virtual thread when the
+ * runtime has them (Java 21 and later) or on a fixed pool of threads otherwise. The inventory is held in memory
+ * and its lookups never block on I/O, so the pool is sized to the processors rather than to the connections.*/
+public final class InventoryServer implements AutoCloseable {
+
+  private static final Logger LOGGER = Logger.getLogger(InventoryServer.class.getName());
+  private static final int DEFAULT_PORT = 8080;
+  private static final int BACKLOG = 1024;
+  private static final int MAX_BODY_LENGTH = 1 << 20;
+  private static final int DEFAULT_PAGE = 100;
+  private static final int MAX_PAGE = 1000;
+  private static final String JSON = "application/json; charset=utf-8";
+  private static final String TEXT = "text/plain; charset=utf-8";
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final AtomicInteger highestId;
+  /** Held by every request that adds or saves an item, from checking its ID to saving it, so that two requests
+   * cannot interleave and a part and a product cannot be given the same ID.*/
+  private final Object changeLock = new Object();
+
+  private InventoryServer(HttpServer server, ExecutorService executor, int highestId) {
+    this.server = server;
+    this.executor = executor;
+    this.highestId = new AtomicInteger(highestId);
+  }
+
+  /** Starts serving the inventory.
+   * @param address where to listen. Port 0 picks a free port.
+   * @param threads the number of request threads. 0 uses a virtual thread per request when the runtime has
+   * them, and otherwise twice as many threads as processors.
+   * @param highestId the highest part or product ID already used. Items added without an ID are numbered from
+   * the next one.
+   * @return the running server.*/
+  public static InventoryServer start(InetSocketAddress address, int threads, int highestId) throws IOException {
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+    HttpServer server = HttpServer.create(address, BACKLOG);
+    ExecutorService executor = newExecutor(threads);
+    InventoryServer inventoryServer = new InventoryServer(server, executor, highestId);
+    server.createContext("/", inventoryServer::handle);
+    server.setExecutor(executor);
+    server.start();
+    return inventoryServer;
+  }
+
+  /** @return the address the server listens on.*/
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  /** Stops accepting requests and stops the request threads. Requests already being handled are not waited
+   * for.*/
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  /** Opens the inventory saved in the data directory, the one the application uses, and serves it until the
+   * JVM is stopped.
+   * @param args {@code [--server] [--port 8080] [--bind 127.0.0.1] [--threads n] [--import file.csv]}. Bind to
+   * 0.0.0.0 to accept connections from other machines. The CSV file is imported with {@link InventoryCsv} before
+   * the server starts.*/
+  public static void main(String[] args) throws IOException {
+    int port = DEFAULT_PORT;
+    String bind = "127.0.0.1";
+    int threads = 0;
+    Path importFile = null;
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "--server":
+          break;
+        case "--port":
+          port = Integer.parseInt(args[++i]);
+          break;
+        case "--bind":
+          bind = args[++i];
+          break;
+        case "--threads":
+          threads = Integer.parseInt(args[++i]);
+          break;
+        case "--import":
+          importFile = Paths.get(args[++i]);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown argument: " + args[i]);
+      }
+    }
+    InventoryStore store = InventoryStore.open(getDataDirectory());
+    int highestId = store.getHighestId();
+    if (importFile != null) {
+      highestId = Math.max(highestId, importCsv(importFile));
+    }
+    InventoryServer server = start(new InetSocketAddress(bind, port), threads, highestId);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      server.close();
+      try {
+        store.close();
+      } catch (IOException e) {
+        LOGGER.log(Level.SEVERE, "Could not save the inventory", e);
+      }
+    }, "inventory-server-shutdown"));
+    LOGGER.info("Serving the inventory at http://" + bind + ":" + server.getAddress().getPort() + "/");
+  }
+
+  /** Imports a CSV file and logs what was imported and rejected.
+   * @return the highest ID imported, or 0.*/
+  private static int importCsv(Path file) throws IOException {
+    InventoryCsv.ImportResult result = InventoryCsv.importFrom(file);
+    LOGGER.info("Imported " + result.getParts() + " parts and " + result.getProducts() + " products from " + file
+        + ", rejected " + result.getRejected() + " rows");
+    for (String error : result.getErrors()) {
+      LOGGER.warning(error);
+    }
+    return result.getHighestId();
+  }
+
+  /** The same directory the application saves to: the inventory.dataDir system property, or a directory in the
+   * user's home.*/
+  private static Path getDataDirectory() {
+    String configured = System.getProperty("inventory.dataDir");
+    if (configured != null) {
+      return Paths.get(configured);
+    }
+    return Paths.get(System.getProperty("user.home"), ".inventoryManagementSystem");
+  }
+
+  /** Uses Executors.newVirtualThreadPerTaskExecutor when the runtime has it. It is looked up reflectively so
+   * that the server still builds and runs on Java 11.*/
+  private static ExecutorService newExecutor(int threads) {
+    if (threads <= 0) {
+      try {
+        Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        return (ExecutorService) virtual.invoke(null);
+      } catch (ReflectiveOperationException e) {
+        threads = 2 * Runtime.getRuntime().availableProcessors();
+      }
+    }
+    AtomicInteger count = new AtomicInteger();
+    return Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "inventory-server-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    Response response;
+    try {
+      String body = readBody(exchange.getRequestBody());
+      String path = exchange.getRequestURI().getPath();
+      String[] segments = (path.startsWith("/") ? path.substring(1) : path).split("/");
+      response = route(exchange.getRequestMethod(), segments, parseQuery(exchange.getRequestURI().getRawQuery()),
+          body);
+    } catch (IllegalArgumentException e) {
+      response = Response.error(400, e.getMessage());
+    } catch (RuntimeException e) {
+      LOGGER.log(Level.WARNING, "Request failed: " + exchange.getRequestURI(), e);
+      response = Response.error(500, "Internal error");
+    }
+    try {
+      exchange.getResponseHeaders().set("Content-Type", response.contentType);
+      exchange.sendResponseHeaders(response.status, response.body.length == 0 ? -1 : response.body.length);
+      if (response.body.length > 0) {
+        try (OutputStream out = exchange.getResponseBody()) {
+          out.write(response.body);
+        }
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private Response route(String method, String[] segments, Map<String, String> query, String body) {
+    switch (segments[0]) {
+      case "parts":
+        return parts(method, segments, query, body);
+      case "products":
+        return products(method, segments, query, body);
+      case "metrics":
+        if (segments.length == 1 && "GET".equals(method)) {
+          return new Response(200, TEXT, TextExporter.dump());
+        }
+        break;
+      default:
+        break;
+    }
+    return Response.error(404, "No such resource");
+  }
+
+  private Response parts(String method, String[] segments, Map<String, String> query, String body) {
+    if (segments.length == 1) {
+      if ("GET".equals(method)) {
+        List<? extends Part> parts;
+        if (query.containsKey("name")) {
+          parts = Inventory.lookupPart(query.get("name"));
+        } else if (query.containsKey("supplier")) {
+          parts = Inventory.lookupPartsBySupplier(query.get("supplier"));
+        } else {
+          int from = intParameter(query, "from", 0);
+          parts = Inventory.getParts(from, from + Math.min(intParameter(query, "limit", DEFAULT_PAGE), MAX_PAGE));
+        }
+        StringBuilder json = new StringBuilder(64 + parts.size() * 96);
+        ItemJson.appendParts(json, parts);
+        return Response.json(200, json);
+      } else if ("POST".equals(method)) {
+        Map<String, Object> json = Json.parseObject(body);
+        synchronized (changeLock) {
+          int id = ItemJson.id(json);
+          Response taken = id == 0 ? null : taken(id);
+          if (taken != null) {
+            return taken;
+          }
+          Part part = ItemJson.toPart(json, id == 0 ? highestId.get() + 1 : id);
+          reserve(part.getId());
+          Inventory.addPart(part);
+          return Response.part(201, part);
+        }
+      }
+      return Response.error(405, "Method not allowed");
+    }
+    int id = parseId(segments[1]);
+    if (segments.length == 2) {
+      switch (method) {
+        case "GET":
+          Part part = id < 0 ? null : Inventory.lookupPart(id);
+          return part == null ? Response.error(404, "No part " + segments[1]) : Response.part(200, part);
+        case "PUT":
+          if (id < 0) {
+            return Response.error(404, "No part " + segments[1]);
+          }
+          Map<String, Object> json = Json.parseObject(body);
+          synchronized (changeLock) {
+            if (Inventory.lookupProduct(id) != null) {
+              return Response.error(409, "Product " + id + " already exists");
+            }
+            Part saved = ItemJson.toPart(json, id);
+            reserve(id);
+            return Response.part(200, Inventory.savePart(saved));
+          }
+        case "DELETE":
+          return id >= 0 && Inventory.deleteParts(id) == 1 ? Response.noContent()
+              : Response.error(404, "No part " + segments[1]);
+        default:
+          return Response.error(405, "Method not allowed");
+      }
+    }
+    if (segments.length == 3 && "products".equals(segments[2]) && "GET".equals(method)) {
+      if (id < 0 || Inventory.lookupPart(id) == null) {
+        return Response.error(404, "No part " + segments[1]);
+      }
+      StringBuilder json = new StringBuilder();
+      ItemJson.appendProducts(json, Inventory.lookupProductsUsingPart(id));
+      return Response.json(200, json);
+    }
+    return Response.error(404, "No such resource");
+  }
+
+  private Response products(String method, String[] segments, Map<String, String> query, String body) {
+    if (segments.length == 1) {
+      if ("GET".equals(method)) {
+        List<Product> products;
+        if (query.containsKey("name")) {
+          products = Inventory.lookupProduct(query.get("name"));
+        } else {
+          int from = intParameter(query, "from", 0);
+          products = Inventory.getProducts(from,
+              from + Math.min(intParameter(query, "limit", DEFAULT_PAGE), MAX_PAGE));
+        }
+        StringBuilder json = new StringBuilder(64 + products.size() * 96);
+        ItemJson.appendProducts(json, products);
+        return Response.json(200, json);
+      } else if ("POST".equals(method)) {
+        Map<String, Object> json = Json.parseObject(body);
+        synchronized (changeLock) {
+          int id = ItemJson.id(json);
+          Response taken = id == 0 ? null : taken(id);
+          if (taken != null) {
+            return taken;
+          }
+          Product product = ItemJson.toProduct(json, id == 0 ? highestId.get() + 1 : id);
+          checkParts(product);
+          reserve(product.getId());
+          Inventory.addProduct(product);
+          return Response.product(201, product);
+        }
+      }
+      return Response.error(405, "Method not allowed");
+    }
+    int id = parseId(segments[1]);
+    Product product = id < 0 ? null : Inventory.lookupProduct(id);
+    if (segments.length == 2) {
+      switch (method) {
+        case "GET":
+          return product == null ? Response.error(404, "No product " + segments[1])
+              : Response.product(200, product);
+        case "PUT":
+          if (id < 0) {
+            return Response.error(404, "No product " + segments[1]);
+          }
+          Map<String, Object> json = Json.parseObject(body);
+          synchronized (changeLock) {
+            if (Inventory.lookupPart(id) != null) {
+              return Response.error(409, "Part " + id + " already exists");
+            }
+            Product saved = ItemJson.toProduct(json, id);
+            checkParts(saved);
+            reserve(id);
+            return Response.product(200, Inventory.saveProduct(saved));
+          }
+        case "DELETE":
+          synchronized (changeLock) {
+            product = id < 0 ? null : Inventory.lookupProduct(id);
+            if (product == null) {
+              return Response.error(404, "No product " + segments[1]);
+            } else if (!product.getAllAssociatedParts().isEmpty()) {
+              return Response.error(409, "Cannot delete product containing associated parts.");
+            }
+            Inventory.deleteProducts(id);
+            return Response.noContent();
+          }
+        default:
+          return Response.error(405, "Method not allowed");
+      }
+    }
+    if (product == null || !"parts".equals(segments[2]) || segments.length > 4) {
+      return Response.error(404, product == null ? "No product " + segments[1] : "No such resource");
+    }
+    if (segments.length == 3) {
+      if (!"GET".equals(method)) {
+        return Response.error(405, "Method not allowed");
+      }
+      StringBuilder json = new StringBuilder();
+      ItemJson.appendParts(json, product.getAllAssociatedParts());
+      return Response.json(200, json);
+    }
+    int partId = parseId(segments[3]);
+    if (!"PUT".equals(method) && !"DELETE".equals(method)) {
+      return Response.error(405, "Method not allowed");
+    }
+    synchronized (changeLock) {
+      product = Inventory.lookupProduct(id);
+      if (product == null) {
+        return Response.error(404, "No product " + segments[1]);
+      }
+      Product changed = copyOf(product);
+      if ("PUT".equals(method)) {
+        if (partId < 0 || Inventory.lookupPart(partId) == null) {
+          return Response.error(404, "No part " + segments[3]);
+        }
+        changed.addAssociatedPartId(partId);
+      } else if (!changed.deleteAssociatedPartId(partId)) {
+        return Response.error(404, "Part " + segments[3] + " is not associated with product " + id);
+      }
+      return Response.product(200, Inventory.saveProduct(changed));
+    }
+  }
+
+  /** Makes sure that items added without an ID later are not given this one. Called under changeLock once the
+   * item is known to be valid, so a rejected request uses up no ID.*/
+  private void reserve(int id) {
+    highestId.accumulateAndGet(id, Math::max);
+  }
+
+  /** Parts and products share one space of IDs.
+   * @return a conflict naming the part or product that has the ID, or null if neither does.*/
+  private static Response taken(int id) {
+    if (Inventory.lookupPart(id) != null) {
+      return Response.error(409, "Part " + id + " already exists");
+    } else if (Inventory.lookupProduct(id) != null) {
+      return Response.error(409, "Product " + id + " already exists");
+    }
+    return null;
+  }
+
+  private static void checkParts(Product product) {
+    for (int partId : product.getAssociatedPartIds()) {
+      if (Inventory.lookupPart(partId) == null) {
+        throw new IllegalArgumentException("No part " + partId);
+      }
+    }
+  }
+
+  private static Product copyOf(Product product) {
+    Product copy = new Product(product.getId(), product.getName(), product.getPrice(), product.getStock(),
+        product.getMin(), product.getMax());
+    for (int partId : product.getAssociatedPartIds()) {
+      copy.addAssociatedPartId(partId);
+    }
+    return copy;
+  }
+
+  /** @return the ID, or -1 if the segment is not a positive whole number.*/
+  private static int parseId(String segment) {
+    try {
+      int id = Integer.parseInt(segment);
+      return id > 0 ? id : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static int intParameter(Map<String, String> query, String name, int defaultValue) {
+    String value = query.get(name);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Math.max(0, Integer.parseInt(value));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(name + " must be a whole number");
+    }
+  }
+
+  private static Map<String, String> parseQuery(String rawQuery) {
+    Map<String, String> query = new HashMap<>();
+    if (rawQuery == null || rawQuery.isEmpty()) {
+      return query;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int equals = pair.indexOf('=');
+      String name = equals < 0 ? pair : pair.substring(0, equals);
+      String value = equals < 0 ? "" : pair.substring(equals + 1);
+      query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return query;
+  }
+
+  /** Reads the whole body, so that the connection can be used for the next request.*/
+  private static String readBody(InputStream in) throws IOException {
+    try (InputStream body = in) {
+      byte[] buffer = new byte[8192];
+      int read = body.read(buffer);
+      if (read < 0) {
+        return "";
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      do {
+        bytes.write(buffer, 0, read);
+        if (bytes.size() > MAX_BODY_LENGTH) {
+          throw new IllegalArgumentException("Request body is larger than " + MAX_BODY_LENGTH + " bytes");
+        }
+      } while ((read = body.read(buffer)) >= 0);
+      return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+  }
+
+  /** A status, a content type and a body, ready to send.*/
+  private static final class Response {
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    private Response(int status, String contentType, String body) {
+      this.status = status;
+      this.contentType = contentType;
+      this.body = body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Response json(int status, CharSequence json) {
+      return new Response(status, JSON, json.toString());
+    }
+
+    private static Response part(int status, Part part) {
+      StringBuilder json = new StringBuilder(128);
+      ItemJson.appendPart(json, part);
+      return json(status, json);
+    }
+
+    private static Response product(int status, Product product) {
+      StringBuilder json = new StringBuilder(128);
+      ItemJson.appendProduct(json, product);
+      return json(status, json);
+    }
+
+    private static Response error(int status, String message) {
+      StringBuilder json = new StringBuilder("{\"error\":");
+      Json.appendString(json, message);
+      return json(status, json.append('}'));
+    }
+
+    private static Response noContent() {
+      return new Response(204, JSON, "");
+    }
+  }
+}
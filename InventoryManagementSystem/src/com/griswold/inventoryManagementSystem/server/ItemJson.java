@@ -0,0 +1,189 @@
+package com.griswold.inventoryManagementSystem.server;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.ItemValidator;
+import com.griswold.inventoryManagementSystem.items.Outsourced;
+import com.griswold.inventoryManagementSystem.items.Part;
+import com.griswold.inventoryManagementSystem.items.Product;
+import java.util.List;
+import java.util.Map;
+
+/** Converts parts and products to and from JSON. Parts look like
+ * <pre>
+ * {"type":"InHouse","id":1,"name":"Bolt","price":0.25,"stock":40,"min":10,"max":100,"machineId":7}
+ * {"type":"Outsourced","id":2,"name":"Nut","price":0.1,"stock":40,"min":10,"max":100,"companyName":"Acme"}
+ * </pre>
+ * and products like
+ * <pre>
+ * {"id":3,"name":"Bracket","price":4.5,"stock":5,"min":1,"max":20,"partIds":[1,2]}
+ * </pre>
+ * Items read from JSON are checked against {@link ItemValidator}, so the server accepts exactly what the menus
+ * accept.*/
+final class ItemJson {
+
+  private ItemJson() {
+
+  }
+
+  /** @param out where to append the part.
+   * @param part the part to write.*/
+  static void appendPart(StringBuilder out, Part part) {
+    out.append("{\"type\":\"").append(part instanceof Outsourced ? "Outsourced" : "InHouse").append('"');
+    appendCommon(out, part.getId(), part.getName(), part.getPrice(), part.getStock(), part.getMin(), part.getMax());
+    if (part instanceof Outsourced) {
+      out.append(",\"companyName\":");
+      Json.appendString(out, ((Outsourced) part).getCompanyName());
+    } else {
+      out.append(",\"machineId\":").append(((InHouse) part).getMachineId());
+    }
+    out.append('}');
+  }
+
+  /** @param out where to append the product.
+   * @param product the product to write.*/
+  static void appendProduct(StringBuilder out, Product product) {
+    out.append('{');
+    appendCommon(out, product.getId(), product.getName(), product.getPrice(), product.getStock(),
+        product.getMin(), product.getMax());
+    out.append(",\"partIds\":[");
+    int[] partIds = product.getAssociatedPartIds();
+    for (int i = 0; i < partIds.length; i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      out.append(partIds[i]);
+    }
+    out.append("]}");
+  }
+
+  /** @param out where to append the array.
+   * @param parts the parts to write, in order.*/
+  static void appendParts(StringBuilder out, List<? extends Part> parts) {
+    out.append('[');
+    for (int i = 0; i < parts.size(); i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      appendPart(out, parts.get(i));
+    }
+    out.append(']');
+  }
+
+  /** @param out where to append the array.
+   * @param products the products to write, in order.*/
+  static void appendProducts(StringBuilder out, List<? extends Product> products) {
+    out.append('[');
+    for (int i = 0; i < products.size(); i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      appendProduct(out, products.get(i));
+    }
+    out.append(']');
+  }
+
+  /** @param json the part as JSON.
+   * @param id the ID to give the part.
+   * @return the part.
+   * @throws IllegalArgumentException if a member is missing or has the wrong type, or the part breaks a rule.*/
+  static Part toPart(Map<String, Object> json, int id) {
+    String type = string(json, "type");
+    String name = string(json, "name");
+    double price = number(json, "price");
+    int stock = integer(json, "stock");
+    int min = integer(json, "min");
+    int max = integer(json, "max");
+    check(ItemValidator.checkName(name));
+    check(ItemValidator.checkLevels(price, stock, min, max));
+    if ("InHouse".equals(type)) {
+      return new InHouse(id, name.trim(), price, stock, min, max, integer(json, "machineId"));
+    } else if ("Outsourced".equals(type)) {
+      String companyName = string(json, "companyName");
+      check(ItemValidator.checkCompanyName(companyName));
+      return new Outsourced(id, name.trim(), price, stock, min, max, companyName.trim());
+    }
+    throw new IllegalArgumentException("type must be InHouse or Outsourced");
+  }
+
+  /** @param json the product as JSON. The partIds member may be left out.
+   * @param id the ID to give the product.
+   * @return the product.
+   * @throws IllegalArgumentException if a member is missing or has the wrong type, or the product breaks a
+   * rule.*/
+  static Product toProduct(Map<String, Object> json, int id) {
+    String name = string(json, "name");
+    double price = number(json, "price");
+    int stock = integer(json, "stock");
+    int min = integer(json, "min");
+    int max = integer(json, "max");
+    check(ItemValidator.checkName(name));
+    check(ItemValidator.checkLevels(price, stock, min, max));
+    Product product = new Product(id, name.trim(), price, stock, min, max);
+    Object partIds = json.get("partIds");
+    if (partIds instanceof List) {
+      for (Object partId : (List<?>) partIds) {
+        product.addAssociatedPartId(toInt(partId, "partIds"));
+      }
+    } else if (partIds != null) {
+      throw new IllegalArgumentException("partIds must be an array");
+    }
+    return product;
+  }
+
+  /** @param json an item as JSON.
+   * @return the id member. Returns 0 if there is none.
+   * @throws IllegalArgumentException if the id is negative.*/
+  static int id(Map<String, Object> json) {
+    Object id = json.get("id");
+    int value = id == null ? 0 : toInt(id, "id");
+    if (value < 0) {
+      throw new IllegalArgumentException("id must not be negative");
+    }
+    return value;
+  }
+
+  private static void appendCommon(StringBuilder out, int id, String name, double price, int stock, int min,
+      int max) {
+    if (out.charAt(out.length() - 1) != '{') {
+      out.append(',');
+    }
+    out.append("\"id\":").append(id).append(",\"name\":");
+    Json.appendString(out, name);
+    out.append(",\"price\":");
+    Json.appendNumber(out, price);
+    out.append(",\"stock\":").append(stock).append(",\"min\":").append(min).append(",\"max\":").append(max);
+  }
+
+  private static void check(String error) {
+    if (error != null) {
+      throw new IllegalArgumentException(error);
+    }
+  }
+
+  private static String string(Map<String, Object> json, String name) {
+    Object value = json.get(name);
+    if (!(value instanceof String)) {
+      throw new IllegalArgumentException(name + " must be a string");
+    }
+    return (String) value;
+  }
+
+  private static double number(Map<String, Object> json, String name) {
+    Object value = json.get(name);
+    if (!(value instanceof Number)) {
+      throw new IllegalArgumentException(name + " must be a number");
+    }
+    return ((Number) value).doubleValue();
+  }
+
+  private static int integer(Map<String, Object> json, String name) {
+    return toInt(json.get(name), name);
+  }
+
+  private static int toInt(Object value, String name) {
+    if (!(value instanceof Long) || (Long) value != ((Long) value).intValue()) {
+      throw new IllegalArgumentException(name + " must be a whole number");
+    }
+    return ((Long) value).intValue();
+  }
+}
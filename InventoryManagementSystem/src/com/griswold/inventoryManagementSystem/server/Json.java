@@ -0,0 +1,289 @@
+package com.griswold.inventoryManagementSystem.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** The small part of JSON the server needs: a parser into maps, lists, strings, numbers, booleans and null, and
+ * helpers that append values to a StringBuilder. Malformed input is reported with an IllegalArgumentException
+ * that the server turns into a 400 response.*/
+final class Json {
+
+  private static final int MAX_DEPTH = 32;
+
+  private final String text;
+  private int position;
+
+  private Json(String text) {
+    this.text = text;
+  }
+
+  /** @param text the JSON to parse.
+   * @return a Map for an object, a List for an array, a String, a Long for an integer that fits, a Double for any
+   * other number, a Boolean, or null.*/
+  static Object parse(String text) {
+    Json json = new Json(text);
+    Object value = json.value(0);
+    json.skipWhitespace();
+    if (json.position != text.length()) {
+      throw json.error("Unexpected text after the value");
+    }
+    return value;
+  }
+
+  /** @param text the JSON to parse.
+   * @return the object.*/
+  @SuppressWarnings("unchecked")
+  static Map<String, Object> parseObject(String text) {
+    Object value = parse(text);
+    if (!(value instanceof Map)) {
+      throw new IllegalArgumentException("Expected a JSON object");
+    }
+    return (Map<String, Object>) value;
+  }
+
+  /** Appends a string as a quoted JSON string.
+   * @param out where to append.
+   * @param value the string. Null is written as null.*/
+  static void appendString(StringBuilder out, String value) {
+    if (value == null) {
+      out.append("null");
+      return;
+    }
+    out.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            out.append(String.format("\\u%04x", (int) c));
+          } else {
+            out.append(c);
+          }
+      }
+    }
+    out.append('"');
+  }
+
+  /** Appends a number. Values JSON cannot hold, NaN and the infinities, are written as null.
+   * @param out where to append.
+   * @param value the number.*/
+  static void appendNumber(StringBuilder out, double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      out.append("null");
+    } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      out.append((long) value);
+    } else {
+      out.append(value);
+    }
+  }
+
+  private Object value(int depth) {
+    if (depth > MAX_DEPTH) {
+      throw error("Nested too deeply");
+    }
+    skipWhitespace();
+    if (position == text.length()) {
+      throw error("Unexpected end of input");
+    }
+    char c = text.charAt(position);
+    switch (c) {
+      case '{':
+        return object(depth);
+      case '[':
+        return array(depth);
+      case '"':
+        return string();
+      case 't':
+        return literal("true", Boolean.TRUE);
+      case 'f':
+        return literal("false", Boolean.FALSE);
+      case 'n':
+        return literal("null", null);
+      default:
+        if (c == '-' || (c >= '0' && c <= '9')) {
+          return number();
+        }
+        throw error("Unexpected character '" + c + "'");
+    }
+  }
+
+  private Map<String, Object> object(int depth) {
+    Map<String, Object> object = new LinkedHashMap<>();
+    position++;
+    skipWhitespace();
+    if (peek() == '}') {
+      position++;
+      return object;
+    }
+    while (true) {
+      skipWhitespace();
+      if (peek() != '"') {
+        throw error("Expected a member name");
+      }
+      String name = string();
+      skipWhitespace();
+      expect(':');
+      object.put(name, value(depth + 1));
+      skipWhitespace();
+      if (peek() == ',') {
+        position++;
+      } else {
+        expect('}');
+        return object;
+      }
+    }
+  }
+
+  private List<Object> array(int depth) {
+    List<Object> array = new ArrayList<>();
+    position++;
+    skipWhitespace();
+    if (peek() == ']') {
+      position++;
+      return array;
+    }
+    while (true) {
+      array.add(value(depth + 1));
+      skipWhitespace();
+      if (peek() == ',') {
+        position++;
+      } else {
+        expect(']');
+        return array;
+      }
+    }
+  }
+
+  private String string() {
+    position++;
+    StringBuilder value = new StringBuilder();
+    while (true) {
+      if (position >= text.length()) {
+        throw error("Unterminated string");
+      }
+      char c = text.charAt(position++);
+      if (c == '"') {
+        return value.toString();
+      } else if (c != '\\') {
+        value.append(c);
+        continue;
+      }
+      if (position >= text.length()) {
+        throw error("Unterminated string");
+      }
+      char escaped = text.charAt(position++);
+      switch (escaped) {
+        case '"':
+        case '\\':
+        case '/':
+          value.append(escaped);
+          break;
+        case 'b':
+          value.append('\b');
+          break;
+        case 'f':
+          value.append('\f');
+          break;
+        case 'n':
+          value.append('\n');
+          break;
+        case 'r':
+          value.append('\r');
+          break;
+        case 't':
+          value.append('\t');
+          break;
+        case 'u':
+          if (position + 4 > text.length()) {
+            throw error("Incomplete escape");
+          }
+          try {
+            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+          } catch (NumberFormatException e) {
+            throw error("Invalid escape");
+          }
+          position += 4;
+          break;
+        default:
+          throw error("Invalid escape");
+      }
+    }
+  }
+
+  private Object number() {
+    int start = position;
+    boolean integral = true;
+    while (position < text.length()) {
+      char c = text.charAt(position);
+      if (c == '.' || c == 'e' || c == 'E') {
+        integral = false;
+      } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+        break;
+      }
+      position++;
+    }
+    String number = text.substring(start, position);
+    try {
+      if (integral) {
+        try {
+          return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+          // Too long for a long; read it as a double below.
+        }
+      }
+      return Double.parseDouble(number);
+    } catch (NumberFormatException e) {
+      throw error("Invalid number");
+    }
+  }
+
+  private Object literal(String literal, Object value) {
+    if (!text.startsWith(literal, position)) {
+      throw error("Unexpected character '" + text.charAt(position) + "'");
+    }
+    position += literal.length();
+    return value;
+  }
+
+  private void expect(char c) {
+    if (peek() != c) {
+      throw error("Expected '" + c + "'");
+    }
+    position++;
+  }
+
+  private char peek() {
+    return position < text.length() ? text.charAt(position) : 0;
+  }
+
+  private void skipWhitespace() {
+    while (position < text.length()) {
+      char c = text.charAt(position);
+      if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+        return;
+      }
+      position++;
+    }
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(message + " at offset " + position);
+  }
+}
@@ -0,0 +1,339 @@
+package com.griswold.inventoryManagementSystem.storage;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Outsourced;
+import com.griswold.inventoryManagementSystem.items.Part;
+import com.griswold.inventoryManagementSystem.items.Product;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** A snapshot of the inventory laid out in fixed-width columns and read through a memory-mapped file.
+ * <p>
+ * The file starts with a header, followed by a string heap holding every distinct name and company name
+ * once, a table of parts, a table of products and a column of the IDs of the parts associated with each
+ * product. Each table stores one column per field (kind, id, price, stock, min, max, machine ID or company name
+ * and name), with strings stored as indexes into the heap. Opening a snapshot only maps the file; a row is decoded
+ * into a {@link Part} or {@link Product} when it is asked for, and each heap string is decoded at most once.
+ * <p>
+ * Recovery asks for every row. The Inventory holds its items as Part and Product objects and indexes each one as
+ * it is added, so the rows are not served as views over the mapping: the snapshot saves parsing and disk space,
+ * not heap, and indexing the items, not decoding them, is most of the time it takes to open a large inventory.
+ * <p>
+ * A snapshot is limited to 2 GB, the largest region a single mapping can cover.*/
+final class ColumnarSnapshot {
+
+  private static final int MAGIC = 0x494D5343;
+  private static final int FORMAT_VERSION = 3;
+  private static final byte IN_HOUSE = 0;
+  private static final byte OUTSOURCED = 1;
+
+  private final ByteBuffer buffer;
+  private final long generation;
+  private final String[] strings;
+  private final int stringOffsets;
+  private final int stringData;
+  private final PartTable parts;
+  private final ProductTable products;
+  private final int associatedPartIds;
+  private final int[] associationStarts;
+
+  private ColumnarSnapshot(ByteBuffer buffer) throws IOException {
+    this.buffer = buffer;
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+      throw new IOException("Unrecognized snapshot");
+    }
+    generation = buffer.getLong(8);
+    int stringCount = buffer.getInt(16);
+    strings = new String[stringCount];
+    stringOffsets = 20;
+    stringData = stringOffsets + (stringCount + 1) * Integer.BYTES;
+    int position = stringData + buffer.getInt(stringOffsets + stringCount * Integer.BYTES);
+    parts = new PartTable(position);
+    products = new ProductTable(parts.end);
+    associatedPartIds = products.end + Integer.BYTES;
+    associationStarts = new int[products.rows + 1];
+    for (int row = 0; row < products.rows; row++) {
+      associationStarts[row + 1] = associationStarts[row] + buffer.getInt(products.partCount + row * Integer.BYTES);
+    }
+  }
+
+  /** Maps a snapshot file into memory.
+   * @param file the snapshot file.
+   * @return the opened snapshot.*/
+  static ColumnarSnapshot open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new ColumnarSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /** @return the generation the snapshot was taken at.*/
+  long getGeneration() {
+    return generation;
+  }
+
+  /** @return the number of parts in the snapshot.*/
+  int getPartCount() {
+    return parts.rows;
+  }
+
+  /** @return the number of products in the snapshot.*/
+  int getProductCount() {
+    return products.rows;
+  }
+
+  /** @param row the row of the part table.
+   * @return a new Part holding the values of the row.*/
+  Part getPart(int row) {
+    return parts.get(row);
+  }
+
+  /** @param row the row of the product table.
+   * @return a new Product holding the values of the row, including the IDs of its associated parts.*/
+  Product getProduct(int row) {
+    Product product = new Product(buffer.getInt(products.id + row * Integer.BYTES),
+        string(buffer.getInt(products.name + row * Integer.BYTES)),
+        buffer.getDouble(products.price + row * Double.BYTES),
+        buffer.getInt(products.stock + row * Integer.BYTES),
+        buffer.getInt(products.min + row * Integer.BYTES),
+        buffer.getInt(products.max + row * Integer.BYTES));
+    for (int i = associationStarts[row]; i < associationStarts[row + 1]; i++) {
+      product.addAssociatedPartId(buffer.getInt(associatedPartIds + i * Integer.BYTES));
+    }
+    return product;
+  }
+
+  /** Writes a snapshot file.
+   * @param file the file to write. Any existing content is replaced.
+   * @param generation the generation of the snapshot.
+   * @param parts the parts to write.
+   * @param products the products to write.*/
+  static void write(Path file, long generation, Part[] parts, Product[] products) throws IOException {
+    int[][] associatedPartIds = new int[products.length][];
+    int associatedCount = 0;
+    for (int i = 0; i < products.length; i++) {
+      associatedPartIds[i] = products[i].getAssociatedPartIds();
+      associatedCount += associatedPartIds[i].length;
+    }
+
+    StringHeap heap = new StringHeap();
+    int[] partNames = heap.addNames(parts);
+    int[] partExtras = heap.addExtras(parts);
+    int[] productNames = new int[products.length];
+    for (int i = 0; i < products.length; i++) {
+      productNames[i] = heap.add(products[i].getName());
+    }
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel),
+          1 << 16));
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeLong(generation);
+      heap.write(out);
+      writeParts(out, parts, partNames, partExtras);
+
+      out.writeInt(products.length);
+      for (Product product : products) {
+        out.writeInt(product.getId());
+      }
+      for (Product product : products) {
+        out.writeDouble(product.getPrice());
+      }
+      for (Product product : products) {
+        out.writeInt(product.getStock());
+      }
+      for (Product product : products) {
+        out.writeInt(product.getMin());
+      }
+      for (Product product : products) {
+        out.writeInt(product.getMax());
+      }
+      for (int name : productNames) {
+        out.writeInt(name);
+      }
+      for (int[] partIds : associatedPartIds) {
+        out.writeInt(partIds.length);
+      }
+
+      out.writeInt(associatedCount);
+      for (int[] partIds : associatedPartIds) {
+        for (int partId : partIds) {
+          out.writeInt(partId);
+        }
+      }
+      out.flush();
+      channel.force(true);
+    }
+  }
+
+  private static void writeParts(DataOutputStream out, Part[] parts, int[] names, int[] extras)
+      throws IOException {
+    out.writeInt(parts.length);
+    for (Part part : parts) {
+      out.writeByte(part instanceof Outsourced ? OUTSOURCED : IN_HOUSE);
+    }
+    for (Part part : parts) {
+      out.writeInt(part.getId());
+    }
+    for (Part part : parts) {
+      out.writeDouble(part.getPrice());
+    }
+    for (Part part : parts) {
+      out.writeInt(part.getStock());
+    }
+    for (Part part : parts) {
+      out.writeInt(part.getMin());
+    }
+    for (Part part : parts) {
+      out.writeInt(part.getMax());
+    }
+    for (int extra : extras) {
+      out.writeInt(extra);
+    }
+    for (int name : names) {
+      out.writeInt(name);
+    }
+  }
+
+  /** Decodes a heap string the first time it is needed.*/
+  private String string(int index) {
+    String value = strings[index];
+    if (value == null) {
+      int start = buffer.getInt(stringOffsets + index * Integer.BYTES);
+      int end = buffer.getInt(stringOffsets + (index + 1) * Integer.BYTES);
+      byte[] bytes = new byte[end - start];
+      buffer.duplicate().position(stringData + start).get(bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+      strings[index] = value;
+    }
+    return value;
+  }
+
+  /** Column positions of a table of parts.*/
+  private final class PartTable {
+    private final int rows;
+    private final int kind;
+    private final int id;
+    private final int price;
+    private final int stock;
+    private final int min;
+    private final int max;
+    private final int extra;
+    private final int name;
+    private final int end;
+
+    private PartTable(int position) {
+      rows = buffer.getInt(position);
+      kind = position + Integer.BYTES;
+      id = kind + rows;
+      price = id + rows * Integer.BYTES;
+      stock = price + rows * Double.BYTES;
+      min = stock + rows * Integer.BYTES;
+      max = min + rows * Integer.BYTES;
+      extra = max + rows * Integer.BYTES;
+      name = extra + rows * Integer.BYTES;
+      end = name + rows * Integer.BYTES;
+    }
+
+    private Part get(int row) {
+      int partId = buffer.getInt(id + row * Integer.BYTES);
+      String partName = string(buffer.getInt(name + row * Integer.BYTES));
+      double partPrice = buffer.getDouble(price + row * Double.BYTES);
+      int partStock = buffer.getInt(stock + row * Integer.BYTES);
+      int partMin = buffer.getInt(min + row * Integer.BYTES);
+      int partMax = buffer.getInt(max + row * Integer.BYTES);
+      int partExtra = buffer.getInt(extra + row * Integer.BYTES);
+      if (buffer.get(kind + row) == OUTSOURCED) {
+        return new Outsourced(partId, partName, partPrice, partStock, partMin, partMax, string(partExtra));
+      }
+      return new InHouse(partId, partName, partPrice, partStock, partMin, partMax, partExtra);
+    }
+  }
+
+  /** Column positions of the table of products.*/
+  private final class ProductTable {
+    private final int rows;
+    private final int id;
+    private final int price;
+    private final int stock;
+    private final int min;
+    private final int max;
+    private final int name;
+    private final int partCount;
+    private final int end;
+
+    private ProductTable(int position) {
+      rows = buffer.getInt(position);
+      id = position + Integer.BYTES;
+      price = id + rows * Integer.BYTES;
+      stock = price + rows * Double.BYTES;
+      min = stock + rows * Integer.BYTES;
+      max = min + rows * Integer.BYTES;
+      name = max + rows * Integer.BYTES;
+      partCount = name + rows * Integer.BYTES;
+      end = partCount + rows * Integer.BYTES;
+    }
+  }
+
+  /** Collects the distinct strings of a snapshot while it is being written.*/
+  private static final class StringHeap {
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<byte[]> values = new ArrayList<>();
+
+    private int add(String value) {
+      Integer index = indexes.get(value);
+      if (index == null) {
+        index = values.size();
+        indexes.put(value, index);
+        values.add(value.getBytes(StandardCharsets.UTF_8));
+      }
+      return index;
+    }
+
+    private int[] addNames(Part[] parts) {
+      int[] names = new int[parts.length];
+      for (int i = 0; i < parts.length; i++) {
+        names[i] = add(parts[i].getName());
+      }
+      return names;
+    }
+
+    /** @return the company name heap index of each outsourced part and the machine ID of each in-house part.*/
+    private int[] addExtras(Part[] parts) {
+      int[] extras = new int[parts.length];
+      for (int i = 0; i < parts.length; i++) {
+        if (parts[i] instanceof Outsourced) {
+          extras[i] = add(((Outsourced) parts[i]).getCompanyName());
+        } else {
+          extras[i] = ((InHouse) parts[i]).getMachineId();
+        }
+      }
+      return extras;
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+      out.writeInt(values.size());
+      int offset = 0;
+      out.writeInt(offset);
+      for (byte[] value : values) {
+        offset += value.length;
+        out.writeInt(offset);
+      }
+      for (byte[] value : values) {
+        out.write(value);
+      }
+    }
+  }
+}
@@ -0,0 +1,492 @@
+package com.griswold.inventoryManagementSystem.storage;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.ItemValidator;
+import com.griswold.inventoryManagementSystem.items.Outsourced;
+import com.griswold.inventoryManagementSystem.items.Part;
+import com.griswold.inventoryManagementSystem.items.Product;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/** Imports and exports the inventory as CSV.
+ * <p>
+ * Every row describes one item in the columns {@code type,id,name,price,stock,min,max,extra}. The type is
+ * {@code InHouse}, {@code Outsourced} or {@code Product}. The extra column holds the machine ID of an in-house
+ * part, the company name of an outsourced part, or the IDs of the parts associated with a product separated by
+ * spaces. Fields containing commas, quotes or line breaks are quoted, with quotes doubled. A header row is
+ * written on export and skipped on import.
+ * <p>
+ * Imports stream: the input is cut into chunks of rows that are parsed and validated in parallel, and the
+ * chunks are added to the inventory in file order through its bulk methods. Only a few chunks are held at
+ * once, so memory does not grow with the size of the file. Rows that break the rules of {@link ItemValidator},
+ * have more or fewer fields than the columns, reuse an ID already in the inventory, or name a part that is
+ * neither in the inventory nor on an earlier row are rejected and reported with their line number, and the rest
+ * of the file is still imported. Parts and products share one space of IDs, so a part and a product cannot have
+ * the same ID. Callers that number new items themselves must move past {@link ImportResult#getHighestId()}.*/
+public final class InventoryCsv {
+
+  private static final String HEADER = "type,id,name,price,stock,min,max,extra";
+  private static final int FIELDS = 8;
+  private static final int CHUNK_ROWS = 8192;
+  private static final int MAX_ERRORS = 100;
+
+  private InventoryCsv() {
+
+  }
+
+  /** The outcome of an import.*/
+  public static final class ImportResult {
+    private int parts;
+    private int products;
+    private int rejected;
+    private int highestId;
+    private final List<String> errors = new ArrayList<>();
+
+    /** @return the number of parts added.*/
+    public int getParts() {
+      return parts;
+    }
+
+    /** @return the number of products added.*/
+    public int getProducts() {
+      return products;
+    }
+
+    /** @return the number of rows that were rejected.*/
+    public int getRejected() {
+      return rejected;
+    }
+
+    /** @return the highest ID added, or 0 if nothing was added.*/
+    public int getHighestId() {
+      return highestId;
+    }
+
+    /** @return descriptions of the first rejected rows.*/
+    public List<String> getErrors() {
+      return Collections.unmodifiableList(errors);
+    }
+  }
+
+  /** Adds the parts and products read from a UTF-8 CSV file to the inventory.
+   * @param file the file to read.
+   * @return what was imported and what was rejected.*/
+  public static ImportResult importFrom(Path file) throws IOException {
+    try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return importFrom(in);
+    }
+  }
+
+  /** Adds the parts and products read from CSV to the inventory.
+   * @param in the CSV to read. It is not closed.
+   * @return what was imported and what was rejected.*/
+  public static ImportResult importFrom(Reader in) throws IOException {
+    int threads = Runtime.getRuntime().availableProcessors();
+    ExecutorService parsers = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "csv-import");
+      thread.setDaemon(true);
+      return thread;
+    });
+    ImportResult result = new ImportResult();
+    Queue<Future<Chunk>> parsing = new ArrayDeque<>();
+    try {
+      RowSplitter splitter = new RowSplitter(in);
+      String text;
+      while ((text = splitter.nextChunk()) != null) {
+        long firstLine = splitter.chunkFirstLine;
+        String chunkText = text;
+        parsing.add(parsers.submit(() -> parse(chunkText, firstLine)));
+        if (parsing.size() > threads * 2) {
+          commit(parsing.remove().get(), result);
+        }
+      }
+      while (!parsing.isEmpty()) {
+        commit(parsing.remove().get(), result);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Import interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Import failed", e.getCause());
+    } finally {
+      parsers.shutdownNow();
+    }
+    return result;
+  }
+
+  /** Writes every part and product in the inventory as CSV. The inventory is read a chunk at a time, so items
+   * changed while the export runs may be missed or written twice.
+   * @param out where the CSV is written. It is flushed but not closed.*/
+  public static void exportTo(Writer out) throws IOException {
+    StringBuilder row = new StringBuilder(128);
+    out.write(HEADER);
+    out.write('\n');
+    List<Part> parts;
+    for (int from = 0; !(parts = Inventory.getParts(from, from + CHUNK_ROWS)).isEmpty(); from += parts.size()) {
+      for (Part part : parts) {
+        row.setLength(0);
+        row.append(part instanceof Outsourced ? "Outsourced" : "InHouse").append(',');
+        appendCommon(row, part.getId(), part.getName(), part.getPrice(), part.getStock(), part.getMin(),
+            part.getMax());
+        if (part instanceof Outsourced) {
+          appendField(row, ((Outsourced) part).getCompanyName());
+        } else {
+          row.append(((InHouse) part).getMachineId());
+        }
+        out.append(row).append('\n');
+      }
+    }
+    List<Product> products;
+    for (int from = 0; !(products = Inventory.getProducts(from, from + CHUNK_ROWS)).isEmpty();
+        from += products.size()) {
+      for (Product product : products) {
+        row.setLength(0);
+        row.append("Product,");
+        appendCommon(row, product.getId(), product.getName(), product.getPrice(), product.getStock(),
+            product.getMin(), product.getMax());
+        int[] partIds = product.getAssociatedPartIds();
+        for (int i = 0; i < partIds.length; i++) {
+          if (i > 0) {
+            row.append(' ');
+          }
+          row.append(partIds[i]);
+        }
+        out.append(row).append('\n');
+      }
+    }
+    out.flush();
+  }
+
+  private static void appendCommon(StringBuilder row, int id, String name, double price, int stock, int min,
+      int max) {
+    row.append(id).append(',');
+    appendField(row, name);
+    row.append(',').append(price).append(',').append(stock).append(',').append(min).append(',').append(max)
+        .append(',');
+  }
+
+  private static void appendField(StringBuilder row, String value) {
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!quote) {
+      row.append(value);
+      return;
+    }
+    row.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        row.append('"');
+      }
+      row.append(c);
+    }
+    row.append('"');
+  }
+
+  /** Adds a parsed chunk to the inventory, leaving out items whose ID is already taken and products that use a
+   * part that does not exist. The chunk's parts are added before its products are checked, so a product may use
+   * a part from any earlier row.*/
+  private static void commit(Chunk chunk, ImportResult result) {
+    List<Part> parts = new ArrayList<>(chunk.parts.size());
+    Set<Integer> ids = new HashSet<>();
+    for (int i = 0; i < chunk.parts.size(); i++) {
+      Part part = chunk.parts.get(i);
+      if (isTaken(part.getId()) || !ids.add(part.getId())) {
+        chunk.reject(chunk.partLines[i], "Duplicate ID " + part.getId() + ".");
+      } else {
+        parts.add(part);
+        result.highestId = Math.max(result.highestId, part.getId());
+      }
+    }
+    if (!parts.isEmpty()) {
+      Inventory.addParts(parts);
+    }
+    List<Product> products = new ArrayList<>(chunk.products.size());
+    for (int i = 0; i < chunk.products.size(); i++) {
+      Product product = chunk.products.get(i);
+      int missing = missingPart(product);
+      if (isTaken(product.getId()) || !ids.add(product.getId())) {
+        chunk.reject(chunk.productLines[i], "Duplicate ID " + product.getId() + ".");
+      } else if (missing != 0) {
+        chunk.reject(chunk.productLines[i], "No part " + missing + ".");
+      } else {
+        products.add(product);
+        result.highestId = Math.max(result.highestId, product.getId());
+      }
+    }
+    if (!products.isEmpty()) {
+      Inventory.addProducts(products);
+    }
+    result.parts += parts.size();
+    result.products += products.size();
+    result.rejected += chunk.rejected;
+    for (String error : chunk.errors) {
+      if (result.errors.size() < MAX_ERRORS) {
+        result.errors.add(error);
+      }
+    }
+  }
+
+  private static boolean isTaken(int id) {
+    return Inventory.lookupPart(id) != null || Inventory.lookupProduct(id) != null;
+  }
+
+  /** @return the first part of the product that is not in the inventory, or 0 if there is none.*/
+  private static int missingPart(Product product) {
+    for (int partId : product.getAssociatedPartIds()) {
+      if (Inventory.lookupPart(partId) == null) {
+        return partId;
+      }
+    }
+    return 0;
+  }
+
+  /** Parses and validates the rows of a chunk.*/
+  private static Chunk parse(String text, long firstLine) {
+    Chunk chunk = new Chunk();
+    String[] fields = new String[FIELDS];
+    int position = 0;
+    long line = firstLine;
+    while (position < text.length()) {
+      long rowLine = line;
+      int fieldCount = 0;
+      StringBuilder field = new StringBuilder();
+      boolean quoted = false;
+      boolean endOfRow = false;
+      while (position < text.length() && !endOfRow) {
+        char c = text.charAt(position++);
+        if (quoted) {
+          if (c == '"') {
+            if (position < text.length() && text.charAt(position) == '"') {
+              field.append('"');
+              position++;
+            } else {
+              quoted = false;
+            }
+          } else {
+            if (c == '\n') {
+              line++;
+            }
+            field.append(c);
+          }
+        } else if (c == '"') {
+          quoted = true;
+        } else if (c == ',' || c == '\n') {
+          if (fieldCount < FIELDS) {
+            fields[fieldCount] = field.toString();
+          }
+          fieldCount++;
+          field.setLength(0);
+          if (c == '\n') {
+            line++;
+            endOfRow = true;
+          }
+        } else if (c != '\r') {
+          field.append(c);
+        }
+      }
+      if (!endOfRow) {
+        if (fieldCount < FIELDS) {
+          fields[fieldCount] = field.toString();
+        }
+        fieldCount++;
+      }
+      if (fieldCount == 1 && fields[0].trim().isEmpty()) {
+        continue;
+      }
+      if (rowLine == 1 && fields[0].trim().equalsIgnoreCase("type")) {
+        continue;
+      }
+      String error = fieldCount < FIELDS - 1 || fieldCount > FIELDS
+          ? "Expected " + FIELDS + " fields, found " + fieldCount + "."
+          : parseRow(fields, fieldCount, rowLine, chunk);
+      if (error != null) {
+        chunk.reject(rowLine, error);
+      }
+    }
+    return chunk;
+  }
+
+  /** Turns one row into a part or product and adds it to the chunk.
+   * @return null if the row was valid, otherwise the reason it was rejected.*/
+  private static String parseRow(String[] fields, int fieldCount, long line, Chunk chunk) {
+    String type = fields[0].trim().toLowerCase(Locale.ROOT);
+    String extra = fieldCount >= FIELDS ? fields[7].trim() : "";
+    int id;
+    double price;
+    int stock;
+    int min;
+    int max;
+    String name = fields[2].trim();
+    String error = ItemValidator.checkName(name);
+    if (error != null) {
+      return error;
+    }
+    try {
+      id = Integer.parseInt(fields[1].trim());
+    } catch (NumberFormatException e) {
+      return "ID must be a whole number.";
+    }
+    try {
+      price = Double.parseDouble(fields[3].trim());
+    } catch (NumberFormatException e) {
+      return "Not a valid price.";
+    }
+    try {
+      stock = Integer.parseInt(fields[4].trim());
+    } catch (NumberFormatException e) {
+      return "Inventory must be a whole number.";
+    }
+    try {
+      min = Integer.parseInt(fields[5].trim());
+    } catch (NumberFormatException e) {
+      return "Min must be a whole number.";
+    }
+    try {
+      max = Integer.parseInt(fields[6].trim());
+    } catch (NumberFormatException e) {
+      return "Max must be a whole number.";
+    }
+    error = ItemValidator.checkLevels(price, stock, min, max);
+    if (error != null) {
+      return error;
+    }
+    switch (type) {
+      case "inhouse": {
+        int machineId;
+        try {
+          machineId = Integer.parseInt(extra);
+        } catch (NumberFormatException e) {
+          return "Machine ID must be a whole number.";
+        }
+        chunk.addPart(new InHouse(id, name, price, stock, min, max, machineId), line);
+        return null;
+      }
+      case "outsourced": {
+        error = ItemValidator.checkCompanyName(extra);
+        if (error != null) {
+          return error;
+        }
+        chunk.addPart(new Outsourced(id, name, price, stock, min, max, extra), line);
+        return null;
+      }
+      case "product": {
+        Product product = new Product(id, name, price, stock, min, max);
+        if (!extra.isEmpty()) {
+          for (String partId : extra.split("\\s+")) {
+            try {
+              product.addAssociatedPartId(Integer.parseInt(partId));
+            } catch (NumberFormatException e) {
+              return "Part IDs must be whole numbers.";
+            }
+          }
+        }
+        chunk.addProduct(product, line);
+        return null;
+      }
+      default:
+        return "Unknown type " + fields[0].trim() + ".";
+    }
+  }
+
+  /** The parsed rows of a chunk, with the line each item was read from.*/
+  private static final class Chunk {
+    private final List<Part> parts = new ArrayList<>();
+    private final List<Product> products = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+    private long[] partLines = new long[16];
+    private long[] productLines = new long[16];
+    private int rejected;
+
+    private void addPart(Part part, long line) {
+      if (parts.size() == partLines.length) {
+        partLines = Arrays.copyOf(partLines, partLines.length * 2);
+      }
+      partLines[parts.size()] = line;
+      parts.add(part);
+    }
+
+    private void addProduct(Product product, long line) {
+      if (products.size() == productLines.length) {
+        productLines = Arrays.copyOf(productLines, productLines.length * 2);
+      }
+      productLines[products.size()] = line;
+      products.add(product);
+    }
+
+    private void reject(long line, String error) {
+      rejected++;
+      if (errors.size() < MAX_ERRORS) {
+        errors.add("Line " + line + ": " + error);
+      }
+    }
+  }
+
+  /** Cuts the input into chunks of whole rows, keeping quoted line breaks inside their row.*/
+  private static final class RowSplitter {
+    private final Reader in;
+    private final char[] buffer = new char[1 << 16];
+    private final StringBuilder chunk = new StringBuilder();
+    private int length;
+    private int position;
+    private boolean quoted;
+    private long line = 1;
+    private long chunkFirstLine;
+
+    private RowSplitter(Reader in) {
+      this.in = in;
+    }
+
+    /** @return the text of the next chunk of rows, or null at the end of the input.*/
+    private String nextChunk() throws IOException {
+      chunk.setLength(0);
+      chunkFirstLine = line;
+      int rows = 0;
+      while (rows < CHUNK_ROWS) {
+        if (position == length) {
+          length = in.read(buffer);
+          position = 0;
+          if (length < 0) {
+            length = 0;
+            break;
+          }
+        }
+        int start = position;
+        while (position < length && rows < CHUNK_ROWS) {
+          char c = buffer[position++];
+          if (c == '"') {
+            quoted = !quoted;
+          } else if (c == '\n') {
+            line++;
+            if (!quoted) {
+              rows++;
+            }
+          }
+        }
+        chunk.append(buffer, start, position - start);
+      }
+      return chunk.length() == 0 ? null : chunk.toString();
+    }
+  }
+}
@@ -0,0 +1,540 @@
+package com.griswold.inventoryManagementSystem.storage;
+
+import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.InventoryListener;
+import com.griswold.inventoryManagementSystem.items.Part;
+import com.griswold.inventoryManagementSystem.items.Product;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/** Makes the {@link Inventory} durable across restarts.
+ * <p>
+ * Every change to the inventory is appended to a write-ahead log. Records are encoded on the thread that
+ * made the change and handed to a background writer thread, which writes everything that has queued up
+ * and then forces it to disk once, so that a burst of changes costs a single fsync. Every
+ * {@value #SNAPSHOT_INTERVAL} records, and when the store is closed, the whole inventory is written to a
+ * {@link ColumnarSnapshot} file and the log is started over.
+ * <p>
+ * Each snapshot carries a generation number and the log is stamped with the generation of the snapshot it
+ * continues. Recovery loads the latest snapshot and replays the log only if its generation matches, so a
+ * crash part way through taking a snapshot never applies a record twice. A torn record at the end of the
+ * log is discarded.
+ * <p>
+ * If a record cannot be encoded or written, the failure is logged at once and the store stops saving changes.
+ * Changes are still made in memory and still reach the inventory's other listeners, since a listener that threw
+ * would keep the ones after it from hearing of the change, but {@link #sync()} and {@link #close()} throw the
+ * failure, so no change is silently left off the disk.*/
+public class InventoryStore implements InventoryListener, AutoCloseable {
+  private static final Logger LOGGER = Logger.getLogger(InventoryStore.class.getName());
+
+  private static final String SNAPSHOT_FILE = "inventory.snapshot";
+  private static final String SNAPSHOT_TEMP_FILE = "inventory.snapshot.tmp";
+  private static final String LOG_FILE = "inventory.log";
+  private static final int LOG_MAGIC = 0x494D534C;
+  private static final int FORMAT_VERSION = 2;
+  private static final int LOG_HEADER_LENGTH = 16;
+  private static final int SNAPSHOT_INTERVAL = 50_000;
+  private static final int MAX_RECORD_LENGTH = 1 << 24;
+
+  private static final byte PART_ADDED = 1;
+  private static final byte PART_UPDATED = 2;
+  private static final byte PART_DELETED = 3;
+  private static final byte PRODUCT_ADDED = 4;
+  private static final byte PRODUCT_UPDATED = 5;
+  private static final byte PRODUCT_DELETED = 6;
+
+  private static final Task STOP = () -> false;
+  private static final Task SNAPSHOT = () -> false;
+
+  private final Path directory;
+  private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+  private final Thread writer;
+  private final CRC32 crc = new CRC32();
+  private final AtomicLong recordsAppended = new AtomicLong();
+  private FileChannel logChannel;
+  private DataOutputStream logOut;
+  private long generation;
+  private int highestId;
+  private Part[] capturedParts;
+  private Product[] capturedProducts;
+  private volatile IOException failure;
+
+  private InventoryStore(Path directory) {
+    this.directory = directory;
+    writer = new Thread(this::writeLoop, "inventory-store-writer");
+    writer.setDaemon(true);
+  }
+
+  /** Opens the store in the provided directory, loads its contents into the Inventory and starts
+   * recording every subsequent change.
+   * @param directory the directory holding the snapshot and log. It is created if it does not exist.
+   * @return the opened store.*/
+  public static InventoryStore open(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    InventoryStore store = new InventoryStore(directory);
+    store.recover();
+    Inventory.addListener(store);
+    store.writer.start();
+    return store;
+  }
+
+  /** @return the highest part or product ID that was restored from disk.*/
+  public int getHighestId() {
+    return highestId;
+  }
+
+  /** Takes a final snapshot, waits for all pending records to reach the disk and stops recording changes.
+   * @throws IOException if any record could not be written.*/
+  @Override
+  public void close() throws IOException {
+    Inventory.removeListener(this);
+    queue.add(SNAPSHOT);
+    queue.add(STOP);
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /** Waits until every change reported to the store so far has been forced to disk.
+   * @throws IOException if any record could not be written, at once if a write has already failed.*/
+  public void sync() throws IOException {
+    if (failure != null) {
+      throw failure;
+    }
+    Barrier barrier = new Barrier();
+    queue.add(barrier);
+    try {
+      while (!barrier.reached.await(100, TimeUnit.MILLISECONDS)) {
+        if (!writer.isAlive()) {
+          throw new IllegalStateException("The inventory store is closed");
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for the inventory store", e);
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public void partAdded(Part part) {
+    append(PART_ADDED, out -> ItemCodec.writePart(out, part));
+  }
+
+  @Override
+  public void partUpdated(Part oldPart, Part newPart) {
+    append(PART_UPDATED, out -> {
+      out.writeInt(oldPart.getId());
+      ItemCodec.writePart(out, newPart);
+    });
+  }
+
+  @Override
+  public void partStockChanged(Part oldPart, Part newPart) {
+    partUpdated(oldPart, newPart);
+  }
+
+  @Override
+  public void partDeleted(Part part) {
+    append(PART_DELETED, out -> out.writeInt(part.getId()));
+  }
+
+  @Override
+  public void productAdded(Product product) {
+    append(PRODUCT_ADDED, out -> ItemCodec.writeProduct(out, product));
+  }
+
+  @Override
+  public void productUpdated(Product oldProduct, Product newProduct) {
+    append(PRODUCT_UPDATED, out -> {
+      out.writeInt(oldProduct.getId());
+      ItemCodec.writeProduct(out, newProduct);
+    });
+  }
+
+  @Override
+  public void productStockChanged(Product oldProduct, Product newProduct) {
+    productUpdated(oldProduct, newProduct);
+  }
+
+  @Override
+  public void productDeleted(Product product) {
+    append(PRODUCT_DELETED, out -> out.writeInt(product.getId()));
+  }
+
+  /** Encodes a log record on the calling thread and queues it for the writer. Part and product changes are
+   * reported on their own threads, so this may be called by two threads at once. Once the store has failed,
+   * records are dropped, and a record that cannot be encoded fails the store rather than the change.*/
+  private void append(byte type, Encoder encoder) {
+    if (failure != null) {
+      return;
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    DataOutputStream out = new DataOutputStream(bytes);
+    try {
+      out.writeByte(type);
+      encoder.encode(out);
+    } catch (IOException | RuntimeException e) {
+      fail(new IOException("Could not encode a log record of type " + type, e));
+      return;
+    }
+    byte[] record = bytes.toByteArray();
+    queue.add(() -> {
+      writeRecord(record);
+      return true;
+    });
+    if (recordsAppended.incrementAndGet() % SNAPSHOT_INTERVAL == 0) {
+      queue.add(SNAPSHOT);
+    }
+  }
+
+  /** Body of the writer thread. Drains the queue in batches and forces each batch to disk once.
+   * <p>
+   * A snapshot is captured when the writer reaches the request for it, through {@link Inventory#capture}, which
+   * holds off changes while it runs. The records queued by then are moved into the current batch and go to the
+   * old log, since the snapshot already holds their changes; everything queued later goes to the new log.*/
+  private void writeLoop() {
+    List<Task> batch = new ArrayList<>();
+    List<Barrier> barriers = new ArrayList<>();
+    boolean running = true;
+    while (running) {
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        break;
+      }
+      queue.drainTo(batch);
+      boolean dirty = false;
+      for (int i = 0; i < batch.size(); i++) {
+        Task task = batch.get(i);
+        if (task == STOP) {
+          running = false;
+        } else if (task instanceof Barrier) {
+          barriers.add((Barrier) task);
+        } else if (task == SNAPSHOT) {
+          if (capturedParts == null) {
+            Inventory.capture((parts, products) -> {
+              capturedParts = parts.toArray(new Part[0]);
+              capturedProducts = products.toArray(new Product[0]);
+              queue.drainTo(batch);
+            });
+          }
+        } else if (failure == null) {
+          try {
+            dirty |= task.run();
+          } catch (IOException e) {
+            fail(e);
+          }
+        }
+      }
+      batch.clear();
+      if (dirty && failure == null) {
+        try {
+          logOut.flush();
+          logChannel.force(false);
+        } catch (IOException e) {
+          fail(e);
+        }
+      }
+      if (capturedParts != null) {
+        if (failure == null) {
+          try {
+            writeSnapshot(capturedParts, capturedProducts);
+          } catch (IOException e) {
+            fail(e);
+          }
+        }
+        capturedParts = null;
+        capturedProducts = null;
+      }
+      for (Barrier barrier : barriers) {
+        barrier.reached.countDown();
+      }
+      barriers.clear();
+    }
+    try {
+      logOut.close();
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  /** Records the first failure and logs it, as the changes made from now on will not be saved. Called by the
+   * writer and by the threads that change the inventory.*/
+  private synchronized void fail(IOException e) {
+    if (failure == null) {
+      LOGGER.log(Level.SEVERE, "Inventory changes are no longer being saved to " + directory, e);
+      failure = e;
+    }
+  }
+
+  private void writeRecord(byte[] record) throws IOException {
+    crc.reset();
+    crc.update(record, 0, record.length);
+    logOut.writeInt(record.length);
+    logOut.writeInt((int) crc.getValue());
+    logOut.write(record);
+  }
+
+  /** Writes a new snapshot next to the old one, swaps it in and starts a fresh log for the new generation.*/
+  private void writeSnapshot(Part[] parts, Product[] products) throws IOException {
+    logOut.flush();
+    long nextGeneration = generation + 1;
+    Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+    ColumnarSnapshot.write(temp, nextGeneration, parts, products);
+    Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    syncDirectory();
+    generation = nextGeneration;
+    logOut.close();
+    openLog(true);
+  }
+
+  /** Forces the directory's entries to disk, so that a snapshot moved into place stays there after a crash
+   * before the log of its generation replaces the old one. Directories cannot be opened on some platforms, such
+   * as Windows, whose file systems keep their entries safe without it.*/
+  private void syncDirectory() throws IOException {
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(directory, StandardOpenOption.READ);
+    } catch (IOException e) {
+      return;
+    }
+    try (channel) {
+      channel.force(true);
+    }
+  }
+
+  /** Opens the log for appending. A new log is stamped with the current generation.*/
+  private void openLog(boolean truncate) throws IOException {
+    logChannel = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE);
+    if (truncate) {
+      logChannel.truncate(0);
+    }
+    logChannel.position(logChannel.size());
+    logOut = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(logChannel), 1 << 16));
+    if (truncate) {
+      logOut.writeInt(LOG_MAGIC);
+      logOut.writeInt(FORMAT_VERSION);
+      logOut.writeLong(generation);
+      logOut.flush();
+      logChannel.force(true);
+    }
+  }
+
+  /** Loads the latest snapshot, replays the log on top of it and adds the result to the Inventory.*/
+  private void recover() throws IOException {
+    OrderedItems<Part> parts = new OrderedItems<>();
+    OrderedItems<Product> products = new OrderedItems<>();
+
+    Path snapshot = directory.resolve(SNAPSHOT_FILE);
+    if (Files.exists(snapshot)) {
+      ColumnarSnapshot columns = ColumnarSnapshot.open(snapshot);
+      generation = columns.getGeneration();
+      for (int row = 0; row < columns.getPartCount(); row++) {
+        Part part = columns.getPart(row);
+        parts.add(part.getId(), part);
+      }
+      for (int row = 0; row < columns.getProductCount(); row++) {
+        Product product = columns.getProduct(row);
+        products.add(product.getId(), product);
+      }
+    }
+
+    long validLength = replayLog(parts, products);
+    if (validLength < 0) {
+      openLog(true);
+      syncDirectory();
+    } else {
+      try (FileChannel channel = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.WRITE)) {
+        channel.truncate(validLength);
+      }
+      openLog(false);
+    }
+
+    List<Part> recoveredParts = parts.values();
+    List<Product> recoveredProducts = products.values();
+    for (Part part : recoveredParts) {
+      highestId = Math.max(highestId, part.getId());
+    }
+    for (Product product : recoveredProducts) {
+      highestId = Math.max(highestId, product.getId());
+    }
+    Inventory.addParts(recoveredParts);
+    Inventory.addProducts(recoveredProducts);
+  }
+
+  /** Applies every intact record of the current generation's log.
+   * @return the length of the intact part of the log. Returns -1 if there is no usable log.*/
+  private long replayLog(OrderedItems<Part> parts, OrderedItems<Product> products) throws IOException {
+    Path log = directory.resolve(LOG_FILE);
+    if (!Files.exists(log)) {
+      return -1;
+    }
+    try (InputStream stream = new BufferedInputStream(Files.newInputStream(log), 1 << 16)) {
+      DataInputStream in = new DataInputStream(stream);
+      try {
+        if (in.readInt() != LOG_MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != generation) {
+          return -1;
+        }
+      } catch (EOFException e) {
+        return -1;
+      }
+      long validLength = LOG_HEADER_LENGTH;
+      while (true) {
+        byte[] record;
+        try {
+          int length = in.readInt();
+          int checksum = in.readInt();
+          if (length <= 0 || length > MAX_RECORD_LENGTH) {
+            return validLength;
+          }
+          record = in.readNBytes(length);
+          crc.reset();
+          crc.update(record, 0, record.length);
+          if (record.length != length || (int) crc.getValue() != checksum) {
+            return validLength;
+          }
+        } catch (EOFException e) {
+          return validLength;
+        }
+        applyRecord(new DataInputStream(new ByteArrayInputStream(record)), parts, products);
+        validLength += 8 + record.length;
+      }
+    }
+  }
+
+  private static void applyRecord(DataInputStream in, OrderedItems<Part> parts, OrderedItems<Product> products)
+      throws IOException {
+    byte type = in.readByte();
+    switch (type) {
+      case PART_ADDED: {
+        Part part = ItemCodec.readPart(in);
+        parts.add(part.getId(), part);
+        break;
+      }
+      case PART_UPDATED: {
+        int oldId = in.readInt();
+        Part part = ItemCodec.readPart(in);
+        parts.update(oldId, part.getId(), part);
+        break;
+      }
+      case PART_DELETED:
+        parts.delete(in.readInt());
+        break;
+      case PRODUCT_ADDED: {
+        Product product = ItemCodec.readProduct(in);
+        products.add(product.getId(), product);
+        break;
+      }
+      case PRODUCT_UPDATED: {
+        int oldId = in.readInt();
+        Product product = ItemCodec.readProduct(in);
+        products.update(oldId, product.getId(), product);
+        break;
+      }
+      case PRODUCT_DELETED:
+        products.delete(in.readInt());
+        break;
+      default:
+        throw new IOException("Unknown log record type " + type);
+    }
+  }
+
+  /** A unit of work for the writer thread.*/
+  private interface Task {
+    /** @return true if the task appended to the log and the log must be forced to disk.*/
+    boolean run() throws IOException;
+  }
+
+  /** Marks a point in the queue, reached once everything queued before it has been forced to disk.*/
+  private static final class Barrier implements Task {
+    final CountDownLatch reached = new CountDownLatch(1);
+
+    @Override
+    public boolean run() {
+      return false;
+    }
+  }
+
+  /** Writes the body of a log record.*/
+  private interface Encoder {
+    void encode(DataOutputStream out) throws IOException;
+  }
+
+  /** Items being recovered, kept in inventory order. Deleted items leave a gap so that positions stay valid.*/
+  private static final class OrderedItems<T> {
+    private final List<T> items = new ArrayList<>();
+    private final Map<Integer, Integer> positions = new HashMap<>();
+
+    void add(int id, T item) {
+      Integer position = positions.get(id);
+      if (position != null) {
+        items.set(position, item);
+      } else {
+        positions.put(id, items.size());
+        items.add(item);
+      }
+    }
+
+    void update(int oldId, int newId, T item) {
+      Integer position = positions.remove(oldId);
+      if (position == null) {
+        add(newId, item);
+      } else {
+        items.set(position, item);
+        positions.put(newId, position);
+      }
+    }
+
+    void delete(int id) {
+      Integer position = positions.remove(id);
+      if (position != null) {
+        items.set(position, null);
+      }
+    }
+
+    List<T> values() {
+      List<T> values = new ArrayList<>(positions.size());
+      for (T item : items) {
+        if (item != null) {
+          values.add(item);
+        }
+      }
+      return values;
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.griswold.inventoryManagementSystem.storage;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Outsourced;
+import com.griswold.inventoryManagementSystem.items.Part;
+import com.griswold.inventoryManagementSystem.items.Product;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/** Reads and writes the binary form of parts and products shared by the log and the snapshot.*/
+final class ItemCodec {
+
+  private static final byte IN_HOUSE = 0;
+  private static final byte OUTSOURCED = 1;
+
+  private ItemCodec() {
+
+  }
+
+  /** @param out the stream to write to.
+   * @param part the Part to write.*/
+  static void writePart(DataOutput out, Part part) throws IOException {
+    if (part instanceof Outsourced) {
+      out.writeByte(OUTSOURCED);
+    } else {
+      out.writeByte(IN_HOUSE);
+    }
+    out.writeInt(part.getId());
+    out.writeUTF(part.getName());
+    out.writeDouble(part.getPrice());
+    out.writeInt(part.getStock());
+    out.writeInt(part.getMin());
+    out.writeInt(part.getMax());
+    if (part instanceof Outsourced) {
+      out.writeUTF(((Outsourced) part).getCompanyName());
+    } else {
+      out.writeInt(((InHouse) part).getMachineId());
+    }
+  }
+
+  /** @param in the stream to read from.
+   * @return the Part that was read.*/
+  static Part readPart(DataInput in) throws IOException {
+    byte kind = in.readByte();
+    int id = in.readInt();
+    String name = in.readUTF();
+    double price = in.readDouble();
+    int stock = in.readInt();
+    int min = in.readInt();
+    int max = in.readInt();
+    if (kind == OUTSOURCED) {
+      return new Outsourced(id, name, price, stock, min, max, in.readUTF());
+    } else if (kind == IN_HOUSE) {
+      return new InHouse(id, name, price, stock, min, max, in.readInt());
+    }
+    throw new IOException("Unknown part kind " + kind);
+  }
+
+  /** @param out the stream to write to.
+   * @param product the Product to write, including the IDs of its associated parts.*/
+  static void writeProduct(DataOutput out, Product product) throws IOException {
+    out.writeInt(product.getId());
+    out.writeUTF(product.getName());
+    out.writeDouble(product.getPrice());
+    out.writeInt(product.getStock());
+    out.writeInt(product.getMin());
+    out.writeInt(product.getMax());
+    int[] partIds = product.getAssociatedPartIds();
+    out.writeInt(partIds.length);
+    for (int partId : partIds) {
+      out.writeInt(partId);
+    }
+  }
+
+  /** @param in the stream to read from.
+   * @return the Product that was read, including the IDs of its associated parts.*/
+  static Product readProduct(DataInput in) throws IOException {
+    Product product = new Product(in.readInt(), in.readUTF(), in.readDouble(), in.readInt(), in.readInt(),
+        in.readInt());
+    int partCount = in.readInt();
+    for (int i = 0; i < partCount; i++) {
+      product.addAssociatedPartId(in.readInt());
+    }
+    return product;
+  }
+}
@@ -0,0 +1,3 @@
+/** Contains all resources pertaining to saving and restoring the inventory.*/
+
+package com.griswold.inventoryManagementSystem.storage;
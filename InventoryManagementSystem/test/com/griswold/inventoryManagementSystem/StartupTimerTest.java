@@ -0,0 +1,54 @@
+package com.griswold.inventoryManagementSystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Marks phases against a fake clock and checks the recorded times, their order and the summary, without
+ * starting the JavaFX toolkit.*/
+class StartupTimerTest {
+
+    private long now;
+    private final StartupTimer timer = new StartupTimer(() -> now);
+
+    @Test
+    void phasesAreRecordedInTheOrderTheyFinish() {
+        now = 120;
+        timer.mark("toolkit");
+        now = 480;
+        timer.mark("inventory");
+        now = 505;
+        timer.mark("first-frame");
+
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("toolkit", 120L);
+        expected.put("inventory", 480L);
+        expected.put("first-frame", 505L);
+        assertEquals(expected, timer.getMarks());
+        assertEquals(480, timer.getMillis("inventory"));
+        assertEquals(-1, timer.getMillis("prewarm"));
+        assertEquals("Startup: toolkit 120 ms (+120) inventory 480 ms (+360) first-frame 505 ms (+25)",
+            timer.summary());
+    }
+
+    @Test
+    void markingAPhaseAgainMovesItToTheEnd() {
+        now = 100;
+        timer.mark("first-frame");
+        now = 150;
+        timer.mark("prewarm");
+        now = 170;
+        timer.mark("first-frame");
+
+        assertEquals(170, timer.getMillis("first-frame"));
+        assertEquals("Startup: prewarm 150 ms (+150) first-frame 170 ms (+20)", timer.summary());
+    }
+
+    @Test
+    void noPhasesGiveAnEmptySummary() {
+        assertEquals("Startup:", timer.summary());
+        assertEquals(Map.of(), timer.getMarks());
+    }
+}
@@ -0,0 +1,205 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Changes prices, associations, parts and products at random, through the inventory's methods and through the
+ * setters of held items, and checks every product's cost and flag against a full recompute from the inventory
+ * after each change. One rollup follows from the start and another is attached part way through, so that both
+ * the incremental path and the initial contents are checked.*/
+class BomCostRollupTest {
+
+  /** How far an incrementally kept cost may drift from a fresh sum of its parts.*/
+  private static final double DRIFT = 1e-6;
+  private static final int PART_IDS = 60;
+  private static final int FIRST_PRODUCT_ID = 1001;
+  private static final int PRODUCT_IDS = 30;
+
+  private final List<BomCostRollup> rollups = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    TestInventory.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    for (BomCostRollup rollup : rollups) {
+      rollup.detach();
+    }
+    TestInventory.clear();
+  }
+
+  @Test
+  void incrementalCostsMatchAFullRecomputeUnderRandomChanges() {
+    Random random = new Random(29);
+    rollups.add(BomCostRollup.attach());
+    for (int step = 0; step < 5000; step++) {
+      if (step == 2500) {
+        rollups.add(BomCostRollup.attach());
+      }
+      change(random);
+      for (BomCostRollup rollup : rollups) {
+        check(rollup, step);
+      }
+    }
+  }
+
+  @Test
+  void missingPartsCountForNothingUntilAdded() {
+    rollups.add(BomCostRollup.attach());
+    Product kit = new Product(FIRST_PRODUCT_ID, "Kit", 10, 5, 0, 10);
+    kit.addAssociatedPartId(1);
+    kit.addAssociatedPartId(1);
+    kit.addAssociatedPartId(2);
+    Inventory.addProduct(kit);
+    BomCostRollup rollup = rollups.get(0);
+    assertEquals(0, rollup.getBomCost(FIRST_PRODUCT_ID), DRIFT);
+
+    Inventory.addPart(new InHouse(1, "Gear", 4, 5, 0, 10, 1));
+    assertEquals(8, rollup.getBomCost(FIRST_PRODUCT_ID), DRIFT);
+    Inventory.addPart(new InHouse(2, "Spring", 3, 5, 0, 10, 1));
+    assertArrayEquals(new int[] {FIRST_PRODUCT_ID}, rollup.getUnderpricedProductIds());
+
+    Inventory.lookupPart(2).setPrice(1);
+    assertEquals(9, rollup.getBomCost(FIRST_PRODUCT_ID), DRIFT);
+    assertArrayEquals(new int[0], rollup.getUnderpricedProductIds());
+    Inventory.deletePart(Inventory.lookupPart(1));
+    assertEquals(1, rollup.getBomCost(FIRST_PRODUCT_ID), DRIFT);
+    assertEquals(Double.NaN, rollup.getBomCost(FIRST_PRODUCT_ID + 1));
+  }
+
+  /** Makes one random change to the inventory.*/
+  private static void change(Random random) {
+    List<Part> parts = Inventory.getAllParts();
+    List<Product> products = Inventory.getAllProducts();
+    switch (random.nextInt(10)) {
+      case 0: {
+        int id = 1 + random.nextInt(PART_IDS);
+        if (Inventory.lookupPart(id) == null) {
+          Inventory.addPart(part(id, random));
+        }
+        break;
+      }
+      case 1:
+        if (!parts.isEmpty()) {
+          parts.get(random.nextInt(parts.size())).setPrice(price(random));
+        }
+        break;
+      case 2:
+        if (!parts.isEmpty()) {
+          Inventory.savePart(part(parts.get(random.nextInt(parts.size())).getId(), random));
+        }
+        break;
+      case 3: {
+        int id = 1 + random.nextInt(PART_IDS);
+        if (!parts.isEmpty() && Inventory.lookupPart(id) == null) {
+          Inventory.updatePart(random.nextInt(parts.size()), part(id, random));
+        }
+        break;
+      }
+      case 4:
+        if (random.nextBoolean()) {
+          if (!parts.isEmpty()) {
+            Inventory.deletePart(parts.get(random.nextInt(parts.size())));
+          }
+        } else {
+          int[] ids = new int[random.nextInt(4)];
+          for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1 + random.nextInt(PART_IDS);
+          }
+          Inventory.deleteParts(ids);
+        }
+        break;
+      case 5: {
+        List<Part> batch = new ArrayList<>();
+        for (Part part : parts) {
+          if (random.nextInt(4) == 0) {
+            batch.add(part(part.getId(), random));
+          }
+        }
+        Inventory.updateParts(batch);
+        break;
+      }
+      case 6: {
+        int id = FIRST_PRODUCT_ID + random.nextInt(PRODUCT_IDS);
+        if (Inventory.lookupProduct(id) == null) {
+          Inventory.addProduct(product(id, random));
+        } else {
+          Inventory.saveProduct(product(id, random));
+        }
+        break;
+      }
+      case 7:
+        if (!products.isEmpty()) {
+          Product product = products.get(random.nextInt(products.size()));
+          int partId = 1 + random.nextInt(PART_IDS);
+          if (random.nextBoolean()) {
+            product.addAssociatedPartId(partId);
+          } else {
+            int[] partIds = product.getAssociatedPartIds();
+            product.deleteAssociatedPartId(partIds.length > 0 ? partIds[random.nextInt(partIds.length)] : partId);
+          }
+        }
+        break;
+      case 8:
+        if (!products.isEmpty()) {
+          products.get(random.nextInt(products.size())).setPrice(price(random) * 4);
+        }
+        break;
+      default:
+        if (!products.isEmpty()) {
+          Inventory.deleteProduct(products.get(random.nextInt(products.size())));
+        }
+        break;
+    }
+  }
+
+  /** Compares every product's cost and flag with a sum over its associated parts as the inventory holds them.*/
+  private static void check(BomCostRollup rollup, int step) {
+    List<Integer> underpriced = new ArrayList<>();
+    for (Product product : Inventory.getAllProducts()) {
+      double cost = 0;
+      for (int partId : product.getAssociatedPartIds()) {
+        Part part = Inventory.lookupPart(partId);
+        if (part != null) {
+          cost += part.getPrice();
+        }
+      }
+      assertEquals(cost, rollup.getBomCost(product.getId()), DRIFT, "product " + product.getId() + " at step " + step);
+      if (product.getPrice() < cost - 0.005) {
+        underpriced.add(product.getId());
+      }
+    }
+    int[] expected = underpriced.stream().mapToInt(Integer::intValue).sorted().toArray();
+    assertEquals(Arrays.toString(expected), Arrays.toString(rollup.getUnderpricedProductIds()), "step " + step);
+  }
+
+  private static Part part(int id, Random random) {
+    if (random.nextBoolean()) {
+      return new InHouse(id, "Part " + id, price(random), 5, 0, 10, 1);
+    }
+    return new Outsourced(id, "Part " + id, price(random), 5, 0, 10, "Acme");
+  }
+
+  private static Product product(int id, Random random) {
+    Product product = new Product(id, "Product " + id, price(random) * 4, 5, 0, 10);
+    for (int i = random.nextInt(8); i > 0; i--) {
+      product.addAssociatedPartId(1 + random.nextInt(PART_IDS));
+    }
+    return product;
+  }
+
+  /** @return a price in whole cents, so that products and their costs are seldom within rounding of each other.*/
+  private static double price(Random random) {
+    return random.nextInt(5000) / 100.0;
+  }
+}
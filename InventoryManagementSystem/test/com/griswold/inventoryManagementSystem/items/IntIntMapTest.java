@@ -0,0 +1,41 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Runs random puts and removes against an IntIntMap and a HashMap side by side and checks that they always
+ * agree. Keys are drawn from a small range so that probe chains are long and deletes shift entries back often.*/
+class IntIntMapTest {
+
+  @Test
+  void agreesWithHashMapUnderRandomChanges() {
+    for (int range : new int[] {8, 64, 4096}) {
+      Random random = new Random(range);
+      IntIntMap map = new IntIntMap(random.nextInt(range));
+      Map<Integer, Integer> model = new HashMap<>();
+      for (int step = 0; step < 50_000; step++) {
+        int key = random.nextInt(range) - range / 4;
+        if (random.nextInt(3) == 0) {
+          assertEquals(model.getOrDefault(key, -1), map.remove(key), "remove " + key);
+          model.remove(key);
+        } else {
+          int value = random.nextInt(3) == 0 ? 0 : random.nextInt(Integer.MAX_VALUE - 1);
+          assertEquals(model.getOrDefault(key, -1), map.put(key, value), "put " + key);
+          model.put(key, value);
+        }
+        assertEquals(model.size(), map.size());
+        int probe = random.nextInt(range) - range / 4;
+        assertEquals(model.getOrDefault(probe, -1), map.get(probe), "get " + probe);
+        if (step % 1000 == 0) {
+          for (Map.Entry<Integer, Integer> entry : model.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Runs random puts and removes against an IntMap and a HashMap side by side and checks that they always agree.
+ * Keys are drawn from a small range so that probe chains are long and deletes shift entries back often.*/
+class IntMapTest {
+
+  @Test
+  void agreesWithHashMapUnderRandomChanges() {
+    for (int range : new int[] {8, 64, 4096}) {
+      Random random = new Random(range);
+      IntMap<String> map = new IntMap<>();
+      Map<Integer, String> model = new HashMap<>();
+      for (int step = 0; step < 50_000; step++) {
+        int key = key(random, range);
+        if (random.nextInt(3) == 0) {
+          assertEquals(model.remove(key), map.remove(key), "remove " + key);
+        } else {
+          String value = "v" + step;
+          assertEquals(model.put(key, value), map.put(key, value), "put " + key);
+        }
+        assertEquals(model.size(), map.size());
+        int probe = key(random, range);
+        assertEquals(model.get(probe), map.get(probe), "get " + probe);
+        assertEquals(model.containsKey(probe), map.containsKey(probe));
+        if (step % 1000 == 0) {
+          checkContents(model, map);
+        }
+      }
+      checkContents(model, map);
+    }
+  }
+
+  @Test
+  void clearEmptiesTheMap() {
+    IntMap<String> map = new IntMap<>();
+    for (int key = -50; key < 50; key++) {
+      map.put(key, "v" + key);
+    }
+    map.clear();
+
+    assertEquals(0, map.size());
+    assertNull(map.get(7));
+    map.put(7, "seven");
+    assertEquals("seven", map.get(7));
+    assertEquals(1, map.size());
+  }
+
+  /** @return a key in the range, sometimes negative or at the ends of the int range.*/
+  private static int key(Random random, int range) {
+    switch (random.nextInt(20)) {
+      case 0:
+        return Integer.MIN_VALUE + random.nextInt(2);
+      case 1:
+        return Integer.MAX_VALUE - random.nextInt(2);
+      default:
+        return random.nextInt(range) - range / 4;
+    }
+  }
+
+  private static void checkContents(Map<Integer, String> model, IntMap<String> map) {
+    Map<Integer, String> seen = new HashMap<>();
+    map.forEach((value, key) -> assertNull(seen.put(key, value), "key " + key + " twice"));
+    assertEquals(model, seen);
+    for (Map.Entry<Integer, String> entry : model.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+  }
+}
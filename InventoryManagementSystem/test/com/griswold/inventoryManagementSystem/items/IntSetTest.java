@@ -0,0 +1,62 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/** Runs random adds and removes against an IntSet and a HashSet side by side and checks that they always agree.
+ * Values are drawn from a small range so that probe chains are long and deletes shift entries back often.*/
+class IntSetTest {
+
+  @Test
+  void agreesWithHashSetUnderRandomChanges() {
+    for (int range : new int[] {8, 64, 4096}) {
+      Random random = new Random(range);
+      IntSet set = new IntSet();
+      Set<Integer> model = new HashSet<>();
+      for (int step = 0; step < 50_000; step++) {
+        int value = random.nextInt(range) - range / 4;
+        if (random.nextInt(3) == 0) {
+          assertEquals(model.remove(value), set.remove(value), "remove " + value);
+        } else {
+          assertEquals(model.add(value), set.add(value), "add " + value);
+        }
+        assertEquals(model.size(), set.size());
+        assertEquals(model.isEmpty(), set.isEmpty());
+        int probe = random.nextInt(range) - range / 4;
+        assertEquals(model.contains(probe), set.contains(probe), "contains " + probe);
+        if (step % 1000 == 0) {
+          checkContents(model, set);
+        }
+      }
+      checkContents(model, set);
+    }
+  }
+
+  @Test
+  void clearEmptiesTheSet() {
+    IntSet set = new IntSet();
+    for (int value = 0; value < 100; value++) {
+      set.add(value * 31);
+    }
+    set.clear();
+
+    assertTrue(set.isEmpty());
+    assertEquals(0, set.toArray().length);
+    assertTrue(set.add(31));
+    assertTrue(set.contains(31));
+  }
+
+  private static void checkContents(Set<Integer> model, IntSet set) {
+    Set<Integer> seen = new HashSet<>();
+    for (int value : set.toArray()) {
+      assertTrue(seen.add(value), value + " twice");
+      assertTrue(set.contains(value));
+    }
+    assertEquals(model, seen);
+  }
+}
@@ -0,0 +1,161 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.griswold.inventoryManagementSystem.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Checks that deleting parts keeps the products that use them, and the index of those products, up to date, and
+ * that an ID can only ever belong to one held item.*/
+class InventoryAssociationTest {
+
+  private final List<String> reported = new ArrayList<>();
+  private final InventoryListener listener = new InventoryListener() {
+    @Override
+    public void partAdded(Part part) {
+      reported.add("added " + part.getId());
+    }
+
+    @Override
+    public void productUpdated(Product oldProduct, Product newProduct) {
+      reported.add("updated " + newProduct.getId());
+    }
+
+    @Override
+    public void productsUpdated(List<Product> oldProducts, List<Product> newProducts) {
+      for (Product product : newProducts) {
+        reported.add("batch " + product.getId());
+      }
+    }
+  };
+
+  @BeforeEach
+  void setUp() {
+    TestInventory.clear();
+    Inventory.addParts(Arrays.asList(part(1), part(2), part(3)));
+    Inventory.addProduct(product(10, 1, 2, 1));
+    Inventory.addProduct(product(11, 2, 3));
+    Inventory.addProduct(product(12, 3));
+    Inventory.addListener(listener);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Inventory.removeListener(listener);
+    TestInventory.clear();
+  }
+
+  @Test
+  void deletePartRemovesItFromEveryProductThatUsesIt() {
+    Inventory.deletePart(Inventory.lookupPart(1));
+
+    assertArrayEquals(new int[] {2}, Inventory.lookupProduct(10).getAssociatedPartIds());
+    assertArrayEquals(new int[] {2, 3}, Inventory.lookupProduct(11).getAssociatedPartIds());
+    assertTrue(Inventory.lookupProductsUsingPart(1).isEmpty());
+    assertEquals(Arrays.asList("updated 10"), reported);
+  }
+
+  @Test
+  void deletePartsReportsEachChangedProductOnce() {
+    Inventory.deleteParts(2, 3, 99);
+
+    assertArrayEquals(new int[] {1, 1}, Inventory.lookupProduct(10).getAssociatedPartIds());
+    assertArrayEquals(new int[0], Inventory.lookupProduct(11).getAssociatedPartIds());
+    assertArrayEquals(new int[0], Inventory.lookupProduct(12).getAssociatedPartIds());
+    assertEquals(Arrays.asList(Inventory.lookupProduct(10)), Inventory.lookupProductsUsingPart(1));
+    assertTrue(Inventory.lookupProductsUsingPart(2).isEmpty());
+    assertEquals(3, reported.size());
+    assertTrue(reported.containsAll(Arrays.asList("batch 10", "batch 11", "batch 12")));
+  }
+
+  @Test
+  void productWhosePartsWereAllDeletedCanBeDeleted() {
+    Inventory.deleteParts(3);
+    Product product = Inventory.lookupProduct(12);
+
+    assertTrue(product.getAllAssociatedParts().isEmpty());
+    assertTrue(Inventory.deleteProduct(product));
+  }
+
+  @Test
+  void productUpdatedAfterDeleteIsIndexedByItsRemainingParts() {
+    Inventory.deleteParts(2);
+    Product product = product(11, 3);
+    Inventory.saveProduct(product);
+    Inventory.deleteParts(3);
+
+    assertArrayEquals(new int[0], Inventory.lookupProduct(11).getAssociatedPartIds());
+    assertTrue(Inventory.lookupProductsUsingPart(3).isEmpty());
+  }
+
+  @Test
+  void takenIdsAreRefusedWithoutChangingAnything() {
+    Part held = Inventory.lookupPart(2);
+
+    assertThrows(IllegalArgumentException.class, () -> Inventory.addPart(part(2)));
+    assertThrows(IllegalArgumentException.class, () -> Inventory.addParts(Arrays.asList(part(4), part(1))));
+    assertThrows(IllegalArgumentException.class, () -> Inventory.addParts(Arrays.asList(part(4), part(4))));
+    assertThrows(IllegalArgumentException.class, () -> Inventory.updatePart(0, part(2)));
+    assertThrows(IllegalArgumentException.class, () -> Inventory.addProduct(product(11)));
+    assertThrows(IllegalArgumentException.class,
+        () -> Inventory.addProducts(Arrays.asList(product(13), product(13))));
+    assertThrows(IllegalArgumentException.class, () -> Inventory.updateProduct(0, product(12)));
+
+    assertEquals(3, Inventory.getPartCount());
+    assertEquals(3, Inventory.getProductCount());
+    assertSame(held, Inventory.lookupPart(2));
+    assertEquals(1, Inventory.indexOfPart(2));
+    assertEquals(null, Inventory.lookupPart(4));
+    assertEquals(null, Inventory.lookupProduct(13));
+    assertTrue(reported.isEmpty());
+
+    assertTrue(Inventory.deletePart(held));
+    assertEquals(Arrays.asList(1, 3), ids(Inventory.getAllParts()));
+    assertTrue(Inventory.lookupPart("Part 2").isEmpty());
+  }
+
+  /** Saving a new part is one change: it is reported once and not counted or timed again as an addition.*/
+  @Test
+  void savingANewPartIsOneChange() {
+    long added = Metrics.counter("inventory.parts.added").getCount();
+    long timedAdds = Metrics.getHistograms().get("inventory.addPart").getRecordedCount();
+    for (int id = 100; id < 132; id++) {
+      Inventory.savePart(part(id));
+    }
+
+    assertEquals(32, reported.size());
+    assertEquals("added 100", reported.get(0));
+    assertEquals(added + 32, Metrics.counter("inventory.parts.added").getCount());
+    assertEquals(timedAdds, Metrics.getHistograms().get("inventory.addPart").getRecordedCount());
+  }
+
+  private static List<Integer> ids(List<Part> parts) {
+    List<Integer> ids = new ArrayList<>();
+    for (Part part : parts) {
+      ids.add(part.getId());
+    }
+    return ids;
+  }
+
+  private static Part part(int id) {
+    return new InHouse(id, "Part " + id, 1, 5, 0, 10, id);
+  }
+
+  private static Product product(int id, int... partIds) {
+    Product product = new Product(id, "Product " + id, 10, 5, 0, 10);
+    for (int partId : partIds) {
+      product.addAssociatedPartId(partId);
+    }
+    return product;
+  }
+}
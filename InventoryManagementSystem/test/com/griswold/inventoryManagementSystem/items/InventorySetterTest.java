@@ -0,0 +1,238 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Checks that the setters of held items reindex them and report the change with the values the item had, that
+ * they refuse to run where they could deadlock, and that the setters of other items leave the inventory alone.*/
+class InventorySetterTest {
+
+  private final List<String> reported = new ArrayList<>();
+  private final List<Object> oldItems = new ArrayList<>();
+  private final InventoryListener listener = new InventoryListener() {
+    @Override
+    public void partUpdated(Part oldPart, Part newPart) {
+      reported.add("part " + newPart.getId());
+      oldItems.add(oldPart);
+    }
+
+    @Override
+    public void partStockChanged(Part oldPart, Part newPart) {
+      oldItems.add(oldPart);
+    }
+
+    @Override
+    public void productUpdated(Product oldProduct, Product newProduct) {
+      reported.add("product " + newProduct.getId());
+      oldItems.add(oldProduct);
+    }
+
+    @Override
+    public void productStockChanged(Product oldProduct, Product newProduct) {
+      oldItems.add(oldProduct);
+    }
+  };
+
+  @BeforeEach
+  void setUp() {
+    TestInventory.clear();
+    Inventory.addParts(Arrays.asList(new InHouse(1, "Brass gear", 5, 5, 0, 10, 7),
+        new Outsourced(2, "Steel bolt", 8, 5, 0, 10, "Acme")));
+    Inventory.addProduct(new Product(10, "Gear kit", 20, 5, 0, 10));
+    Inventory.addListener(listener);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Inventory.removeListener(listener);
+    TestInventory.clear();
+  }
+
+  @Test
+  void renamingHeldPartReindexesItsName() {
+    Part part = Inventory.lookupPart(1);
+    assertEquals(Arrays.asList(part), Inventory.lookupPart("gear"));
+
+    part.setName("Brass spring");
+
+    assertTrue(Inventory.lookupPart("gear").isEmpty());
+    assertEquals(Arrays.asList(part), Inventory.lookupPart("spring"));
+    assertEquals(Arrays.asList("part 1"), reported);
+  }
+
+  @Test
+  void repricingHeldItemsReindexesTheirPrice() {
+    Part part = Inventory.lookupPart(1);
+    Product product = Inventory.lookupProduct(10);
+
+    part.setPrice(50);
+    product.setPrice(60);
+
+    assertFalse(Inventory.lookupPartsByPrice(0, 10).contains(part));
+    assertEquals(Arrays.asList(part), Inventory.lookupPartsByPrice(45, 55));
+    assertEquals(Arrays.asList(product), Inventory.lookupProductsByPrice(55, 65));
+    assertEquals(Arrays.asList("part 1", "product 10"), reported);
+  }
+
+  @Test
+  void changingMachineAndCompanyOfHeldPartsIsReported() {
+    ((InHouse) Inventory.lookupPart(1)).setMachineId(8);
+    ((Outsourced) Inventory.lookupPart(2)).setCompanyName("Globex");
+
+    assertTrue(Inventory.lookupPartsBySupplier("Acme").isEmpty());
+    assertEquals(Arrays.asList(Inventory.lookupPart(2)), Inventory.lookupPartsBySupplier("Globex"));
+    assertEquals(Arrays.asList("part 1", "part 2"), reported);
+  }
+
+  @Test
+  void changingAssociatedPartsOfHeldProductReindexesThem() {
+    Product product = Inventory.lookupProduct(10);
+
+    product.addAssociatedPartId(1);
+    assertEquals(Arrays.asList(product), Inventory.lookupProductsUsingPart(1));
+
+    product.deleteAssociatedPartId(1);
+    assertTrue(Inventory.lookupProductsUsingPart(1).isEmpty());
+    assertEquals(Arrays.asList("product 10", "product 10"), reported);
+  }
+
+  @Test
+  void listenersAreGivenTheValuesItemsHadBefore() {
+    Part part = Inventory.lookupPart(1);
+    Product product = Inventory.lookupProduct(10);
+
+    part.setPrice(6);
+    part.setStock(7);
+    ((Outsourced) Inventory.lookupPart(2)).setCompanyName("Globex");
+    product.setName("Spring kit");
+    product.addAssociatedPartId(2);
+    product.setMax(12);
+    Inventory.savePart(new InHouse(1, "Brass spring", 6, 7, 0, 10, 9));
+    Inventory.deletePart(Inventory.lookupPart(2));
+
+    assertEquals(8, oldItems.size());
+    assertEquals(5.0, ((Part) oldItems.get(0)).getPrice());
+    assertEquals(5, ((Part) oldItems.get(1)).getStock());
+    assertEquals(6.0, ((Part) oldItems.get(1)).getPrice());
+    assertEquals("Acme", ((Outsourced) oldItems.get(2)).getCompanyName());
+    assertEquals("Gear kit", ((Product) oldItems.get(3)).getName());
+    assertEquals(0, ((Product) oldItems.get(4)).getAssociatedPartIds().length);
+    assertEquals(10, ((Product) oldItems.get(5)).getMax());
+    assertEquals(7, ((InHouse) oldItems.get(6)).getMachineId());
+    assertArrayEquals(new int[] {2}, ((Product) oldItems.get(7)).getAssociatedPartIds());
+    for (Object old : oldItems) {
+      assertNotSame(old, Inventory.lookupPart(1));
+      assertNotSame(old, product);
+    }
+    assertEquals(12, product.getMax());
+    assertArrayEquals(new int[0], product.getAssociatedPartIds());
+  }
+
+  /** A listener told of a product change holds the product lock, so it must not take the part lock.*/
+  @Test
+  void heldPartCannotBeChangedUnderTheProductLock() {
+    Part part = Inventory.lookupPart(1);
+    List<RuntimeException> refused = new ArrayList<>();
+    InventoryListener changer = new InventoryListener() {
+      @Override
+      public void productUpdated(Product oldProduct, Product newProduct) {
+        try {
+          part.setStock(1);
+        } catch (IllegalStateException e) {
+          refused.add(e);
+        }
+      }
+    };
+    Inventory.addListener(changer);
+    try {
+      Inventory.lookupProduct(10).setPrice(25);
+    } finally {
+      Inventory.removeListener(changer);
+    }
+
+    assertEquals(1, refused.size());
+    assertEquals(5, part.getStock());
+    Inventory.capture((parts, products) ->
+        assertThrows(IllegalStateException.class, () -> parts.get(0).setName("Locked")));
+    assertEquals("Brass gear", part.getName());
+  }
+
+  /** A reader holding the read lock sees every held part's values and indexes agree while setters run.*/
+  @Test
+  void readersNeverSeeAValueBeforeItIsIndexed() throws Exception {
+    Part part = Inventory.lookupPart(1);
+    AtomicBoolean done = new AtomicBoolean();
+    Thread writer = new Thread(() -> {
+      for (int i = 0; i < 20_000; i++) {
+        part.setPrice(i % 2 == 0 ? 100 : 200);
+      }
+      done.set(true);
+    });
+    writer.start();
+    List<String> mismatches = new ArrayList<>();
+    while (!done.get()) {
+      Inventory.capture((parts, products) -> {
+        double price = parts.get(0).getPrice();
+        if (!Inventory.lookupPartsByPrice(price, price).contains(part)) {
+          mismatches.add("price " + price);
+        }
+      });
+    }
+    writer.join();
+
+    assertTrue(mismatches.isEmpty(), mismatches.toString());
+  }
+
+  @Test
+  void settersOfItemsNotHeldAreNotReported() {
+    Part copy = new InHouse(1, "Brass spring", 50, 5, 0, 10, 7);
+    copy.setName("Nylon spring");
+    copy.setPrice(9);
+    copy.setStock(1);
+    Part deleted = Inventory.lookupPart(2);
+    Inventory.deletePart(deleted);
+    reported.clear();
+    deleted.setName("Steel spring");
+    Product product = new Product(10, "Spring kit", 20, 5, 0, 10);
+    product.addAssociatedPartId(1);
+
+    assertTrue(reported.isEmpty());
+    assertTrue(Inventory.lookupPart("spring").isEmpty());
+    assertTrue(Inventory.lookupProductsUsingPart(1).isEmpty());
+  }
+
+  @Test
+  void savedCopyReplacesHeldPartWithoutHoldingTheCopy() {
+    Part copy = new InHouse(1, "Brass spring", 5, 5, 0, 10, 7);
+    Inventory.savePart(copy);
+    reported.clear();
+
+    copy.setName("Nylon spring");
+
+    assertTrue(reported.isEmpty());
+    assertEquals("Brass spring", Inventory.lookupPart(1).getName());
+  }
+
+  @Test
+  void idOfHeldItemCannotBeChanged() {
+    assertThrows(IllegalStateException.class, () -> Inventory.lookupPart(1).setId(3));
+    assertThrows(IllegalStateException.class, () -> Inventory.lookupProduct(10).setId(11));
+
+    Part part = Inventory.lookupPart(1);
+    Inventory.deletePart(part);
+    part.setId(3);
+    assertEquals(3, part.getId());
+  }
+}
@@ -0,0 +1,379 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Changes the inventory from several threads at once and then checks the lists and every index against a model
+ * of what each thread did. Each thread works on its own IDs, so the model of each thread is exact whatever order
+ * the threads ran in.*/
+class InventoryStressTest {
+
+  private static final int THREADS = 8;
+  private static final int OPERATIONS = 20_000;
+  private static final int IDS_PER_THREAD = 400;
+  private static final String[] MATERIALS = {"steel", "brass", "nylon", "copper", "rubber"};
+  private static final String[] SHAPES = {"bolt", "washer", "gear", "spring", "valve", "bracket"};
+  private static final String[] COMPANIES = {"Acme", "Globex", "Initech", "Umbrella"};
+
+  @BeforeEach
+  @AfterEach
+  void clearInventory() {
+    TestInventory.clear();
+  }
+
+  @Test
+  void concurrentWritersLeaveListsAndIndexesMatchingTheModel() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+    AtomicBoolean writing = new AtomicBoolean(true);
+    Future<?> reader = pool.submit(() -> {
+      Random random = new Random(-1);
+      while (writing.get()) {
+        Inventory.lookupPart(random.nextInt(THREADS * IDS_PER_THREAD * 2));
+        Inventory.lookupPart(SHAPES[random.nextInt(SHAPES.length)]);
+        Inventory.lookupPartsByPrice(10, 20);
+        Inventory.lookupProductsUsingPart(random.nextInt(THREADS * IDS_PER_THREAD * 2));
+        Inventory.getParts(0, 50);
+      }
+    });
+    List<Future<Writer>> results = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      results.add(pool.submit(new Writer(t)::run));
+    }
+    Map<Integer, String> parts = new HashMap<>();
+    Map<Integer, String> products = new HashMap<>();
+    for (Future<Writer> result : results) {
+      Writer writer = result.get(2, TimeUnit.MINUTES);
+      parts.putAll(writer.parts);
+      for (Map.Entry<Integer, ProductModel> product : writer.products.entrySet()) {
+        products.put(product.getKey(), product.getValue().describe());
+      }
+    }
+    writing.set(false);
+    reader.get(1, TimeUnit.MINUTES);
+    pool.shutdown();
+
+    checkItems(parts, Inventory.getAllParts(), Part::getId, InventoryStressTest::describe, Inventory::lookupPart,
+        Inventory::indexOfPart);
+    checkItems(products, Inventory.getAllProducts(), Product::getId, InventoryStressTest::describe,
+        Inventory::lookupProduct, Inventory::indexOfProduct);
+    checkNameIndex();
+    checkRangeIndexes();
+    checkSupplierIndex();
+    checkAssociationIndex();
+  }
+
+  /** Checks the list, the ID map and the positions against the model.*/
+  private static <T> void checkItems(Map<Integer, String> model, List<T> all, ToIntFunction<T> id,
+      Function<T, String> describe, Function<Integer, T> lookup, ToIntFunction<Integer> indexOf) {
+    assertEquals(model.size(), all.size());
+    for (int i = 0; i < all.size(); i++) {
+      T item = all.get(i);
+      int itemId = id.applyAsInt(item);
+      assertEquals(model.get(itemId), describe.apply(item), "item " + itemId);
+      assertSame(item, lookup.apply(itemId));
+      assertEquals(i, indexOf.applyAsInt(itemId));
+    }
+  }
+
+  private static void checkNameIndex() {
+    List<String> queries = new ArrayList<>(Arrays.asList(MATERIALS));
+    queries.addAll(Arrays.asList(SHAPES));
+    queries.addAll(Arrays.asList("ee", "ass", "L WA", "r g", "1", "er "));
+    List<Part> parts = Inventory.getAllParts();
+    List<Product> products = Inventory.getAllProducts();
+    for (String query : queries) {
+      String folded = query.toLowerCase();
+      List<Part> expectedParts = new ArrayList<>();
+      for (Part part : parts) {
+        if (part.getName().toLowerCase().contains(folded)) {
+          expectedParts.add(part);
+        }
+      }
+      assertEquals(expectedParts, Inventory.lookupPart(query), query);
+      List<Product> expectedProducts = new ArrayList<>();
+      for (Product product : products) {
+        if (product.getName().toLowerCase().contains(folded)) {
+          expectedProducts.add(product);
+        }
+      }
+      assertEquals(expectedProducts, Inventory.lookupProduct(query), query);
+    }
+  }
+
+  private static void checkRangeIndexes() {
+    Set<Part> partsInPrice = new HashSet<>();
+    Set<Part> partsInStock = new HashSet<>();
+    Set<Part> partsBelowMin = new HashSet<>();
+    Set<Part> partsAboveMax = new HashSet<>();
+    for (Part part : Inventory.getAllParts()) {
+      if (part.getPrice() >= 10 && part.getPrice() <= 40) {
+        partsInPrice.add(part);
+      }
+      if (part.getStock() >= 5 && part.getStock() <= 25) {
+        partsInStock.add(part);
+      }
+      if (part.getStock() < part.getMin()) {
+        partsBelowMin.add(part);
+      }
+      if (part.getStock() > part.getMax()) {
+        partsAboveMax.add(part);
+      }
+    }
+    assertEquals(partsInPrice, new HashSet<>(Inventory.lookupPartsByPrice(10, 40)));
+    assertEquals(partsInStock, new HashSet<>(Inventory.lookupPartsByStock(5, 25)));
+    assertEquals(partsBelowMin, new HashSet<>(Inventory.lookupPartsBelowMin()));
+    assertEquals(partsAboveMax, new HashSet<>(Inventory.lookupPartsAboveMax()));
+
+    Set<Product> productsInPrice = new HashSet<>();
+    Set<Product> productsBelowMin = new HashSet<>();
+    for (Product product : Inventory.getAllProducts()) {
+      if (product.getPrice() >= 10 && product.getPrice() <= 40) {
+        productsInPrice.add(product);
+      }
+      if (product.getStock() < product.getMin()) {
+        productsBelowMin.add(product);
+      }
+    }
+    assertEquals(productsInPrice, new HashSet<>(Inventory.lookupProductsByPrice(10, 40)));
+    assertEquals(productsBelowMin, new HashSet<>(Inventory.lookupProductsBelowMin()));
+  }
+
+  private static void checkSupplierIndex() {
+    for (String company : COMPANIES) {
+      Set<Part> expected = new HashSet<>();
+      for (Part part : Inventory.getAllParts()) {
+        if (part instanceof Outsourced && ((Outsourced) part).getCompanyName().equals(company)) {
+          expected.add(part);
+        }
+      }
+      assertEquals(expected, new HashSet<>(Inventory.lookupPartsBySupplier(company)), company);
+    }
+  }
+
+  private static void checkAssociationIndex() {
+    Map<Integer, Set<Product>> expected = new HashMap<>();
+    for (Product product : Inventory.getAllProducts()) {
+      for (int partId : product.getAssociatedPartIds()) {
+        expected.computeIfAbsent(partId, key -> new HashSet<>()).add(product);
+      }
+    }
+    for (int partId = 0; partId < THREADS * IDS_PER_THREAD * 2; partId++) {
+      assertEquals(expected.getOrDefault(partId, new HashSet<>()),
+          new HashSet<>(Inventory.lookupProductsUsingPart(partId)), "part " + partId);
+    }
+  }
+
+  private static String describe(Part part) {
+    String extra = part instanceof Outsourced ? ((Outsourced) part).getCompanyName()
+        : Integer.toString(((InHouse) part).getMachineId());
+    return part.getClass().getSimpleName() + "|" + part.getName() + "|" + part.getPrice() + "|" + part.getStock()
+        + "|" + part.getMin() + "|" + part.getMax() + "|" + extra;
+  }
+
+  private static String describe(Product product) {
+    return new ProductModel(product).describe();
+  }
+
+  /** Makes random changes to its own parts and products, recording the expected state of each in a model.*/
+  private static final class Writer {
+    private final Random random;
+    private final int firstPartId;
+    private final int firstProductId;
+    private final Map<Integer, String> parts = new HashMap<>();
+    private final Map<Integer, ProductModel> products = new HashMap<>();
+
+    Writer(int thread) {
+      random = new Random(thread);
+      firstPartId = thread * IDS_PER_THREAD * 2;
+      firstProductId = firstPartId + IDS_PER_THREAD;
+    }
+
+    Writer run() {
+      for (int i = 0; i < OPERATIONS; i++) {
+        int partId = firstPartId + random.nextInt(IDS_PER_THREAD);
+        int productId = firstProductId + random.nextInt(IDS_PER_THREAD);
+        Part part = Inventory.lookupPart(partId);
+        Product product = Inventory.lookupProduct(productId);
+        switch (random.nextInt(14)) {
+          case 0:
+          case 1:
+            savePart(Inventory.savePart(newPart(partId)));
+            break;
+          case 2:
+            if (part != null) {
+              part.setStock(random.nextInt(40));
+              savePart(part);
+            }
+            break;
+          case 3:
+            if (part != null) {
+              part.setMin(random.nextInt(20));
+              part.setMax(20 + random.nextInt(20));
+              savePart(part);
+            }
+            break;
+          case 4:
+            if (Inventory.deletePart(newPart(partId))) {
+              partDeleted(partId);
+            }
+            break;
+          case 5:
+            deleteParts();
+            break;
+          case 6:
+            addOrUpdateParts();
+            break;
+          case 7:
+          case 8:
+            saveProduct(Inventory.saveProduct(newProduct(productId)));
+            break;
+          case 9:
+            if (product != null) {
+              product.setStock(random.nextInt(40));
+              saveProduct(product);
+            }
+            break;
+          case 10:
+            if (product != null && Inventory.deleteProduct(product)) {
+              products.remove(productId);
+            }
+            break;
+          case 11:
+            if (part != null) {
+              part.setName(newName(partId));
+              part.setPrice(random.nextInt(50));
+              savePart(part);
+            }
+            break;
+          case 12:
+            if (product != null) {
+              product.setName(SHAPES[random.nextInt(SHAPES.length)] + " set " + productId);
+              product.setPrice(random.nextInt(50));
+              product.addAssociatedPartId(firstPartId + random.nextInt(IDS_PER_THREAD));
+              saveProduct(product);
+            }
+            break;
+          default:
+            deleteProducts();
+            break;
+        }
+      }
+      return this;
+    }
+
+    private void deleteParts() {
+      int[] ids = {firstPartId + random.nextInt(IDS_PER_THREAD), firstPartId + random.nextInt(IDS_PER_THREAD)};
+      int expected = 0;
+      for (int id : new HashSet<>(Arrays.asList(ids[0], ids[1]))) {
+        if (parts.containsKey(id)) {
+          partDeleted(id);
+          expected++;
+        }
+      }
+      assertEquals(expected, Inventory.deleteParts(ids));
+    }
+
+    private void deleteProducts() {
+      int id = firstProductId + random.nextInt(IDS_PER_THREAD);
+      assertEquals(products.remove(id) == null ? 0 : 1, Inventory.deleteProducts(id));
+    }
+
+    /** Replaces a few existing parts in one batch and adds a few new ones in another.*/
+    private void addOrUpdateParts() {
+      List<Part> updates = new ArrayList<>();
+      List<Part> additions = new ArrayList<>();
+      Set<Integer> chosen = new HashSet<>();
+      for (int i = 0; i < 3; i++) {
+        int id = firstPartId + random.nextInt(IDS_PER_THREAD);
+        if (chosen.add(id)) {
+          (parts.containsKey(id) ? updates : additions).add(newPart(id));
+        }
+      }
+      assertEquals(updates.size(), Inventory.updateParts(updates));
+      Inventory.addParts(additions);
+      for (Part part : updates) {
+        savePart(part);
+      }
+      for (Part part : additions) {
+        savePart(part);
+      }
+    }
+
+    private void savePart(Part part) {
+      parts.put(part.getId(), describe(part));
+    }
+
+    private void saveProduct(Product product) {
+      products.put(product.getId(), new ProductModel(product));
+    }
+
+    /** Deleting a part removes it from the products that use it.*/
+    private void partDeleted(int partId) {
+      parts.remove(partId);
+      for (ProductModel product : products.values()) {
+        product.partIds.removeIf(id -> id == partId);
+      }
+    }
+
+    private String newName(int id) {
+      return MATERIALS[random.nextInt(MATERIALS.length)] + " " + SHAPES[random.nextInt(SHAPES.length)] + " " + id;
+    }
+
+    private Part newPart(int id) {
+      String name = newName(id);
+      int stock = random.nextInt(40);
+      if (random.nextBoolean()) {
+        return new InHouse(id, name, random.nextInt(50), stock, random.nextInt(20), 20 + random.nextInt(20),
+            random.nextInt(5));
+      }
+      return new Outsourced(id, name, random.nextInt(50), stock, random.nextInt(20), 20 + random.nextInt(20),
+          COMPANIES[random.nextInt(COMPANIES.length)]);
+    }
+
+    private Product newProduct(int id) {
+      Product product = new Product(id, SHAPES[random.nextInt(SHAPES.length)] + " kit " + id, random.nextInt(50),
+          random.nextInt(40), random.nextInt(20), 20 + random.nextInt(20));
+      for (int i = random.nextInt(4); i > 0; i--) {
+        product.addAssociatedPartId(firstPartId + random.nextInt(IDS_PER_THREAD));
+      }
+      return product;
+    }
+  }
+
+  /** The expected state of a product, whose associated parts change when a part it uses is deleted.*/
+  private static final class ProductModel {
+    private final String fields;
+    private final List<Integer> partIds = new ArrayList<>();
+
+    ProductModel(Product product) {
+      fields = product.getName() + "|" + product.getPrice() + "|" + product.getStock() + "|" + product.getMin() + "|"
+          + product.getMax() + "|";
+      for (int partId : product.getAssociatedPartIds()) {
+        partIds.add(partId);
+      }
+    }
+
+    String describe() {
+      return fields + partIds;
+    }
+  }
+}
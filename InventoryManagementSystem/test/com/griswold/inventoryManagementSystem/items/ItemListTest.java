@@ -0,0 +1,155 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Runs random appends, replacements and removals against an ItemList and an ArrayList side by side and checks
+ * positions, IDs, ranges and iteration after each. The list grows to a random size and then loses three quarters
+ * of its items, over and over, so that it compacts and rebuilds its Fenwick tree at many sizes.*/
+class ItemListTest {
+
+  @Test
+  void agreesWithArrayListUnderRandomChanges() {
+    Random random = new Random(17);
+    ItemList<Item> list = new ItemList<>(item -> item.id);
+    List<Item> model = new ArrayList<>();
+    int nextId = 1;
+    boolean removing = false;
+    int target = 1000;
+    for (int step = 0; step < 20_000; step++) {
+      if (removing ? model.size() <= target / 4 : model.size() >= target) {
+        removing = !removing;
+        if (!removing) {
+          target = 100 + random.nextInt(2000);
+        }
+      }
+      int choice = model.isEmpty() ? 0 : removing ? (random.nextInt(8) == 0 ? 3 : 4) : random.nextInt(5);
+      switch (choice) {
+        case 0: {
+          Item item = new Item(nextId++, step);
+          list.add(item);
+          model.add(item);
+          break;
+        }
+        case 1: {
+          List<Item> added = new ArrayList<>();
+          for (int i = random.nextInt(20); i > 0; i--) {
+            added.add(new Item(nextId++, step));
+          }
+          list.addAll(added);
+          model.addAll(added);
+          break;
+        }
+        case 2: {
+          int index = random.nextInt(model.size());
+          int id = model.get(index).id;
+          Item item = new Item(random.nextBoolean() ? id : nextId++, step);
+          assertSame(model.set(index, item), list.set(index, item));
+          checkGone(list, id, item);
+          break;
+        }
+        case 3: {
+          int index = random.nextInt(model.size());
+          int id = model.get(index).id;
+          Item item = new Item(random.nextBoolean() ? id : nextId++, step);
+          assertSame(model.set(index, item), list.replace(id, item));
+          checkGone(list, id, item);
+          break;
+        }
+        default: {
+          Item item = model.remove(random.nextInt(model.size()));
+          assertSame(item, list.remove(item.id));
+          break;
+        }
+      }
+      check(random, model, list, nextId);
+    }
+  }
+
+  @Test
+  void missingItemsAndPositionsAreReported() {
+    ItemList<Item> list = new ItemList<>(item -> item.id);
+    list.add(new Item(1, 0));
+
+    assertNull(list.remove(2));
+    assertNull(list.replace(2, new Item(3, 0)));
+    assertEquals(-1, list.indexOf(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.set(-1, new Item(4, 0)));
+    assertEquals(List.of(), list.copy(1, 5));
+  }
+
+  @Test
+  void takenIdsAreRefused() {
+    ItemList<Item> list = new ItemList<>(item -> item.id);
+    list.add(new Item(1, 0));
+    list.add(new Item(2, 0));
+
+    assertThrows(IllegalArgumentException.class, () -> list.add(new Item(1, 1)));
+    assertThrows(IllegalArgumentException.class, () -> list.set(1, new Item(1, 1)));
+    assertThrows(IllegalArgumentException.class, () -> list.replace(2, new Item(1, 1)));
+    assertEquals(2, list.size());
+    assertEquals(0, list.indexOf(1));
+    assertEquals(1, list.indexOf(2));
+    assertEquals(0, list.get(0).tag);
+
+    list.replace(2, new Item(2, 1));
+    assertEquals(1, list.get(1).tag);
+    list.remove(1);
+    list.remove(2);
+    assertEquals(0, list.size());
+    assertEquals(List.of(), list.copy());
+  }
+
+  /** Checks that an ID no longer finds anything once its item is replaced by one with another ID.*/
+  private static void checkGone(ItemList<Item> list, int id, Item replacement) {
+    if (replacement.id != id) {
+      assertEquals(-1, list.indexOf(id));
+    }
+  }
+
+  private static void check(Random random, List<Item> model, ItemList<Item> list, int nextId) {
+    assertEquals(model.size(), list.size());
+    if (model.isEmpty()) {
+      return;
+    }
+    for (int i = 0; i < 5; i++) {
+      int index = random.nextInt(model.size());
+      assertSame(model.get(index), list.get(index), "index " + index);
+      assertEquals(index, list.indexOf(model.get(index).id));
+    }
+    assertEquals(-1, list.indexOf(nextId));
+    int from = random.nextInt(model.size());
+    int to = from + random.nextInt(50);
+    assertEquals(model.subList(from, Math.min(to, model.size())), list.copy(from, to));
+    if (random.nextInt(100) == 0) {
+      List<Item> iterated = new ArrayList<>();
+      list.forEach(iterated::add);
+      assertEquals(model, iterated);
+      assertEquals(model, list.copy());
+    }
+  }
+
+  /** An item with an ID and a tag telling copies apart.*/
+  private static final class Item {
+    final int id;
+    final int tag;
+
+    Item(int id, int tag) {
+      this.id = id;
+      this.tag = tag;
+    }
+
+    @Override
+    public String toString() {
+      return id + "#" + tag;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Adds, renames, replaces and removes items in a NameIndex at random and checks every search against a scan of
+ * a plain list of the same items. Names are drawn from a few letters, so that queries often match.*/
+class NameIndexTest {
+
+  private static final String LETTERS = "abAB c";
+
+  @Test
+  void searchesMatchAScanUnderRandomChanges() {
+    Random random = new Random(5);
+    NameIndex<String> index = new NameIndex<>(new SearchCache("test.nameIndex", 0, 0));
+    List<Integer> order = new ArrayList<>();
+    Map<Integer, String> names = new HashMap<>();
+    Map<Integer, String> items = new HashMap<>();
+    int nextId = 1;
+    for (int step = 0; step < 20_000; step++) {
+      int choice = order.isEmpty() ? 0 : random.nextInt(4);
+      String name = name(random);
+      String item = "item " + step;
+      if (choice == 0) {
+        int id = nextId++;
+        index.add(id, name, item);
+        order.add(id);
+        names.put(id, name);
+        items.put(id, item);
+      } else {
+        int position = random.nextInt(order.size());
+        int oldId = order.get(position);
+        if (choice == 1) {
+          index.remove(oldId);
+          order.remove(position);
+          names.remove(oldId);
+          items.remove(oldId);
+          continue;
+        }
+        int newId = choice == 2 ? oldId : nextId++;
+        if (choice == 2 && random.nextBoolean()) {
+          name = names.get(oldId).toUpperCase();
+        }
+        index.replace(oldId, newId, name, item);
+        order.set(position, newId);
+        names.remove(oldId);
+        items.remove(oldId);
+        names.put(newId, name);
+        items.put(newId, item);
+      }
+      String query = name(random).toLowerCase();
+      assertEquals(scan(order, names, items, query), index.search(query), "search \"" + query + "\"");
+      int probe = order.get(random.nextInt(order.size()));
+      assertEquals(names.get(probe).toLowerCase(), index.foldedName(probe));
+    }
+  }
+
+  @Test
+  void shortQueriesAreLeftToTheCaller() {
+    NameIndex<String> index = new NameIndex<>(new SearchCache("test.nameIndex", 0, 0));
+    index.add(1, "Bolt", "bolt");
+
+    assertNull(index.search("bo"));
+    assertEquals(List.of("bolt"), index.search("bol"));
+    assertEquals(List.of(), index.search("nut"));
+    assertNull(index.foldedName(2));
+  }
+
+  private static String name(Random random) {
+    StringBuilder name = new StringBuilder();
+    for (int i = 3 + random.nextInt(5); i > 0; i--) {
+      name.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+    }
+    return name.toString();
+  }
+
+  private static List<String> scan(List<Integer> order, Map<Integer, String> names, Map<Integer, String> items,
+      String query) {
+    List<String> matches = new ArrayList<>();
+    for (int id : order) {
+      if (names.get(id).toLowerCase().contains(query)) {
+        matches.add(items.get(id));
+      }
+    }
+    return matches;
+  }
+}
@@ -0,0 +1,127 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import org.junit.jupiter.api.Test;
+
+/** Adds, re-adds and removes items in a RangeIndex at random and checks every range query and sorted page against a
+ * sorted scan of a map of the same items. Values are drawn from small ranges, so that many items tie and are
+ * ordered by ID.*/
+class RangeIndexTest {
+
+  @Test
+  void rangesMatchAScanUnderRandomChanges() {
+    Random random = new Random(3);
+    RangeIndex<Item> index = new RangeIndex<>(item -> item.name, item -> item.price, item -> item.stock,
+        item -> item.min, item -> item.max);
+    Map<Integer, Item> model = new HashMap<>();
+    for (int step = 0; step < 20_000; step++) {
+      int id = 1 + random.nextInt(300);
+      if (random.nextInt(4) == 0) {
+        index.remove(id);
+        model.remove(id);
+      } else {
+        int min = random.nextInt(10);
+        Item item = new Item(id, "n" + random.nextInt(20), random.nextInt(40) / 4.0, random.nextInt(30), min,
+            min + random.nextInt(20));
+        index.add(id, item);
+        model.put(id, item);
+      }
+      double from = random.nextInt(44) / 4.0 - 0.5;
+      double to = from + random.nextInt(20) / 4.0 - 1;
+      assertEquals(scanPrices(model, from, to), index.byPrice(from, to), "price " + from + ".." + to);
+      int low = random.nextInt(40) - 20;
+      int high = low + random.nextInt(20) - 2;
+      assertEquals(scan(model, item -> item.stock, low, high), index.byStock(low, high));
+      assertEquals(scan(model, item -> item.stock - item.min, low, high), index.byReorderMargin(low, high));
+      assertEquals(scan(model, item -> item.stock - item.max, low, high), index.byOverstockMargin(low, high));
+      SortKey key = SortKey.values()[random.nextInt(SortKey.values().length)];
+      boolean descending = random.nextBoolean();
+      int fromIndex = random.nextInt(model.size() + 2);
+      int toIndex = fromIndex + random.nextInt(30);
+      assertEquals(page(model, key, descending, fromIndex, toIndex),
+          index.sorted(key, descending, fromIndex, toIndex), key + " " + descending + " " + fromIndex + ".." + toIndex);
+    }
+  }
+
+  @Test
+  void rangesReachTheEndsOfTheValues() {
+    RangeIndex<Item> index = new RangeIndex<>(item -> item.name, item -> item.price, item -> item.stock,
+        item -> item.min, item -> item.max);
+    Item cheap = new Item(1, "cheap", 0, Integer.MIN_VALUE, 0, 0);
+    Item dear = new Item(2, "dear", Double.MAX_VALUE, Integer.MAX_VALUE, 0, 0);
+    index.add(1, cheap);
+    index.add(2, dear);
+
+    assertEquals(List.of(cheap, dear), index.byPrice(0, Double.POSITIVE_INFINITY));
+    assertEquals(List.of(cheap, dear), index.byStock(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    assertEquals(List.of(dear), index.byStock(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    assertTrue(index.byPrice(Double.NaN, 1).isEmpty());
+    assertTrue(index.byStock(1, 0).isEmpty());
+  }
+
+  private static List<Item> page(Map<Integer, Item> model, SortKey key, boolean descending, int fromIndex,
+      int toIndex) {
+    Comparator<Item> order = key == SortKey.ID ? Comparator.comparingInt(item -> item.id)
+        : key == SortKey.NAME ? Comparator.<Item, String>comparing(item -> item.name).thenComparingInt(item -> item.id)
+        : key == SortKey.STOCK ? Comparator.<Item>comparingInt(item -> item.stock).thenComparingInt(item -> item.id)
+        : Comparator.<Item>comparingDouble(item -> item.price).thenComparingInt(item -> item.id);
+    List<Item> sorted = new ArrayList<>(model.values());
+    sorted.sort(descending ? order.reversed() : order);
+    return new ArrayList<>(sorted.subList(Math.min(fromIndex, sorted.size()), Math.min(toIndex, sorted.size())));
+  }
+
+  private static List<Item> scanPrices(Map<Integer, Item> model, double from, double to) {
+    List<Item> matches = new ArrayList<>();
+    for (Item item : model.values()) {
+      if (item.price >= from && item.price <= to) {
+        matches.add(item);
+      }
+    }
+    matches.sort(Comparator.<Item>comparingDouble(item -> item.price).thenComparingInt(item -> item.id));
+    return matches;
+  }
+
+  private static List<Item> scan(Map<Integer, Item> model, ToIntFunction<Item> value, int from, int to) {
+    List<Item> matches = new ArrayList<>();
+    for (Item item : model.values()) {
+      if (value.applyAsInt(item) >= from && value.applyAsInt(item) <= to) {
+        matches.add(item);
+      }
+    }
+    matches.sort(Comparator.comparingInt(value).thenComparingInt(item -> item.id));
+    return matches;
+  }
+
+  /** The values the index reads.*/
+  private static final class Item {
+    final int id;
+    final String name;
+    final double price;
+    final int stock;
+    final int min;
+    final int max;
+
+    Item(int id, String name, double price, int stock, int min, int max) {
+      this.id = id;
+      this.name = name;
+      this.price = price;
+      this.stock = stock;
+      this.min = min;
+      this.max = max;
+    }
+
+    @Override
+    public String toString() {
+      return id + ":" + name + "/" + price + "/" + stock + "/" + min + "/" + max;
+    }
+  }
+}
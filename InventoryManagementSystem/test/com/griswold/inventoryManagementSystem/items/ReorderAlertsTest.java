@@ -0,0 +1,183 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.griswold.inventoryManagementSystem.items.StockAlert.Level;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Drives stock across min and max through the inventory's update methods and through the setters of held items,
+ * and checks the alerts that reach a sink: one for each crossing, none for changes that stay on the same side,
+ * delivered in order in batches. Parts that count their stock reads show that a change only looks at the item
+ * that changed.*/
+class ReorderAlertsTest {
+
+  /** Long enough that only a full batch or closing the alerts delivers anything during a test.*/
+  private static final long NEVER = 3_600_000;
+
+  private final List<List<StockAlert>> batches = new ArrayList<>();
+  private final AlertSink sink = alerts -> {
+    synchronized (batches) {
+      batches.add(new ArrayList<>(alerts));
+    }
+  };
+
+  @BeforeEach
+  void setUp() {
+    TestInventory.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    TestInventory.clear();
+  }
+
+  @Test
+  void crossingsThroughUpdatesAndSettersAreDeliveredTogether() {
+    Inventory.addParts(Arrays.asList(new InHouse(1, "Gear", 5, 5, 2, 10, 1), new InHouse(2, "Spring", 5, 5, 2, 10, 1)));
+    Inventory.addProduct(new Product(10, "Kit", 20, 5, 2, 10));
+    ReorderAlerts alerts = ReorderAlerts.attach(sink, NEVER);
+
+    Inventory.updatePart(0, new InHouse(1, "Gear", 5, 1, 2, 10, 1));
+    Inventory.updatePart(0, new InHouse(1, "Gear", 5, 0, 2, 10, 1));
+    Inventory.lookupPart(2).setStock(11);
+    Inventory.lookupPart(2).setMax(12);
+    Inventory.lookupPart(1).setMin(0);
+    Product product = Inventory.lookupProduct(10);
+    product.setStock(1);
+    Inventory.updateProduct(0, new Product(10, "Kit", 20, 20, 2, 10));
+    Inventory.savePart(new InHouse(2, "Spring", 5, 12, 2, 11, 1));
+    alerts.close();
+
+    assertEquals(1, batches.size());
+    assertEquals(Arrays.asList(
+        "Part 1 (Gear): IN_RANGE -> BELOW_MIN, stock 1 [2, 10]",
+        "Part 2 (Spring): IN_RANGE -> ABOVE_MAX, stock 11 [2, 10]",
+        "Part 2 (Spring): ABOVE_MAX -> IN_RANGE, stock 11 [2, 12]",
+        "Part 1 (Gear): BELOW_MIN -> IN_RANGE, stock 0 [0, 10]",
+        "Product 10 (Kit): IN_RANGE -> BELOW_MIN, stock 1 [2, 10]",
+        "Product 10 (Kit): BELOW_MIN -> ABOVE_MAX, stock 20 [2, 10]",
+        "Part 2 (Spring): IN_RANGE -> ABOVE_MAX, stock 12 [2, 11]"), strings(batches.get(0)));
+  }
+
+  @Test
+  void itemsAlreadyOutOfRangeAreReportedOnAttachAndDeletedItemsAreForgotten() {
+    Inventory.addParts(Arrays.asList(new InHouse(1, "Gear", 5, 0, 2, 10, 1), new InHouse(2, "Spring", 5, 5, 2, 10, 1)));
+    ReorderAlerts alerts = ReorderAlerts.attach(sink, NEVER);
+
+    Inventory.deletePart(Inventory.lookupPart(1));
+    Inventory.addPart(new InHouse(1, "Gear", 5, 0, 2, 10, 1));
+    Inventory.lookupPart(2).setStock(6);
+    alerts.close();
+    Inventory.lookupPart(2).setStock(0);
+
+    List<StockAlert> delivered = batches.get(0);
+    assertEquals(2, delivered.size());
+    assertEquals(null, delivered.get(0).getPreviousLevel());
+    assertEquals(Level.BELOW_MIN, delivered.get(0).getLevel());
+    assertEquals(null, delivered.get(1).getPreviousLevel());
+    assertEquals(1, delivered.get(1).getId());
+  }
+
+  @Test
+  void fullBatchesAreDeliveredWithoutWaitingForTheInterval() throws InterruptedException {
+    List<Part> parts = new ArrayList<>();
+    for (int id = 1; id <= 10_000; id++) {
+      parts.add(new InHouse(id, "Part " + id, 1, 5, 0, 10, 1));
+    }
+    Inventory.addParts(parts);
+    ReorderAlerts alerts = ReorderAlerts.attach(sink, NEVER);
+    for (int id = 1; id <= 10_000; id++) {
+      Inventory.lookupPart(id).setStock(11);
+    }
+    for (long deadline = System.currentTimeMillis() + 10_000; System.currentTimeMillis() < deadline; ) {
+      synchronized (batches) {
+        if (!batches.isEmpty()) {
+          break;
+        }
+      }
+      Thread.sleep(10);
+    }
+    synchronized (batches) {
+      assertTrue(!batches.isEmpty(), "no batch before the interval");
+    }
+    alerts.close();
+
+    int delivered = 0;
+    int lastId = 0;
+    for (List<StockAlert> batch : batches) {
+      assertTrue(batch.size() <= 4096, "batch of " + batch.size());
+      for (StockAlert alert : batch) {
+        assertEquals(lastId + 1, alert.getId());
+        lastId = alert.getId();
+      }
+      delivered += batch.size();
+    }
+    assertEquals(10_000, delivered);
+  }
+
+  @Test
+  void onlyTheItemThatChangedIsEvaluated() {
+    List<CountingPart> parts = new ArrayList<>();
+    for (int id = 1; id <= 100; id++) {
+      parts.add(new CountingPart(id, id % 3 == 0 ? 0 : 5));
+    }
+    Inventory.addParts(parts);
+    ReorderAlerts alerts = ReorderAlerts.attach(sink, NEVER);
+    long[] before = new long[parts.size()];
+    for (int i = 0; i < before.length; i++) {
+      before[i] = parts.get(i).reads;
+    }
+
+    parts.get(40).setStock(0);
+    Inventory.updatePart(Inventory.indexOfPart(50), new InHouse(50, "Part 50", 1, 11, 2, 10, 1));
+    alerts.close();
+
+    for (int i = 0; i < before.length; i++) {
+      int id = parts.get(i).getId();
+      if (id == 41) {
+        assertTrue(parts.get(i).reads > before[i], "part 41 was not evaluated");
+      } else if (id != 50) {
+        assertEquals(before[i], parts.get(i).reads, "part " + id + " was evaluated");
+      }
+    }
+    List<StockAlert> delivered = batches.get(batches.size() - 1);
+    assertEquals(Arrays.asList(
+        "Part 41 (Part 41): IN_RANGE -> BELOW_MIN, stock 0 [2, 10]",
+        "Part 50 (Part 50): IN_RANGE -> ABOVE_MAX, stock 11 [2, 10]"),
+        strings(delivered.subList(delivered.size() - 2, delivered.size())));
+  }
+
+  private static List<String> strings(List<StockAlert> alerts) {
+    List<String> strings = new ArrayList<>();
+    for (StockAlert alert : alerts) {
+      strings.add(alert.toString());
+    }
+    return strings;
+  }
+
+  /** A part that counts how often its stock is read.*/
+  private static final class CountingPart extends Part {
+    private volatile long reads;
+
+    CountingPart(int id, int stock) {
+      super(id, "Part " + id, 1, stock, 2, 10);
+    }
+
+    @Override
+    public int getStock() {
+      reads++;
+      return super.getStock();
+    }
+
+    @Override
+    Part copy() {
+      return new InHouse(getId(), getName(), getPrice(), super.getStock(), getMin(), getMax(), 0);
+    }
+  }
+}
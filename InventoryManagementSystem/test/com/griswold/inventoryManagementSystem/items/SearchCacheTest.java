@@ -0,0 +1,171 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Checks that the search cache drops exactly the searches a name change affects, refuses results from before a
+ * change, and stays within its bounds, and that name searches through the {@link Inventory} always match a scan
+ * while names change under the cache.*/
+class SearchCacheTest {
+
+  private static final String LETTERS = "abAB c";
+
+  @BeforeEach
+  void setUp() {
+    TestInventory.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    TestInventory.clear();
+  }
+
+  @Test
+  void namesDropOnlyTheSearchesTheyContain() {
+    SearchCache cache = new SearchCache("test.searchCache", 10, 100);
+    cache.put("bolt", new int[] {1}, cache.version());
+    cache.put("nut", new int[] {2}, cache.version());
+    cache.put("brass", new int[] {1, 3}, cache.version());
+
+    cache.invalidate("steel bolt");
+    assertNull(cache.get("bolt"));
+    assertArrayEquals(new int[] {2}, cache.get("nut"));
+    assertArrayEquals(new int[] {1, 3}, cache.get("brass"));
+    assertEquals(2, cache.size());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void resultsFromBeforeAChangeAreNotKept() {
+    SearchCache cache = new SearchCache("test.searchCache", 10, 100);
+    long version = cache.version();
+    cache.invalidate("anything");
+    cache.put("bolt", new int[] {1}, version);
+    assertNull(cache.get("bolt"));
+
+    version = cache.version();
+    cache.clear();
+    cache.put("bolt", new int[] {1}, version);
+    assertNull(cache.get("bolt"));
+  }
+
+  @Test
+  void leastRecentlyUsedSearchesAreEvicted() {
+    SearchCache cache = new SearchCache("test.searchCache", 2, 40);
+    cache.put("a", new int[] {1}, cache.version());
+    cache.put("b", new int[] {2}, cache.version());
+    cache.get("a");
+    cache.put("c", new int[] {3}, cache.version());
+    assertNull(cache.get("b"));
+    assertArrayEquals(new int[] {1}, cache.get("a"));
+
+    cache.put("d", new int[11], cache.version());
+    assertNull(cache.get("d"));
+    cache.put("e", new int[10], cache.version());
+    cache.put("f", new int[10], cache.version());
+    assertEquals(2, cache.size());
+    assertNull(cache.get("a"));
+
+    SearchCache off = new SearchCache("test.searchCacheOff", 0, 40);
+    off.put("a", new int[] {1}, off.version());
+    assertNull(off.get("a"));
+  }
+
+  /** The index tells its cache of each name it adds or drops, and a name that only changes case drops nothing.*/
+  @Test
+  void nameIndexChangesDropTheSearchesTheyAffect() {
+    SearchCache cache = new SearchCache("test.nameIndexCache", 10, 100);
+    NameIndex<String> index = new NameIndex<>(cache);
+    index.add(1, "Brass bolt", "bolt");
+    cache.put("bolt", new int[] {1}, cache.version());
+    cache.put("nut", new int[0], cache.version());
+
+    index.add(2, "Steel nut", "nut");
+    assertNull(cache.get("nut"));
+    assertArrayEquals(new int[] {1}, cache.get("bolt"));
+
+    index.replace(1, 1, "BRASS BOLT", "bolt");
+    assertArrayEquals(new int[] {1}, cache.get("bolt"));
+    index.replace(1, 1, "Brass pin", "pin");
+    assertNull(cache.get("bolt"));
+  }
+
+  @Test
+  void inventorySearchesMatchAScanWhileNamesChange() {
+    Random random = new Random(23);
+    int nextId = 1;
+    List<String> queries = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      queries.add(name(random, 1 + random.nextInt(4)).toLowerCase());
+    }
+    for (int step = 0; step < 3000; step++) {
+      List<Part> parts = Inventory.getAllParts();
+      int choice = parts.isEmpty() ? 0 : random.nextInt(6);
+      switch (choice) {
+        case 0:
+          Inventory.addPart(part(nextId++, random));
+          break;
+        case 1:
+          List<Part> batch = new ArrayList<>();
+          for (int i = random.nextInt(100); i > 0; i--) {
+            batch.add(part(nextId++, random));
+          }
+          Inventory.addParts(batch);
+          break;
+        case 2:
+          parts.get(random.nextInt(parts.size())).setName(name(random, 3 + random.nextInt(5)));
+          break;
+        case 3:
+          Part old = parts.get(random.nextInt(parts.size()));
+          Inventory.savePart(new InHouse(old.getId(), name(random, 3 + random.nextInt(5)), 1, 5, 0, 10, 1));
+          break;
+        case 4:
+          Inventory.deletePart(parts.get(random.nextInt(parts.size())));
+          break;
+        default:
+          int[] ids = new int[random.nextInt(Math.min(parts.size(), 100)) + 1];
+          for (int i = 0; i < ids.length; i++) {
+            ids[i] = parts.get(random.nextInt(parts.size())).getId();
+          }
+          Inventory.deleteParts(ids);
+          break;
+      }
+      for (int i = 0; i < 3; i++) {
+        String query = queries.get(random.nextInt(queries.size()));
+        assertEquals(scan(query), Inventory.lookupPart(query), "search \"" + query + "\" at step " + step);
+      }
+    }
+  }
+
+  private static List<Part> scan(String query) {
+    List<Part> matches = new ArrayList<>();
+    for (Part part : Inventory.getAllParts()) {
+      if (part.getName().toLowerCase().contains(query)) {
+        matches.add(part);
+      }
+    }
+    return matches;
+  }
+
+  private static Part part(int id, Random random) {
+    return new InHouse(id, name(random, 3 + random.nextInt(5)), 1, 5, 0, 10, 1);
+  }
+
+  private static String name(Random random, int length) {
+    StringBuilder name = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      name.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+    }
+    return name.toString();
+  }
+}
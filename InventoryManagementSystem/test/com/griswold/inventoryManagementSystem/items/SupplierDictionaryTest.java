@@ -0,0 +1,42 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** Checks the codes given to company names, and that a name is kept after its last part is deleted.*/
+class SupplierDictionaryTest {
+
+  @Test
+  void eachNameHasOneCode() {
+    int code = SupplierDictionary.encode("Dictionary Test Co");
+    int size = SupplierDictionary.size();
+
+    assertEquals(code, SupplierDictionary.encode(new String("Dictionary Test Co")));
+    assertEquals(code, SupplierDictionary.find("Dictionary Test Co"));
+    assertEquals("Dictionary Test Co", SupplierDictionary.decode(code));
+    assertEquals(size, SupplierDictionary.size());
+  }
+
+  @Test
+  void namesOutliveThePartsThatUsedThem() {
+    TestInventory.clear();
+    Inventory.addPart(new Outsourced(1, "Bolt", 1, 1, 0, 1, "Dictionary Gone Co"));
+    Inventory.deleteParts(1);
+
+    int code = SupplierDictionary.find("Dictionary Gone Co");
+    assertTrue(code >= 0);
+    assertEquals("Dictionary Gone Co", SupplierDictionary.decode(code));
+    assertTrue(Inventory.lookupPartsBySupplier("Dictionary Gone Co").isEmpty());
+  }
+
+  @Test
+  void nullIsAlwaysMinusOne() {
+    assertEquals(-1, SupplierDictionary.encode(null));
+    assertEquals(-1, SupplierDictionary.find(null));
+    assertEquals(-1, SupplierDictionary.find("Dictionary Never Co"));
+    assertNull(SupplierDictionary.decode(-1));
+  }
+}
@@ -0,0 +1,27 @@
+package com.griswold.inventoryManagementSystem.items;
+
+import java.util.List;
+
+/** Helpers for tests that use the application-wide {@link Inventory}.*/
+public final class TestInventory {
+
+  private TestInventory() {
+
+  }
+
+  /** Deletes every product and part, so that a test starts from an empty inventory.*/
+  public static void clear() {
+    List<Product> products = Inventory.getAllProducts();
+    int[] productIds = new int[products.size()];
+    for (int i = 0; i < productIds.length; i++) {
+      productIds[i] = products.get(i).getId();
+    }
+    Inventory.deleteProducts(productIds);
+    List<Part> parts = Inventory.getAllParts();
+    int[] partIds = new int[parts.size()];
+    for (int i = 0; i < partIds.length; i++) {
+      partIds[i] = parts.get(i).getId();
+    }
+    Inventory.deleteParts(partIds);
+  }
+}
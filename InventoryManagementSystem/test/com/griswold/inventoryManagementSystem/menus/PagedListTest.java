@@ -0,0 +1,403 @@
+package com.griswold.inventoryManagementSystem.menus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Changes a source list at random, tells a PagedList of each change, and checks that a copy kept only from the
+ * PagedList's change events matches the source after every pulse, sorted or not, that each pulse is a single
+ * event, and that no more than a page is ever read from the source at once. The test thread stands in for the
+ * JavaFX Application Thread, running the list's refreshes when it pulses.*/
+class PagedListTest {
+
+  private static final int PAGE_SIZE = 4;
+  private static final Comparator<Item> BY_VALUE = Comparator.<Item>comparingInt(item -> item.value)
+      .thenComparingInt(item -> item.id);
+  private static final Comparator<Item> BY_VALUE_DESCENDING = BY_VALUE.reversed();
+
+  private final List<Item> source = new ArrayList<>();
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final List<Item> mirror = new ArrayList<>();
+  private final List<Throwable> failures = new ArrayList<>();
+  private Thread.UncaughtExceptionHandler handler;
+  private PagedList<Item> list;
+  private int nextId;
+  /** The most rows read from the source at once.*/
+  private int widest;
+
+  /** Listeners' failures are handed to the thread's handler rather than thrown, so they are kept and rethrown.*/
+  @BeforeEach
+  void setUp() {
+    handler = Thread.currentThread().getUncaughtExceptionHandler();
+    Thread.currentThread().setUncaughtExceptionHandler((thread, failure) -> failures.add(failure));
+    list = create(0);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Thread.currentThread().setUncaughtExceptionHandler(handler);
+  }
+
+  @Test
+  void removalsAreReportedAtTheirPositionsWithTheItemsRemoved() {
+    add(10);
+    pulse();
+    Item third = source.get(2);
+    Item seventh = source.get(6);
+    remove(6);
+    remove(2);
+    List<String> removed = new ArrayList<>();
+    list.addListener((ListChangeListener<Item>) change -> {
+      while (change.next()) {
+        for (Item item : change.getRemoved()) {
+          removed.add(change.getFrom() + ":" + item.id);
+        }
+      }
+    });
+    pulse();
+
+    assertEquals(List.of("2:" + third.id, "5:" + seventh.id), removed);
+    checkMirror(null);
+  }
+
+  @Test
+  void eachPulseIsASingleEventHoweverManyRowsChange() {
+    add(5000);
+    pulse();
+    List<Integer> changesPerEvent = new ArrayList<>();
+    list.addListener((ListChangeListener<Item>) change -> {
+      int parts = 0;
+      while (change.next()) {
+        parts++;
+      }
+      changesPerEvent.add(parts);
+    });
+    Random random = new Random(19);
+    for (int i = 0; i < 2000; i++) {
+      change(random);
+    }
+    pulse();
+
+    assertEquals(1, changesPerEvent.size());
+    assertTrue(changesPerEvent.get(0) > 1, "the changes were scattered");
+    checkMirror(null);
+
+    synchronized (source) {
+      int[] indexes = new int[1000];
+      List<Item> removed = new ArrayList<>();
+      for (int i = 0; i < indexes.length; i++) {
+        indexes[i] = 1000;
+        removed.add(source.remove(1000));
+      }
+      list.removed(indexes, removed);
+    }
+    add(10);
+    remove(source.size() - 3);
+    pulse();
+
+    assertEquals(2, changesPerEvent.size());
+    assertEquals(2, changesPerEvent.get(1), "one removal and the additions that were not removed again");
+    checkMirror(null);
+
+    list.setComparator(BY_VALUE);
+    checkMirror(BY_VALUE);
+    for (int i = 0; i < 2000; i++) {
+      change(random);
+    }
+    pulse();
+
+    assertEquals(4, changesPerEvent.size());
+    checkMirror(BY_VALUE);
+    assertTrue(widest <= PAGE_SIZE, "read " + widest + " rows at once");
+  }
+
+  @Test
+  void sortsArePutOffUntilTheDelayIsOver() throws InterruptedException {
+    list = create(200);
+    add(10);
+    pulse();
+    assertTrue(list.setComparator(BY_VALUE));
+    checkMirror(BY_VALUE);
+    List<Integer> events = new ArrayList<>();
+    list.addListener((ListChangeListener<Item>) change -> events.add(list.size()));
+
+    add(1);
+    pulse();
+    add(1);
+    pulse();
+    assertEquals(List.of(), events);
+    assertEquals(10, list.size());
+    for (long deadline = System.currentTimeMillis() + 10_000; tasks.isEmpty()
+        && System.currentTimeMillis() < deadline; ) {
+      Thread.sleep(10);
+    }
+    pulse();
+
+    assertEquals(List.of(12), events);
+    checkMirror(BY_VALUE);
+  }
+
+  @Test
+  void ordersTheSourceCannotReadAreRefused() {
+    add(10);
+    pulse();
+
+    assertFalse(list.setComparator(Comparator.comparingInt(item -> item.id)));
+    assertTrue(list.setComparator(BY_VALUE_DESCENDING));
+    assertTrue(list.setComparator(BY_VALUE_DESCENDING));
+    checkMirror(BY_VALUE_DESCENDING);
+  }
+
+  @Test
+  void rowsAreReadThroughPendingChanges() {
+    add(20);
+    pulse();
+    List<Item> before = new ArrayList<>(source);
+    remove(0);
+    remove(5);
+    add(3);
+    remove(17);
+
+    assertEquals(20, list.size());
+    for (int i = 0; i < list.size(); i++) {
+      assertSame(before.get(i), list.get(i), "row " + i);
+    }
+    pulse();
+    checkMirror(null);
+  }
+
+  @Test
+  void randomChangesMatchTheSourceSortedOrNot() {
+    Random random = new Random(7);
+    Comparator<Item> comparator = null;
+    for (int round = 0; round < 400; round++) {
+      for (int i = random.nextInt(6); i > 0; i--) {
+        change(random);
+      }
+      for (int i = 0; i < list.size(); i++) {
+        Item item = list.get(random.nextInt(list.size()));
+        if (comparator == null) {
+          assertNotNull(item);
+        }
+      }
+      pulse();
+      checkMirror(comparator);
+      if (random.nextInt(10) == 0) {
+        comparator = random.nextBoolean() ? null : random.nextBoolean() ? BY_VALUE : BY_VALUE_DESCENDING;
+        assertTrue(list.setComparator(comparator));
+        checkMirror(comparator);
+      }
+    }
+    assertTrue(widest <= PAGE_SIZE, "read " + widest + " rows at once");
+  }
+
+  @Test
+  void rowsAreNeverMissingWhileAnotherThreadChangesTheSource() throws Exception {
+    add(200);
+    pulse();
+    AtomicBoolean writing = new AtomicBoolean(true);
+    ExecutorService writer = Executors.newSingleThreadExecutor();
+    Future<?> done = writer.submit(() -> {
+      Random random = new Random(11);
+      for (int i = 0; i < 20_000; i++) {
+        change(random);
+      }
+      writing.set(false);
+    });
+    Random random = new Random(13);
+    while (writing.get()) {
+      for (int i = 0; i < 20 && list.size() > 0; i++) {
+        assertNotNull(list.get(random.nextInt(list.size())));
+      }
+      pulse();
+    }
+    done.get(1, TimeUnit.MINUTES);
+    writer.shutdown();
+    pulse();
+    checkMirror(null);
+  }
+
+  /** @return a list of the source, in a page size of four and keeping three pages, with the mirror following it.
+   * The source can be read sorted by value either way, sorting a copy of its rows as the inventory's index would
+   * have them.*/
+  private PagedList<Item> create(long sortDelayMillis) {
+    PagedList<Item> created = new PagedList<>(new PagedList.PageSource<>() {
+      @Override
+      public int size() {
+        synchronized (source) {
+          return source.size();
+        }
+      }
+
+      @Override
+      public List<Item> get(int fromIndex, int toIndex) {
+        synchronized (source) {
+          return range(source, fromIndex, toIndex);
+        }
+      }
+
+      @Override
+      public List<Item> get(Comparator<? super Item> order, int fromIndex, int toIndex) {
+        if (order != BY_VALUE && order != BY_VALUE_DESCENDING) {
+          return null;
+        }
+        synchronized (source) {
+          List<Item> rows = new ArrayList<>(source);
+          rows.sort(order);
+          return range(rows, fromIndex, toIndex);
+        }
+      }
+    }, PAGE_SIZE, 3, sortDelayMillis, tasks::add);
+    created.addListener(this::follow);
+    return created;
+  }
+
+  private List<Item> range(List<Item> rows, int fromIndex, int toIndex) {
+    widest = Math.max(widest, toIndex - fromIndex);
+    return new ArrayList<>(rows.subList(Math.min(fromIndex, rows.size()), Math.min(toIndex, rows.size())));
+  }
+
+  private void change(Random random) {
+    synchronized (source) {
+      int choice = source.isEmpty() ? 0 : random.nextInt(5);
+      int index = source.isEmpty() ? 0 : random.nextInt(source.size());
+      switch (choice) {
+        case 0:
+          add(1 + random.nextInt(3));
+          break;
+        case 1:
+          remove(index);
+          break;
+        case 2:
+          Item replacement = new Item(nextId++, random.nextInt(50));
+          Item old = source.set(index, replacement);
+          list.replaced(index, old, replacement);
+          break;
+        case 3:
+          Item item = source.get(index);
+          item.value = random.nextInt(50);
+          list.replaced(index, item, item);
+          break;
+        default:
+          int[] indexes = new int[Math.min(3, source.size())];
+          List<Item> removed = new ArrayList<>();
+          for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = random.nextInt(source.size());
+            removed.add(source.remove(indexes[i]));
+          }
+          list.removed(indexes, removed);
+          break;
+      }
+    }
+  }
+
+  private void add(int count) {
+    synchronized (source) {
+      for (int i = 0; i < count; i++) {
+        source.add(new Item(nextId++, nextId % 50));
+      }
+      list.added(count);
+    }
+  }
+
+  private void remove(int index) {
+    synchronized (source) {
+      list.removed(index, source.remove(index));
+    }
+  }
+
+  private void pulse() {
+    for (Runnable task = tasks.poll(); task != null; task = tasks.poll()) {
+      task.run();
+    }
+    checkNoFailures();
+  }
+
+  private void checkNoFailures() {
+    if (!failures.isEmpty()) {
+      throw new AssertionError(failures.get(0));
+    }
+  }
+
+  /** Keeps the mirror in step with the list's change events, checking that removals name the items removed. A
+   * change replacing every row may leave out the rows that were not cached.*/
+  private void follow(ListChangeListener.Change<? extends Item> change) {
+    while (change.next()) {
+      if (change.getFrom() == 0 && change.getRemovedSize() == mirror.size() && change.getTo() == list.size()) {
+        for (int i = 0; i < mirror.size(); i++) {
+          Item removed = change.getRemoved().get(i);
+          assertTrue(removed == null || removed == mirror.get(i), "row " + i + " was " + removed);
+        }
+        mirror.clear();
+        mirror.addAll(change.getAddedSubList());
+        continue;
+      }
+      if (change.wasPermutated()) {
+        List<Item> moved = new ArrayList<>(mirror.subList(change.getFrom(), change.getTo()));
+        for (int i = change.getFrom(); i < change.getTo(); i++) {
+          mirror.set(change.getPermutation(i), moved.get(i - change.getFrom()));
+        }
+        continue;
+      }
+      if (change.wasRemoved()) {
+        List<Item> removed = mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize());
+        assertEquals(removed, change.getRemoved());
+        removed.clear();
+      }
+      if (change.wasAdded()) {
+        mirror.addAll(change.getFrom(), change.getAddedSubList());
+      }
+    }
+  }
+
+  private void checkMirror(Comparator<Item> comparator) {
+    checkNoFailures();
+    List<Item> expected;
+    synchronized (source) {
+      expected = new ArrayList<>(source);
+    }
+    if (comparator != null) {
+      expected.sort(comparator);
+    }
+    assertEquals(expected, mirror);
+    assertEquals(expected.size(), list.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSame(expected.get(i), list.get(i), "row " + i);
+    }
+    assertSame(comparator, list.getComparator());
+  }
+
+  /** A row whose value can change in place.*/
+  private static final class Item {
+    final int id;
+    int value;
+
+    Item(int id, int value) {
+      this.id = id;
+      this.value = value;
+    }
+
+    @Override
+    public String toString() {
+      return id + "=" + value;
+    }
+  }
+}
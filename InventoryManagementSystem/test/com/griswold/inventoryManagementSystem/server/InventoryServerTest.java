@@ -0,0 +1,121 @@
+package com.griswold.inventoryManagementSystem.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.TestInventory;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Sends requests to a server on a free loopback port and checks the answers and the inventory they leave.*/
+class InventoryServerTest {
+
+  private static final String BOLT = "\"type\":\"InHouse\",\"name\":\"Bolt\",\"price\":0.5,\"stock\":10,\"min\":0,"
+      + "\"max\":100,\"machineId\":7";
+  private static final String KIT = "\"name\":\"Kit\",\"price\":10,\"stock\":5,\"min\":0,\"max\":10";
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private InventoryServer server;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    TestInventory.clear();
+    Inventory.addPart(new InHouse(1, "Spring", 1, 5, 0, 10, 3));
+    server = InventoryServer.start(new InetSocketAddress("127.0.0.1", 0), 2, 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.close();
+    TestInventory.clear();
+  }
+
+  @Test
+  void partsAreAddedReadSavedAndDeleted() throws Exception {
+    HttpResponse<String> added = send("POST", "/parts", "{" + BOLT + "}");
+    assertEquals(201, added.statusCode());
+    assertEquals(2L, object(added).get("id"));
+    assertEquals("Bolt", Inventory.lookupPart(2).getName());
+
+    assertEquals("Bolt", object(send("GET", "/parts/2", null)).get("name"));
+    assertEquals(2, ((List<?>) Json.parse(send("GET", "/parts?from=0&limit=10", null).body())).size());
+
+    HttpResponse<String> saved = send("PUT", "/parts/2", "{" + BOLT.replace("Bolt", "Nut") + "}");
+    assertEquals(200, saved.statusCode());
+    assertEquals("Nut", Inventory.lookupPart(2).getName());
+
+    assertEquals(204, send("DELETE", "/parts/2", null).statusCode());
+    assertEquals(404, send("GET", "/parts/2", null).statusCode());
+  }
+
+  @Test
+  void productsCheckTheirPartsAndAreAssociated() throws Exception {
+    assertEquals(400, send("POST", "/products", "{" + KIT + ",\"partIds\":[9]}").statusCode());
+    HttpResponse<String> added = send("POST", "/products", "{" + KIT + ",\"partIds\":[1]}");
+    assertEquals(201, added.statusCode());
+    int id = ((Long) object(added).get("id")).intValue();
+
+    assertEquals(2, id);
+    assertEquals(409, send("DELETE", "/products/" + id, null).statusCode());
+    assertEquals(200, send("DELETE", "/products/" + id + "/parts/1", null).statusCode());
+    assertEquals(204, send("DELETE", "/products/" + id, null).statusCode());
+  }
+
+  @Test
+  void partsAndProductsShareOneSpaceOfIds() throws Exception {
+    assertEquals(409, send("POST", "/products", "{\"id\":1," + KIT + "}").statusCode());
+    assertEquals(409, send("PUT", "/products/1", "{" + KIT + "}").statusCode());
+    assertNull(Inventory.lookupProduct(1));
+
+    assertEquals(201, send("POST", "/products", "{\"id\":5," + KIT + "}").statusCode());
+    assertEquals(409, send("POST", "/parts", "{\"id\":5," + BOLT + "}").statusCode());
+    assertEquals(409, send("PUT", "/parts/5", "{" + BOLT + "}").statusCode());
+    assertNull(Inventory.lookupPart(5));
+  }
+
+  @Test
+  void rejectedBodiesUseUpNoIds() throws Exception {
+    assertEquals(400, send("PUT", "/parts/50", "{" + BOLT.replace("\"min\":0", "\"min\":500") + "}").statusCode());
+    assertEquals(400, send("PUT", "/products/60", "{" + KIT + ",\"partIds\":[9]}").statusCode());
+    assertEquals(400, send("POST", "/parts", "{\"id\":70," + BOLT.replace("InHouse", "Other") + "}")
+        .statusCode());
+    assertEquals(400, send("POST", "/parts", "{" + BOLT.replace("\"Bolt\"", "\" \"") + "}").statusCode());
+
+    assertEquals(2L, object(send("POST", "/parts", "{" + BOLT + "}")).get("id"));
+  }
+
+  @Test
+  void badRequestsAreAnsweredWithTheirStatus() throws Exception {
+    assertEquals(400, send("POST", "/parts", "{\"name\":").statusCode());
+    assertEquals(400, send("POST", "/parts", "[1]").statusCode());
+    assertEquals(400, send("POST", "/parts", "{\"id\":-3," + BOLT + "}").statusCode());
+    assertEquals(404, send("GET", "/parts/abc", null).statusCode());
+    assertEquals(404, send("GET", "/nothing", null).statusCode());
+    assertEquals(405, send("PATCH", "/parts/1", "{}").statusCode());
+    assertTrue(object(send("GET", "/parts/9", null)).containsKey("error"));
+  }
+
+  private HttpResponse<String> send(String method, String path, String body) throws Exception {
+    URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    HttpRequest.BodyPublisher publisher = body == null ? HttpRequest.BodyPublishers.noBody()
+        : HttpRequest.BodyPublishers.ofString(body);
+    HttpRequest request = HttpRequest.newBuilder(uri).method(method, publisher).build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private static Map<String, Object> object(HttpResponse<String> response) {
+    return Json.parseObject(response.body());
+  }
+}
@@ -0,0 +1,57 @@
+package com.griswold.inventoryManagementSystem.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Checks the values the parser returns, that malformed input is refused, and that appended strings and numbers
+ * parse back the same.*/
+class JsonTest {
+
+  @Test
+  void valuesAreParsedIntoTheirTypes() {
+    Map<String, Object> json = Json.parseObject(
+        " {\"a\": 1, \"b\": -2.5e1, \"c\": \"x\\ty\\u00e9\", \"d\": [true, false, null], \"e\": {}} ");
+
+    assertEquals(1L, json.get("a"));
+    assertEquals(-25.0, json.get("b"));
+    assertEquals("x\ty\u00e9", json.get("c"));
+    assertEquals(Arrays.asList(true, false, null), json.get("d"));
+    assertEquals(Map.of(), json.get("e"));
+    assertEquals(List.of("a", "b", "c", "d", "e"), List.copyOf(json.keySet()));
+    assertEquals(12345678901234L, Json.parse("12345678901234"));
+    assertNull(Json.parse("null"));
+  }
+
+  @Test
+  void malformedInputIsRefused() {
+    for (String text : new String[] {"", "{", "{\"a\"}", "{\"a\":1,}", "[1 2]", "\"open", "tru", "01x", "{} {}",
+        "\"\\q\"", "[1]"}) {
+      assertThrows(IllegalArgumentException.class, () -> Json.parseObject(text), text);
+    }
+  }
+
+  @Test
+  void deepNestingIsRefused() {
+    assertThrows(IllegalArgumentException.class, () -> Json.parse("[".repeat(1000) + "]".repeat(1000)));
+  }
+
+  @Test
+  void appendedValuesParseBack() {
+    String text = "quote \" backslash \\ newline \n tab \t control \u0001 unicode \u00e9\u4e2d";
+    StringBuilder out = new StringBuilder();
+    Json.appendString(out, text);
+    assertEquals(text, Json.parse(out.toString()));
+
+    for (double value : new double[] {0, 0.5, -1.25, 1e21, 123456.789}) {
+      StringBuilder number = new StringBuilder();
+      Json.appendNumber(number, value);
+      assertEquals(value, ((Number) Json.parse(number.toString())).doubleValue(), number.toString());
+    }
+  }
+}
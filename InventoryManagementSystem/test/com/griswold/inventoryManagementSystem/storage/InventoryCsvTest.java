@@ -0,0 +1,143 @@
+package com.griswold.inventoryManagementSystem.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.Outsourced;
+import com.griswold.inventoryManagementSystem.items.Product;
+import com.griswold.inventoryManagementSystem.items.TestInventory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Checks that an exported inventory imports back the same, and that bad rows are rejected with their line
+ * numbers while the rest of the file is imported.*/
+class InventoryCsvTest {
+
+  private static final String HEADER = "type,id,name,price,stock,min,max,extra\n";
+
+  @TempDir
+  Path directory;
+
+  @BeforeEach
+  void setUp() {
+    TestInventory.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    TestInventory.clear();
+  }
+
+  @Test
+  void exportedInventoryImportsTheSame() throws IOException {
+    Inventory.addPart(new InHouse(1, "Spring, brass", 1.25, 5, 0, 10, 7));
+    Inventory.addPart(new Outsourced(2, "Bolt \"M6\"", 0.5, 8, 0, 10, "Acme\nWest"));
+    Product product = new Product(3, "Gear kit", 20, 5, 0, 10);
+    product.addAssociatedPartId(1);
+    product.addAssociatedPartId(2);
+    Inventory.addProduct(product);
+    Path file = directory.resolve("inventory.csv");
+    try (StringWriter out = new StringWriter()) {
+      InventoryCsv.exportTo(out);
+      Files.write(file, out.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    TestInventory.clear();
+
+    InventoryCsv.ImportResult result = InventoryCsv.importFrom(file);
+    assertEquals(2, result.getParts());
+    assertEquals(1, result.getProducts());
+    assertEquals(0, result.getRejected());
+    assertEquals(3, result.getHighestId());
+    InHouse spring = (InHouse) Inventory.lookupPart(1);
+    assertEquals("Spring, brass", spring.getName());
+    assertEquals(1.25, spring.getPrice());
+    assertEquals(7, spring.getMachineId());
+    Outsourced bolt = (Outsourced) Inventory.lookupPart(2);
+    assertEquals("Bolt \"M6\"", bolt.getName());
+    assertEquals("Acme\nWest", bolt.getCompanyName());
+    assertArrayEquals(new int[] {1, 2}, Inventory.lookupProduct(3).getAssociatedPartIds());
+  }
+
+  @Test
+  void rowWithTooManyFieldsIsRejectedWithItsLine() throws IOException {
+    InventoryCsv.ImportResult result = importCsv(HEADER
+        + "InHouse,1,Spring,1,5,0,10,7\n"
+        + "InHouse,2,Bolt,1,5,0,10,7,extra\n"
+        + "InHouse,3,Nut,1,5,0,10,7\n");
+
+    assertEquals(2, result.getParts());
+    assertEquals(1, result.getRejected());
+    assertNull(Inventory.lookupPart(2));
+    assertError(result, "Line 3: ");
+  }
+
+  @Test
+  void productIsCheckedAgainstImportedAndExistingParts() throws IOException {
+    Inventory.addPart(new InHouse(1, "Spring", 1, 5, 0, 10, 7));
+    InventoryCsv.ImportResult result = importCsv(HEADER
+        + "InHouse,2,Bolt,1,5,0,10,7\n"
+        + "Product,3,Kit,10,5,0,10,1 2\n"
+        + "Product,4,Set,10,5,0,10,1 9\n");
+
+    assertEquals(1, result.getProducts());
+    assertEquals(1, result.getRejected());
+    assertArrayEquals(new int[] {1, 2}, Inventory.lookupProduct(3).getAssociatedPartIds());
+    assertNull(Inventory.lookupProduct(4));
+    assertError(result, "Line 4: ");
+  }
+
+  @Test
+  void partAndProductCannotShareAnId() throws IOException {
+    Inventory.addPart(new InHouse(1, "Spring", 1, 5, 0, 10, 7));
+    InventoryCsv.ImportResult result = importCsv(HEADER
+        + "Product,1,Kit,10,5,0,10,\n"
+        + "InHouse,5,Bolt,1,5,0,10,7\n"
+        + "Product,5,Set,10,5,0,10,\n");
+
+    assertEquals(1, result.getParts());
+    assertEquals(0, result.getProducts());
+    assertEquals(2, result.getRejected());
+    assertNotNull(Inventory.lookupPart(5));
+    assertError(result, "Line 2: ");
+    assertError(result, "Line 4: ");
+    assertEquals(5, result.getHighestId());
+  }
+
+  @Test
+  void namesTooLongToSaveAreRejected() throws IOException {
+    String longName = "\u00e9".repeat(40_000);
+    InventoryCsv.ImportResult result = importCsv(HEADER
+        + "InHouse,1," + longName + ",1,5,0,10,7\n"
+        + "Outsourced,2,Bolt,1,5,0,10," + longName + "\n"
+        + "InHouse,3," + "n".repeat(65_535) + ",1,5,0,10,7\n");
+
+    assertEquals(1, result.getParts());
+    assertEquals(2, result.getRejected());
+    assertNotNull(Inventory.lookupPart(3));
+    assertError(result, "Line 2: ");
+    assertError(result, "Line 3: ");
+  }
+
+  private static InventoryCsv.ImportResult importCsv(String csv) throws IOException {
+    return InventoryCsv.importFrom(new StringReader(csv));
+  }
+
+  private static void assertError(InventoryCsv.ImportResult result, String prefix) {
+    List<String> errors = result.getErrors();
+    assertTrue(errors.stream().anyMatch(error -> error.startsWith(prefix)), prefix + " not in " + errors);
+  }
+}
@@ -0,0 +1,271 @@
+package com.griswold.inventoryManagementSystem.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.griswold.inventoryManagementSystem.items.InHouse;
+import com.griswold.inventoryManagementSystem.items.Inventory;
+import com.griswold.inventoryManagementSystem.items.InventoryListener;
+import com.griswold.inventoryManagementSystem.items.Outsourced;
+import com.griswold.inventoryManagementSystem.items.Part;
+import com.griswold.inventoryManagementSystem.items.Product;
+import com.griswold.inventoryManagementSystem.items.TestInventory;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Checks that the inventory is recovered from the snapshot and log, that a torn or corrupt end of the log and a
+ * log of another generation are left out, and that a record that cannot be written or encoded stops the store
+ * saving without failing the change or keeping it from the inventory's other listeners.
+ * <p>
+ * A crash is simulated by copying the store's files while it is open, after {@link InventoryStore#sync()}, and
+ * recovering from the copy.*/
+class InventoryStoreTest {
+
+  @TempDir
+  Path directory;
+
+  private Path image;
+
+  @BeforeEach
+  void setUp() {
+    image = directory.resolve("image");
+    TestInventory.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    TestInventory.clear();
+  }
+
+  @Test
+  void changesSurviveClosingAndReopening() throws IOException {
+    Path data = directory.resolve("data");
+    InventoryStore store = InventoryStore.open(data);
+    makeChanges();
+    String expected = contents();
+    store.close();
+    TestInventory.clear();
+
+    InventoryStore reopened = InventoryStore.open(data);
+    assertEquals(expected, contents());
+    assertEquals(10, reopened.getHighestId());
+    reopened.close();
+  }
+
+  @Test
+  void logIsReplayedAfterCrash() throws IOException {
+    crash(InventoryStoreTest::makeChanges);
+    String expected = contents();
+
+    recover(image).close();
+    assertEquals(expected, contents());
+  }
+
+  @Test
+  void tornRecordAtEndOfLogIsDropped() throws IOException {
+    List<String> expected = new ArrayList<>();
+    crash(() -> {
+      makeChanges();
+      expected.add(contents());
+      Inventory.addPart(part(20));
+    });
+    truncateLog(3);
+
+    InventoryStore store = recover(image);
+    assertEquals(expected.get(0), contents());
+    Inventory.addPart(part(21));
+    store.close();
+
+    recover(image).close();
+    assertNull(Inventory.lookupPart(20));
+    assertNotNull(Inventory.lookupPart(21));
+  }
+
+  @Test
+  void recordWithWrongChecksumEndsTheLog() throws IOException {
+    List<String> expected = new ArrayList<>();
+    crash(() -> {
+      makeChanges();
+      expected.add(contents());
+      Inventory.addPart(part(20));
+      Inventory.addPart(part(21));
+    });
+    Path log = image.resolve("inventory.log");
+    byte[] bytes = Files.readAllBytes(log);
+    int lastRecord = bytes.length - recordLength(part(21));
+    bytes[lastRecord - recordLength(part(20)) + 12] ^= 1;
+    Files.write(log, bytes);
+
+    recover(image).close();
+    assertEquals(expected.get(0), contents());
+  }
+
+  @Test
+  void logOfAnotherGenerationIsIgnored() throws IOException {
+    Path data = directory.resolve("data");
+    InventoryStore first = InventoryStore.open(data);
+    makeChanges();
+    String expected = contents();
+    first.close();
+    TestInventory.clear();
+    InventoryStore store = InventoryStore.open(data);
+    Inventory.addPart(part(20));
+    store.sync();
+    copy(data, image);
+    store.close();
+    try (FileChannel channel = FileChannel.open(image.resolve("inventory.log"), StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 7), 8);
+    }
+
+    recover(image).close();
+    assertEquals(expected, contents());
+  }
+
+  @Test
+  void failedWriteStopsSavingWithoutFailingLaterChanges() throws IOException {
+    Path data = directory.resolve("data");
+    InventoryStore store = InventoryStore.open(data);
+    List<Part> heard = new ArrayList<>();
+    InventoryListener later = new InventoryListener() {
+      @Override
+      public void partAdded(Part part) {
+        heard.add(part);
+      }
+    };
+    Inventory.addListener(later);
+    try {
+      delete(data);
+      List<Part> parts = new ArrayList<>();
+      for (int id = 1; id <= 50_000; id++) {
+        parts.add(part(id));
+      }
+      Inventory.addParts(parts);
+
+      assertThrows(IOException.class, store::sync);
+      Part added = part(50_001);
+      Inventory.addPart(added);
+      assertEquals(50_001, heard.size());
+      assertEquals(added, heard.get(50_000));
+      assertThrows(IOException.class, store::sync);
+      assertThrows(IOException.class, store::close);
+    } finally {
+      Inventory.removeListener(later);
+    }
+  }
+
+  @Test
+  void recordThatCannotBeEncodedFailsTheStoreNotTheChange() throws IOException {
+    InventoryStore store = InventoryStore.open(directory);
+    Inventory.addPart(part(1));
+    store.sync();
+
+    Inventory.addPart(new Outsourced(2, "Bolt", 1, 5, 0, 10, null));
+    Inventory.lookupPart(1).setName("n".repeat(70_000));
+    assertNotNull(Inventory.lookupPart(2));
+    assertThrows(IOException.class, store::sync);
+    assertThrows(IOException.class, store::close);
+
+    recover(directory).close();
+    assertEquals("InHouse 1 Part 1 1.0 5 0 10\n", contents());
+  }
+
+  /** Makes changes of every kind, leaving parts 1 and 2 and product 10.*/
+  private static void makeChanges() {
+    Inventory.addParts(Arrays.asList(part(1), part(2), part(3)));
+    Product product = new Product(10, "Gear kit", 20, 5, 0, 10);
+    product.addAssociatedPartId(1);
+    product.addAssociatedPartId(2);
+    Inventory.addProduct(product);
+    Inventory.savePart(new Outsourced(2, "Steel bolt", 8, 5, 0, 10, "Acme"));
+    Inventory.deletePart(Inventory.lookupPart(3));
+    Inventory.lookupProduct(10).setStock(7);
+    Inventory.lookupPart(1).setName("Brass spring");
+  }
+
+  /** Runs the changes on a store in its own directory, then copies its files as a crash would leave them.*/
+  private void crash(Changes changes) throws IOException {
+    Path data = directory.resolve("data");
+    InventoryStore store = InventoryStore.open(data);
+    changes.make();
+    store.sync();
+    copy(data, image);
+    store.close();
+  }
+
+  private static InventoryStore recover(Path directory) throws IOException {
+    TestInventory.clear();
+    return InventoryStore.open(directory);
+  }
+
+  private void truncateLog(int bytes) throws IOException {
+    try (FileChannel channel = FileChannel.open(image.resolve("inventory.log"), StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - bytes);
+    }
+  }
+
+  /** @return the length in the log of the record that adds the part, with its length and checksum.*/
+  private static int recordLength(Part part) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ItemCodec.writePart(new DataOutputStream(bytes), part);
+    return 8 + 1 + bytes.size();
+  }
+
+  private static void copy(Path from, Path to) throws IOException {
+    Files.createDirectories(to);
+    try (Stream<Path> files = Files.list(from)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.copy(file, to.resolve(file.getFileName()));
+      }
+    }
+  }
+
+  private static void delete(Path directory) throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  /** @return every part and product in the inventory, in order, with the fields that are saved.*/
+  private static String contents() {
+    StringBuilder text = new StringBuilder();
+    for (Part part : Inventory.getAllParts()) {
+      text.append(part.getClass().getSimpleName()).append(' ').append(part.getId()).append(' ')
+          .append(part.getName()).append(' ').append(part.getPrice()).append(' ').append(part.getStock())
+          .append(' ').append(part.getMin()).append(' ').append(part.getMax()).append('\n');
+    }
+    for (Product product : Inventory.getAllProducts()) {
+      text.append("Product ").append(product.getId()).append(' ').append(product.getName()).append(' ')
+          .append(product.getPrice()).append(' ').append(product.getStock()).append(' ')
+          .append(Arrays.toString(product.getAssociatedPartIds())).append('\n');
+    }
+    return text.toString();
+  }
+
+  private static Part part(int id) {
+    return new InHouse(id, "Part " + id, id, 5, 0, 10, id);
+  }
+
+  /** Changes the inventory while a store records them.*/
+  private interface Changes {
+    void make() throws IOException;
+  }
+}